@@ -7,9 +7,12 @@ import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.ConfigurationFileWatcher;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.logging.LoggerUtil;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.MetricsMBean;
 import edu.illinois.library.cantaloupe.source.Source;
 import edu.illinois.library.cantaloupe.source.SourceFactory;
 import edu.illinois.library.cantaloupe.delegate.DelegateProxyService;
+import edu.illinois.library.cantaloupe.status.ApplicationStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,6 +55,10 @@ public class ApplicationContextListener implements ServletContextListener {
         if (config.getBoolean(Key.CACHE_WORKER_ENABLED, false)) {
             CacheWorkerRunner.getInstance().start();
         }
+
+        // Register status gauges and expose all metrics via JMX.
+        new ApplicationStatus().registerGauges(MetricRegistry.getInstance());
+        MetricsMBean.register();
     }
 
     @Override
@@ -73,6 +80,9 @@ public class ApplicationContextListener implements ServletContextListener {
         // Shut down all sources.
         SourceFactory.getAllSources().forEach(Source::shutdown);
 
+        // Stop exposing the application metrics via JMX.
+        MetricsMBean.unregister();
+
         // Shut down the application thread pool.
         ThreadPool.getInstance().shutdown();
     }
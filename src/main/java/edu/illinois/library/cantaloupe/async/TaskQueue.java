@@ -1,15 +1,27 @@
 package edu.illinois.library.cantaloupe.async;
 
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.Callable;
 
 /**
- * Queue of serial tasks, backed internally by {@link ThreadPool}. Should be
- * preferred over {@link ThreadPool} for tasks that are not time-sensitive.
+ * <p>Queue of serial tasks, backed internally by {@link ThreadPool}. Should be
+ * preferred over {@link ThreadPool} for tasks that are not time-sensitive.</p>
+ *
+ * <p>There is one queue per {@link ThreadPool.Priority priority}, each
+ * running its tasks one at a time in a thread of the corresponding
+ * priority. As tasks in different queues run concurrently, a lengthy task in
+ * the {@link ThreadPool.Priority#LOW} queue will not hold up tasks in the
+ * others.</p>
  */
 public final class TaskQueue {
 
-    private static TaskQueue instance = new TaskQueue();
+    private static final Map<ThreadPool.Priority,TaskQueue> INSTANCES =
+            new EnumMap<>(ThreadPool.Priority.class);
 
     private final TaskRunner runner;
 
@@ -17,19 +29,34 @@ public final class TaskQueue {
      * For testing only.
      */
     static synchronized void clearInstance() {
-        instance = new TaskQueue();
+        INSTANCES.clear();
     }
 
     /**
-     * @return Singleton instance.
+     * @return Shared {@link ThreadPool.Priority#NORMAL normal-priority}
+     *         instance.
      */
     public static synchronized TaskQueue getInstance() {
-        return instance;
+        return getInstance(ThreadPool.Priority.NORMAL);
+    }
+
+    /**
+     * @param priority Priority of the thread in which to run tasks.
+     * @return         Shared instance with the given priority.
+     * @since 6.0
+     */
+    public static synchronized TaskQueue getInstance(
+            ThreadPool.Priority priority) {
+        return INSTANCES.computeIfAbsent(priority, TaskQueue::new);
     }
 
-    private TaskQueue() {
+    private TaskQueue(ThreadPool.Priority priority) {
         runner = new TaskRunner();
-        ThreadPool.getInstance().submit(runner);
+        ThreadPool.getInstance().submit(runner, priority);
+        MetricRegistry.getInstance().gauge("cantaloupe_task_queue_size",
+                "Tasks waiting in the application task queue.",
+                runner::size,
+                "priority", priority.name().toLowerCase(Locale.ROOT));
     }
 
     /**
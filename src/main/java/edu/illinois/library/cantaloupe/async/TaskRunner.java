@@ -27,6 +27,15 @@ final class TaskRunner implements Runnable {
         return List.of(queue.toArray(tasks));
     }
 
+    /**
+     * @return Number of queued tasks, not including the one currently
+     *         running, if any.
+     * @since 6.0
+     */
+    int size() {
+        return queue.size();
+    }
+
     @Override
     public void run() {
         while (true) {
@@ -1,11 +1,14 @@
 package edu.illinois.library.cantaloupe.async;
 
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+
+import java.util.Locale;
 import java.util.Random;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Global application thread pool Singleton.
@@ -65,11 +68,11 @@ public final class ThreadPool {
     private static ThreadPool instance;
 
     private boolean isShutdown = false;
-    private final ExecutorService lowPriorityPool =
+    private final ThreadPoolExecutor lowPriorityPool = (ThreadPoolExecutor)
             Executors.newCachedThreadPool(new LowPriorityThreadFactory());
-    private final ExecutorService normalPriorityPool =
+    private final ThreadPoolExecutor normalPriorityPool = (ThreadPoolExecutor)
             Executors.newCachedThreadPool(new NormalPriorityThreadFactory());
-    private final ExecutorService highPriorityPool =
+    private final ThreadPoolExecutor highPriorityPool = (ThreadPoolExecutor)
             Executors.newCachedThreadPool(new HighPriorityThreadFactory());
 
     /**
@@ -91,6 +94,26 @@ public final class ThreadPool {
     }
 
     private ThreadPool() {
+        registerGauges(Priority.LOW, lowPriorityPool);
+        registerGauges(Priority.NORMAL, normalPriorityPool);
+        registerGauges(Priority.HIGH, highPriorityPool);
+    }
+
+    /**
+     * Registers gauges for the given pool, replacing those of any previous
+     * instance.
+     */
+    private static void registerGauges(Priority priority,
+                                       ThreadPoolExecutor pool) {
+        final MetricRegistry registry = MetricRegistry.getInstance();
+        final String label = priority.name().toLowerCase(Locale.ROOT);
+        registry.gauge("cantaloupe_thread_pool_active_threads",
+                "Threads in the application thread pool that are running " +
+                        "tasks.",
+                pool::getActiveCount, "priority", label);
+        registry.gauge("cantaloupe_thread_pool_threads",
+                "Threads in the application thread pool.",
+                pool::getPoolSize, "priority", label);
     }
 
     public boolean isShutdown() {
@@ -3,13 +3,20 @@ package edu.illinois.library.cantaloupe.cache;
 import edu.illinois.library.cantaloupe.async.TaskQueue;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.jfr.CacheReadEvent;
+import edu.illinois.library.cantaloupe.jfr.JFREvents;
+import edu.illinois.library.cantaloupe.metrics.Counter;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.processor.Processor;
+import edu.illinois.library.cantaloupe.resource.iiif.InformationResponseCache;
+import edu.illinois.library.cantaloupe.source.SourceMetadataCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 
@@ -21,6 +28,60 @@ public final class CacheFacade {
     private static final Logger LOGGER = LoggerFactory.
             getLogger(CacheFacade.class);
 
+    private static final Counter DERIVATIVE_CACHE_HITS =
+            newHitCounter("derivative");
+    private static final Counter DERIVATIVE_CACHE_MISSES =
+            newMissCounter("derivative");
+    private static final Counter SOURCE_CACHE_HITS =
+            newHitCounter("source");
+    private static final Counter SOURCE_CACHE_MISSES =
+            newMissCounter("source");
+
+    /**
+     * @param cache Value of the {@literal cache} label, e.g. {@literal
+     *              derivative}.
+     * @since 6.0
+     */
+    static Counter newHitCounter(String cache) {
+        return MetricRegistry.getInstance().counter(
+                "cantaloupe_cache_hits_total",
+                "Cache lookups that found what they were looking for.",
+                "cache", cache);
+    }
+
+    /**
+     * @param cache Value of the {@literal cache} label, e.g. {@literal
+     *              derivative}.
+     * @since 6.0
+     */
+    static Counter newMissCounter(String cache) {
+        return MetricRegistry.getInstance().counter(
+                "cantaloupe_cache_misses_total",
+                "Cache lookups that didn't find what they were looking for.",
+                "cache", cache);
+    }
+
+    /**
+     * @param file Cached file, or {@code null} if the lookup missed.
+     */
+    private static void commitEvent(CacheReadEvent event,
+                                    Identifier identifier,
+                                    Cache cache,
+                                    String type,
+                                    Path file) throws IOException {
+        event.end();
+        if (event.shouldCommit()) {
+            event.setIdentifier(JFREvents.string(identifier));
+            event.setCache(JFREvents.className(cache));
+            event.setType(type);
+            event.setHit(file != null);
+            if (file != null) {
+                event.setBytes(Files.size(file));
+            }
+            event.commit();
+        }
+    }
+
     /**
      * @see Cache#cleanUp
      */
@@ -85,7 +146,15 @@ public final class CacheFacade {
             throws IOException {
         Optional<SourceCache> optSourceCache = getSourceCache();
         if (optSourceCache.isPresent()) {
-            return optSourceCache.get().getSourceImageFile(identifier);
+            final CacheReadEvent event = new CacheReadEvent();
+            event.begin();
+            Optional<Path> optFile =
+                    optSourceCache.get().getSourceImageFile(identifier);
+            (optFile.isPresent() ? SOURCE_CACHE_HITS : SOURCE_CACHE_MISSES)
+                    .increment();
+            commitEvent(event, identifier, optSourceCache.get(),
+                    CacheReadEvent.TYPE_SOURCE, optFile.orElse(null));
+            return optFile;
         }
         return Optional.empty();
     }
@@ -98,6 +167,32 @@ public final class CacheFacade {
         return InfoService.getInstance().isObjectCacheEnabled();
     }
 
+    /**
+     * <p>Only a hit is counted in the application metrics, as a client is
+     * expected to fall back to {@link
+     * #newDerivativeImageInputStream(OperationList)} when the return value is
+     * empty.</p>
+     *
+     * @see DerivativeCache#getDerivativeImageFile(OperationList)
+     */
+    public Optional<Path> getDerivativeImageFile(OperationList opList)
+            throws IOException {
+        Optional<DerivativeCache> optCache = getDerivativeCache();
+        if (optCache.isPresent()) {
+            final CacheReadEvent event = new CacheReadEvent();
+            event.begin();
+            Optional<Path> optFile =
+                    optCache.get().getDerivativeImageFile(opList);
+            if (optFile.isPresent()) {
+                DERIVATIVE_CACHE_HITS.increment();
+            }
+            commitEvent(event, opList.getIdentifier(), optCache.get(),
+                    CacheReadEvent.TYPE_DERIVATIVE, optFile.orElse(null));
+            return optFile;
+        }
+        return Optional.empty();
+    }
+
     /**
      * @see DerivativeCache#newDerivativeImageInputStream(OperationList)
      */
@@ -105,7 +200,21 @@ public final class CacheFacade {
             throws IOException {
         Optional<DerivativeCache> optCache = getDerivativeCache();
         if (optCache.isPresent()) {
-            return optCache.get().newDerivativeImageInputStream(opList);
+            final CacheReadEvent event = new CacheReadEvent();
+            event.begin();
+            InputStream inputStream =
+                    optCache.get().newDerivativeImageInputStream(opList);
+            (inputStream != null ? DERIVATIVE_CACHE_HITS : DERIVATIVE_CACHE_MISSES)
+                    .increment();
+            event.end();
+            if (event.shouldCommit()) {
+                event.setIdentifier(JFREvents.string(opList.getIdentifier()));
+                event.setCache(JFREvents.className(optCache.get()));
+                event.setType(CacheReadEvent.TYPE_DERIVATIVE);
+                event.setHit(inputStream != null);
+                event.commit();
+            }
+            return inputStream;
         }
         return null;
     }
@@ -129,6 +238,12 @@ public final class CacheFacade {
         // Purge the info service.
         InfoService.getInstance().purgeObjectCache();
 
+        // Purge the source metadata cache.
+        SourceMetadataCache.getInstance().purge();
+
+        // Purge the information response cache.
+        InformationResponseCache.getInstance().purge();
+
         // Purge the derivative cache.
         Optional<DerivativeCache> optDerivativeCache = getDerivativeCache();
         if (optDerivativeCache.isPresent()) {
@@ -149,6 +264,12 @@ public final class CacheFacade {
         // Purge it from the info service.
         InfoService.getInstance().purgeObjectCache(identifier);
 
+        // Purge it from the source metadata cache.
+        SourceMetadataCache.getInstance().purge(identifier);
+
+        // Purge it from the information response cache.
+        InformationResponseCache.getInstance().purge(identifier);
+
         // Purge it from the derivative cache.
         Optional<DerivativeCache> optDerivativeCache = getDerivativeCache();
         if (optDerivativeCache.isPresent()) {
@@ -191,6 +312,8 @@ public final class CacheFacade {
      * @since 6.0
      */
     public void purgeInfos() throws IOException {
+        InformationResponseCache.getInstance().purge();
+
         Optional<DerivativeCache> optCache = getDerivativeCache();
         if (optCache.isPresent()) {
             optCache.get().purgeInfos();
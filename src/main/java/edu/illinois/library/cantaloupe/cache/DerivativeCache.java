@@ -6,6 +6,7 @@ import edu.illinois.library.cantaloupe.image.Info;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Optional;
 
 /**
@@ -35,6 +36,27 @@ public interface DerivativeCache extends Cache {
      */
     Optional<Info> getInfo(Identifier identifier) throws IOException;
 
+    /**
+     * <p>Returns the file containing the image corresponding to the given
+     * operation list, for caches that store images in files that can be read
+     * directly. This enables them to be written to responses without being
+     * read into the heap.</p>
+     *
+     * <p>The same validity rules as for {@link
+     * #newDerivativeImageInputStream(OperationList)} apply.</p>
+     *
+     * <p>This default implementation returns an empty instance.</p>
+     *
+     * @param opList Operation list for which to retrieve a file.
+     * @return       File corresponding to the given operation list, if a valid
+     *               one exists in the cache.
+     * @since 6.0
+     */
+    default Optional<Path> getDerivativeImageFile(OperationList opList)
+            throws IOException {
+        return Optional.empty();
+    }
+
     /**
      * <p>Returns an input stream corresponding to the given operation list,
      * or {@code null} if a valid image corresponding to the given operation
@@ -55,6 +55,8 @@ import java.util.stream.Collectors;
  *                     <li>Intermediate subdirectories (see [1])
  *                         <ul>
  *                             <li>{identifier hash (see [2])} (see [3])</li>
+ *                             <li>{identifier hash (see [2])}.tif (see
+ *                             [3], [4])</li>
  *                         </ul>
  *                     </li>
  *                 </ul>
@@ -93,6 +95,9 @@ import java.util.stream.Collectors;
  *     longer than the filesystem's filename length limit.</li>
  *     <li>Cache files are created with a {@literal .tmp} extension and moved
  *     into place when closed for writing.</li>
+ *     <li>Pyramidal TIFF renditions of source images, if {@link
+ *     Key#SOURCE_CACHE_NORMALIZATION_ENABLED enabled}. A rendition is only
+ *     considered current if it was written after its source image.</li>
  * </ol>
  *
  * <h1>Notes</h1>
@@ -113,8 +118,9 @@ class FilesystemCache implements SourceCache, DerivativeCache {
      * closed.</p>
      *
      * <p>{@link T} may be either an {@link Identifier} corresponding to a
-     * source image, or an {@link OperationList} corresponding to a derivative
-     * image.</p>
+     * source image, an {@link OperationList} corresponding to a derivative
+     * image, or a {@link Path} corresponding to a pyramidal rendition of a
+     * source image.</p>
      */
     private static class ConcurrentFileOutputStream<T>
             extends CompletableOutputStream {
@@ -238,6 +244,7 @@ class FilesystemCache implements SourceCache, DerivativeCache {
     private static final String SOURCE_IMAGE_FOLDER = "source";
 
     static final String INFO_EXTENSION = ".json";
+    private static final String PYRAMIDAL_SOURCE_IMAGE_EXTENSION = ".tif";
     private static final String TEMP_EXTENSION = ".tmp";
 
     /**
@@ -450,6 +457,30 @@ class FilesystemCache implements SourceCache, DerivativeCache {
                 .resolve(StringUtils.md5(identifier.toString()));
     }
 
+    /**
+     * @param identifier Identifier identifying the file.
+     * @return Path of the pyramidal rendition of the source image
+     *         corresponding to the given identifier.
+     */
+    static Path pyramidalSourceImageFile(Identifier identifier) {
+        return rootSourceImagePath()
+                .resolve(hashedPathFragment(identifier.toString()))
+                .resolve(StringUtils.md5(identifier.toString())
+                        + PYRAMIDAL_SOURCE_IMAGE_EXTENSION);
+    }
+
+    /**
+     * @param identifier Identifier identifying the file.
+     * @return Temp file corresponding to a pyramidal rendition of the source
+     *         image with the given identifier.
+     */
+    static Path pyramidalSourceImageTempFile(Identifier identifier) {
+        return rootSourceImagePath()
+                .resolve(hashedPathFragment(identifier.toString()))
+                .resolve(StringUtils.md5(identifier.toString())
+                        + PYRAMIDAL_SOURCE_IMAGE_EXTENSION + tempFileSuffix());
+    }
+
     /**
      * @param identifier Identifier identifying the file.
      * @return Temp file corresponding to a source image with the given
@@ -576,29 +607,66 @@ class FilesystemCache implements SourceCache, DerivativeCache {
         return Optional.empty();
     }
 
+    /**
+     * Returns the pyramidal rendition of the source image with the given
+     * identifier, provided that the source image itself is present and not
+     * expired and the rendition is not older than it. (An older rendition
+     * would derive from a previous version of the source image.)
+     */
     @Override
-    public InputStream newDerivativeImageInputStream(OperationList ops)
+    public Optional<Path> getPyramidalSourceImageFile(Identifier identifier)
             throws IOException {
-        InputStream inputStream = null;
-        final Path cacheFile = derivativeImageFile(ops);
+        final Optional<Path> optSourceFile = getSourceImageFile(identifier);
+        if (optSourceFile.isEmpty()) {
+            return Optional.empty();
+        }
+        final Path cacheFile = pyramidalSourceImageFile(identifier);
+        try {
+            if (Files.getLastModifiedTime(cacheFile).compareTo(
+                    Files.getLastModifiedTime(optSourceFile.get())) >= 0) {
+                LOGGER.debug("getPyramidalSourceImageFile(): hit: {} ({})",
+                        identifier, cacheFile);
+                return Optional.of(cacheFile);
+            } else {
+                purgeAsync(cacheFile);
+            }
+        } catch (NoSuchFileException e) {
+            LOGGER.debug("getPyramidalSourceImageFile(): {} ",
+                    e.getMessage());
+        }
+        return Optional.empty();
+    }
 
+    @Override
+    public Optional<Path> getDerivativeImageFile(OperationList ops)
+            throws IOException {
+        final Path cacheFile = derivativeImageFile(ops);
         try {
             if (!isExpired(cacheFile)) {
-                try {
-                    LOGGER.debug("newDerivativeImageInputStream(): hit: {} ({})",
-                            ops, cacheFile);
-                    inputStream = Files.newInputStream(cacheFile);
-                } catch (NoSuchFileException e) {
-                    LOGGER.error(e.getMessage(), e);
-                }
+                LOGGER.debug("getDerivativeImageFile(): hit: {} ({})",
+                        ops, cacheFile);
+                return Optional.of(cacheFile);
             } else {
                 purgeAsync(cacheFile);
             }
         } catch (NoSuchFileException e) {
-            LOGGER.debug("newDerivativeImageInputStream(): {} ",
-                    e.getMessage());
+            LOGGER.debug("getDerivativeImageFile(): {} ", e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public InputStream newDerivativeImageInputStream(OperationList ops)
+            throws IOException {
+        final Optional<Path> optCacheFile = getDerivativeImageFile(ops);
+        if (optCacheFile.isPresent()) {
+            try {
+                return Files.newInputStream(optCacheFile.get());
+            } catch (NoSuchFileException e) {
+                LOGGER.error(e.getMessage(), e);
+            }
         }
-        return inputStream;
+        return null;
     }
 
     /**
@@ -639,7 +707,27 @@ class FilesystemCache implements SourceCache, DerivativeCache {
     }
 
     /**
-     * @param imageIdentifier {@link Identifier} or {@link OperationList}
+     * @param identifier Identifier of the source image whose rendition to
+     *                   write.
+     * @return An output stream to write to. The stream will write to a temp
+     *         file and then move it into place when closed, provided that it
+     *         has been marked as complete. It may also write to nothing if a
+     *         rendition of the same image is being written in another thread.
+     * @throws IOException If anything goes wrong.
+     */
+    @Override
+    public CompletableOutputStream
+    newPyramidalSourceImageOutputStream(Identifier identifier)
+            throws IOException {
+        final Path destFile = pyramidalSourceImageFile(identifier);
+        return newOutputStream(destFile,
+                pyramidalSourceImageTempFile(identifier), destFile,
+                sourceImageWriteLock);
+    }
+
+    /**
+     * @param imageIdentifier {@link Identifier}, {@link OperationList}, or
+     *                        {@link Path} of a pyramidal source image.
      * @param tempFile Temporary file to write to.
      * @param destFile Destination file that tempFile will be moved to when
      *                 writing is complete.
@@ -758,13 +846,15 @@ class FilesystemCache implements SourceCache, DerivativeCache {
             infosBeingPurged.add(identifier);
             LOGGER.debug("purge(Identifier): purging {}...", identifier);
 
-            // Delete the source image.
-            final Path sourceFile = sourceImageFile(identifier);
-            try {
-                LOGGER.debug("purge(Identifier): deleting {}", sourceFile);
-                Files.deleteIfExists(sourceFile);
-            } catch (IOException e) {
-                LOGGER.warn(e.getMessage());
+            // Delete the source image and its pyramidal rendition.
+            for (Path sourceFile : List.of(sourceImageFile(identifier),
+                    pyramidalSourceImageFile(identifier))) {
+                try {
+                    LOGGER.debug("purge(Identifier): deleting {}", sourceFile);
+                    Files.deleteIfExists(sourceFile);
+                } catch (IOException e) {
+                    LOGGER.warn(e.getMessage());
+                }
             }
             // Delete the info.
             final Path infoFile = infoFile(identifier);
@@ -305,11 +305,13 @@ class HeapCache implements DerivativeCache {
                                         .build();
                         cacheBuilder.addImage(image);
                     } else { // it's an info
+                        // Infos are held in binary form, but persisted as
+                        // JSON in order to keep the store format stable.
                         final HeapCacheProtos.Info info =
                                 HeapCacheProtos.Info.newBuilder()
                                         .setLastAccessed(key.getLastAccessedTime())
                                         .setIdentifier(key.getIdentifier())
-                                        .setJson(new String(item.getData(), StandardCharsets.UTF_8))
+                                        .setJson(Info.fromBytes(item.getData()).toJSON())
                                         .build();
                         cacheBuilder.addInfo(info);
                     }
@@ -356,7 +358,7 @@ class HeapCache implements DerivativeCache {
         Item item = get(itemKey(identifier));
         if (item != null) {
             LOGGER.debug("getInfo(): hit for {}", identifier);
-            Info info = Info.fromJSON(new String(item.getData(), StandardCharsets.UTF_8));
+            Info info = Info.fromBytes(item.getData());
             return Optional.of(info);
         }
         return Optional.empty();
@@ -613,9 +615,11 @@ class HeapCache implements DerivativeCache {
         LOGGER.debug("put(): caching info for {}", identifier);
         isDirty.lazySet(true);
         Key key   = itemKey(identifier);
-        // Rather than storing the info instance itself, we store its JSON
-        // serialization, mainly in order to be able to easily get its size.
-        Item item = new Item(info.toJSON().getBytes(StandardCharsets.UTF_8));
+        // Rather than storing the info instance itself, we store its binary
+        // serialization, mainly in order to be able to easily get its size,
+        // and also because it is much smaller and cheaper to decode than
+        // JSON.
+        Item item = new Item(info.toBytes());
         cache.putIfAbsent(key, item);
     }
 
@@ -6,6 +6,13 @@ import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.jfr.CacheReadEvent;
+import edu.illinois.library.cantaloupe.jfr.InfoReadEvent;
+import edu.illinois.library.cantaloupe.jfr.JFREvents;
+import edu.illinois.library.cantaloupe.metrics.Counter;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.Stage;
+import edu.illinois.library.cantaloupe.metrics.Timer;
 import edu.illinois.library.cantaloupe.processor.Processor;
 import edu.illinois.library.cantaloupe.util.ObjectCache;
 import edu.illinois.library.cantaloupe.util.Stopwatch;
@@ -26,6 +33,25 @@ public final class InfoService {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(InfoService.class);
 
+    /**
+     * Counts {@link #getInfo(Identifier)} invocations that find an info in
+     * either the info cache or the derivative cache.
+     */
+    private static final Counter INFO_CACHE_HITS =
+            CacheFacade.newHitCounter("info");
+
+    /**
+     * Counts {@link #getInfo(Identifier)} invocations that don't.
+     */
+    private static final Counter INFO_CACHE_MISSES =
+            CacheFacade.newMissCounter("info");
+
+    private static final ClassValue<Timer> READ_INFO_TIMERS =
+            MetricRegistry.getInstance().timersByClass(
+                    "cantaloupe_processor_read_info_duration_seconds",
+                    "Time taken by processors to read image infos.",
+                    "processor");
+
     private static InfoService instance;
 
     private final InfoCache infoCache = new InfoCache();
@@ -76,6 +102,7 @@ public final class InfoService {
         if (info != null) {
             LOGGER.debug("getInfo(): retrieved from {}: {}",
                     infoCache.getClass().getSimpleName(), identifier);
+            INFO_CACHE_HITS.increment();
             return Optional.of(info);
         }
         // Check the derivative cache.
@@ -84,7 +111,15 @@ public final class InfoService {
         if (derivCache != null) {
             Stopwatch watch = new Stopwatch();
             try {
-                Optional<Info> optInfo = derivCache.getInfo(identifier);
+                final CacheReadEvent event = new CacheReadEvent();
+                final Stage stage = Stage.begin(null).withEvent(event);
+                final Optional<Info> optInfo = derivCache.getInfo(identifier);
+                stage.onCommit(() -> {
+                    event.setIdentifier(JFREvents.string(identifier));
+                    event.setCache(JFREvents.className(derivCache));
+                    event.setType(CacheReadEvent.TYPE_INFO);
+                    event.setHit(optInfo.isPresent());
+                }).close();
                 if (optInfo.isPresent()) {
                     LOGGER.debug("getInfo(): retrieved info of {} from {} in {}",
                             identifier,
@@ -93,12 +128,16 @@ public final class InfoService {
                     // Add it to the object cache (where it may already exist,
                     // but it doesn't matter).
                     putInObjectCache(identifier, optInfo.get());
+                    INFO_CACHE_HITS.increment();
+                } else {
+                    INFO_CACHE_MISSES.increment();
                 }
                 return optInfo;
             } catch (JsonParseException e) {
                 LOGGER.warn("getInfo(): {}", e.getMessage());
             }
         }
+        INFO_CACHE_MISSES.increment();
         return Optional.empty();
     }
 
@@ -217,7 +256,18 @@ public final class InfoService {
     private Info readInfo(final Identifier identifier,
                           final Processor proc) throws IOException {
         final Stopwatch watch = new Stopwatch();
-        final Info info = proc.readInfo();
+        final InfoReadEvent event = new InfoReadEvent();
+        final Info info;
+        try (Stage stage = Stage.begin(null)
+                .withTimer(READ_INFO_TIMERS.get(proc.getClass()))
+                .withEvent(event)
+                .onCommit(() -> {
+                    event.setIdentifier(JFREvents.string(identifier));
+                    event.setProcessor(JFREvents.className(proc));
+                    event.setFormat(JFREvents.string(proc.getSourceFormat()));
+                })) {
+            info = proc.readInfo();
+        }
 
         LOGGER.debug("readInfo(): read {} from {} in {}",
                 identifier,
@@ -0,0 +1,110 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Bounded pool of reusable, equally sized byte arrays used to buffer the
+ * parts of multipart uploads.</p>
+ *
+ * <p>Buffers are allocated lazily, up to a maximum number. When all of them
+ * are in use, {@link #acquire(long)} blocks until one is {@link
+ * #release(byte[]) released}, which bounds the amount of memory that uploads
+ * can consume and slows down writers when uploads can't keep up with
+ * them.</p>
+ *
+ * <p>Instances are thread-safe.</p>
+ *
+ * @since 6.0
+ */
+final class PartBufferPool {
+
+    private final int bufferSize, maxBuffers;
+    private final Deque<byte[]> idleBuffers = new ArrayDeque<>();
+    private int numAllocated;
+
+    /**
+     * @param bufferSize Size of each buffer.
+     * @param maxBuffers Maximum number of buffers that can be allocated.
+     */
+    PartBufferPool(int bufferSize, int maxBuffers) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        if (maxBuffers < 1) {
+            throw new IllegalArgumentException(
+                    "Maximum number of buffers must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.maxBuffers = maxBuffers;
+    }
+
+    /**
+     * Acquires a buffer, waiting for one to be released if necessary. The
+     * content of the buffer is undefined.
+     *
+     * @param timeoutMillis Maximum time to wait.
+     * @return              Buffer, or {@code null} if none became available
+     *                      within the timeout.
+     */
+    synchronized byte[] acquire(long timeoutMillis)
+            throws InterruptedException {
+        final long deadline = System.nanoTime() +
+                TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (idleBuffers.isEmpty() && numAllocated >= maxBuffers) {
+            final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(
+                    deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                return null;
+            }
+            wait(remainingMillis);
+        }
+        if (!idleBuffers.isEmpty()) {
+            return idleBuffers.pop();
+        }
+        numAllocated++;
+        return new byte[bufferSize];
+    }
+
+    /**
+     * Acquires a buffer without waiting. The content of the buffer is
+     * undefined.
+     *
+     * @return Buffer, or {@code null} if none is available.
+     */
+    synchronized byte[] tryAcquire() {
+        if (!idleBuffers.isEmpty()) {
+            return idleBuffers.pop();
+        }
+        if (numAllocated < maxBuffers) {
+            numAllocated++;
+            return new byte[bufferSize];
+        }
+        return null;
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+
+    int getMaxBuffers() {
+        return maxBuffers;
+    }
+
+    /**
+     * @return Number of buffers that are currently acquired.
+     */
+    synchronized int getNumInUse() {
+        return numAllocated - idleBuffers.size();
+    }
+
+    /**
+     * Returns a buffer acquired from {@link #acquire(long)} to the pool.
+     */
+    synchronized void release(byte[] buffer) {
+        idleBuffers.push(buffer);
+        notify();
+    }
+
+}
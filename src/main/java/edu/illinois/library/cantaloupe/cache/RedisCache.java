@@ -6,39 +6,74 @@ import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.operation.OperationList;
-import io.lettuce.core.MapScanCursor;
+import edu.illinois.library.cantaloupe.util.StringUtils;
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.LettuceFutures;
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.RedisFuture;
 import io.lettuce.core.RedisURI;
 import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanIterator;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulConnection;
 import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.cluster.api.sync.RedisClusterCommands;
 import io.lettuce.core.codec.ByteArrayCodec;
 import io.lettuce.core.codec.RedisCodec;
 import io.lettuce.core.codec.StringCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>Cache using Redis via the <a href="https://lettuce.io">Lettuce</a>
  * client.</p>
  *
- * <p>Content is structured as follows:</p>
+ * <p>Every info and derivative image is stored under its own key, so that it
+ * can expire independently via a native Redis TTL (see {@link
+ * Key#DERIVATIVE_CACHE_TTL}) and be evicted independently by a Redis {@literal
+ * maxmemory-policy}. Keys are structured as follows:</p>
  *
- * {@code {
- *     #{@link #IMAGE_HASH_KEY}: {
- *         "operation list string representation": image byte array
- *     },
- *     #{@link #INFO_HASH_KEY}: {
- *         "identifier": "UTF-8 JSON string"
- *     }
- * }}
+ * <dl>
+ *     <dt>{@literal cantaloupe:{identifier hash}:info}</dt>
+ *     <dd>String containing an info, either as UTF-8 JSON or in binary form,
+ *     depending on the value of {@link Key#REDISCACHE_BINARY_INFO} when it
+ *     was stored.</dd>
+ *     <dt>{@literal cantaloupe:{identifier hash}:image:{operation list
+ *     hash}}</dt>
+ *     <dd>Hash containing a derivative image split into fields named {@literal
+ *     0}, {@literal 1}, etc. of up to {@link #DEFAULT_CHUNK_SIZE} bytes each,
+ *     along with a {@link #CHUNK_COUNT_FIELD} field containing the number of
+ *     chunks. Chunks are written and read one at a time, so that large images
+ *     don't have to be buffered in their entirety.</dd>
+ *     <dt>{@literal cantaloupe:{identifier hash}:images}</dt>
+ *     <dd>Set containing the keys of all of the derivative images of an
+ *     identifier, which enables {@link #purge(Identifier)} to find them
+ *     without scanning the keyspace.</dd>
+ * </dl>
+ *
+ * <p>The identifier hash is enclosed in braces, which makes it a <a
+ * href="https://redis.io/topics/cluster-spec#keys-hash-tags">hash tag</a>.
+ * When {@link Key#REDISCACHE_CLUSTER} is enabled, this places all of an
+ * identifier's keys in the same hash slot, so that multi-key commands on them
+ * work.</p>
  *
  * @since 3.4
  */
@@ -76,33 +111,67 @@ class RedisCache implements DerivativeCache {
     }
 
     /**
-     * Reads data into a buffer and provides stream access to it.
+     * Reads a chunked derivative image one chunk at a time. The next chunk is
+     * requested when the current one begins to be read, so that its transfer
+     * overlaps with consumption of the current one.
      */
     private static class RedisInputStream extends InputStream {
 
-        private ByteArrayInputStream bufferStream;
-        private final StatefulRedisConnection<String, byte[]> connection;
-        private final String hashKey;
-        private final String valueKey;
-
-        RedisInputStream(String hashKey,
-                         String valueKey,
-                         StatefulRedisConnection<String, byte[]> connection) {
-            this.connection = connection;
-            this.hashKey = hashKey;
-            this.valueKey = valueKey;
+        private final String imageKey;
+        private final int numChunks;
+        private byte[] chunk;
+        private int chunkIndex, chunkPos;
+        private RedisFuture<byte[]> nextChunk;
+
+        RedisInputStream(String imageKey, int numChunks, byte[] firstChunk) {
+            this.imageKey  = imageKey;
+            this.numChunks = numChunks;
+            this.chunk     = firstChunk;
+            prefetch();
+        }
+
+        private void prefetch() {
+            final int nextIndex = chunkIndex + 1;
+            if (nextIndex < numChunks) {
+                nextChunk = async().hget(imageKey, String.valueOf(nextIndex));
+            } else {
+                nextChunk = null;
+            }
+        }
+
+        /**
+         * @return Whether there is any more data to read.
+         */
+        private boolean advance() throws IOException {
+            while (chunkPos >= chunk.length) {
+                if (nextChunk == null) {
+                    return false;
+                }
+                byte[] bytes = await(nextChunk);
+                if (bytes == null) {
+                    // The entry expired or was purged while it was being read.
+                    throw new IOException("Chunk " + (chunkIndex + 1) +
+                            " of " + imageKey + " is missing");
+                }
+                chunk = bytes;
+                chunkIndex++;
+                chunkPos = 0;
+                prefetch();
+            }
+            return true;
         }
 
-        private void bufferValue() {
-            byte[] value = connection.sync().hget(hashKey, valueKey);
-            bufferStream = new ByteArrayInputStream(value);
+        @Override
+        public int available() {
+            return chunk.length - chunkPos;
         }
 
         @Override
         public void close() throws IOException {
             try {
-                if (bufferStream != null) {
-                    bufferStream.close();
+                if (nextChunk != null) {
+                    nextChunk.cancel(false);
+                    nextChunk = null;
                 }
             } finally {
                 super.close();
@@ -110,79 +179,156 @@ class RedisCache implements DerivativeCache {
         }
 
         @Override
-        public int read() {
-            if (bufferStream == null) {
-                bufferValue();
+        public int read() throws IOException {
+            if (!advance()) {
+                return -1;
             }
-            return bufferStream.read();
+            return chunk[chunkPos++] & 0xff;
         }
 
         @Override
-        public int read(byte[] b) throws IOException {
-            if (bufferStream == null) {
-                bufferValue();
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
             }
-            return bufferStream.read(b);
-        }
-
-        @Override
-        public int read(byte[] b, int off, int len) {
-            if (bufferStream == null) {
-                bufferValue();
+            if (!advance()) {
+                return -1;
             }
-            return bufferStream.read(b, off, len);
+            len = Math.min(len, chunk.length - chunkPos);
+            System.arraycopy(chunk, chunkPos, b, off, len);
+            chunkPos += len;
+            return len;
         }
 
     }
 
     /**
-     * Buffers written data and then writes it asynchronously to Redis.
+     * Writes data in chunks to a temporary hash, which is renamed to its
+     * permanent key upon closing if the instance has been marked as complete,
+     * and deleted otherwise. Readers therefore never see a partially written
+     * image.
      */
     private static class RedisOutputStream extends CompletableOutputStream {
 
-        private final ByteArrayOutputStream bufferStream = new ByteArrayOutputStream();
-        private final StatefulRedisConnection<String, byte[]> connection;
-        private final String hashKey;
-        private final String valueKey;
-
-        RedisOutputStream(String hashKey,
-                          String valueKey,
-                          StatefulRedisConnection<String, byte[]> connection) {
-            this.connection = connection;
-            this.hashKey = hashKey;
-            this.valueKey = valueKey;
+        /**
+         * Maximum number of chunks that can be in flight at once. When this
+         * limit is reached, writes block until the oldest one has been
+         * acknowledged, which bounds memory usage when Redis is slower than
+         * the writer.
+         */
+        private static final int MAX_PENDING_CHUNKS = 4;
+
+        private final String imageKey, indexKey, tempKey;
+        private final Deque<RedisFuture<?>> pendingChunks = new ArrayDeque<>();
+        private final byte[] buffer;
+        private int bufferPos, numChunks;
+        private boolean isClosed;
+
+        RedisOutputStream(String imageKey, String indexKey, int chunkSize) {
+            this.imageKey = imageKey;
+            this.indexKey = indexKey;
+            // This shares imageKey's hash tag, so it can be renamed to it
+            // within a cluster.
+            this.tempKey  = imageKey + ":tmp:" + UUID.randomUUID();
+            this.buffer   = new byte[chunkSize];
+        }
+
+        private void abort() {
+            async().del(tempKey);
         }
 
         @Override
         public void close() throws IOException {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
             try {
                 if (isComplete()) {
-                    connection.async().hset(hashKey, valueKey,
-                            bufferStream.toByteArray());
+                    if (bufferPos > 0 || numChunks == 0) {
+                        writeChunk();
+                    }
+                    while (!pendingChunks.isEmpty()) {
+                        await(pendingChunks.removeFirst());
+                    }
+                    commit();
+                } else {
+                    abort();
                 }
+            } catch (IOException | RuntimeException e) {
+                abort();
+                throw e;
             } finally {
                 super.close();
             }
         }
 
-        @Override
-        public void flush() throws IOException {
-            bufferStream.flush();
+        /**
+         * Makes the image visible to readers, sets its expiration, and adds it
+         * to its identifier's index. These commands are pipelined.
+         */
+        private void commit() throws IOException {
+            final long ttl = getTTL();
+            final List<RedisFuture<?>> futures = new ArrayList<>(5);
+            final RedisClusterAsyncCommands<String,byte[]> commands = async();
+            futures.add(commands.hset(tempKey, CHUNK_COUNT_FIELD,
+                    toBytes(String.valueOf(numChunks))));
+            futures.add(commands.rename(tempKey, imageKey));
+            futures.add(commands.sadd(indexKey, toBytes(imageKey)));
+            if (ttl > 0) {
+                futures.add(commands.expire(imageKey, ttl));
+                // Every member of the index expires no later than this.
+                futures.add(commands.expire(indexKey, ttl));
+            } else {
+                // RENAME carries over the temporary key's expiration.
+                futures.add(commands.persist(imageKey));
+                futures.add(commands.persist(indexKey));
+            }
+            awaitAll(futures);
         }
 
         @Override
-        public void write(int b) throws IOException {
-            bufferStream.write(b);
+        public void flush() {
+            // Chunks are sent as soon as they're full.
         }
 
         @Override
-        public void write(byte[] b) throws IOException {
-            bufferStream.write(b);
+        public void write(int b) throws IOException {
+            buffer[bufferPos++] = (byte) b;
+            if (bufferPos == buffer.length) {
+                writeChunk();
+            }
         }
 
         @Override
         public void write(byte[] b, int off, int len) throws IOException {
-            bufferStream.write(b, off, len);
+            while (len > 0) {
+                final int count = Math.min(len, buffer.length - bufferPos);
+                System.arraycopy(b, off, buffer, bufferPos, count);
+                bufferPos += count;
+                off       += count;
+                len       -= count;
+                if (bufferPos == buffer.length) {
+                    writeChunk();
+                }
+            }
+        }
+
+        private void writeChunk() throws IOException {
+            if (pendingChunks.size() >= MAX_PENDING_CHUNKS) {
+                await(pendingChunks.removeFirst());
+            }
+            final byte[] chunk = new byte[bufferPos];
+            System.arraycopy(buffer, 0, chunk, 0, bufferPos);
+            bufferPos = 0;
+            pendingChunks.add(async().hset(
+                    tempKey, String.valueOf(numChunks), chunk));
+            if (numChunks == 0) {
+                // In case the stream is never closed, e.g. because the
+                // application is killed.
+                pendingChunks.add(async().expire(tempKey, TEMP_KEY_TTL));
+            }
+            numChunks++;
         }
 
     }
@@ -190,54 +336,197 @@ class RedisCache implements DerivativeCache {
     private static final Logger LOGGER = LoggerFactory.
             getLogger(RedisCache.class);
 
-    private static final String IMAGE_HASH_KEY =
-            "edu.illinois.library.cantaloupe.image";
-    private static final String INFO_HASH_KEY =
-            "edu.illinois.library.cantaloupe.info";
+    /**
+     * Name of the hash field containing the number of chunks of a derivative
+     * image.
+     */
+    static final String CHUNK_COUNT_FIELD = "chunks";
+
+    static final int DEFAULT_CHUNK_SIZE = 512 * 1024;
+
+    static final String KEY_PREFIX = "cantaloupe:";
+
+    /**
+     * Keys of the hashes used by versions prior to 6.0, which are deleted by
+     * {@link #purge()}.
+     */
+    private static final String[] LEGACY_KEYS = {
+            "edu.illinois.library.cantaloupe.image",
+            "edu.illinois.library.cantaloupe.info" };
+
+    private static final int SCAN_BATCH_SIZE = 1000;
+
+    /**
+     * Expiration, in seconds, of temporary keys, which only outlive their
+     * output stream when it isn't closed.
+     */
+    private static final long TEMP_KEY_TTL = 3600;
+
+    private static AbstractRedisClient client;
+    private static StatefulConnection<String, byte[]> connection;
+    private static RedisClusterCommands<String, byte[]> syncCommands;
+    private static RedisClusterAsyncCommands<String, byte[]> asyncCommands;
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    private static RedisClusterAsyncCommands<String, byte[]> async() {
+        connect();
+        return asyncCommands;
+    }
+
+    /**
+     * @return The result of the given future.
+     * @throws IOException if the command failed or timed out.
+     */
+    private static <T> T await(RedisFuture<T> future) throws IOException {
+        try {
+            return LettuceFutures.awaitOrCancel(future,
+                    connection.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RedisException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
 
-    private static StatefulRedisConnection<String, byte[]> connection;
+    private static void awaitAll(List<RedisFuture<?>> futures)
+            throws IOException {
+        for (RedisFuture<?> future : futures) {
+            await(future);
+        }
+    }
 
-    private static synchronized StatefulRedisConnection<String, byte[]> getConnection() {
+    private static synchronized void connect() {
         if (connection == null) {
-            Configuration config = Configuration.getInstance();
-            RedisURI redisUri =
-                    RedisURI.Builder.redis(config.getString(Key.REDISCACHE_HOST)).
-                            withPort(config.getInt(Key.REDISCACHE_PORT, 6379)).
-                            withSsl(config.getBoolean(Key.REDISCACHE_SSL, false)).
-                            withPassword(config.getString(Key.REDISCACHE_PASSWORD, "").toCharArray()).
-                            withDatabase(config.getInt(Key.REDISCACHE_DATABASE, 0)).
-                            build();
-            RedisClient client = RedisClient.create(redisUri);
-            connection = client.connect(new CustomRedisCodec());
+            final Configuration config = Configuration.getInstance();
+            final boolean isCluster =
+                    config.getBoolean(Key.REDISCACHE_CLUSTER, false);
+            final RedisURI.Builder uriBuilder = RedisURI.Builder
+                    .redis(config.getString(Key.REDISCACHE_HOST))
+                    .withPort(config.getInt(Key.REDISCACHE_PORT, 6379))
+                    .withSsl(config.getBoolean(Key.REDISCACHE_SSL, false))
+                    .withPassword(config.getString(Key.REDISCACHE_PASSWORD, "").toCharArray());
+            if (isCluster) {
+                // Clusters support only database 0. The given node is used to
+                // discover the rest of the cluster.
+                RedisClusterClient clusterClient =
+                        RedisClusterClient.create(uriBuilder.build());
+                StatefulRedisClusterConnection<String, byte[]> clusterConnection =
+                        clusterClient.connect(new CustomRedisCodec());
+                client        = clusterClient;
+                connection    = clusterConnection;
+                syncCommands  = clusterConnection.sync();
+                asyncCommands = clusterConnection.async();
+            } else {
+                uriBuilder.withDatabase(config.getInt(Key.REDISCACHE_DATABASE, 0));
+                RedisClient redisClient = RedisClient.create(uriBuilder.build());
+                StatefulRedisConnection<String, byte[]> redisConnection =
+                        redisClient.connect(new CustomRedisCodec());
+                client        = redisClient;
+                connection    = redisConnection;
+                syncCommands  = redisConnection.sync();
+                asyncCommands = redisConnection.async();
+            }
         }
-        return connection;
     }
 
-    private static String imageKey(OperationList opList) {
-        return opList.toString();
+    /**
+     * @return TTL of new entries in seconds, or {@literal 0} if they don't
+     *         expire.
+     */
+    private static long getTTL() {
+        return Math.max(0, Configuration.getInstance()
+                .getLong(Key.DERIVATIVE_CACHE_TTL, 0));
+    }
+
+    static String imageKey(OperationList opList) {
+        return keyPrefix(opList.getIdentifier()) + ":image:" +
+                StringUtils.md5(opList.toString());
+    }
+
+    static String indexKey(Identifier identifier) {
+        return keyPrefix(identifier) + ":images";
+    }
+
+    static String infoKey(Identifier identifier) {
+        return keyPrefix(identifier) + ":info";
+    }
+
+    /**
+     * @return Prefix of all of the keys of the given identifier, ending in
+     *         their hash tag.
+     */
+    private static String keyPrefix(Identifier identifier) {
+        return KEY_PREFIX + "{" + StringUtils.md5(identifier.toString()) + "}";
+    }
+
+    /**
+     * N.B.: package-private for testing.
+     */
+    static RedisClusterCommands<String, byte[]> sync() {
+        connect();
+        return syncCommands;
+    }
+
+    private static byte[] toBytes(String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Deletes all keys matching the given pattern. In a cluster, keys are
+     * scanned and deleted on every master node.
+     */
+    private static void deleteMatching(String pattern) {
+        final ScanIterator<String> it = ScanIterator.scan(sync(),
+                ScanArgs.Builder.matches(pattern).limit(SCAN_BATCH_SIZE));
+        final List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        while (it.hasNext()) {
+            batch.add(it.next());
+            if (batch.size() == SCAN_BATCH_SIZE || !it.hasNext()) {
+                sync().del(batch.toArray(String[]::new));
+                batch.clear();
+            }
+        }
     }
 
-    private static String infoKey(Identifier identifier) {
-        return identifier.toString();
+    /**
+     * For testing.
+     *
+     * @param chunkSize Maximum size of a chunk of a derivative image.
+     */
+    void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
     }
 
     @Override
     public Optional<Info> getInfo(Identifier identifier) throws IOException {
-        byte[] json = getConnection().sync().hget(INFO_HASH_KEY,
-                infoKey(identifier));
-        if (json != null) {
-            String jsonStr = new String(json, StandardCharsets.UTF_8);
-            return Optional.of(Info.fromJSON(jsonStr));
+        try {
+            byte[] bytes = sync().get(infoKey(identifier));
+            if (bytes != null) {
+                return Optional.of(Info.fromBytes(bytes));
+            }
+            return Optional.empty();
+        } catch (RedisException e) {
+            throw new IOException(e.getMessage(), e);
         }
-        return Optional.empty();
     }
 
+    /**
+     * Checks for the existence of the image and fetches its first chunk with
+     * a single command, and returns a stream that fetches any subsequent
+     * chunks as it is read.
+     */
     @Override
-    public InputStream newDerivativeImageInputStream(OperationList opList) {
+    public InputStream newDerivativeImageInputStream(OperationList opList)
+            throws IOException {
         final String imageKey = imageKey(opList);
-        if (getConnection().sync().hexists(IMAGE_HASH_KEY, imageKey)) {
-            return new RedisInputStream(IMAGE_HASH_KEY, imageKey,
-                    getConnection());
+        final List<KeyValue<String,byte[]>> values =
+                await(async().hmget(imageKey, CHUNK_COUNT_FIELD, "0"));
+        final KeyValue<String,byte[]> numChunks  = values.get(0);
+        final KeyValue<String,byte[]> firstChunk = values.get(1);
+        if (numChunks.hasValue() && firstChunk.hasValue()) {
+            final String count =
+                    new String(numChunks.getValue(), StandardCharsets.UTF_8);
+            return new RedisInputStream(imageKey, Integer.parseInt(count),
+                    firstChunk.getValue());
         }
         return null;
     }
@@ -245,59 +534,58 @@ class RedisCache implements DerivativeCache {
     @Override
     public CompletableOutputStream
     newDerivativeImageOutputStream(OperationList opList) {
-        return new RedisOutputStream(IMAGE_HASH_KEY, imageKey(opList),
-                getConnection());
+        return new RedisOutputStream(imageKey(opList),
+                indexKey(opList.getIdentifier()), chunkSize);
     }
 
     @Override
     public void purge() {
-        purgeInfos();
-        purgeImages();
+        LOGGER.debug("purge(): purging {}*...", KEY_PREFIX);
+        deleteMatching(KEY_PREFIX + "*");
+        sync().del(LEGACY_KEYS);
     }
 
+    /**
+     * Purges the info and all derivative images of the given identifier in
+     * time proportional to the number of images.
+     */
     @Override
     public void purge(Identifier identifier) {
-        // Purge info
-        String infoKey = infoKey(identifier);
-        LOGGER.debug("purge(Identifier): purging {}...", infoKey);
-        getConnection().sync().hdel(INFO_HASH_KEY, infoKey);
-
-        // Purge images
-        ScanArgs imagePattern = ScanArgs.Builder.matches(identifier + "*");
-        LOGGER.debug("purge(Identifier): purging {}...", imagePattern);
-
-        MapScanCursor<String, byte[]> cursor = getConnection().sync().
-                hscan(IMAGE_HASH_KEY, imagePattern);
-        for (String key : cursor.getMap().keySet()) {
-            getConnection().sync().hdel(IMAGE_HASH_KEY, key);
-        }
-    }
-
-    private void purgeImages() {
-        LOGGER.debug("purgeImages(): purging {}...", IMAGE_HASH_KEY);
-        getConnection().sync().del(IMAGE_HASH_KEY);
+        final String indexKey = indexKey(identifier);
+        final Set<byte[]> imageKeys = sync().smembers(indexKey);
+        final List<String> keys = new ArrayList<>(imageKeys.size() + 2);
+        keys.add(infoKey(identifier));
+        keys.add(indexKey);
+        imageKeys.forEach(k -> keys.add(new String(k, StandardCharsets.UTF_8)));
+        LOGGER.debug("purge(Identifier): purging {} keys of {}...",
+                keys.size(), identifier);
+        // All of these keys are in the same hash slot.
+        sync().del(keys.toArray(String[]::new));
     }
 
     @Override
     public void purgeInfos() {
-        LOGGER.debug("purgeInfos(): purging {}...", INFO_HASH_KEY);
-        getConnection().sync().del(INFO_HASH_KEY);
+        LOGGER.debug("purgeInfos(): purging {}*:info...", KEY_PREFIX);
+        deleteMatching(KEY_PREFIX + "*:info");
     }
 
     /**
-     * No-op.
+     * No-op, as expired entries are deleted by Redis.
      */
     @Override
     public void purgeInvalid() {
-        LOGGER.debug("purgeInvalid(): " +
-                "nothing to do (expiration must be configured in Redis)");
+        LOGGER.debug("purgeInvalid(): nothing to do (entries expire natively)");
     }
 
     @Override
-    public void purge(OperationList opList) {
-        String imageKey = imageKey(opList);
+    public void purge(OperationList opList) throws IOException {
+        final String imageKey = imageKey(opList);
         LOGGER.debug("purge(OperationList): purging {}...", imageKey);
-        getConnection().sync().hdel(IMAGE_HASH_KEY, imageKey);
+        final RedisClusterAsyncCommands<String,byte[]> commands = async();
+        awaitAll(List.of(
+                commands.del(imageKey),
+                commands.srem(indexKey(opList.getIdentifier()),
+                        toBytes(imageKey))));
     }
 
     @Override
@@ -307,6 +595,11 @@ class RedisCache implements DerivativeCache {
                     identifier);
             return;
         }
+        if (Configuration.getInstance().getBoolean(Key.REDISCACHE_BINARY_INFO, false)) {
+            LOGGER.debug("put(): caching binary info for {}", identifier);
+            putInfo(identifier, info.toBytes());
+            return;
+        }
         try {
             put(identifier, info.toJSON());
         } catch (JsonProcessingException e) {
@@ -318,15 +611,30 @@ class RedisCache implements DerivativeCache {
     @Override
     public void put(Identifier identifier, String info) throws IOException {
         LOGGER.debug("put(): caching info for {}", identifier);
-        getConnection().async().hset(
-                INFO_HASH_KEY,
-                infoKey(identifier),
-                info.getBytes(StandardCharsets.UTF_8));
+        putInfo(identifier, toBytes(info));
+    }
+
+    private void putInfo(Identifier identifier, byte[] info) {
+        final long ttl = getTTL();
+        if (ttl > 0) {
+            async().set(infoKey(identifier), info, SetArgs.Builder.ex(ttl));
+        } else {
+            async().set(infoKey(identifier), info);
+        }
     }
 
     @Override
     public void shutdown() {
-        getConnection().close();
+        synchronized (RedisCache.class) {
+            if (connection != null) {
+                connection.close();
+                client.shutdown();
+                connection    = null;
+                client        = null;
+                syncCommands  = null;
+                asyncCommands = null;
+            }
+        }
     }
 
 }
@@ -10,6 +10,7 @@ import edu.illinois.library.cantaloupe.image.MediaType;
 import edu.illinois.library.cantaloupe.operation.Encode;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
 import edu.illinois.library.cantaloupe.util.S3ClientBuilder;
 import edu.illinois.library.cantaloupe.util.S3Utils;
 import edu.illinois.library.cantaloupe.util.Stopwatch;
@@ -43,7 +44,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 /**
  * <p>Cache using an S3 bucket.</p>
  *
- * <p>To improve client-responsiveness, uploads are asynchronous.</p>
+ * <p>To improve client-responsiveness, uploads are asynchronous. See {@link
+ * S3MultipartAsyncOutputStream}.</p>
  *
  * <p>Object keys are named according to the following template:</p>
  *
@@ -69,11 +71,19 @@ class S3Cache implements DerivativeCache {
     private static final String INFO_EXTENSION   = ".json";
     private static final String INFO_KEY_PREFIX  = "info/";
 
+    private static final int DEFAULT_MAX_PART_BUFFERS = 16;
+
     /**
      * Lazy-initialized by {@link #getClientInstance}.
      */
     private static S3Client client;
 
+    /**
+     * Shared by all uploads. Lazy-initialized, and replaced when its
+     * configuration changes, by {@link #getPartBufferPool()}.
+     */
+    private static PartBufferPool partBufferPool;
+
     static synchronized S3Client getClientInstance() {
         if (client == null) {
             final Configuration config = Configuration.getInstance();
@@ -97,6 +107,34 @@ class S3Cache implements DerivativeCache {
         return client;
     }
 
+    /**
+     * @return Pool of part buffers configured by {@link
+     *         Key#S3CACHE_MULTIPART_PART_SIZE} and {@link
+     *         Key#S3CACHE_MULTIPART_MAX_BUFFERS}.
+     */
+    static synchronized PartBufferPool getPartBufferPool() {
+        final Configuration config = Configuration.getInstance();
+        final long partSize = config.getLongBytes(
+                Key.S3CACHE_MULTIPART_PART_SIZE,
+                S3MultipartAsyncOutputStream.MINIMUM_PART_LENGTH);
+        final int bufferSize = (int) Math.min(Integer.MAX_VALUE - 8,
+                Math.max(S3MultipartAsyncOutputStream.MINIMUM_PART_LENGTH,
+                        partSize));
+        final int maxBuffers = Math.max(1, config.getInt(
+                Key.S3CACHE_MULTIPART_MAX_BUFFERS, DEFAULT_MAX_PART_BUFFERS));
+        if (partBufferPool == null ||
+                partBufferPool.getBufferSize() != bufferSize ||
+                partBufferPool.getMaxBuffers() != maxBuffers) {
+            final PartBufferPool pool = new PartBufferPool(bufferSize, maxBuffers);
+            MetricRegistry.getInstance().gauge(
+                    "cantaloupe_s3cache_part_buffers_in_use",
+                    "S3Cache part buffers that are in use by uploads.",
+                    pool::getNumInUse);
+            partBufferPool = pool;
+        }
+        return partBufferPool;
+    }
+
     /**
      * @return Earliest valid instant, with second resolution.
      */
@@ -201,8 +239,12 @@ class S3Cache implements DerivativeCache {
         final String objectKey  = getObjectKey(opList);
         final String bucketName = getBucketName();
         final S3Client client   = getClientInstance();
+        final int maxConcurrency = Configuration.getInstance().getInt(
+                Key.S3CACHE_MULTIPART_MAX_CONCURRENCY,
+                S3MultipartAsyncOutputStream.DEFAULT_MAX_CONCURRENCY);
         return new S3MultipartAsyncOutputStream(client, bucketName, objectKey,
-                opList.getOutputFormat().getPreferredMediaType().toString());
+                opList.getOutputFormat().getPreferredMediaType().toString(),
+                getPartBufferPool(), maxConcurrency);
     }
 
     /**
@@ -1,7 +1,8 @@
 package edu.illinois.library.cantaloupe.cache;
 
 import edu.illinois.library.cantaloupe.async.ThreadPool;
-import org.apache.commons.compress.utils.IOUtils;
+import edu.illinois.library.cantaloupe.metrics.Counter;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.core.sync.RequestBody;
@@ -11,29 +12,41 @@ import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
 import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
-import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
-import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
 
 /**
- * <p>Uploads written data to S3 in parts without blocking on uploads.</p>
+ * <p>Uploads written data to S3 without blocking on uploads.</p>
  *
- * <p>The multi-part upload process involves three types of operations:
- * creating the upload, uploading the parts, and completing the upload. Each of
- * these are encapsulated in {@link Runnable runnable} inner classes. The
- * {@link #write} methods add appropriate instances of these to a queue which
- * is consumed by a worker running in the {@link ThreadPool#getInstance()
- * application thread pool}.</p>
+ * <p>The first part is buffered in an array that grows as needed up to the
+ * part length, which is the buffer size of a {@link PartBufferPool buffer
+ * pool}. If the data fits into it, it is uploaded with a single {@literal
+ * PutObject} request upon closing, which avoids the overhead of a multipart
+ * upload for the great majority of derivative images. Otherwise, a multipart
+ * upload is created, and each part is uploaded in the {@link
+ * ThreadPool#getInstance() application thread pool} as soon as it has been
+ * filled, while the next part is being written into a buffer acquired from
+ * the pool. Up to a given number of parts of an instance are uploaded in
+ * parallel.</p>
  *
- * <p>Clients will notice that calls to {@link #write} and {@link #close()}
- * (that would otherwise block on communication with S3) return immediately.
+ * <p>The pool is shared by all instances, and buffers are returned to it once
+ * they have been uploaded, which prevents cache writes from exhausting the
+ * heap during traffic spikes. Writers never wait on it, though: when the
+ * pool is exhausted, or an instance already has the maximum number of parts
+ * in flight, the upload is abandoned, and any further data written to the
+ * instance is discarded, so that caching never delays a response.</p>
+ *
+ * <p>Clients will notice that calls to {@link #close()} return immediately.
  * After {@link #close()} returns, the resulting object will take a little bit
  * of time to appear in the bucket.</p>
  *
@@ -41,12 +54,6 @@ import java.util.concurrent.LinkedBlockingQueue;
  * instance is not {@link #setComplete(boolean) marked as complete} before
  * closure, the upload will be aborted.</p>
  *
- * <p>Multi-part uploads can reduce memory usage when uploading objects larger
- * than the part length, as that is roughly the maximum amount that has to be
- * buffered in memory (provided that the length of the byte array passed to
- * either of the {@link #write} methods is not greater than the part
- * length).</p>
- *
  * <p>N.B.: Incomplete uploads should be aborted automatically, but when using
  * Amazon S3, it may be helpful to enable the {@literal
  * AbortIncompleteMultipartUpload} lifecycle rule as a fallback.</p>
@@ -56,189 +63,70 @@ import java.util.concurrent.LinkedBlockingQueue;
  */
 public class S3MultipartAsyncOutputStream extends CompletableOutputStream {
 
-    private interface TerminalTask {}
-
-    private static class Worker implements Runnable {
-        private final BlockingQueue<Runnable> workQueue =
-                new LinkedBlockingQueue<>();
-        private boolean isDone, isStopped;
-
-        void add(Runnable task) {
-            workQueue.add(task);
-        }
-
-        @Override
-        public void run() {
-            while (!isDone && !isStopped) {
-                try {
-                    Runnable task = workQueue.take();
-                    task.run();
-                    if (task instanceof TerminalTask) {
-                        isDone = true;
-                    }
-                } catch (InterruptedException e) {
-                    isStopped = true;
-                }
-            }
-        }
-    }
-
-    private class RequestCreator implements Runnable {
-        private final Logger logger =
-                LoggerFactory.getLogger(RequestCreator.class);
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(S3MultipartAsyncOutputStream.class);
 
-        @Override
-        public void run() {
-            logger.trace("Creating request [bucket: {}] [key: {}]",
-                    bucket, key);
-            CreateMultipartUploadRequest createMultipartUploadRequest =
-                    CreateMultipartUploadRequest.builder()
-                            .bucket(bucket)
-                            .key(key)
-                            .contentType(contentType)
-                            .contentEncoding("UTF-8")
-                            .build();
-            CreateMultipartUploadResponse response =
-                    client.createMultipartUpload(createMultipartUploadRequest);
-            uploadID = response.uploadId();
-        }
-    }
+    /** 5 MB is the minimum allowed by S3 for all but the last part. */
+    public static final int MINIMUM_PART_LENGTH = 1024 * 1024 * 5;
 
-    private class PartUploader implements Runnable {
-        private final Logger logger =
-                LoggerFactory.getLogger(PartUploader.class);
+    /**
+     * Initial length of the array into which the first part is buffered.
+     */
+    private static final int INITIAL_BUFFER_LENGTH = 64 * 1024;
 
-        private final ByteArrayOutputStream part;
+    static final int DEFAULT_MAX_CONCURRENCY = 4;
 
-        PartUploader(ByteArrayOutputStream part) {
-            this.part = part;
-        }
+    private static final Executor EXECUTOR =
+            task -> ThreadPool.getInstance().submit(task);
 
-        @Override
-        public void run() {
-            try {
-                final int partNumber = partIndex + 1;
-
-                UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
-                        .bucket(bucket)
-                        .key(key)
-                        .uploadId(uploadID)
-                        .partNumber(partNumber)
-                        .build();
-
-                // There is a small chance that the last part will be empty.
-                if (part.size() == 0) {
-                    logger.trace("Skipping empty part {} [upload ID: {}]",
-                            partNumber, uploadID);
-                    return;
-                }
+    private static final Counter NUM_UPLOADS_ABANDONED =
+            MetricRegistry.getInstance().counter(
+                    "cantaloupe_s3cache_uploads_abandoned_total",
+                    "S3Cache uploads that were abandoned because no part " +
+                            "buffer or upload slot was available.");
 
-                byte[] bytes = part.toByteArray();
-
-                logger.trace("Uploading part {} ({} bytes) [upload ID: {}]",
-                        uploadPartRequest.partNumber(), bytes.length, uploadID);
-
-                String etag = client.uploadPart(
-                        uploadPartRequest,
-                        RequestBody.fromBytes(bytes)).eTag();
-                CompletedPart completedPart = CompletedPart.builder()
-                        .partNumber(uploadPartRequest.partNumber())
-                        .eTag(etag)
-                        .build();
-                completedParts.add(completedPart);
-            } finally {
-                IOUtils.closeQuietly(part);
-            }
-        }
-    }
-
-    private class RequestCompleter implements Runnable, TerminalTask {
-        private final Logger logger =
-                LoggerFactory.getLogger(RequestCompleter.class);
-
-        @Override
-        public void run() {
-            try {
-                logger.trace("Completing {}-part request [upload ID: {}]",
-                        completedParts.size(), uploadID);
-
-                CompletedMultipartUpload completedMultipartUpload =
-                        CompletedMultipartUpload.builder()
-                                .parts(completedParts)
-                                .build();
-                CompleteMultipartUploadRequest completeMultipartUploadRequest =
-                        CompleteMultipartUploadRequest.builder()
-                                .bucket(bucket)
-                                .key(key)
-                                .uploadId(uploadID)
-                                .multipartUpload(completedMultipartUpload)
-                                .build();
-                client.completeMultipartUpload(completeMultipartUploadRequest);
-                setComplete(true); // CompletableOutputStream method
-            } catch (S3Exception e) {
-                logger.warn(e.getMessage());
-            } finally {
-                if (observer != null) {
-                    synchronized (instance) {
-                        instance.notifyAll();
-                    }
-                }
-            }
-        }
-    }
+    private final S3Client client;
+    private final String bucket, key, contentType;
+    private final PartBufferPool bufferPool;
 
-    private class RequestAborter implements Runnable, TerminalTask {
-        private final Logger logger =
-                LoggerFactory.getLogger(RequestAborter.class);
-
-        @Override
-        public void run() {
-            try {
-                logger.trace("Aborting multipart request [upload ID: {}]",
-                        uploadID);
-
-                AbortMultipartUploadRequest abortMultipartUploadRequest =
-                        AbortMultipartUploadRequest.builder()
-                                .bucket(bucket)
-                                .key(key)
-                                .uploadId(uploadID)
-                                .build();
-                client.abortMultipartUpload(abortMultipartUploadRequest);
-                setComplete(false);
-            } catch (S3Exception e) {
-                logger.warn(e.getMessage());
-            } finally {
-                if (observer != null) {
-                    synchronized (instance) {
-                        instance.notifyAll();
-                    }
-                }
-            }
-        }
-    }
+    /**
+     * Limits the number of parts of the instance that are being uploaded at
+     * once.
+     */
+    private final Semaphore uploadPermits;
 
-    /** 5 MB is the minimum allowed by S3 for all but the last part. */
-    public static final int MINIMUM_PART_LENGTH = 1024 * 1024 * 5;
+    /**
+     * Set when the data has outgrown the first part buffer. Until then, the
+     * buffer is uploaded with a single request upon closing.
+     */
+    private CompletableFuture<String> uploadID;
+    private final List<CompletableFuture<CompletedPart>> partUploads =
+            new ArrayList<>();
+    private byte[] partBuffer;
+    private int partBufferPos, numParts;
 
-    private final S3Client client;
-    private final String bucket, key, contentType;
+    /**
+     * Whether {@link #partBuffer} was acquired from {@link #bufferPool}, as
+     * opposed to being the first part buffer.
+     */
+    private boolean isPartBufferPooled;
 
-    private ByteArrayOutputStream currentPart;
-    private final List<CompletedPart> completedParts = new ArrayList<>();
-    private final Worker worker                      = new Worker();
-    private boolean requestCreated;
+    /**
+     * Set when the upload has been abandoned or a part upload has failed,
+     * after which written data is discarded and the upload is aborted upon
+     * closing.
+     */
+    private volatile boolean isFailed;
 
-    private String uploadID;
-    private int partIndex;
-    private long indexWithinPart;
+    private boolean isClosed;
 
     /** For an instance to wait for an upload notification during testing. */
     Object observer;
 
-    /** Helps notify {@link #observer} of a completed upload during testing. */
-    private final S3MultipartAsyncOutputStream instance;
-
     /**
+     * Creates an instance with its own buffer pool and a default maximum
+     * upload concurrency.
+     *
      * @param client      Client.
      * @param bucket      Target bucket.
      * @param key         Target key.
@@ -248,74 +136,321 @@ public class S3MultipartAsyncOutputStream extends CompletableOutputStream {
                                         String bucket,
                                         String key,
                                         String contentType) {
-        this.client      = client;
-        this.bucket      = bucket;
-        this.key         = key;
-        this.contentType = contentType;
-        this.instance    = this;
-        ThreadPool.getInstance().submit(worker);
+        this(client, bucket, key, contentType,
+                new PartBufferPool(MINIMUM_PART_LENGTH,
+                        DEFAULT_MAX_CONCURRENCY + 1),
+                DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * @param client         Client.
+     * @param bucket         Target bucket.
+     * @param key            Target key.
+     * @param contentType    Content type of the created object.
+     * @param bufferPool     Pool from which to acquire part buffers, whose
+     *                       buffer size is the part length, which must be at
+     *                       least {@link #MINIMUM_PART_LENGTH}.
+     * @param maxConcurrency Maximum number of parts to upload at once.
+     */
+    S3MultipartAsyncOutputStream(S3Client client,
+                                 String bucket,
+                                 String key,
+                                 String contentType,
+                                 PartBufferPool bufferPool,
+                                 int maxConcurrency) {
+        this.client        = client;
+        this.bucket        = bucket;
+        this.key           = key;
+        this.contentType   = contentType;
+        this.bufferPool    = bufferPool;
+        this.uploadPermits = new Semaphore(Math.max(1, maxConcurrency));
+    }
+
+    /**
+     * Marks the upload as failed because a resource needed to continue it
+     * wasn't available.
+     */
+    private void abandon(String resource) {
+        LOGGER.warn("No {} available; abandoning upload of {}",
+                resource, key);
+        NUM_UPLOADS_ABANDONED.increment();
+        isFailed = true;
+    }
+
+    /**
+     * Acquires a buffer for the next part from the pool, if one is available.
+     *
+     * @return Whether a buffer was acquired. If not, the upload has been
+     *         abandoned.
+     */
+    private boolean acquirePartBuffer() {
+        partBuffer = bufferPool.tryAcquire();
+        if (partBuffer == null) {
+            abandon("part buffer");
+            return false;
+        }
+        partBufferPos      = 0;
+        isPartBufferPooled = true;
+        return true;
+    }
+
+    /**
+     * Grows the first part buffer to hold at least the given number of bytes,
+     * up to the part length.
+     */
+    private void growFirstPartBuffer(int minLength) {
+        final int partLength = bufferPool.getBufferSize();
+        int length = (partBuffer != null) ?
+                partBuffer.length : INITIAL_BUFFER_LENGTH;
+        while (length < minLength && length < partLength) {
+            length = (int) Math.min(2L * length, partLength);
+        }
+        length = Math.min(length, partLength);
+        partBuffer = (partBuffer != null) ?
+                Arrays.copyOf(partBuffer, length) : new byte[length];
+    }
+
+    /**
+     * Returns the current part buffer to the pool, if it came from there.
+     */
+    private void releasePartBuffer() {
+        if (partBuffer != null && isPartBufferPooled) {
+            bufferPool.release(partBuffer);
+        }
+        partBuffer         = null;
+        isPartBufferPooled = false;
     }
 
     @Override
     public void close() throws IOException {
-        if (isComplete()) {
-            worker.add(new PartUploader(getCurrentPart()));
-            // The worker will exit after running this.
-            worker.add(new RequestCompleter());
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        final boolean isSuccessful;
+        if (uploadID == null) {
+            final byte[] buffer = partBuffer;
+            final int length    = partBufferPos;
+            partBuffer = null;
+            isSuccessful = isComplete() && !isFailed;
+            if (isSuccessful) {
+                EXECUTOR.execute(() -> putObject(buffer, length));
+            } else {
+                setComplete(false);
+                EXECUTOR.execute(this::notifyObserver);
+            }
+            return;
+        }
+        if (isComplete() && !isFailed && partBufferPos > 0) {
+            uploadPart();
         } else {
-            // The worker will exit after running this.
-            worker.add(new RequestAborter());
+            releasePartBuffer();
         }
+        isSuccessful = isComplete() && !isFailed;
+        CompletableFuture.allOf(partUploads.toArray(CompletableFuture[]::new))
+                .handleAsync((result, throwable) -> {
+                    if (isSuccessful && throwable == null) {
+                        completeMultipartUpload();
+                    } else {
+                        abortMultipartUpload();
+                    }
+                    return null;
+                }, EXECUTOR);
     }
 
-    @Override
-    public void write(int b) throws IOException {
-        ByteArrayOutputStream part = getCurrentPart();
-        part.write(b);
-        indexWithinPart++;
-        createRequestIfNecessary();
-        uploadPartIfNecessary();
+    private void abortMultipartUpload() {
+        try {
+            final String id = uploadID.join();
+            LOGGER.trace("Aborting multipart request [upload ID: {}]", id);
+            client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(id)
+                    .build());
+        } catch (RuntimeException e) {
+            // Includes a failure to create the upload, in which case there's
+            // nothing to abort.
+            LOGGER.warn("Failed to abort upload of {}: {}",
+                    key, e.getMessage());
+        } finally {
+            setComplete(false);
+            notifyObserver();
+        }
     }
 
-    @Override
-    public void write(byte[] b) throws IOException {
-        ByteArrayOutputStream part = getCurrentPart();
-        part.write(b);
-        indexWithinPart += b.length;
-        createRequestIfNecessary();
-        uploadPartIfNecessary();
+    private void completeMultipartUpload() {
+        try {
+            final String id = uploadID.join();
+            final List<CompletedPart> parts = partUploads.stream()
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toList());
+            LOGGER.trace("Completing {}-part request [upload ID: {}]",
+                    parts.size(), id);
+            client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(id)
+                    .multipartUpload(CompletedMultipartUpload.builder()
+                            .parts(parts)
+                            .build())
+                    .build());
+            setComplete(true); // CompletableOutputStream method
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to complete upload of {}: {}",
+                    key, e.getMessage());
+            abortMultipartUpload();
+            return;
+        }
+        notifyObserver();
     }
 
-    @Override
-    public void write(byte[] b, int off, int len) throws IOException {
-        ByteArrayOutputStream part = getCurrentPart();
-        part.write(b, off, len);
-        indexWithinPart += len;
-        createRequestIfNecessary();
-        uploadPartIfNecessary();
+    private String createMultipartUpload() {
+        LOGGER.trace("Creating request [bucket: {}] [key: {}]", bucket, key);
+        return client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .contentEncoding("UTF-8")
+                .build()).uploadId();
     }
 
-    private ByteArrayOutputStream getCurrentPart() {
-        if (currentPart == null) {
-            currentPart = new ByteArrayOutputStream();
+    private void notifyObserver() {
+        if (observer != null) {
+            synchronized (this) {
+                notifyAll();
+            }
         }
-        return currentPart;
     }
 
-    private void createRequestIfNecessary() {
-        if (!requestCreated) {
-            worker.add(new RequestCreator());
-            requestCreated = true;
+    /**
+     * Uploads the given buffer, if any, with a single request.
+     *
+     * @param buffer First part buffer, or {@code null} if no data was
+     *               written.
+     * @param length Length of the data in the buffer.
+     */
+    private void putObject(byte[] buffer, int length) {
+        try {
+            LOGGER.trace("Uploading {} bytes [bucket: {}] [key: {}]",
+                    length, bucket, key);
+            // Streamed rather than copied out of the buffer.
+            final RequestBody body = (buffer != null) ?
+                    RequestBody.fromInputStream(
+                            new ByteArrayInputStream(buffer, 0, length), length) :
+                    RequestBody.empty();
+            client.putObject(PutObjectRequest.builder()
+                            .bucket(bucket)
+                            .key(key)
+                            .contentType(contentType)
+                            .contentEncoding("UTF-8")
+                            .build(),
+                    body);
+            setComplete(true);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to upload {}: {}", key, e.getMessage());
+            setComplete(false);
+        } finally {
+            notifyObserver();
         }
     }
 
-    private void uploadPartIfNecessary() {
-        if (indexWithinPart >= MINIMUM_PART_LENGTH) {
-            worker.add(new PartUploader(currentPart));
-            IOUtils.closeQuietly(currentPart);
-            currentPart     = null;
-            indexWithinPart = 0;
-            partIndex++;
+    /**
+     * Uploads the current part buffer asynchronously, returning it to the
+     * pool afterwards if it came from there. Abandons the upload if the
+     * maximum number of parts are already being uploaded.
+     */
+    private void uploadPart() {
+        if (!uploadPermits.tryAcquire()) {
+            releasePartBuffer();
+            partBufferPos = 0;
+            abandon("upload slot");
+            return;
+        }
+        final byte[] buffer      = partBuffer;
+        final boolean isPooled   = isPartBufferPooled;
+        final int length         = partBufferPos;
+        final int partNumber     = ++numParts;
+        partBuffer         = null;
+        partBufferPos      = 0;
+        isPartBufferPooled = false;
+        partUploads.add(uploadID
+                .thenApplyAsync(id -> uploadPart(id, partNumber, buffer, length),
+                        EXECUTOR)
+                .whenComplete((part, throwable) -> {
+                    if (isPooled) {
+                        bufferPool.release(buffer);
+                    }
+                    uploadPermits.release();
+                    if (throwable != null) {
+                        LOGGER.warn("Failed to upload part {} of {}: {}",
+                                partNumber, key, throwable.getMessage());
+                        isFailed = true;
+                    }
+                }));
+    }
+
+    private CompletedPart uploadPart(String uploadID,
+                                     int partNumber,
+                                     byte[] buffer,
+                                     int length) {
+        LOGGER.trace("Uploading part {} ({} bytes) [upload ID: {}]",
+                partNumber, length, uploadID);
+        UploadPartRequest request = UploadPartRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadID)
+                .partNumber(partNumber)
+                .build();
+        // Streamed rather than copied out of the buffer.
+        String etag = client.uploadPart(request, RequestBody.fromInputStream(
+                new ByteArrayInputStream(buffer, 0, length), length)).eTag();
+        return CompletedPart.builder()
+                .partNumber(partNumber)
+                .eTag(etag)
+                .build();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (isFailed) {
+                return;
+            }
+            if (partBuffer == null) {
+                if (uploadID == null) {
+                    growFirstPartBuffer(len);
+                } else if (!acquirePartBuffer()) {
+                    return;
+                }
+            } else if (partBufferPos == partBuffer.length &&
+                    partBufferPos < bufferPool.getBufferSize()) {
+                growFirstPartBuffer(partBufferPos + len);
+            } else if (partBufferPos == partBuffer.length) {
+                // A full buffer is uploaded only once there is more data, so
+                // that data that fits into the first one can be uploaded with
+                // a single request.
+                if (uploadID == null) {
+                    uploadID = CompletableFuture.supplyAsync(
+                            this::createMultipartUpload, EXECUTOR);
+                }
+                uploadPart();
+                continue;
+            }
+            final int count = Math.min(len, partBuffer.length - partBufferPos);
+            System.arraycopy(b, off, partBuffer, partBufferPos, count);
+            partBufferPos += count;
+            off           += count;
+            len           -= count;
         }
     }
 
@@ -53,4 +53,42 @@ public interface SourceCache extends Cache {
     OutputStream newSourceImageOutputStream(Identifier identifier)
             throws IOException;
 
+    /**
+     * <p>Returns a tiled, multi-resolution TIFF rendition of the source image
+     * corresponding to the given identifier, if one has been written via
+     * {@link #newPyramidalSourceImageOutputStream(Identifier)} since the
+     * source image itself was last written.</p>
+     *
+     * <p>As with {@link #getSourceImageFile(Identifier)}, clients must not
+     * write to the returned path.</p>
+     *
+     * <p>The default implementation returns an empty instance, for
+     * implementations that don't support pyramidal renditions.</p>
+     *
+     * @param identifier Identifier of an image to read from the cache.
+     * @return File corresponding to the given identifier, or empty if a
+     *         current rendition does not exist in the cache.
+     * @since 6.0
+     */
+    default Optional<Path> getPyramidalSourceImageFile(Identifier identifier)
+            throws IOException {
+        return Optional.empty();
+    }
+
+    /**
+     * @param identifier Identifier of an image whose pyramidal rendition to
+     *                   write to the cache.
+     * @return Output stream to which a pyramidal rendition of the image
+     *         corresponding to the given identifier can be written. Clients
+     *         must {@link CompletableOutputStream#setComplete(boolean) mark
+     *         it as complete} before closing it in order for the rendition to
+     *         become available. The default implementation returns a
+     *         no-op stream.
+     * @since 6.0
+     */
+    default CompletableOutputStream newPyramidalSourceImageOutputStream(
+            Identifier identifier) throws IOException {
+        return new CompletableNullOutputStream();
+    }
+
 }
@@ -54,6 +54,7 @@ public enum Key {
     AZURESTORAGESOURCE_CHUNK_SIZE("AzureStorageSource.chunking.chunk_size"),
     AZURESTORAGESOURCE_CHUNK_CACHE_ENABLED("AzureStorageSource.chunking.cache.enabled"),
     AZURESTORAGESOURCE_CHUNK_CACHE_MAX_SIZE("AzureStorageSource.chunking.cache.max_size"),
+    AZURESTORAGESOURCE_CHUNK_READ_AHEAD("AzureStorageSource.chunking.read_ahead"),
     AZURESTORAGESOURCE_CONTAINER_NAME("AzureStorageSource.container_name"),
     AZURESTORAGESOURCE_LOOKUP_STRATEGY("AzureStorageSource.lookup_strategy"),
     BASE_URI("base_uri"),
@@ -108,6 +109,7 @@ public enum Key {
     HTTPSOURCE_CHUNK_SIZE("HttpSource.chunking.chunk_size"),
     HTTPSOURCE_CHUNK_CACHE_ENABLED("HttpSource.chunking.cache.enabled"),
     HTTPSOURCE_CHUNK_CACHE_MAX_SIZE("HttpSource.chunking.cache.max_size"),
+    HTTPSOURCE_CHUNK_READ_AHEAD("HttpSource.chunking.read_ahead"),
     HTTPSOURCE_HTTP_PROXY_HOST("HttpSource.proxy.http.host"),
     HTTPSOURCE_HTTP_PROXY_PORT("HttpSource.proxy.http.port"),
     HTTPSOURCE_LOOKUP_STRATEGY("HttpSource.lookup_strategy"),
@@ -129,20 +131,29 @@ public enum Key {
     IIIF_MIN_TILE_SIZE("endpoint.iiif.min_tile_size"),
     IIIF_RESTRICT_TO_SIZES("endpoint.iiif.restrict_to_sizes"),
     INFO_CACHE_ENABLED("cache.server.info.enabled"),
+    INFO_RESPONSE_CACHE_ENABLED("cache.server.info_response.enabled"),
+    INFO_RESPONSE_CACHE_TTL("cache.server.info_response.ttl_seconds"),
     JDBCCACHE_CONNECTION_TIMEOUT("JdbcCache.connection_timeout"),
     JDBCCACHE_DERIVATIVE_IMAGE_TABLE("JdbcCache.derivative_image_table"),
     JDBCCACHE_INFO_TABLE("JdbcCache.info_table"),
     JDBCCACHE_JDBC_URL("JdbcCache.url"),
     JDBCCACHE_PASSWORD("JdbcCache.password"),
     JDBCCACHE_USER("JdbcCache.user"),
+    JDBCSOURCE_CHUNKING_ENABLED("JdbcSource.chunking.enabled"),
+    JDBCSOURCE_CHUNK_SIZE("JdbcSource.chunking.chunk_size"),
+    JDBCSOURCE_CHUNK_CACHE_ENABLED("JdbcSource.chunking.cache.enabled"),
+    JDBCSOURCE_CHUNK_CACHE_MAX_SIZE("JdbcSource.chunking.cache.max_size"),
+    JDBCSOURCE_CHUNK_READ_AHEAD("JdbcSource.chunking.read_ahead"),
     JDBCSOURCE_CONNECTION_TIMEOUT("JdbcSource.connection_timeout"),
     JDBCSOURCE_JDBC_URL("JdbcSource.url"),
     JDBCSOURCE_PASSWORD("JdbcSource.password"),
     JDBCSOURCE_USER("JdbcSource.user"),
     LOG_ERROR_RESPONSES("log_error_responses"),
+    LOG_SLOW_REQUESTS_THRESHOLD("log_slow_requests.threshold_ms"),
     MAX_PIXELS("max_pixels"),
     MAX_SCALE("max_scale"),
     META_IDENTIFIER_TRANSFORMER("meta_identifier.transformer"),
+    METRICS_ENDPOINT_ENABLED("endpoint.metrics.enabled"),
     OPENJPEGPROCESSOR_PATH_TO_BINARIES("OpenJpegProcessor.path_to_binaries"),
     GROKPROCESSOR_PATH_TO_BINARIES("GrokProcessor.path_to_binaries"),
     OVERLAY_ENABLED("overlays.BasicStrategy.enabled"),
@@ -170,16 +181,27 @@ public enum Key {
     PROCESSOR_DPI("processor.dpi"),
     PROCESSOR_PDF_SCRATCH_FILE_ENABLED("processor.pdf.scratch_file_enabled"),
     PROCESSOR_PDF_MAX_MEMORY_BYTES("processor.pdf.max_memory_bytes"),
+    PROCESSOR_PDF_POOL_MAX_DOCUMENTS("processor.pdf.pool.max_documents"),
+    PROCESSOR_PDF_POOL_MAX_SIZE("processor.pdf.pool.max_size"),
+    PROCESSOR_PDF_POOL_TTL("processor.pdf.pool.ttl_seconds"),
+    PROCESSOR_PDF_RASTER_CACHE_ENABLED("processor.pdf.raster_cache.enabled"),
+    PROCESSOR_PDF_RASTER_CACHE_MAX_PIXELS("processor.pdf.raster_cache.max_pixels"),
     PROCESSOR_FALLBACK("processor.ManualSelectionStrategy.fallback"),
     PROCESSOR_FALLBACK_RETRIEVAL_STRATEGY("processor.fallback_retrieval_strategy"),
+    PROCESSOR_JPG_LOSSLESS_TRANSCODING("processor.jpg.lossless_transcoding"),
     PROCESSOR_JPG_PROGRESSIVE("processor.jpg.progressive"),
     PROCESSOR_JPG_QUALITY("processor.jpg.quality"),
+    PROCESSOR_MEMORY_MAPPING_ENABLED("processor.memory_mapping.enabled"),
     PROCESSOR_PURGE_INCOMPATIBLE_FROM_SOURCE_CACHE("processor.purge_incompatible_from_source_cache"),
     PROCESSOR_SELECTION_STRATEGY("processor.selection_strategy"),
     PROCESSOR_SHARPEN("processor.sharpen"),
     PROCESSOR_STREAM_RETRIEVAL_STRATEGY("processor.stream_retrieval_strategy"),
+    PROCESSOR_SUBSAMPLING_ENABLED("processor.subsampling.enabled"),
+    PROCESSOR_SUBSAMPLING_HEADROOM("processor.subsampling.headroom"),
     PROCESSOR_TIF_COMPRESSION("processor.tif.compression"),
     PROCESSOR_UPSCALE_FILTER("processor.upscale_filter"),
+    REDISCACHE_BINARY_INFO("RedisCache.binary_info"),
+    REDISCACHE_CLUSTER("RedisCache.cluster"),
     REDISCACHE_DATABASE("RedisCache.database"),
     REDISCACHE_HOST("RedisCache.host"),
     REDISCACHE_PASSWORD("RedisCache.password"),
@@ -187,9 +209,13 @@ public enum Key {
     REDISCACHE_SSL("RedisCache.ssl"),
     SOURCE_DELEGATE("source.delegate"),
     SOURCE_STATIC("source.static"),
+    SOURCE_STREAM_MAX_DRAIN_SIZE("source.stream.max_drain_size"),
     S3CACHE_ACCESS_KEY_ID("S3Cache.access_key_id"),
     S3CACHE_BUCKET_NAME("S3Cache.bucket.name"),
     S3CACHE_ENDPOINT("S3Cache.endpoint"),
+    S3CACHE_MULTIPART_MAX_BUFFERS("S3Cache.multipart.max_buffers"),
+    S3CACHE_MULTIPART_MAX_CONCURRENCY("S3Cache.multipart.max_concurrency"),
+    S3CACHE_MULTIPART_PART_SIZE("S3Cache.multipart.part_size"),
     S3CACHE_OBJECT_KEY_PREFIX("S3Cache.object_key_prefix"),
     S3CACHE_REGION("S3Cache.region"),
     S3CACHE_SECRET_KEY("S3Cache.secret_key"),
@@ -199,15 +225,22 @@ public enum Key {
     S3SOURCE_CHUNK_SIZE("S3Source.chunking.chunk_size"),
     S3SOURCE_CHUNK_CACHE_ENABLED("S3Source.chunking.cache.enabled"),
     S3SOURCE_CHUNK_CACHE_MAX_SIZE("S3Source.chunking.cache.max_size"),
+    S3SOURCE_CHUNK_READ_AHEAD("S3Source.chunking.read_ahead"),
     S3SOURCE_ENDPOINT("S3Source.endpoint"),
     S3SOURCE_LOOKUP_STRATEGY("S3Source.lookup_strategy"),
     S3SOURCE_PATH_PREFIX("S3Source.BasicLookupStrategy.path_prefix"),
     S3SOURCE_PATH_SUFFIX("S3Source.BasicLookupStrategy.path_suffix"),
     S3SOURCE_REGION("S3Source.region"),
     S3SOURCE_SECRET_KEY("S3Source.secret_key"),
+    SERVER_TIMING_ENABLED("server_timing.enabled"),
     SLASH_SUBSTITUTE("slash_substitute"),
     SOURCE_CACHE("cache.server.source"),
+    SOURCE_CACHE_NORMALIZATION_ENABLED("cache.server.source.normalization.enabled"),
+    SOURCE_CACHE_NORMALIZATION_MAX_PIXELS("cache.server.source.normalization.max_pixels"),
+    SOURCE_CACHE_NORMALIZATION_TILE_SIZE("cache.server.source.normalization.tile_size"),
     SOURCE_CACHE_TTL("cache.server.source.ttl_seconds"),
+    SOURCE_METADATA_CACHE_ENABLED("cache.server.source_metadata.enabled"),
+    SOURCE_METADATA_CACHE_TTL("cache.server.source_metadata.ttl_seconds"),
     STANDARD_META_IDENTIFIER_TRANSFORMER_DELIMITER("meta_identifier.transformer.StandardMetaIdentifierTransformer.delimiter"),
     TEMP_PATHNAME("temp_pathname");
 
@@ -1,6 +1,9 @@
 package edu.illinois.library.cantaloupe.delegate;
 
 import edu.illinois.library.cantaloupe.resource.RequestContext;
+import edu.illinois.library.cantaloupe.jfr.DelegateInvocationEvent;
+import edu.illinois.library.cantaloupe.jfr.JFREvents;
+import edu.illinois.library.cantaloupe.metrics.Stage;
 import edu.illinois.library.cantaloupe.util.Stopwatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -394,6 +397,18 @@ final class JRubyDelegateProxy implements DelegateProxy {
                 method, argsList);
 
         final Stopwatch watch = new Stopwatch();
+        final DelegateInvocationEvent event = new DelegateInvocationEvent();
+        // The context is not yet available when it is being set.
+        final Stage stage = Stage.begin("delegate",
+                (requestContext != null) ? requestContext.getTrace() : null)
+                .withEvent(event)
+                .onCommit(() -> {
+                    event.setMethod(method);
+                    if (requestContext != null) {
+                        event.setIdentifier(JFREvents.string(
+                                requestContext.getIdentifier()));
+                    }
+                });
         try {
             final Object retval = ((Invocable) scriptEngine).invokeMethod(
                     delegate, method, args);
@@ -407,6 +422,7 @@ final class JRubyDelegateProxy implements DelegateProxy {
             throw new ScriptException(e);
         } finally {
             lock.unlock(stamp);
+            stage.close();
         }
     }
 
@@ -1,9 +1,13 @@
 package edu.illinois.library.cantaloupe.delegate;
 
+import edu.illinois.library.cantaloupe.jfr.DelegateInvocationEvent;
+import edu.illinois.library.cantaloupe.jfr.JFREvents;
+import edu.illinois.library.cantaloupe.metrics.Stage;
 import edu.illinois.library.cantaloupe.resource.RequestContext;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Shims a {@link JavaDelegate} to serve as a {@link DelegateProxy}.
@@ -22,45 +26,77 @@ final class JavaDelegateProxy implements DelegateProxy {
         this.delegate = delegate;
     }
 
+    /**
+     * Invokes a delegate method, recording its duration in the trace of the
+     * request, if the request context has been set, and in a Flight Recorder
+     * event.
+     *
+     * @param method     Method being invoked, for the event.
+     * @param invocation Invokes the method.
+     */
+    private <T> T timed(DelegateMethod method, Supplier<T> invocation) {
+        final DelegateInvocationEvent event = new DelegateInvocationEvent();
+        try (Stage stage = Stage.begin("delegate",
+                (requestContext != null) ? requestContext.getTrace() : null)
+                .withEvent(event)
+                .onCommit(() -> {
+                    event.setMethod(method.getMethodName());
+                    if (requestContext != null) {
+                        event.setIdentifier(JFREvents.string(
+                                requestContext.getIdentifier()));
+                    }
+                })) {
+            return invocation.get();
+        }
+    }
+
     @Override
     public Object authorize() {
-        return delegate.authorize();
+        return timed(DelegateMethod.AUTHORIZE,
+                delegate::authorize);
     }
 
     @Override
     public Map<String, Object> deserializeMetaIdentifier(String metaIdentifier) {
-        return delegate.deserializeMetaIdentifier(metaIdentifier);
+        return timed(DelegateMethod.DESERIALIZE_META_IDENTIFIER,
+                () -> delegate.deserializeMetaIdentifier(metaIdentifier));
     }
 
     @Override
     public String getAzureStorageSourceBlobKey() {
-        return delegate.getAzureStorageSourceBlobKey();
+        return timed(DelegateMethod.AZURESTORAGESOURCE_BLOB_KEY,
+                delegate::getAzureStorageSourceBlobKey);
     }
 
     @Override
     public Map<String, Object> getExtraIIIF2InformationResponseKeys() {
-        return delegate.getExtraIIIF2InformationResponseKeys();
+        return timed(DelegateMethod.EXTRA_IIIF2_INFORMATION_RESPONSE_KEYS,
+                delegate::getExtraIIIF2InformationResponseKeys);
     }
 
     @Override
     public Map<String, Object> getExtraIIIF3InformationResponseKeys() {
-        return delegate.getExtraIIIF3InformationResponseKeys();
+        return timed(DelegateMethod.EXTRA_IIIF3_INFORMATION_RESPONSE_KEYS,
+                delegate::getExtraIIIF3InformationResponseKeys);
     }
 
     @Override
     public String getFilesystemSourcePathname() {
-        return delegate.getFilesystemSourcePathname();
+        return timed(DelegateMethod.FILESYSTEMSOURCE_PATHMAME,
+                delegate::getFilesystemSourcePathname);
     }
 
     @Override
     public Map<String, Object> getHttpSourceResourceInfo() {
-        return delegate.getHTTPSourceResourceInfo();
+        return timed(DelegateMethod.HTTPSOURCE_RESOURCE_INFO,
+                delegate::getHTTPSourceResourceInfo);
     }
 
 
     @Override
     public String getJdbcSourceDatabaseIdentifier() {
-        return delegate.getJDBCSourceDatabaseIdentifier();
+        return timed(DelegateMethod.JDBCSOURCE_DATABASE_IDENTIFIER,
+                delegate::getJDBCSourceDatabaseIdentifier);
     }
 
     /**
@@ -68,52 +104,62 @@ final class JavaDelegateProxy implements DelegateProxy {
      */
     @Override
     public String getJdbcSourceLastModified() {
-        return delegate.getJDBCSourceLastModified();
+        return timed(DelegateMethod.JDBCSOURCE_LAST_MODIFIED,
+                delegate::getJDBCSourceLastModified);
     }
 
     @Override
     public String getJdbcSourceLookupSQL() {
-        return delegate.getJDBCSourceLookupSQL();
+        return timed(DelegateMethod.JDBCSOURCE_LOOKUP_SQL,
+                delegate::getJDBCSourceLookupSQL);
     }
 
     @Override
     public String getJdbcSourceMediaType() {
-        return delegate.getJDBCSourceMediaType();
+        return timed(DelegateMethod.JDBCSOURCE_MEDIA_TYPE,
+                delegate::getJDBCSourceMediaType);
     }
 
     @Override
     public String getMetadata() {
-        return delegate.getMetadata();
+        return timed(DelegateMethod.METADATA,
+                delegate::getMetadata);
     }
 
     @Override
     public Map<String, Object> getOverlayProperties() {
-        return delegate.getOverlay();
+        return timed(DelegateMethod.OVERLAY,
+                delegate::getOverlay);
     }
 
     @Override
     public List<Map<String, Long>> getRedactions() {
-        return delegate.getRedactions();
+        return timed(DelegateMethod.REDACTIONS,
+                delegate::getRedactions);
     }
 
     @Override
     public Map<String, String> getS3SourceObjectInfo() {
-        return delegate.getS3SourceObjectInfo();
+        return timed(DelegateMethod.S3SOURCE_OBJECT_INFO,
+                delegate::getS3SourceObjectInfo);
     }
 
     @Override
     public String getSource() {
-        return delegate.getSource();
+        return timed(DelegateMethod.SOURCE,
+                delegate::getSource);
     }
 
     @Override
     public Object preAuthorize() {
-        return delegate.preAuthorize();
+        return timed(DelegateMethod.PRE_AUTHORIZE,
+                delegate::preAuthorize);
     }
 
     @Override
     public String serializeMetaIdentifier(Map<String, Object> metaIdentifier) {
-        return delegate.serializeMetaIdentifier(metaIdentifier);
+        return timed(DelegateMethod.SERIALIZE_META_IDENTIFIER,
+                () -> delegate.serializeMetaIdentifier(metaIdentifier));
     }
 
     @Override
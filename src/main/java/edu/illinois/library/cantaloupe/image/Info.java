@@ -6,6 +6,8 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
@@ -214,11 +216,20 @@ public final class Info {
          *
          * <p>Introduced in application version 6.0.</p>
          */
-        VERSION_5(5);
+        VERSION_5(5),
+
+        /**
+         * <p>Added an {@code orientation} key to the {@code metadata} object.
+         * When it is absent, orientation is read again from the metadata
+         * when it is needed.</p>
+         *
+         * <p>Introduced in application version 6.0.</p>
+         */
+        VERSION_6(6);
 
         private final int version;
 
-        static final Serialization CURRENT = VERSION_5;
+        static final Serialization CURRENT = VERSION_6;
 
         Serialization(int version) {
             this.version = version;
@@ -254,16 +265,40 @@ public final class Info {
         return new Builder(new Info());
     }
 
+    /**
+     * Shared mapper. {@link ObjectMapper}s are expensive to create but
+     * thread-safe once configured, so this is never modified after
+     * initialization; {@link #READER} and {@link #WRITER} are immutable.
+     */
+    static final ObjectMapper MAPPER = newMapper();
+    private static final ObjectReader READER = MAPPER.readerFor(Info.class);
+    private static final ObjectWriter WRITER = MAPPER.writerFor(Info.class);
+
+    /**
+     * Deserializes an instance from either of the serializations produced by
+     * {@link #toBytes()} or {@link #toJSON()}, whichever the argument happens
+     * to contain.
+     *
+     * @param bytes Binary or UTF-8 JSON serialization.
+     * @since 6.0
+     */
+    public static Info fromBytes(byte[] bytes) throws IOException {
+        if (InfoBinaryCodec.isBinary(bytes)) {
+            return InfoBinaryCodec.decode(bytes);
+        }
+        return READER.readValue(bytes);
+    }
+
     public static Info fromJSON(Path jsonFile) throws IOException {
-        return newMapper().readValue(jsonFile.toFile(), Info.class);
+        return READER.readValue(jsonFile.toFile());
     }
 
     public static Info fromJSON(InputStream jsonStream) throws IOException {
-        return newMapper().readValue(jsonStream, Info.class);
+        return READER.readValue(jsonStream);
     }
 
     public static Info fromJSON(String json) throws IOException {
-        return newMapper().readValue(json, Info.class);
+        return READER.readValue(json);
     }
 
     private static ObjectMapper newMapper() {
@@ -543,11 +578,24 @@ public final class Info {
         }
     }
 
+    /**
+     * Serializes the instance into a compact, versioned binary form that is
+     * much cheaper to read back than JSON. This is intended for caches that
+     * store opaque values; the result is not human-readable.
+     *
+     * @return Binary representation of the instance, readable by {@link
+     *         #fromBytes(byte[])}.
+     * @since 6.0
+     */
+    public byte[] toBytes() throws IOException {
+        return InfoBinaryCodec.encode(this);
+    }
+
     /**
      * @return JSON representation of the instance.
      */
     public String toJSON() throws JsonProcessingException {
-        return newMapper().writer().writeValueAsString(this);
+        return WRITER.writeValueAsString(this);
     }
 
     @Override
@@ -563,7 +611,7 @@ public final class Info {
      * @param os Output stream to write to.
      */
     public void writeAsJSON(OutputStream os) throws IOException {
-        newMapper().writer().writeValue(os, this);
+        WRITER.writeValue(os, this);
     }
 
 }
@@ -0,0 +1,211 @@
+package edu.illinois.library.cantaloupe.image;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import edu.illinois.library.cantaloupe.Application;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * <p>Encodes and decodes the compact binary serialization of an {@link Info}
+ * produced by {@link Info#toBytes()}.</p>
+ *
+ * <p>The layout is:</p>
+ *
+ * <ol>
+ *     <li>{@link #MAGIC} (3 bytes), which can never begin a JSON
+ *     serialization, so that the two can be told apart</li>
+ *     <li>Codec version (1 byte; see {@link #VERSION})</li>
+ *     <li>{@link Info.Serialization} version (int)</li>
+ *     <li>Application version (string)</li>
+ *     <li>Serialization timestamp (epoch seconds as long + nanos as
+ *     int)</li>
+ *     <li>Identifier (nullable string)</li>
+ *     <li>Media type (nullable string)</li>
+ *     <li>Number of resolutions (int)</li>
+ *     <li>Number of images (int), followed by, for each, its width, height,
+ *     tile width, and tile height (ints; {@code -1} for absent tile
+ *     dimensions)</li>
+ *     <li>XMP (nullable string)</li>
+ *     <li>All other {@link Metadata} as JSON (nullable string)</li>
+ *     <li>{@link Metadata#getOrientation() Orientation} as an EXIF value
+ *     (int; since version 2)</li>
+ * </ol>
+ *
+ * <p>Strings are written as an int byte length (or {@code -1} for {@code
+ * null}) followed by UTF-8 bytes. XMP, which is often the bulk of an
+ * instance, is stored verbatim rather than as an escaped JSON string.</p>
+ *
+ * <p>When the layout changes, {@link #VERSION} must be incremented and
+ * {@link #decode(byte[])} must continue to read older versions.</p>
+ *
+ * @since 6.0
+ */
+final class InfoBinaryCodec {
+
+    /**
+     * Begins with a NUL byte, which can't appear at the start of a JSON
+     * document.
+     */
+    private static final byte[] MAGIC = { 0x00, 'I', 'B' };
+
+    /**
+     * Current codec version.
+     */
+    static final byte VERSION = 2;
+
+    private static final ObjectReader METADATA_READER =
+            Info.MAPPER.readerFor(Metadata.class);
+    private static final ObjectWriter METADATA_WRITER =
+            Info.MAPPER.writerFor(Metadata.class);
+
+    /**
+     * @param bytes Serialized bytes.
+     * @return      Whether the argument begins with the binary serialization
+     *              header.
+     */
+    static boolean isBinary(byte[] bytes) {
+        if (bytes.length < MAGIC.length + 1) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (bytes[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static Info decode(byte[] bytes) throws IOException {
+        if (!isBinary(bytes)) {
+            throw new IOException("Not a binary Info serialization");
+        }
+        final byte version = bytes[MAGIC.length];
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported binary Info version: " +
+                    version);
+        }
+        final int offset = MAGIC.length + 1;
+        final DataInputStream is = new DataInputStream(
+                new ByteArrayInputStream(bytes, offset, bytes.length - offset));
+        final Info info = new Info();
+        info.setSerializationVersion(is.readInt());
+        info.setApplicationVersion(readString(is));
+        info.setSerializationTimestamp(
+                Instant.ofEpochSecond(is.readLong(), is.readInt()));
+        final String identifier = readString(is);
+        if (identifier != null) {
+            info.setIdentifier(new Identifier(identifier));
+        }
+        final String mediaType = readString(is);
+        if (mediaType != null) {
+            info.setMediaType(new MediaType(mediaType));
+        }
+        info.setNumResolutions(is.readInt());
+
+        info.getImages().clear();
+        final int numImages = is.readInt();
+        for (int i = 0; i < numImages; i++) {
+            final Info.Image image = new Info.Image();
+            image.width  = is.readInt();
+            image.height = is.readInt();
+            final int tileWidth  = is.readInt();
+            final int tileHeight = is.readInt();
+            image.tileWidth  = (tileWidth >= 0) ? tileWidth : null;
+            image.tileHeight = (tileHeight >= 0) ? tileHeight : null;
+            info.getImages().add(image);
+        }
+
+        final String xmp          = readString(is);
+        final String metadataJSON = readString(is);
+        final Metadata metadata   = (metadataJSON != null) ?
+                METADATA_READER.readValue(metadataJSON) : new Metadata();
+        metadata.setXMP(xmp);
+        if (version >= 2) {
+            // Version 1 serializations will have it read again lazily.
+            metadata.setOrientation(
+                    Orientation.forEXIFOrientation(is.readInt()));
+        }
+        info.setMetadata(metadata);
+        return info;
+    }
+
+    static byte[] encode(Info info) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+        final DataOutputStream os = new DataOutputStream(bos);
+        os.write(MAGIC);
+        os.writeByte(VERSION);
+        os.writeInt(Info.Serialization.CURRENT.getVersion());
+        writeString(os, Application.getVersion());
+        final Instant now = Instant.now();
+        os.writeLong(now.getEpochSecond());
+        os.writeInt(now.getNano());
+        writeString(os, (info.getIdentifier() != null) ?
+                info.getIdentifier().toString() : null);
+        writeString(os, (info.getMediaType() != null) ?
+                info.getMediaType().toString() : null);
+        os.writeInt(info.getNumResolutions());
+
+        os.writeInt(info.getImages().size());
+        for (Info.Image image : info.getImages()) {
+            os.writeInt(image.width);
+            os.writeInt(image.height);
+            os.writeInt((image.tileWidth != null) ? image.tileWidth : -1);
+            os.writeInt((image.tileHeight != null) ? image.tileHeight : -1);
+        }
+
+        final Metadata metadata = info.getMetadata();
+        writeString(os, metadata.getXMP().orElse(null));
+        if (metadata.getEXIF().isPresent() ||
+                metadata.getIPTC().isPresent() ||
+                metadata.getNativeMetadata().isPresent()) {
+            // XMP has already been written, so leave it out of the JSON.
+            final Metadata otherMetadata = new Metadata();
+            otherMetadata.setEXIF(metadata.getEXIF().orElse(null));
+            otherMetadata.setIPTC(metadata.getIPTC().orElse(null));
+            otherMetadata.setNativeMetadata(
+                    metadata.getNativeMetadata().orElse(null));
+            // It is written separately below, but this spares it from being
+            // read from otherMetadata.
+            otherMetadata.setOrientation(metadata.getOrientation());
+            writeString(os, METADATA_WRITER.writeValueAsString(otherMetadata));
+        } else {
+            writeString(os, null);
+        }
+        os.writeInt(metadata.getOrientation().getEXIFValue());
+        os.flush();
+        return bos.toByteArray();
+    }
+
+    private static String readString(DataInputStream is) throws IOException {
+        final int length = is.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = is.readNBytes(length);
+        if (bytes.length != length) {
+            throw new IOException("Truncated binary Info serialization");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream os,
+                                    String string) throws IOException {
+        if (string == null) {
+            os.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        os.writeInt(bytes.length);
+        os.write(bytes);
+    }
+
+    private InfoBinaryCodec() {}
+
+}
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -74,8 +73,8 @@ final class InfoDeserializer extends JsonDeserializer<Info> {
             info.getImages().clear();
             node.get(IMAGES_KEY).elements().forEachRemaining(imageNode -> {
                 try {
-                    Info.Image image = new ObjectMapper().readValue(
-                            imageNode.toString(), Info.Image.class);
+                    Info.Image image = parser.getCodec().treeToValue(
+                            imageNode, Info.Image.class);
                     info.getImages().add(image);
                 } catch (IOException e) {
                     throw new UncheckedIOException(e);
@@ -85,8 +84,8 @@ final class InfoDeserializer extends JsonDeserializer<Info> {
         {   // metadata (does not exist in < 5.0 serializations)
             JsonNode metadataNode = node.get(METADATA_KEY);
             if (metadataNode != null) {
-                Metadata metadata = new ObjectMapper().readValue(
-                        metadataNode.toString(), Metadata.class);
+                Metadata metadata = parser.getCodec().treeToValue(
+                        metadataNode, Metadata.class);
                 info.setMetadata(metadata);
             }
         }
@@ -8,10 +8,10 @@ import edu.illinois.library.cantaloupe.image.exif.Directory;
 import edu.illinois.library.cantaloupe.image.exif.Tag;
 import edu.illinois.library.cantaloupe.image.iptc.DataSet;
 import edu.illinois.library.cantaloupe.image.xmp.MapReader;
+import edu.illinois.library.cantaloupe.image.xmp.StAXUtils;
 import edu.illinois.library.cantaloupe.image.xmp.Utils;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
-import org.apache.jena.rdf.model.NodeIterator;
 import org.apache.jena.riot.RIOT;
 import org.apache.jena.riot.RiotException;
 import org.slf4j.Logger;
@@ -43,9 +43,6 @@ public class Metadata {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(Metadata.class);
 
-    private static final String XMP_ORIENTATION_PREDICATE =
-            "http://ns.adobe.com/tiff/1.0/Orientation";
-
     protected Directory exif;
     protected List<DataSet> iptcDataSets;
     protected String xmp;
@@ -101,21 +98,23 @@ public class Metadata {
 
     /**
      * <p>Reads the orientation from the {@literal Orientation} tag in {@link
-     * #getEXIF() EXIF data}, falling back to the {@link
-     * #XMP_ORIENTATION_PREDICATE XMP orientation triple} in {@link #getXMP()
-     * XMP data}. The result is cached.</p>
+     * #getEXIF() EXIF data}, falling back to the {@literal tiff:Orientation}
+     * property in {@link #getXMP() XMP data}. The result is cached.</p>
+     *
+     * <p>The result is also serialized, so that instances deserialized from
+     * caches don't have to read it again.</p>
      *
      * @return Image orientation. Will be {@link Orientation#ROTATE_0} if
      *         orientation is not contained in EXIF or XMP data.
      */
-    @JsonIgnore
+    @JsonProperty
     public Orientation getOrientation() {
         if (orientation == null) {
             try {
                 getEXIF().ifPresent(exif -> readOrientationFromEXIF());
 
                 if (orientation == null) {
-                    getXMP().ifPresent(xmp -> readOrientationFromXMP());
+                    getXMP().ifPresent(this::readOrientationFromXMP);
                 }
                 if (orientation == null) {
                     orientation = Orientation.ROTATE_0;
@@ -135,15 +134,17 @@ public class Metadata {
         }
     }
 
-    private void readOrientationFromXMP() {
-        getXMPModel().ifPresent(model -> {
-            final NodeIterator it = model.listObjectsOfProperty(
-                    model.createProperty(XMP_ORIENTATION_PREDICATE));
-            if (it.hasNext()) {
-                final int value = it.next().asLiteral().getInt();
-                orientation = Orientation.forEXIFOrientation(value);
-            }
-        });
+    /**
+     * Reads the orientation with {@link StAXUtils} rather than from the {@link
+     * #getXMPModel() XMP model}, which is much more expensive to build.
+     */
+    private void readOrientationFromXMP(String xmp) {
+        try {
+            StAXUtils.readOrientation(xmp).ifPresent(value ->
+                    orientation = Orientation.forEXIFOrientation(value));
+        } catch (IOException e) {
+            LOGGER.info("readOrientationFromXMP(): {}", e.getMessage());
+        }
     }
 
     /**
@@ -250,6 +251,18 @@ public class Metadata {
         this.nativeMetadata = nativeMetadata;
     }
 
+    /**
+     * Sets a {@link #getOrientation() previously read orientation}. This is
+     * only used during deserialization.
+     *
+     * @param orientation Orientation. May be {@literal null}.
+     * @since 6.0
+     */
+    @JsonProperty
+    void setOrientation(Orientation orientation) {
+        this.orientation = orientation;
+    }
+
     /**
      * @param xmp UTF-8 bytes. May be {@literal null}.
      */
@@ -0,0 +1,233 @@
+package edu.illinois.library.cantaloupe.image.xmp;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * <p>Reads and merges XMP using StAX, which is much cheaper than building a
+ * Jena {@link org.apache.jena.rdf.model.Model}.</p>
+ *
+ * <p>Only the common serializations of properties&mdash;as child elements or
+ * attributes of {@literal rdf:Description} elements directly beneath the
+ * {@literal rdf:RDF} root element&mdash;are supported. Callers should fall
+ * back to Jena when the methods of this class fail.</p>
+ *
+ * @since 6.0
+ */
+public final class StAXUtils {
+
+    private static final String RDF_NAMESPACE =
+            "http://www.w3.org/1999/02/22-rdf-syntax-ns#";
+    private static final String TIFF_NAMESPACE =
+            "http://ns.adobe.com/tiff/1.0/";
+
+    private static final XMLEventFactory EVENT_FACTORY =
+            XMLEventFactory.newInstance();
+    private static final XMLInputFactory INPUT_FACTORY =
+            XMLInputFactory.newInstance();
+    private static final XMLOutputFactory OUTPUT_FACTORY =
+            XMLOutputFactory.newInstance();
+
+    static {
+        INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        INPUT_FACTORY.setProperty(
+                XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        // Elements of the second tree may rely on namespaces declared on its
+        // root element, which isn't copied.
+        OUTPUT_FACTORY.setProperty(
+                XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
+    }
+
+    /**
+     * Merges two XMP trees into one, omitting any of the given properties.
+     * This is equivalent to reading them into models, taking their union,
+     * and removing any statements with the given predicates.
+     *
+     * @param xmp1               XMP string with an {@literal rdf:RDF} root
+     *                           element.
+     * @param xmp2               XMP string with an {@literal rdf:RDF} root
+     *                           element.
+     * @param excludedProperties Full URIs of properties to omit.
+     * @return                   Merged XMP string with an {@literal rdf:RDF}
+     *                           root element.
+     * @throws IOException if either argument is malformed or uses an
+     *         unsupported serialization.
+     */
+    public static String merge(String xmp1,
+                               String xmp2,
+                               Set<String> excludedProperties) throws IOException {
+        final StringWriter writer = new StringWriter();
+        try {
+            final XMLEventWriter eventWriter =
+                    OUTPUT_FACTORY.createXMLEventWriter(writer);
+            boolean isFirst = true;
+            for (String xmp : List.of(xmp1, xmp2)) {
+                copyDescriptions(xmp, eventWriter, excludedProperties, isFirst);
+                isFirst = false;
+            }
+            eventWriter.add(EVENT_FACTORY.createEndElement(
+                    "rdf", RDF_NAMESPACE, "RDF"));
+            eventWriter.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Copies the children of the root element of the given tree to the given
+     * writer, and the root element itself too if {@code isFirst} is {@code
+     * true}, but not its end tag.
+     */
+    private static void copyDescriptions(String xmp,
+                                         XMLEventWriter eventWriter,
+                                         Set<String> excludedProperties,
+                                         boolean isFirst) throws XMLStreamException {
+        final XMLEventReader reader =
+                INPUT_FACTORY.createXMLEventReader(new StringReader(xmp));
+        try {
+            int depth     = 0;
+            // Depth of the excluded element currently being skipped, or 0.
+            int skipDepth = 0;
+            while (reader.hasNext()) {
+                final XMLEvent event = reader.nextEvent();
+                if (event.isStartElement()) {
+                    depth++;
+                    if (skipDepth > 0) {
+                        continue;
+                    }
+                    StartElement element = event.asStartElement();
+                    if (depth == 1) {
+                        if (!isRDFElement(element, "RDF")) {
+                            throw new XMLStreamException(
+                                    "Root element is not rdf:RDF");
+                        }
+                        if (isFirst) {
+                            eventWriter.add(element);
+                        }
+                        continue;
+                    } else if (depth == 2) {
+                        if (!isRDFElement(element, "Description")) {
+                            throw new XMLStreamException(
+                                    "Unsupported node element: " +
+                                            element.getName());
+                        }
+                        element = withoutAttributes(
+                                element, excludedProperties);
+                    } else if (depth == 3 && excludedProperties.contains(
+                            toURI(element.getName()))) {
+                        skipDepth = depth;
+                        continue;
+                    }
+                    eventWriter.add(element);
+                } else if (event.isEndElement()) {
+                    final int elementDepth = depth--;
+                    if (skipDepth > 0) {
+                        if (elementDepth == skipDepth) {
+                            skipDepth = 0;
+                        }
+                    } else if (elementDepth > 1) {
+                        eventWriter.add(event);
+                    }
+                } else if (event.isCharacters()) {
+                    if (skipDepth == 0 && depth > 0) {
+                        eventWriter.add(event);
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static boolean isRDFElement(StartElement element,
+                                        String localName) {
+        return RDF_NAMESPACE.equals(element.getName().getNamespaceURI()) &&
+                localName.equals(element.getName().getLocalPart());
+    }
+
+    private static String toURI(QName name) {
+        return name.getNamespaceURI() + name.getLocalPart();
+    }
+
+    private static StartElement withoutAttributes(StartElement element,
+                                                  Set<String> excludedProperties) {
+        final List<Attribute> attributes = new ArrayList<>();
+        boolean isExcluding = false;
+        for (Iterator<Attribute> it = element.getAttributes(); it.hasNext();) {
+            final Attribute attribute = it.next();
+            if (excludedProperties.contains(toURI(attribute.getName()))) {
+                isExcluding = true;
+            } else {
+                attributes.add(attribute);
+            }
+        }
+        if (!isExcluding) {
+            return element;
+        }
+        final QName name = element.getName();
+        return EVENT_FACTORY.createStartElement(name.getPrefix(),
+                name.getNamespaceURI(), name.getLocalPart(),
+                attributes.iterator(), element.getNamespaces(),
+                element.getNamespaceContext());
+    }
+
+    /**
+     * @param xmp XMP string with an {@literal rdf:RDF} root element.
+     * @return    Value of the first {@literal tiff:Orientation} property,
+     *            whether serialized as an element or an attribute.
+     * @throws IOException if the argument is malformed or the value is not an
+     *         integer.
+     */
+    public static Optional<Integer> readOrientation(String xmp)
+            throws IOException {
+        try {
+            final XMLStreamReader reader =
+                    INPUT_FACTORY.createXMLStreamReader(new StringReader(xmp));
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    String value;
+                    if (TIFF_NAMESPACE.equals(reader.getNamespaceURI()) &&
+                            "Orientation".equals(reader.getLocalName())) {
+                        value = reader.getElementText();
+                    } else {
+                        value = reader.getAttributeValue(
+                                TIFF_NAMESPACE, "Orientation");
+                    }
+                    if (value != null) {
+                        return Optional.of(Integer.parseInt(value.trim()));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | NumberFormatException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return Optional.empty();
+    }
+
+    private StAXUtils() {}
+
+}
@@ -0,0 +1,70 @@
+package edu.illinois.library.cantaloupe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>Lookup of an info or image in a cache. For images, this covers only
+ * obtaining a file or stream, and not reading from it.</p>
+ *
+ * @since 6.0
+ */
+@Name(CacheReadEvent.NAME)
+@Label("Cache Read")
+@Category({ JFREvents.CATEGORY, "Cache" })
+@Description("Lookup of an info or image in a cache.")
+@StackTrace(false)
+public final class CacheReadEvent extends Event {
+
+    public static final String NAME = JFREvents.NAME_PREFIX + "CacheRead";
+    public static final String TYPE_DERIVATIVE = "derivative";
+    public static final String TYPE_INFO = "info";
+    public static final String TYPE_SOURCE = "source";
+
+    @Label("Identifier")
+    @Description("Image identifier.")
+    private String identifier;
+
+    @Label("Cache")
+    @Description("Name of the cache class.")
+    private String cache;
+
+    @Label("Type")
+    @Description("One of info, derivative, or source.")
+    private String type;
+
+    @Label("Hit")
+    @Description("Whether the cache contained what was looked up.")
+    private boolean hit;
+
+    @Label("Bytes")
+    @Description("Size of the cached file, if known.")
+    @DataAmount(DataAmount.BYTES)
+    private long bytes;
+
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public void setCache(String cache) {
+        this.cache = cache;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public void setHit(boolean hit) {
+        this.hit = hit;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+}
@@ -0,0 +1,70 @@
+package edu.illinois.library.cantaloupe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>Writing of a derivative image to a cache, from the opening of the output
+ * stream to its closure. The image is written to the response at the same
+ * time.</p>
+ *
+ * @since 6.0
+ */
+@Name(CacheWriteEvent.NAME)
+@Label("Cache Write")
+@Category({ JFREvents.CATEGORY, "Cache" })
+@Description("Writing of an image to a cache.")
+@StackTrace(false)
+public final class CacheWriteEvent extends Event {
+
+    public static final String NAME = JFREvents.NAME_PREFIX + "CacheWrite";
+    public static final String TYPE_DERIVATIVE = "derivative";
+
+    @Label("Identifier")
+    @Description("Image identifier.")
+    private String identifier;
+
+    @Label("Cache")
+    @Description("Name of the cache class.")
+    private String cache;
+
+    @Label("Type")
+    @Description("Always derivative.")
+    private String type;
+
+    @Label("Bytes")
+    @Description("Number of bytes written.")
+    @DataAmount(DataAmount.BYTES)
+    private long bytes;
+
+    @Label("Complete")
+    @Description("Whether the image was written completely, and will " +
+            "therefore be kept.")
+    private boolean complete;
+
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public void setCache(String cache) {
+        this.cache = cache;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+}
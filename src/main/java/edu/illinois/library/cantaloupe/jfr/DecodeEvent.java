@@ -0,0 +1,64 @@
+package edu.illinois.library.cantaloupe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>Decoding of a source image into memory.</p>
+ *
+ * @since 6.0
+ */
+@Name(DecodeEvent.NAME)
+@Label("Decode")
+@Category({ JFREvents.CATEGORY, "Processor" })
+@Description("Decoding of a source image into memory.")
+@StackTrace(false)
+public final class DecodeEvent extends Event {
+
+    public static final String NAME = JFREvents.NAME_PREFIX + "Decode";
+
+    @Label("Identifier")
+    @Description("Image identifier.")
+    private String identifier;
+
+    @Label("Processor")
+    @Description("Name of the processor class.")
+    private String processor;
+
+    @Label("Format")
+    @Description("Source image format.")
+    private String format;
+
+    @Label("Width")
+    @Description("Width of the decoded image in pixels.")
+    private int width;
+
+    @Label("Height")
+    @Description("Height of the decoded image in pixels.")
+    private int height;
+
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public void setProcessor(String processor) {
+        this.processor = processor;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+}
@@ -0,0 +1,41 @@
+package edu.illinois.library.cantaloupe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>Invocation of a delegate method.</p>
+ *
+ * @since 6.0
+ */
+@Name(DelegateInvocationEvent.NAME)
+@Label("Delegate Invocation")
+@Category({ JFREvents.CATEGORY, "Delegate" })
+@Description("Invocation of a delegate method.")
+@StackTrace(false)
+public final class DelegateInvocationEvent extends Event {
+
+    public static final String NAME =
+            JFREvents.NAME_PREFIX + "DelegateInvocation";
+
+    @Label("Method")
+    @Description("Name of the delegate method.")
+    private String method;
+
+    @Label("Identifier")
+    @Description("Identifier in the request context.")
+    private String identifier;
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+}
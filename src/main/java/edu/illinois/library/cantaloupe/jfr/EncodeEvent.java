@@ -0,0 +1,59 @@
+package edu.illinois.library.cantaloupe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>Encoding of a processed image and writing it to the response and/or
+ * derivative cache.</p>
+ *
+ * @since 6.0
+ */
+@Name(EncodeEvent.NAME)
+@Label("Encode")
+@Category({ JFREvents.CATEGORY, "Processor" })
+@Description("Encoding of a processed image.")
+@StackTrace(false)
+public final class EncodeEvent extends Event {
+
+    public static final String NAME = JFREvents.NAME_PREFIX + "Encode";
+
+    @Label("Identifier")
+    @Description("Image identifier.")
+    private String identifier;
+
+    @Label("Processor")
+    @Description("Name of the processor class.")
+    private String processor;
+
+    @Label("Format")
+    @Description("Output format.")
+    private String format;
+
+    @Label("Bytes")
+    @Description("Number of bytes written.")
+    @DataAmount(DataAmount.BYTES)
+    private long bytes;
+
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public void setProcessor(String processor) {
+        this.processor = processor;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+}
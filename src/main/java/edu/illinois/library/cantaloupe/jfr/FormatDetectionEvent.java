@@ -0,0 +1,50 @@
+package edu.illinois.library.cantaloupe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>Detection of the format of a source image, either by a {@link
+ * edu.illinois.library.cantaloupe.source.Source} or from a file in the
+ * source cache.</p>
+ *
+ * @since 6.0
+ */
+@Name(FormatDetectionEvent.NAME)
+@Label("Format Detection")
+@Category({ JFREvents.CATEGORY, "Source" })
+@Description("Detection of the format of a source image.")
+@StackTrace(false)
+public final class FormatDetectionEvent extends Event {
+
+    public static final String NAME = JFREvents.NAME_PREFIX + "FormatDetection";
+
+    @Label("Identifier")
+    @Description("Image identifier.")
+    private String identifier;
+
+    @Label("Source")
+    @Description("Name of the source class, or of the source cache.")
+    private String source;
+
+    @Label("Format")
+    @Description("Detected format.")
+    private String format;
+
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+}
@@ -0,0 +1,49 @@
+package edu.illinois.library.cantaloupe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>Reading of the characteristics of a source image by a {@link
+ * edu.illinois.library.cantaloupe.processor.Processor}.</p>
+ *
+ * @since 6.0
+ */
+@Name(InfoReadEvent.NAME)
+@Label("Info Read")
+@Category({ JFREvents.CATEGORY, "Processor" })
+@Description("Reading of the characteristics of a source image by a processor.")
+@StackTrace(false)
+public final class InfoReadEvent extends Event {
+
+    public static final String NAME = JFREvents.NAME_PREFIX + "InfoRead";
+
+    @Label("Identifier")
+    @Description("Image identifier.")
+    private String identifier;
+
+    @Label("Processor")
+    @Description("Name of the processor class.")
+    private String processor;
+
+    @Label("Format")
+    @Description("Source image format.")
+    private String format;
+
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public void setProcessor(String processor) {
+        this.processor = processor;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+}
@@ -0,0 +1,42 @@
+package edu.illinois.library.cantaloupe.jfr;
+
+/**
+ * Constants shared by all of the application's Flight Recorder events.
+ *
+ * @since 6.0
+ */
+public final class JFREvents {
+
+    /**
+     * Top-level category of all events, under which they appear in Mission
+     * Control's event browser.
+     */
+    public static final String CATEGORY = "Cantaloupe";
+
+    /**
+     * Prefix of all event names, which is what they are enabled and
+     * disabled by in recording settings.
+     */
+    public static final String NAME_PREFIX = "edu.illinois.library.cantaloupe.";
+
+    /**
+     * @param object May be {@code null}.
+     * @return       Simple name of the class of the given object, or {@code
+     *               null} if it is {@code null}.
+     */
+    public static String className(Object object) {
+        return (object != null) ? object.getClass().getSimpleName() : null;
+    }
+
+    /**
+     * @param object May be {@code null}.
+     * @return       String value of the given object, or {@code null} if it is
+     *               {@code null}.
+     */
+    public static String string(Object object) {
+        return (object != null) ? object.toString() : null;
+    }
+
+    private JFREvents() {}
+
+}
@@ -0,0 +1,57 @@
+package edu.illinois.library.cantaloupe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>Application of an {@link
+ * edu.illinois.library.cantaloupe.operation.Operation} to a decoded image.</p>
+ *
+ * @since 6.0
+ */
+@Name(PostProcessEvent.NAME)
+@Label("Post-Process")
+@Category({ JFREvents.CATEGORY, "Processor" })
+@Description("Application of an operation to a decoded image.")
+@StackTrace(false)
+public final class PostProcessEvent extends Event {
+
+    public static final String NAME = JFREvents.NAME_PREFIX + "PostProcess";
+
+    @Label("Identifier")
+    @Description("Image identifier.")
+    private String identifier;
+
+    @Label("Operation")
+    @Description("Name of the operation class.")
+    private String operation;
+
+    @Label("Width")
+    @Description("Width of the resulting image in pixels.")
+    private int width;
+
+    @Label("Height")
+    @Description("Height of the resulting image in pixels.")
+    private int height;
+
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+}
@@ -0,0 +1,76 @@
+package edu.illinois.library.cantaloupe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>Handling of an HTTP request, from its receipt to the end of the
+ * response. Other events that occur in the same thread during it belong to
+ * the same request.</p>
+ *
+ * @since 6.0
+ */
+@Name(RequestEvent.NAME)
+@Label("Request")
+@Category({ JFREvents.CATEGORY, "HTTP" })
+@Description("Handling of an HTTP request.")
+@StackTrace(false)
+public final class RequestEvent extends Event {
+
+    public static final String NAME = JFREvents.NAME_PREFIX + "Request";
+
+    @Label("Method")
+    @Description("HTTP request method.")
+    private String method;
+
+    @Label("Path")
+    @Description("Request URI path.")
+    private String path;
+
+    @Label("Resource")
+    @Description("Name of the resource class that handled the request.")
+    private String resource;
+
+    @Label("Identifier")
+    @Description("Image identifier, if the request was for an image.")
+    private String identifier;
+
+    @Label("Status")
+    @Description("HTTP response status code.")
+    private int status;
+
+    @Label("Bytes")
+    @Description("Number of bytes written to the response body.")
+    @DataAmount(DataAmount.BYTES)
+    private long bytes;
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public void setResource(String resource) {
+        this.resource = resource;
+    }
+
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+}
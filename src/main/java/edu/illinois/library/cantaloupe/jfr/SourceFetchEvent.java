@@ -0,0 +1,65 @@
+package edu.illinois.library.cantaloupe.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>Access to a source image via a {@link
+ * edu.illinois.library.cantaloupe.source.Source}: checking that it is
+ * accessible ({@link #OPERATION_STAT}), connecting it to a processor ({@link
+ * #OPERATION_CONNECT}), which may involve downloading all of it, or
+ * downloading part of it ({@link #OPERATION_DOWNLOAD}).</p>
+ *
+ * @since 6.0
+ */
+@Name(SourceFetchEvent.NAME)
+@Label("Source Fetch")
+@Category({ JFREvents.CATEGORY, "Source" })
+@Description("Access to a source image via a source.")
+@StackTrace(false)
+public final class SourceFetchEvent extends Event {
+
+    public static final String NAME = JFREvents.NAME_PREFIX + "SourceFetch";
+    public static final String OPERATION_CONNECT = "connect";
+    public static final String OPERATION_DOWNLOAD = "download";
+    public static final String OPERATION_STAT = "stat";
+
+    @Label("Identifier")
+    @Description("Image identifier.")
+    private String identifier;
+
+    @Label("Source")
+    @Description("Name of the source class.")
+    private String source;
+
+    @Label("Operation")
+    @Description("One of stat, connect, or download.")
+    private String operation;
+
+    @Label("Bytes")
+    @Description("Number of bytes downloaded, if known.")
+    @DataAmount(DataAmount.BYTES)
+    private long bytes;
+
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+}
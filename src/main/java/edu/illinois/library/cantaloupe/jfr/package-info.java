@@ -0,0 +1,126 @@
+/**
+ * <p>Provides custom Java Flight Recorder events that attribute time spent in
+ * the image pipeline to identifiers, sources, processors, caches, and
+ * formats.</p>
+ *
+ * <h2>Taxonomy</h2>
+ *
+ * <p>All events are named {@literal edu.illinois.library.cantaloupe.*} and
+ * appear under the {@literal Cantaloupe} category in Mission Control:</p>
+ *
+ * <table>
+ *     <caption>Events</caption>
+ *     <tr>
+ *         <th>Category</th>
+ *         <th>Event</th>
+ *         <th>Fields</th>
+ *     </tr>
+ *     <tr>
+ *         <td>HTTP</td>
+ *         <td>{@link edu.illinois.library.cantaloupe.jfr.RequestEvent
+ *         Request}</td>
+ *         <td>method, path, resource, identifier, status, bytes</td>
+ *     </tr>
+ *     <tr>
+ *         <td>Delegate</td>
+ *         <td>{@link
+ *         edu.illinois.library.cantaloupe.jfr.DelegateInvocationEvent
+ *         DelegateInvocation}</td>
+ *         <td>method, identifier</td>
+ *     </tr>
+ *     <tr>
+ *         <td rowspan="2">Source</td>
+ *         <td>{@link edu.illinois.library.cantaloupe.jfr.SourceFetchEvent
+ *         SourceFetch}</td>
+ *         <td>identifier, source, operation, bytes</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@link
+ *         edu.illinois.library.cantaloupe.jfr.FormatDetectionEvent
+ *         FormatDetection}</td>
+ *         <td>identifier, source, format</td>
+ *     </tr>
+ *     <tr>
+ *         <td rowspan="4">Processor</td>
+ *         <td>{@link edu.illinois.library.cantaloupe.jfr.InfoReadEvent
+ *         InfoRead}</td>
+ *         <td>identifier, processor, format</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@link edu.illinois.library.cantaloupe.jfr.DecodeEvent
+ *         Decode}</td>
+ *         <td>identifier, processor, format, width, height</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@link edu.illinois.library.cantaloupe.jfr.PostProcessEvent
+ *         PostProcess}</td>
+ *         <td>identifier, operation, width, height</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@link edu.illinois.library.cantaloupe.jfr.EncodeEvent
+ *         Encode}</td>
+ *         <td>identifier, processor, format, bytes</td>
+ *     </tr>
+ *     <tr>
+ *         <td rowspan="2">Cache</td>
+ *         <td>{@link edu.illinois.library.cantaloupe.jfr.CacheReadEvent
+ *         CacheRead}</td>
+ *         <td>identifier, cache, type, hit, bytes</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@link edu.illinois.library.cantaloupe.jfr.CacheWriteEvent
+ *         CacheWrite}</td>
+ *         <td>identifier, cache, type, bytes, complete</td>
+ *     </tr>
+ * </table>
+ *
+ * <p>Events other than {@literal Request} occur within the thread handling
+ * the request that they belong to, and within the duration of its {@literal
+ * Request} event. Decode and Encode events are currently emitted only by
+ * {@literal Java2dProcessor}, but PostProcess events are emitted by all of
+ * the processors that apply operations using Java 2D.</p>
+ *
+ * <h2>Cost</h2>
+ *
+ * <p>Instrumented code times events using {@literal
+ * edu.illinois.library.cantaloupe.metrics.Stage}, which also records the
+ * duration in the request trace and any metrics timer, and which sets an
+ * event's fields only if it is going to be committed. When an event is not
+ * enabled, which is the case when no recording is running, none of its
+ * fields are computed:</p>
+ *
+ * <pre>
+ * final DecodeEvent event = new DecodeEvent();
+ * try (Stage stage = Stage.begin("decode")
+ *         .withEvent(event)
+ *         .onCommit(() -&gt; event.setIdentifier(...))) {
+ *     image = decode();
+ * }</pre>
+ *
+ * <p>Events don't record stack traces, which would be expensive and not
+ * very useful.</p>
+ *
+ * <h2>Recording</h2>
+ *
+ * <p>The events are enabled by the JDK's {@literal default} and {@literal
+ * profile} settings. To start a recording along with the application:</p>
+ *
+ * <pre>java -XX:StartFlightRecording=settings=profile,filename=cantaloupe.jfr ...</pre>
+ *
+ * <p>Or, to start one in a running instance:</p>
+ *
+ * <pre>jcmd &lt;pid&gt; JFR.start settings=profile duration=5m filename=cantaloupe.jfr</pre>
+ *
+ * <p>Then, open the recording in Mission Control, where the events appear
+ * in the event browser under {@literal Cantaloupe}, or print them with
+ * {@literal jfr print --categories Cantaloupe cantaloupe.jfr}. To
+ * correlate a garbage collection or allocation spike with the requests that
+ * caused it, select its time range and inspect the {@literal Request}
+ * events (or e.g. the {@literal Decode} events, grouped by format) that
+ * overlap it. Individual events can be disabled in a custom settings file,
+ * e.g. {@literal <event name="edu.illinois.library.cantaloupe.PostProcess">
+ * <setting name="enabled">false</setting></event>}.</p>
+ *
+ * @since 6.0
+ */
+package edu.illinois.library.cantaloupe.jfr;
@@ -0,0 +1,32 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing count. Instances are obtained from {@link
+ * MetricRegistry#counter} and are thread-safe.
+ *
+ * @since 6.0
+ */
+public final class Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter() {}
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * @param amount Non-negative amount by which to increment the count.
+     */
+    public void increment(long amount) {
+        count.add(amount);
+    }
+
+}
@@ -0,0 +1,36 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Value that can go up or down, which is obtained from a supplier whenever
+ * it is read. Instances are obtained from {@link MetricRegistry#gauge} and
+ * are thread-safe.
+ *
+ * @since 6.0
+ */
+public final class Gauge {
+
+    private volatile DoubleSupplier supplier;
+
+    Gauge(DoubleSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * @return Current value, or {@link Double#NaN} if the supplier failed to
+     *         supply one.
+     */
+    public double getValue() {
+        try {
+            return supplier.getAsDouble();
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+
+    void setSupplier(DoubleSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+}
@@ -0,0 +1,270 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Holds all of the application's {@link Counter counters}, {@link Gauge
+ * gauges}, and {@link Timer timers}.</p>
+ *
+ * <p>Metrics are grouped into families sharing a name, help text, type, and
+ * label names, within which they are distinguished by their label values.
+ * Labels are supplied to the accessor methods as alternating names and
+ * values, for example:</p>
+ *
+ * <pre>registry.counter("cantaloupe_cache_hits_total",
+ *         "Cache hits.", "cache", "derivative")</pre>
+ *
+ * <p>Metrics are created upon first access and live for the lifetime of the
+ * instance, so label values should be drawn from small, fixed sets (like
+ * class names) rather than e.g. identifiers.</p>
+ *
+ * @since 6.0
+ */
+public final class MetricRegistry {
+
+    enum Type {
+        COUNTER("counter"), GAUGE("gauge"), TIMER("histogram");
+
+        private final String prometheusName;
+
+        Type(String prometheusName) {
+            this.prometheusName = prometheusName;
+        }
+
+        String getPrometheusName() {
+            return prometheusName;
+        }
+    }
+
+    /**
+     * Metrics sharing a name.
+     */
+    static final class Family {
+
+        private final String name, help;
+        private final Type type;
+        private final List<String> labelNames;
+
+        /**
+         * Metrics keyed by their label values, in the same order as {@link
+         * #labelNames}.
+         */
+        private final ConcurrentMap<List<String>,Object> metrics =
+                new ConcurrentHashMap<>();
+
+        private Family(String name,
+                       String help,
+                       Type type,
+                       List<String> labelNames) {
+            this.name       = name;
+            this.help       = help;
+            this.type       = type;
+            this.labelNames = labelNames;
+        }
+
+        String getHelp() {
+            return help;
+        }
+
+        List<String> getLabelNames() {
+            return labelNames;
+        }
+
+        /**
+         * @return Snapshot of the metrics in the family keyed by their label
+         *         values, sorted for stable output.
+         */
+        Map<List<String>,Object> getMetrics() {
+            final Map<List<String>,Object> sorted =
+                    new TreeMap<>((a, b) -> {
+                        for (int i = 0; i < a.size(); i++) {
+                            int c = a.get(i).compareTo(b.get(i));
+                            if (c != 0) {
+                                return c;
+                            }
+                        }
+                        return 0;
+                    });
+            sorted.putAll(metrics);
+            return sorted;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Type getType() {
+            return type;
+        }
+
+    }
+
+    private static final Pattern LABEL_NAME_PATTERN =
+            Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+    private static final Pattern METRIC_NAME_PATTERN =
+            Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+    private static final MetricRegistry INSTANCE = new MetricRegistry();
+
+    private final ConcurrentMap<String,Family> families =
+            new ConcurrentSkipListMap<>();
+
+    /**
+     * @return Shared instance.
+     */
+    public static MetricRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Instances other than the {@link #getInstance() shared instance} are for
+     * testing.
+     */
+    MetricRegistry() {}
+
+    /**
+     * @param name   Metric name, which should end in {@literal _total}.
+     * @param help   Description of the metric.
+     * @param labels Alternating label names and values.
+     * @return       Counter with the given name and labels, which is created
+     *               if necessary.
+     * @throws IllegalArgumentException if the name or labels are invalid, or
+     *         a metric of a different type or with different label names has
+     *         already been registered with the same name.
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) get(name, help, Type.COUNTER, labels,
+                k -> new Counter());
+    }
+
+    /**
+     * Returns a gauge with the given name and labels, creating it if
+     * necessary, and sets its supplier, replacing any existing one.
+     *
+     * @param name     Metric name.
+     * @param help     Description of the metric.
+     * @param supplier Supplies the value of the gauge whenever it is read.
+     * @param labels   Alternating label names and values.
+     * @return         Gauge with the given name and labels.
+     * @throws IllegalArgumentException if the name or labels are invalid, or
+     *         a metric of a different type or with different label names has
+     *         already been registered with the same name.
+     */
+    public Gauge gauge(String name,
+                       String help,
+                       DoubleSupplier supplier,
+                       String... labels) {
+        final Gauge gauge = (Gauge) get(name, help, Type.GAUGE, labels,
+                k -> new Gauge(supplier));
+        gauge.setSupplier(supplier);
+        return gauge;
+    }
+
+    /**
+     * @param name   Metric name, which should end in {@literal _seconds}.
+     * @param help   Description of the metric.
+     * @param labels Alternating label names and values.
+     * @return       Timer with the given name and labels, which is created if
+     *               necessary.
+     * @throws IllegalArgumentException if the name or labels are invalid, or
+     *         a metric of a different type or with different label names has
+     *         already been registered with the same name.
+     */
+    public Timer timer(String name, String help, String... labels) {
+        return (Timer) get(name, help, Type.TIMER, labels,
+                k -> new Timer());
+    }
+
+    /**
+     * Returns a cache of timers with the given name and a single label whose
+     * value is the {@link Class#getSimpleName() simple name} of a class, for
+     * call sites that time instances of arbitrary classes, like processors,
+     * to use in place of looking up their timer upon every invocation of
+     * {@link #timer}.
+     *
+     * @param name      Metric name, which should end in {@literal _seconds}.
+     * @param help      Description of the metric.
+     * @param labelName Name of the label.
+     * @return          Cache of timers by class.
+     */
+    public ClassValue<Timer> timersByClass(String name,
+                                           String help,
+                                           String labelName) {
+        return new ClassValue<>() {
+            @Override
+            protected Timer computeValue(Class<?> type) {
+                return timer(name, help, labelName, type.getSimpleName());
+            }
+        };
+    }
+
+    /**
+     * @return All metric families, sorted by name.
+     */
+    Collection<Family> getFamilies() {
+        return families.values();
+    }
+
+    private Object get(String name,
+                       String help,
+                       Type type,
+                       String[] labels,
+                       Function<List<String>,Object> factory) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException(
+                    "Labels must be supplied as name/value pairs");
+        }
+        final String[] labelNames  = new String[labels.length / 2];
+        final String[] labelValues = new String[labels.length / 2];
+        for (int i = 0; i < labelNames.length; i++) {
+            labelNames[i]  = labels[i * 2];
+            labelValues[i] = labels[i * 2 + 1];
+        }
+        Family family = families.get(name);
+        if (family == null) {
+            if (!METRIC_NAME_PATTERN.matcher(name).matches()) {
+                throw new IllegalArgumentException(
+                        "Invalid metric name: " + name);
+            }
+            for (String labelName : labelNames) {
+                if (!LABEL_NAME_PATTERN.matcher(labelName).matches()) {
+                    throw new IllegalArgumentException(
+                            "Invalid label name: " + labelName);
+                }
+            }
+            family = families.computeIfAbsent(name, n -> new Family(
+                    n, help, type, List.of(labelNames)));
+        }
+        if (family.getType() != type) {
+            throw new IllegalArgumentException(name + " is a " +
+                    family.getType().getPrometheusName() + ", not a " +
+                    type.getPrometheusName());
+        }
+        if (!family.getLabelNames().equals(Arrays.asList(labelNames))) {
+            throw new IllegalArgumentException(name + " has labels " +
+                    family.getLabelNames() + ", not " +
+                    Arrays.toString(labelNames));
+        }
+        for (String value : labelValues) {
+            if (value == null) {
+                throw new IllegalArgumentException(
+                        "Label values cannot be null");
+            }
+        }
+        final List<String> key = Arrays.asList(labelValues);
+        final Object metric = family.metrics.get(key);
+        return (metric != null) ?
+                metric : family.metrics.computeIfAbsent(key, factory);
+    }
+
+}
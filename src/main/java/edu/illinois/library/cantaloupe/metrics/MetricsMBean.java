@@ -0,0 +1,197 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * <p>Exposes the contents of a {@link MetricRegistry} as the read-only
+ * attributes of a dynamic MBean named {@link #OBJECT_NAME}, so that they can
+ * be viewed in e.g. JConsole or VisualVM.</p>
+ *
+ * <p>Each {@link Counter} and {@link Gauge} is an attribute named like its
+ * Prometheus sample, e.g. {@literal cantaloupe_cache_hits_total{cache="info"}}.
+ * Each {@link Timer} is represented by {@literal _count} and {@literal _sum}
+ * (in seconds) attributes.</p>
+ *
+ * @since 6.0
+ */
+public final class MetricsMBean implements DynamicMBean {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(MetricsMBean.class);
+
+    public static final String OBJECT_NAME =
+            "edu.illinois.library.cantaloupe:type=Metrics";
+
+    private final MetricRegistry registry;
+
+    /**
+     * Registers an instance backed by the {@link MetricRegistry#getInstance()
+     * shared registry} with the platform MBean server, unless one is already
+     * registered.
+     */
+    public static synchronized void register() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(
+                        new MetricsMBean(MetricRegistry.getInstance()), name);
+                LOGGER.debug("Registered {}", OBJECT_NAME);
+            }
+        } catch (JMException e) {
+            LOGGER.error("register(): {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Unregisters any instance registered by {@link #register()}.
+     */
+    public static synchronized void unregister() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            LOGGER.error("unregister(): {}", e.getMessage(), e);
+        }
+    }
+
+    private static String attributeName(String name,
+                                        List<String> labelNames,
+                                        List<String> labelValues) {
+        if (labelNames.isEmpty()) {
+            return name;
+        }
+        final StringBuilder builder = new StringBuilder(name).append('{');
+        for (int i = 0; i < labelNames.size(); i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(labelNames.get(i))
+                    .append("=\"")
+                    .append(PrometheusTextWriter.escapeLabelValue(labelValues.get(i)))
+                    .append('"');
+        }
+        return builder.append('}').toString();
+    }
+
+    MetricsMBean(MetricRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @return Map of attribute names to suppliers of their values, in the
+     *         same order as the metrics would appear in Prometheus output.
+     */
+    private Map<String,Supplier<Object>> getAttributeSuppliers() {
+        final Map<String,Supplier<Object>> suppliers = new LinkedHashMap<>();
+        for (MetricRegistry.Family family : registry.getFamilies()) {
+            for (Map.Entry<List<String>,Object> entry :
+                    family.getMetrics().entrySet()) {
+                final List<String> labelValues = entry.getKey();
+                final Object metric = entry.getValue();
+                switch (family.getType()) {
+                    case COUNTER:
+                        suppliers.put(attributeName(family.getName(),
+                                family.getLabelNames(), labelValues),
+                                () -> ((Counter) metric).getCount());
+                        break;
+                    case GAUGE:
+                        suppliers.put(attributeName(family.getName(),
+                                family.getLabelNames(), labelValues),
+                                () -> ((Gauge) metric).getValue());
+                        break;
+                    case TIMER:
+                        suppliers.put(attributeName(family.getName() + "_count",
+                                family.getLabelNames(), labelValues),
+                                () -> ((Timer) metric).getCount());
+                        suppliers.put(attributeName(family.getName() + "_sum",
+                                family.getLabelNames(), labelValues),
+                                () -> ((Timer) metric).getSum());
+                        break;
+                }
+            }
+        }
+        return suppliers;
+    }
+
+    @Override
+    public Object getAttribute(String attribute)
+            throws AttributeNotFoundException {
+        final Supplier<Object> supplier =
+                getAttributeSuppliers().get(attribute);
+        if (supplier == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return supplier.get();
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        final Map<String,Supplier<Object>> suppliers = getAttributeSuppliers();
+        final AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            final Supplier<Object> supplier = suppliers.get(attribute);
+            if (supplier != null) {
+                list.add(new Attribute(attribute, supplier.get()));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * The returned instance reflects the metrics that exist at the time this
+     * method is invoked. Metrics created afterwards will appear in subsequent
+     * invocations.
+     */
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        final Map<String,Supplier<Object>> suppliers = getAttributeSuppliers();
+        final MBeanAttributeInfo[] attributes =
+                new MBeanAttributeInfo[suppliers.size()];
+        int i = 0;
+        for (Map.Entry<String,Supplier<Object>> entry : suppliers.entrySet()) {
+            final Object value = entry.getValue().get();
+            attributes[i++] = new MBeanAttributeInfo(entry.getKey(),
+                    value.getClass().getName(), entry.getKey(),
+                    true, false, false);
+        }
+        return new MBeanInfo(getClass().getName(),
+                "Cantaloupe application metrics", attributes,
+                null, null, null);
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) {
+        throw new UnsupportedOperationException("Metrics are read-only");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+}
@@ -0,0 +1,159 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the contents of a {@link MetricRegistry} in the <a
+ * href="https://prometheus.io/docs/instrumenting/exposition_formats/">Prometheus
+ * text exposition format</a>. {@link Timer}s are written as histograms.
+ *
+ * @since 6.0
+ */
+public final class PrometheusTextWriter {
+
+    /**
+     * Value of the {@literal Content-Type} header that should accompany the
+     * output.
+     */
+    public static final String CONTENT_TYPE =
+            "text/plain; version=0.0.4; charset=utf-8";
+
+    private final MetricRegistry registry;
+
+    /**
+     * @param label Label value.
+     * @return      Label value with backslashes, double quotes, and newlines
+     *              escaped.
+     */
+    static String escapeLabelValue(String label) {
+        return label.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\n", "\\n");
+    }
+
+    /**
+     * @param help Help text.
+     * @return     Help text with backslashes and newlines escaped.
+     */
+    static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\")
+                .replace("\n", "\\n");
+    }
+
+    static String formatValue(double value) {
+        if (value == Double.POSITIVE_INFINITY) {
+            return "+Inf";
+        } else if (value == Double.NEGATIVE_INFINITY) {
+            return "-Inf";
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    public PrometheusTextWriter(MetricRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @param writer Writer to write to. It will not be closed.
+     */
+    public void write(Writer writer) throws IOException {
+        for (MetricRegistry.Family family : registry.getFamilies()) {
+            final String name = family.getName();
+            writer.write("# HELP " + name + " " +
+                    escapeHelp(family.getHelp()) + "\n");
+            writer.write("# TYPE " + name + " " +
+                    family.getType().getPrometheusName() + "\n");
+            final List<String> labelNames = family.getLabelNames();
+            for (Map.Entry<List<String>,Object> entry :
+                    family.getMetrics().entrySet()) {
+                final List<String> labelValues = entry.getKey();
+                final Object metric = entry.getValue();
+                switch (family.getType()) {
+                    case COUNTER:
+                        writeSample(writer, name, labelNames, labelValues,
+                                null, null,
+                                Long.toString(((Counter) metric).getCount()));
+                        break;
+                    case GAUGE:
+                        writeSample(writer, name, labelNames, labelValues,
+                                null, null,
+                                formatValue(((Gauge) metric).getValue()));
+                        break;
+                    case TIMER:
+                        writeHistogram(writer, name, labelNames, labelValues,
+                                (Timer) metric);
+                        break;
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeHistogram(Writer writer,
+                                String name,
+                                List<String> labelNames,
+                                List<String> labelValues,
+                                Timer timer) throws IOException {
+        // Read the buckets before the count and sum, which may have moved on
+        // in the meantime, so that the count is never less than the count of
+        // the last bucket.
+        final long[] buckets = timer.getCumulativeBucketCounts();
+        for (int i = 0; i < buckets.length; i++) {
+            final String bound = (i < Timer.BUCKET_BOUNDS.length) ?
+                    Double.toString(Timer.BUCKET_BOUNDS[i]) : "+Inf";
+            writeSample(writer, name + "_bucket", labelNames, labelValues,
+                    "le", bound, Long.toString(buckets[i]));
+        }
+        final long count = Math.max(timer.getCount(),
+                buckets[buckets.length - 1]);
+        writeSample(writer, name + "_sum", labelNames, labelValues,
+                null, null, formatValue(timer.getSum()));
+        writeSample(writer, name + "_count", labelNames, labelValues,
+                null, null, Long.toString(count));
+    }
+
+    /**
+     * @param extraLabelName  Name of a label to append to the metric's own
+     *                        labels, or {@code null}.
+     * @param extraLabelValue Value of the extra label.
+     */
+    private void writeSample(Writer writer,
+                             String name,
+                             List<String> labelNames,
+                             List<String> labelValues,
+                             String extraLabelName,
+                             String extraLabelValue,
+                             String value) throws IOException {
+        final StringBuilder builder = new StringBuilder(name);
+        if (!labelNames.isEmpty() || extraLabelName != null) {
+            builder.append('{');
+            for (int i = 0; i < labelNames.size(); i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                builder.append(labelNames.get(i))
+                        .append("=\"")
+                        .append(escapeLabelValue(labelValues.get(i)))
+                        .append('"');
+            }
+            if (extraLabelName != null) {
+                if (!labelNames.isEmpty()) {
+                    builder.append(',');
+                }
+                builder.append(extraLabelName)
+                        .append("=\"")
+                        .append(extraLabelValue)
+                        .append('"');
+            }
+            builder.append('}');
+        }
+        builder.append(' ').append(value).append('\n');
+        writer.write(builder.toString());
+    }
+
+}
@@ -0,0 +1,166 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Accumulates the time spent in each stage of handling a single request,
+ * e.g. {@literal delegate}, {@literal stat}, {@literal info}, {@literal
+ * decode}, etc. A stage that occurs more than once accumulates the time of
+ * all of its occurrences. Stages may nest&mdash;for example, {@literal
+ * decode} happens within {@literal process}&mdash;so their durations are not
+ * necessarily additive.</p>
+ *
+ * <p>An instance is created for each request and made available via {@link
+ * edu.illinois.library.cantaloupe.resource.RequestContext#getTrace()}. Code
+ * that has no access to the request context, like processors, can instead
+ * use {@link #current()} or {@link #recordCurrent(String, long)}, which
+ * refer to the trace of the request being handled by the calling
+ * thread.</p>
+ *
+ * <p>Typical usage is:</p>
+ *
+ * <pre>
+ * final long start = System.nanoTime();
+ * doSomething();
+ * trace.record("something", start);</pre>
+ *
+ * <p>Instances are thread-safe.</p>
+ *
+ * @since 6.0
+ */
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT =
+            new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Map of stage names to accumulated nanoseconds in order of first
+     * occurrence.
+     */
+    private final Map<String,Long> stageNanos = new LinkedHashMap<>();
+
+    /**
+     * @return Trace of the request being handled by the calling thread, or
+     *         {@code null} if there is none.
+     */
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Records a stage in the trace of the request being handled by the
+     * calling thread, if there is one.
+     *
+     * @param stage      Stage name.
+     * @param startNanos Value of {@link System#nanoTime()} at the beginning
+     *                   of the stage.
+     */
+    public static void recordCurrent(String stage, long startNanos) {
+        final RequestTrace trace = current();
+        if (trace != null) {
+            trace.record(stage, startNanos);
+        }
+    }
+
+    /**
+     * @param trace Trace of the request being handled by the calling thread,
+     *              or {@code null} to clear it. Threads are pooled, so a
+     *              thread that sets a trace must clear it when it's done
+     *              with the request.
+     */
+    public static void setCurrent(RequestTrace trace) {
+        if (trace != null) {
+            CURRENT.set(trace);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        // Rounded to the nearest tenth of a millisecond.
+        return Math.round(nanos / (double) TimeUnit.MICROSECONDS.toNanos(100)) / 10.0;
+    }
+
+    /**
+     * Adds the given duration to the given stage.
+     *
+     * @param stage Stage name, which must be a valid {@literal
+     *              Server-Timing} metric name, i.e. an HTTP token.
+     * @param nanos Duration in nanoseconds.
+     */
+    public synchronized void add(String stage, long nanos) {
+        stageNanos.merge(stage, nanos, Long::sum);
+    }
+
+    /**
+     * @return Time elapsed since the instance was created, which is
+     *         approximately when the request was received, in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * @return Map of stage names to accumulated durations in milliseconds,
+     *         in order of first occurrence.
+     */
+    public synchronized Map<String,Double> getStageMillis() {
+        final Map<String,Double> map = new LinkedHashMap<>(stageNanos.size());
+        stageNanos.forEach((stage, nanos) -> map.put(stage, toMillis(nanos)));
+        return map;
+    }
+
+    /**
+     * Adds the time elapsed since the given time to the given stage.
+     *
+     * @param stage      Stage name. See {@link #add(String, long)}.
+     * @param startNanos Value of {@link System#nanoTime()} at the beginning
+     *                   of the stage.
+     */
+    public void record(String stage, long startNanos) {
+        add(stage, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return Value of a {@literal Server-Timing} response header containing
+     *         all of the stages recorded so far, followed by a {@literal
+     *         total} metric containing the time elapsed so far.
+     * @see <a href="https://www.w3.org/TR/server-timing/">Server Timing</a>
+     */
+    public String toServerTimingHeader() {
+        final StringBuilder builder = new StringBuilder();
+        getStageMillis().forEach((stage, millis) -> {
+            builder.append(stage);
+            builder.append(";dur=");
+            builder.append(millis);
+            builder.append(", ");
+        });
+        builder.append("total;dur=");
+        builder.append(toMillis(getElapsedNanos()));
+        return builder.toString();
+    }
+
+    /**
+     * @return Space-separated list of {@literal stage=duration} pairs in
+     *         milliseconds, suitable for logging.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        getStageMillis().forEach((stage, millis) -> {
+            if (builder.length() > 0) {
+                builder.append(" ");
+            }
+            builder.append(stage);
+            builder.append("=");
+            builder.append(millis);
+            builder.append("ms");
+        });
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,146 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import jdk.jfr.Event;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Times a stage of handling a request, recording its duration, upon
+ * {@link #close() closing}, in any or all of:</p>
+ *
+ * <ul>
+ *     <li>a {@link RequestTrace};</li>
+ *     <li>a {@link Timer};</li>
+ *     <li>a Flight Recorder {@link Event}.</li>
+ * </ul>
+ *
+ * <p>Typical usage is:</p>
+ *
+ * <pre>
+ * final SomeEvent event = new SomeEvent();
+ * try (Stage stage = Stage.begin("something")
+ *         .withTimer(timer)
+ *         .withEvent(event)
+ *         .onCommit(() -&gt; event.setSomething(...))) {
+ *     doSomething();
+ * }</pre>
+ *
+ * <p>The event's fields are set by the {@link #onCommit(Runnable)} callback
+ * only if the event is going to be committed, which avoids computing their
+ * values when Flight Recorder isn't recording it. An instance that is never
+ * closed records nothing.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ *
+ * @since 6.0
+ */
+public final class Stage implements AutoCloseable {
+
+    private final String name;
+    private final RequestTrace trace;
+    private final long startNanos = System.nanoTime();
+    private Timer timer;
+    private Event event;
+    private Runnable eventPopulator;
+    private boolean isClosed;
+
+    /**
+     * Begins a stage that is recorded in the trace of the request being
+     * handled by the calling thread, if there is one.
+     *
+     * @param name Stage name (see {@link RequestTrace#add(String, long)}), or
+     *             {@code null} to not record the stage in a trace.
+     */
+    public static Stage begin(String name) {
+        return begin(name, RequestTrace.current());
+    }
+
+    /**
+     * @param name  Stage name (see {@link RequestTrace#add(String, long)}),
+     *              or {@code null} to not record the stage in a trace.
+     * @param trace Trace in which to record the stage. May be {@code null}.
+     */
+    public static Stage begin(String name, RequestTrace trace) {
+        return new Stage(name, trace);
+    }
+
+    private Stage(String name, RequestTrace trace) {
+        this.name  = name;
+        this.trace = trace;
+    }
+
+    /**
+     * @return Value of {@link System#nanoTime()} at the beginning of the
+     *         stage.
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Sets the callback that sets the fields of the {@link #withEvent event}
+     * before it is committed. It is invoked only if the event is going to be
+     * committed, and may be set at any time before the instance is closed.
+     *
+     * @param eventPopulator Callback.
+     * @return               The instance.
+     */
+    public Stage onCommit(Runnable eventPopulator) {
+        this.eventPopulator = eventPopulator;
+        return this;
+    }
+
+    /**
+     * Begins the given event, which will be ended, and committed if it
+     * {@link Event#shouldCommit() should be}, upon closing.
+     *
+     * @param event Event that has not begun.
+     * @return      The instance.
+     */
+    public Stage withEvent(Event event) {
+        this.event = event;
+        event.begin();
+        return this;
+    }
+
+    /**
+     * Sets the timer in which to record the duration. This may be done at any
+     * time before the instance is closed, for example when the timer depends
+     * on the outcome of the stage.
+     *
+     * @param timer Timer.
+     * @return      The instance.
+     */
+    public Stage withTimer(Timer timer) {
+        this.timer = timer;
+        return this;
+    }
+
+    /**
+     * Records the duration, once.
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        final long nanos = System.nanoTime() - startNanos;
+        if (name != null && trace != null) {
+            trace.add(name, nanos);
+        }
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                if (eventPopulator != null) {
+                    eventPopulator.run();
+                }
+                event.commit();
+            }
+        }
+    }
+
+}
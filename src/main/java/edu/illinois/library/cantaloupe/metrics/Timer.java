@@ -0,0 +1,107 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Histogram of durations, with a fixed set of buckets ranging from 5
+ * milliseconds to 30 seconds. Instances are obtained from {@link
+ * MetricRegistry#timer} and are thread-safe.</p>
+ *
+ * <p>Typical usage is:</p>
+ *
+ * <pre>
+ * final long start = System.nanoTime();
+ * doSomething();
+ * timer.recordSince(start);</pre>
+ *
+ * @since 6.0
+ */
+public final class Timer {
+
+    /**
+     * Upper bounds of the buckets in seconds, in ascending order. There is
+     * also an implicit unbounded bucket.
+     */
+    static final double[] BUCKET_BOUNDS = {
+            0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30 };
+
+    private static final long[] BUCKET_BOUNDS_NANOS =
+            new long[BUCKET_BOUNDS.length];
+
+    static {
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            BUCKET_BOUNDS_NANOS[i] =
+                    Math.round(BUCKET_BOUNDS[i] * TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Non-cumulative count of each bucket, with the last one being the
+     * unbounded one.
+     */
+    private final LongAdder[] bucketCounts =
+            new LongAdder[BUCKET_BOUNDS.length + 1];
+    private final LongAdder count    = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    Timer() {
+        for (int i = 0; i < bucketCounts.length; i++) {
+            bucketCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @return Cumulative counts of durations less than or equal to each of
+     *         the {@link #BUCKET_BOUNDS}, followed by the total count.
+     */
+    long[] getCumulativeBucketCounts() {
+        final long[] counts = new long[bucketCounts.length];
+        long sum = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            sum += bucketCounts[i].sum();
+            counts[i] = sum;
+        }
+        return counts;
+    }
+
+    /**
+     * @return Number of durations recorded.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return Sum of all durations recorded, in seconds.
+     */
+    public double getSum() {
+        return sumNanos.sum() / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * @param duration Non-negative duration.
+     * @param unit     Unit of the duration.
+     */
+    public void record(long duration, TimeUnit unit) {
+        final long nanos = unit.toNanos(duration);
+        int i = 0;
+        while (i < BUCKET_BOUNDS_NANOS.length && nanos > BUCKET_BOUNDS_NANOS[i]) {
+            i++;
+        }
+        bucketCounts[i].increment();
+        count.increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * Records the time elapsed since the given time.
+     *
+     * @param startNanos Return value of {@link System#nanoTime()} at the start
+     *                   of the timed operation.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+}
@@ -0,0 +1,24 @@
+/**
+ * <p>Provides application performance metrics:</p>
+ *
+ * <ul>
+ *     <li>{@link edu.illinois.library.cantaloupe.metrics.Counter}s,
+ *     {@link edu.illinois.library.cantaloupe.metrics.Gauge}s, and
+ *     {@link edu.illinois.library.cantaloupe.metrics.Timer}s (latency
+ *     histograms) are obtained from, and held by, the shared
+ *     {@link edu.illinois.library.cantaloupe.metrics.MetricRegistry}.</li>
+ *     <li>{@link edu.illinois.library.cantaloupe.metrics.PrometheusTextWriter}
+ *     writes the contents of a registry in the Prometheus text exposition
+ *     format.</li>
+ *     <li>{@link edu.illinois.library.cantaloupe.metrics.MetricsMBean}
+ *     exposes the contents of a registry via JMX.</li>
+ * </ul>
+ *
+ * <p>Recording a measurement amounts to incrementing a {@link
+ * java.util.concurrent.atomic.LongAdder} or two, so instrumented code need
+ * not worry about the cost. Metrics are, however, looked up by name, so code
+ * that records the same metric often should hold onto it.</p>
+ *
+ * @since 6.0
+ */
+package edu.illinois.library.cantaloupe.metrics;
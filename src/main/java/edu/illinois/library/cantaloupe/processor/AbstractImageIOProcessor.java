@@ -32,6 +32,12 @@ abstract class AbstractImageIOProcessor extends AbstractProcessor {
     protected Path sourceFile;
     protected StreamFactory streamFactory;
 
+    /**
+     * Pyramidal rendition of {@link #sourceFile} that is read in its place.
+     * Set by {@link #setPyramidalSourceFile(Path, Path)}.
+     */
+    private Path pyramidalSourceFile;
+
     /**
      * Access via {@link #getReader()}.
      */
@@ -92,8 +98,7 @@ abstract class AbstractImageIOProcessor extends AbstractProcessor {
         }
 
         try {
-            final Metadata metadata = reader.getMetadata(0);
-            info.setMetadata(metadata);
+            info.setMetadata(readMetadata());
         } catch (IOException e) {
             // Some Image I/O readers can be picky with some images (for
             // example, JPEGImageReader with YCCK JPEGs). But an Info instance
@@ -105,6 +110,25 @@ abstract class AbstractImageIOProcessor extends AbstractProcessor {
         return info;
     }
 
+    /**
+     * Reads the metadata of the first image. When {@link
+     * #setPyramidalSourceFile(Path, Path) reading a pyramidal rendition},
+     * which doesn't contain any EXIF, IPTC, or XMP, it is read from the
+     * original source image instead.
+     */
+    private Metadata readMetadata() throws IOException {
+        if (pyramidalSourceFile != null) {
+            final ImageReader originalReader = new ImageReaderFactory()
+                    .newImageReader(getSourceFormat(), sourceFile);
+            try {
+                return originalReader.getMetadata(0);
+            } finally {
+                originalReader.dispose();
+            }
+        }
+        return getReader().getMetadata(0);
+    }
+
     /**
      * ({@link #setSourceFile} or {@link #setStreamFactory}) and
      * {@link #setSourceFormat(Format)} must be invoked first.
@@ -113,14 +137,34 @@ abstract class AbstractImageIOProcessor extends AbstractProcessor {
         if (reader == null) {
             ImageReaderFactory rf = new ImageReaderFactory();
             if (streamFactory != null) {
-                reader = rf.newImageReader(getSourceFormat(), streamFactory);
+                reader = rf.newImageReader(getReaderFormat(), streamFactory);
+            } else if (pyramidalSourceFile != null) {
+                reader = rf.newImageReader(getReaderFormat(),
+                        pyramidalSourceFile);
             } else {
-                reader = rf.newImageReader(getSourceFormat(), sourceFile);
+                reader = rf.newImageReader(getReaderFormat(), sourceFile);
             }
         }
         return reader;
     }
 
+    /**
+     * @return Format of the file or stream actually being read, which is the
+     *         same as the {@link #getSourceFormat() source format} except
+     *         when {@link #setPyramidalSourceFile(Path, Path) reading a
+     *         pyramidal rendition}.
+     * @since 6.0
+     */
+    protected Format getReaderFormat() {
+        return (pyramidalSourceFile != null) ?
+                Format.get("tif") : getSourceFormat();
+    }
+
+    /**
+     * @return Source image file, which, even when {@link
+     *         #setPyramidalSourceFile(Path, Path) reading a pyramidal
+     *         rendition}, is the original one.
+     */
     public Path getSourceFile() {
         return sourceFile;
     }
@@ -143,12 +187,34 @@ abstract class AbstractImageIOProcessor extends AbstractProcessor {
         close();
         this.streamFactory = null;
         this.sourceFile = sourceFile;
+        this.pyramidalSourceFile = null;
+    }
+
+    /**
+     * Alternative to {@link #setSourceFile(Path)} that causes the instance to
+     * read a pyramidal TIFF rendition of the source image, such as one
+     * produced by {@link SourceCacheNormalizer}, in place of the source image
+     * itself. The {@link #getSourceFormat() source format}, including the one
+     * reported by {@link #readInfo()}, is unaffected, and so are the
+     * metadata, which is read from the original source image, and the
+     * {@link #getSourceFile() source file}, which is the original one.
+     *
+     * @param pyramidalSourceFile Pyramidal TIFF file.
+     * @param originalSourceFile  Source image of which the pyramidal TIFF is
+     *                            a rendition.
+     * @since 6.0
+     */
+    void setPyramidalSourceFile(Path pyramidalSourceFile,
+                                Path originalSourceFile) {
+        setSourceFile(originalSourceFile);
+        this.pyramidalSourceFile = pyramidalSourceFile;
     }
 
     public void setStreamFactory(StreamFactory streamFactory) {
         close();
         this.sourceFile = null;
         this.streamFactory = streamFactory;
+        this.pyramidalSourceFile = null;
     }
 
     public boolean supportsSourceFormat(Format format) {
@@ -0,0 +1,144 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.async.ThreadPool;
+import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.processor.codec.ImageReader;
+import edu.illinois.library.cantaloupe.processor.codec.ImageSequenceWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * <p>Streams the frames of an image sequence, such as an animated GIF, from
+ * an {@link ImageReader} through {@link Java2DPostProcessor} into an {@link
+ * ImageSequenceWriter}.</p>
+ *
+ * <p>Frames are decoded one at a time in the calling thread, post-processed
+ * concurrently in the {@link ThreadPool}, and handed to the writer in their
+ * original order as soon as they are ready. No more than {@link
+ * #getWindowSize() window size} frames are in flight at any given time, so
+ * memory use is bounded by the window rather than by the length of the
+ * sequence.</p>
+ *
+ * @since 6.0
+ */
+final class FrameStreamer {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(FrameStreamer.class);
+
+    private final ImageReader reader;
+    private final ImageSequenceWriter writer;
+    private final OperationList opList;
+    private final Info info;
+    private int windowSize = 2 * Runtime.getRuntime().availableProcessors();
+
+    /**
+     * @param reader Reader from which to read frames.
+     * @param writer Writer to write processed frames to. It is not closed.
+     * @param opList Operations to apply to each frame.
+     * @param info   Information about the source image.
+     */
+    FrameStreamer(ImageReader reader,
+                  ImageSequenceWriter writer,
+                  OperationList opList,
+                  Info info) {
+        this.reader = reader;
+        this.writer = writer;
+        this.opList = opList;
+        this.info   = info;
+    }
+
+    /**
+     * @return Maximum number of frames that may be decoded but not yet
+     *         written at any given time.
+     */
+    int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * @param windowSize Maximum number of frames that may be decoded but not
+     *                   yet written at any given time.
+     * @throws IllegalArgumentException if the argument is less than
+     *         {@literal 1}.
+     */
+    void setWindowSize(int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be >= 1");
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Reads, processes, and writes all of the frames in the source image.
+     *
+     * @return Number of frames written.
+     * @throws IllegalArgumentException if the source contains no frames.
+     */
+    int stream() throws IOException {
+        final int numFrames = reader.getNumImages();
+        if (numFrames < 1) {
+            throw new IllegalArgumentException("Empty sequence");
+        } else if (numFrames == 1) {
+            // No point in involving other threads.
+            BufferedImage image = reader.read(0);
+            image = Java2DPostProcessor.postProcess(
+                    image, null, opList, info, null);
+            writer.write(image);
+            return 1;
+        }
+
+        LOGGER.debug("Streaming {} frames through a window of {}",
+                numFrames, windowSize);
+
+        final Deque<Future<?>> window = new ArrayDeque<>(windowSize);
+        try {
+            for (int frameNum = 0; frameNum < numFrames; frameNum++) {
+                if (window.size() >= windowSize) {
+                    writer.write(awaitFrame(window.removeFirst()));
+                }
+                final BufferedImage image = reader.read(frameNum);
+                final int frameNumCopy = frameNum;
+                window.addLast(ThreadPool.getInstance().submit(() -> {
+                    LOGGER.trace("Processing frame {}", frameNumCopy);
+                    return Java2DPostProcessor.postProcess(
+                            image, null, opList, info, null);
+                }));
+            }
+            while (!window.isEmpty()) {
+                writer.write(awaitFrame(window.removeFirst()));
+            }
+        } finally {
+            // If anything went wrong, don't leave orphaned work behind.
+            window.forEach(f -> f.cancel(true));
+        }
+        return numFrames;
+    }
+
+    private static BufferedImage awaitFrame(Future<?> future)
+            throws IOException {
+        try {
+            return (BufferedImage) future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+}
@@ -149,7 +149,7 @@ class JaiProcessor extends AbstractImageIOProcessor
                            better than nothing.
                         2) otherwise, use the SubsampleAverage operation.
                         */
-                        if (Format.get("tif").equals(getSourceFormat()) &&
+                        if (Format.get("tif").equals(getReaderFormat()) &&
                                 (!Compression.UNCOMPRESSED.equals(reader.getCompression(0)) &&
                                         !Compression.UNDEFINED.equals(reader.getCompression(0)))) {
                             LOGGER.debug("process(): detected compressed TIFF; " +
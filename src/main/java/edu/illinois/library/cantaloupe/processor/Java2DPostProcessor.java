@@ -1,10 +1,12 @@
 package edu.illinois.library.cantaloupe.processor;
 
-import edu.illinois.library.cantaloupe.async.ThreadPool;
 import edu.illinois.library.cantaloupe.image.Dimension;
 import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.image.Metadata;
 import edu.illinois.library.cantaloupe.image.Orientation;
+import edu.illinois.library.cantaloupe.jfr.JFREvents;
+import edu.illinois.library.cantaloupe.jfr.PostProcessEvent;
+import edu.illinois.library.cantaloupe.metrics.Stage;
 import edu.illinois.library.cantaloupe.operation.ColorTransform;
 import edu.illinois.library.cantaloupe.operation.Crop;
 import edu.illinois.library.cantaloupe.operation.CropByPercent;
@@ -19,21 +21,10 @@ import edu.illinois.library.cantaloupe.operation.overlay.Overlay;
 import edu.illinois.library.cantaloupe.operation.redaction.Redaction;
 import edu.illinois.library.cantaloupe.processor.codec.BufferedImageSequence;
 import edu.illinois.library.cantaloupe.processor.codec.ReaderHint;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.util.ArrayList;
 import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -47,13 +38,10 @@ import java.util.stream.Collectors;
  */
 final class Java2DPostProcessor {
 
-    private static final Logger LOGGER =
-            LoggerFactory.getLogger(Java2DPostProcessor.class);
-
     /**
-     * Can be used for all images but not {@link BufferedImageSequence image
-     * sequences}; for those, use {@link #postProcess(BufferedImageSequence,
-     * OperationList, Info)}.
+     * Can be used for all images, including the individual frames of {@link
+     * BufferedImageSequence image sequences}, which are normally streamed
+     * through this method by a {@link FrameStreamer}.
      *
      * @param image           Image to process.
      * @param readerHints     Hints from the image reader. May be
@@ -98,15 +86,21 @@ final class Java2DPostProcessor {
                 crop = (Crop) op;
                 if (crop.hasEffect(fullSize, opList) &&
                         !readerHints.contains(ReaderHint.ALREADY_CROPPED)) {
+                    final PostProcessEvent event = new PostProcessEvent();
+                    final Stage stage = Stage.begin(null).withEvent(event);
                     image = Java2DUtil.crop(image, crop, reductionFactor,
                             opList.getScaleConstraint(), false);
+                    endStage(stage, event, opList, JFREvents.className(crop), image);
                 }
             }
         }
 
         if (!readerHints.contains(ReaderHint.ALREADY_ORIENTED) &&
                 !Orientation.ROTATE_0.equals(orientation)) {
+            final PostProcessEvent event = new PostProcessEvent();
+            final Stage stage = Stage.begin(null).withEvent(event);
             image = Java2DUtil.rotate(image, orientation);
+            endStage(stage, event, opList, Orientation.class.getSimpleName(), image);
         }
 
         // Apply redactions.
@@ -115,15 +109,22 @@ final class Java2DPostProcessor {
                         op.hasEffect(fullSize, opList))
                 .map(op -> (Redaction) op)
                 .collect(Collectors.toSet());
-        Java2DUtil.applyRedactions(image, fullSize, crop,
-                new double[] { 1.0, 1.0 }, reductionFactor,
-                opList.getScaleConstraint(), redactions);
+        if (!redactions.isEmpty()) {
+            final PostProcessEvent event = new PostProcessEvent();
+            final Stage stage = Stage.begin(null).withEvent(event);
+            Java2DUtil.applyRedactions(image, fullSize, crop,
+                    new double[] { 1.0, 1.0 }, reductionFactor,
+                    opList.getScaleConstraint(), redactions);
+            endStage(stage, event, opList, Redaction.class.getSimpleName(), image);
+        }
 
         // Apply remaining operations.
         for (Operation op : opList) {
             if (!op.hasEffect(fullSize, opList)) {
                 continue;
             }
+            final PostProcessEvent event = new PostProcessEvent();
+            final Stage stage = Stage.begin(null).withEvent(event);
             if (op instanceof Scale) {
                 final Scale scale = (Scale) op;
                 final boolean isLinear = scale.isLinear() &&
@@ -146,93 +147,30 @@ final class Java2DPostProcessor {
                 image = Java2DUtil.sharpen(image, (Sharpen) op);
             } else if (op instanceof Overlay) {
                 Java2DUtil.applyOverlay(image, (Overlay) op);
+            } else {
+                continue;
             }
+            endStage(stage, event, opList, JFREvents.className(op), image);
         }
         return image;
     }
 
     /**
-     * For processing {@link BufferedImageSequence image sequences}, such as to
-     * support animated GIFs.
-     *
-     * @param sequence Sequence containing one or more images, which will be
-     *                 replaced with the post-processed variants.
-     * @param opList   Operations to apply to each image in the sequence.
-     * @param info     Information about the source image.
-     * @throws IllegalArgumentException if the sequence is empty.
+     * @param stage     Stage timing the given event.
+     * @param operation Name of the operation that was applied.
+     * @param image     Resulting image.
      */
-    static void postProcess(final BufferedImageSequence sequence,
-                            final OperationList opList,
-                            final Info info) throws IOException {
-        final int numFrames = sequence.length();
-
-        // 1. If the sequence contains no frames, throw an exception.
-        // 2. If it contains only one frame, process the frame in the current
-        //    thread.
-        // 3. If it contains more than one frame, spread the work across one
-        //    thread per CPU.
-        if (numFrames < 1) {
-            throw new IllegalArgumentException("Empty sequence");
-        } else if (numFrames == 1) {
-            BufferedImage image = sequence.get(0);
-            image = postProcess(image, null, opList, info, null);
-            sequence.set(0, image);
-        } else {
-            final int numThreads = Math.min(
-                    numFrames, Runtime.getRuntime().availableProcessors());
-            final int framesPerThread =
-                    (int) Math.ceil(numFrames / (float) numThreads);
-            final CountDownLatch latch = new CountDownLatch(numFrames);
-
-            LOGGER.debug("Processing {} frames in {} threads ({} frames/thread)",
-                    numFrames, numThreads, framesPerThread);
-
-            // Create a list containing numThreads queues. Each map will
-            // contain { "frame": int, "image": BufferedImage }.
-            final List<Queue<Map<String,Object>>> processingQueues =
-                    new ArrayList<>(numThreads);
-            for (short thread = 0; thread < numThreads; thread++) {
-                final Queue<Map<String,Object>> queue = new LinkedList<>();
-                processingQueues.add(queue);
-
-                final int startFrame = thread * framesPerThread;
-                final int endFrame = Math.min(startFrame + framesPerThread,
-                        numFrames);
-                for (int frameNum = startFrame; frameNum < endFrame; frameNum++) {
-                    Map<String,Object> map = new HashMap<>();
-                    map.put("frame", frameNum);
-                    map.put("image", sequence.get(frameNum));
-                    queue.add(map);
-                }
-            }
-
-            // Process each queue in a separate thread.
-            int i = 0;
-            for (Queue<Map<String,Object>> queue : processingQueues) {
-                final int queueNum = i;
-                ThreadPool.getInstance().submit(() -> {
-                    Map<String,Object> dict;
-                    while ((dict = queue.poll()) != null) {
-                        int frameNum = (int) dict.get("frame");
-                        LOGGER.trace("Thread {}: processing frame {} (latch count: {})",
-                                queueNum, frameNum, latch.getCount());
-                        BufferedImage image = (BufferedImage) dict.get("image");
-                        image = postProcess(image, null, opList, info, null);
-                        sequence.set(frameNum, image);
-                        latch.countDown();
-                    }
-                    return null;
-                });
-                i++;
-            }
-
-            // Wait for all threads to finish.
-            try {
-                latch.await(5, TimeUnit.MINUTES); // hopefully not this long...
-            } catch (InterruptedException e) {
-                throw new IOException(e);
-            }
-        }
+    private static void endStage(Stage stage,
+                                 PostProcessEvent event,
+                                 OperationList opList,
+                                 String operation,
+                                 BufferedImage image) {
+        stage.onCommit(() -> {
+            event.setIdentifier(JFREvents.string(opList.getIdentifier()));
+            event.setOperation(operation);
+            event.setWidth(image.getWidth());
+            event.setHeight(image.getHeight());
+        }).close();
     }
 
     private Java2DPostProcessor() {}
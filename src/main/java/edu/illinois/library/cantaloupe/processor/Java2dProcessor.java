@@ -3,16 +3,21 @@ package edu.illinois.library.cantaloupe.processor;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.image.ScaleConstraint;
+import edu.illinois.library.cantaloupe.jfr.DecodeEvent;
+import edu.illinois.library.cantaloupe.jfr.EncodeEvent;
+import edu.illinois.library.cantaloupe.jfr.JFREvents;
+import edu.illinois.library.cantaloupe.metrics.Stage;
 import edu.illinois.library.cantaloupe.operation.Crop;
 import edu.illinois.library.cantaloupe.operation.Encode;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.operation.ReductionFactor;
 import edu.illinois.library.cantaloupe.operation.Scale;
-import edu.illinois.library.cantaloupe.processor.codec.BufferedImageSequence;
 import edu.illinois.library.cantaloupe.processor.codec.ImageReader;
+import edu.illinois.library.cantaloupe.processor.codec.ImageSequenceWriter;
 import edu.illinois.library.cantaloupe.processor.codec.ImageWriter;
 import edu.illinois.library.cantaloupe.processor.codec.ImageWriterFactory;
 import edu.illinois.library.cantaloupe.processor.codec.ReaderHint;
+import org.apache.commons.io.output.CountingOutputStream;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
@@ -50,19 +55,53 @@ class Java2dProcessor extends AbstractImageIOProcessor
                     .newImageWriter(encode);
             if (GIF.equals(info.getSourceFormat()) &&
                     GIF.equals(ops.getOutputFormat())) {
-                BufferedImageSequence seq = reader.readSequence();
-                Java2DPostProcessor.postProcess(seq, ops, info);
-                writer.write(seq, outputStream);
+                try (ImageSequenceWriter sequenceWriter =
+                             writer.newSequenceWriter(outputStream)) {
+                    new FrameStreamer(reader, sequenceWriter, ops, info)
+                            .stream();
+                }
             } else {
                 Crop crop          = (Crop) ops.getFirst(Crop.class);
                 Scale scale        = (Scale) ops.getFirst(Scale.class);
                 ScaleConstraint sc = ops.getScaleConstraint();
 
-                BufferedImage image = reader.read(
+                final DecodeEvent decodeEvent = new DecodeEvent();
+                final Stage decodeStage =
+                        Stage.begin("decode").withEvent(decodeEvent);
+                final BufferedImage decodedImage = reader.read(
                         ops.getPageIndex(), crop, scale, sc, rf, hints);
-                image = Java2DPostProcessor.postProcess(
-                        image, hints, ops, info, rf);
-                writer.write(image, outputStream);
+                decodeStage.onCommit(() -> {
+                    decodeEvent.setIdentifier(JFREvents.string(ops.getIdentifier()));
+                    decodeEvent.setProcessor(JFREvents.className(this));
+                    decodeEvent.setFormat(JFREvents.string(info.getSourceFormat()));
+                    decodeEvent.setWidth(decodedImage.getWidth());
+                    decodeEvent.setHeight(decodedImage.getHeight());
+                }).close();
+
+                BufferedImage image;
+                try (Stage stage = Stage.begin("postprocess")) {
+                    image = Java2DPostProcessor.postProcess(
+                            decodedImage, hints, ops, info, rf);
+                }
+
+                final EncodeEvent encodeEvent = new EncodeEvent();
+                // Count the bytes written only if the event will need them.
+                final CountingOutputStream countingOS =
+                        encodeEvent.isEnabled() ?
+                                new CountingOutputStream(outputStream) : null;
+                try (Stage stage = Stage.begin("encode")
+                        .withEvent(encodeEvent)
+                        .onCommit(() -> {
+                            encodeEvent.setIdentifier(JFREvents.string(ops.getIdentifier()));
+                            encodeEvent.setProcessor(JFREvents.className(this));
+                            encodeEvent.setFormat(JFREvents.string(ops.getOutputFormat()));
+                            if (countingOS != null) {
+                                encodeEvent.setBytes(countingOS.getByteCount());
+                            }
+                        })) {
+                    writer.write(image,
+                            (countingOS != null) ? countingOS : outputStream);
+                }
             }
         } catch (SourceFormatException e) {
             throw e;
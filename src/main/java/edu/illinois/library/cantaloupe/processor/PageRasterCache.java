@@ -0,0 +1,380 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.async.ThreadPool;
+import edu.illinois.library.cantaloupe.cache.CacheFacade;
+import edu.illinois.library.cantaloupe.cache.CompletableOutputStream;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Dimension;
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.image.Rectangle;
+import edu.illinois.library.cantaloupe.image.ScaleConstraint;
+import edu.illinois.library.cantaloupe.operation.Crop;
+import edu.illinois.library.cantaloupe.operation.CropByPixels;
+import edu.illinois.library.cantaloupe.operation.Encode;
+import edu.illinois.library.cantaloupe.operation.Operation;
+import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.operation.ReductionFactor;
+import edu.illinois.library.cantaloupe.operation.ScaleByPercent;
+import edu.illinois.library.cantaloupe.processor.codec.ImageReader;
+import edu.illinois.library.cantaloupe.processor.codec.ImageReaderFactory;
+import edu.illinois.library.cantaloupe.processor.codec.ReaderHint;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+/**
+ * <p>Caches rasterized pages of vector source images, such as PDFs, in the
+ * derivative cache, so that tiles and other sizes of the same page can be cut
+ * from the cached raster instead of rasterizing the page again.</p>
+ *
+ * <p>Pages are cached at the DPI levels for which {@link
+ * RasterizationHelper#isDPILevel(double)} returns {@code true}, as tiled,
+ * losslessly compressed TIFFs, which enables the regions needed by
+ * subsequent requests to be read without decoding the whole raster. Cached
+ * rasters are keyed by an {@link OperationList} whose first operation is a
+ * {@link PageRaster}, which distinguishes them from derivative images. Unlike
+ * {@link OperationList#getOptions() options}, which are populated from query
+ * arguments, that operation can't be requested by clients, so they can
+ * neither read nor overwrite a raster. Rasters are otherwise subject to the
+ * same TTL and purging as any other derivative image of the same source
+ * image.</p>
+ *
+ * <p>Rasters can be large, so only a few of them are written at once, and a
+ * raster that is already being written isn't written again. A would-be
+ * writer must {@link #tryReserveWrite reserve} the write before rasterizing
+ * the whole page for it.</p>
+ *
+ * @since 6.0
+ */
+final class PageRasterCache {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(PageRasterCache.class);
+
+    /**
+     * Operation that identifies a cached raster's operation list. It has no
+     * effect on the image and is never processed.
+     */
+    static final class PageRaster implements Operation {
+
+        private final double dpi;
+
+        PageRaster(double dpi) {
+            this.dpi = dpi;
+        }
+
+        double getDPI() {
+            return dpi;
+        }
+
+        @Override
+        public void freeze() {
+            // already immutable
+        }
+
+        /**
+         * @return {@code true} so that the instance is included in cache
+         *         keys.
+         */
+        @Override
+        public boolean hasEffect() {
+            return true;
+        }
+
+        @Override
+        public boolean hasEffect(Dimension fullSize, OperationList opList) {
+            return hasEffect();
+        }
+
+        @Override
+        public Map<String,Object> toMap(Dimension fullSize,
+                                        ScaleConstraint scaleConstraint) {
+            return Map.of(
+                    "class", PageRaster.class.getSimpleName(),
+                    "dpi", dpi);
+        }
+
+        @Override
+        public String toString() {
+            return "raster:" + dpi;
+        }
+
+    }
+
+    static final long DEFAULT_MAX_PIXELS = 25000000;
+
+    /**
+     * Compression types to use in order of preference, depending on which
+     * are supported by the TIFF writer.
+     */
+    private static final String[] COMPRESSION_TYPES = { "Deflate", "LZW" };
+
+    private static final Format FORMAT = Format.get("tif");
+
+    private static final int TILE_SIZE = 512;
+
+    /**
+     * Maximum number of rasters that can be pending or being written at
+     * once, across all instances.
+     */
+    static final int MAX_PENDING_WRITES = 2;
+
+    /**
+     * Keys of the rasters that are pending or being written.
+     */
+    private static final Set<String> PENDING_WRITES = new HashSet<>();
+
+    private final CacheFacade cacheFacade = new CacheFacade();
+
+    /**
+     * @param identifier Identifier of the source image.
+     * @param pageIndex  Index of the page.
+     * @param dpi        DPI at which the page is rasterized.
+     * @return           Operation list under which the raster is cached.
+     */
+    static OperationList getOperationList(Identifier identifier,
+                                          int pageIndex,
+                                          double dpi) {
+        // The PageRaster goes first, so that neither the string nor the
+        // filename representation of a client's operation list, whose
+        // operations always include an Encode, can be made to match it.
+        return OperationList.builder()
+                .withIdentifier(identifier)
+                .withPageIndex(pageIndex)
+                .withOperations(new PageRaster(dpi), new Encode(FORMAT))
+                .build();
+    }
+
+    private static String getWriteKey(Identifier identifier,
+                                      int pageIndex,
+                                      double dpi) {
+        return identifier + "/" + pageIndex + "/" + dpi;
+    }
+
+    /**
+     * @return Number of rasters that are pending or being written.
+     */
+    static int getNumPendingWrites() {
+        synchronized (PENDING_WRITES) {
+            return PENDING_WRITES.size();
+        }
+    }
+
+    /**
+     * @return Whether the cache is enabled and a derivative cache is
+     *         available.
+     */
+    boolean isAvailable() {
+        return Configuration.getInstance().getBoolean(
+                Key.PROCESSOR_PDF_RASTER_CACHE_ENABLED, true) &&
+                cacheFacade.isDerivativeCacheAvailable();
+    }
+
+    /**
+     * @param rasterSize Size of a page raster.
+     * @return           Whether a raster of the given size is allowed to be
+     *                   cached.
+     */
+    boolean isCacheable(Dimension rasterSize) {
+        final long maxPixels = Configuration.getInstance().getLong(
+                Key.PROCESSOR_PDF_RASTER_CACHE_MAX_PIXELS, DEFAULT_MAX_PIXELS);
+        return rasterSize.intWidth() * (long) rasterSize.intHeight() <= maxPixels;
+    }
+
+    /**
+     * Reads a cached page raster, or a region of it.
+     *
+     * @param identifier      Identifier of the source image.
+     * @param pageIndex       Index of the page.
+     * @param dpi             DPI at which the page was rasterized.
+     * @param crop            Region to read, or {@code null} to read the
+     *                        whole raster. If not {@code null}, {@link
+     *                        ReaderHint#ALREADY_CROPPED} will be added to
+     *                        {@code hints}.
+     * @param rf              Reduction factor corresponding to {@code dpi}.
+     * @param scaleConstraint Scale constraint.
+     * @param hints           Reader hints to populate.
+     * @return                Cached image, or {@code null} if the cache does
+     *                        not contain a raster of the given page at the
+     *                        given DPI.
+     */
+    BufferedImage read(Identifier identifier,
+                       int pageIndex,
+                       double dpi,
+                       Crop crop,
+                       ReductionFactor rf,
+                       ScaleConstraint scaleConstraint,
+                       Set<ReaderHint> hints) throws IOException {
+        final OperationList opList =
+                getOperationList(identifier, pageIndex, dpi);
+        final InputStream is = cacheFacade.newDerivativeImageInputStream(opList);
+        if (is == null) {
+            return null;
+        }
+        final Stopwatch watch = new Stopwatch();
+        ImageReader reader = null;
+        try {
+            reader = new ImageReaderFactory().newImageReader(FORMAT, is);
+            BufferedImage image;
+            if (crop != null) {
+                // Compute the region the same way Java2DUtil.crop() would if
+                // it were cropping the whole raster.
+                final Rectangle region = crop.getRectangle(
+                        reader.getSize(0), rf, scaleConstraint);
+                image = reader.read(0,
+                        new CropByPixels(region.intX(), region.intY(),
+                                region.intWidth(), region.intHeight()),
+                        new ScaleByPercent(),
+                        new ScaleConstraint(1, 1),
+                        new ReductionFactor(),
+                        hints);
+                hints.add(ReaderHint.ALREADY_CROPPED);
+            } else {
+                image = reader.read(0);
+            }
+            LOGGER.debug("Read page {} of {} at {} DPI from the cache in {}",
+                    pageIndex, identifier, dpi, watch);
+            return image;
+        } finally {
+            if (reader != null) {
+                reader.dispose();
+            } else {
+                is.close();
+            }
+        }
+    }
+
+    /**
+     * Reserves the writing of a page raster, which must then be either
+     * {@link #writeAsync written} or {@link #releaseWrite released}.
+     *
+     * @param identifier Identifier of the source image.
+     * @param pageIndex  Index of the page.
+     * @param dpi        DPI at which the page is rasterized.
+     * @return           Whether the write was reserved. If not, the raster is
+     *                   already being written, or too many rasters are, and
+     *                   the caller shouldn't bother rasterizing the whole
+     *                   page.
+     */
+    boolean tryReserveWrite(Identifier identifier, int pageIndex, double dpi) {
+        synchronized (PENDING_WRITES) {
+            if (PENDING_WRITES.size() >= MAX_PENDING_WRITES) {
+                LOGGER.debug("tryReserveWrite(): {} writes already pending; " +
+                        "not caching page {} of {}",
+                        PENDING_WRITES.size(), pageIndex, identifier);
+                return false;
+            }
+            return PENDING_WRITES.add(getWriteKey(identifier, pageIndex, dpi));
+        }
+    }
+
+    /**
+     * Releases a write {@link #tryReserveWrite reserved} by a caller that
+     * won't be writing after all.
+     */
+    void releaseWrite(Identifier identifier, int pageIndex, double dpi) {
+        synchronized (PENDING_WRITES) {
+            PENDING_WRITES.remove(getWriteKey(identifier, pageIndex, dpi));
+        }
+    }
+
+    /**
+     * Writes a page raster to the cache in the {@link ThreadPool application
+     * thread pool}, so that the caller doesn't have to wait for it to be
+     * compressed, and releases its reservation afterwards. The raster must
+     * not be modified afterwards.
+     *
+     * @param identifier Identifier of the source image.
+     * @param pageIndex  Index of the page.
+     * @param dpi        DPI at which the page was rasterized. The write must
+     *                   have been {@link #tryReserveWrite reserved}.
+     * @param raster     Raster of the whole page.
+     * @return           Future that completes when the raster has been
+     *                   written or has failed to be.
+     */
+    Future<?> writeAsync(Identifier identifier,
+                         int pageIndex,
+                         double dpi,
+                         BufferedImage raster) {
+        return ThreadPool.getInstance().submit(() -> {
+            try {
+                write(identifier, pageIndex, dpi, raster);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("writeAsync(): failed to cache page {} of {}: {}",
+                        pageIndex, identifier, e.getMessage());
+            } finally {
+                releaseWrite(identifier, pageIndex, dpi);
+            }
+        });
+    }
+
+    /**
+     * Writes a page raster to the cache.
+     *
+     * @param identifier Identifier of the source image.
+     * @param pageIndex  Index of the page.
+     * @param dpi        DPI at which the page was rasterized.
+     * @param raster     Raster of the whole page.
+     */
+    void write(Identifier identifier,
+               int pageIndex,
+               double dpi,
+               BufferedImage raster) throws IOException {
+        final Iterator<ImageWriter> it =
+                ImageIO.getImageWritersByFormatName("tiff");
+        if (!it.hasNext()) {
+            LOGGER.warn("write(): no TIFF writer available");
+            return;
+        }
+        final Stopwatch watch = new Stopwatch();
+        final OperationList opList =
+                getOperationList(identifier, pageIndex, dpi);
+        final ImageWriter writer = it.next();
+        try (CompletableOutputStream os =
+                     cacheFacade.newDerivativeImageOutputStream(opList)) {
+            if (os == null) {
+                return;
+            }
+            final ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setTilingMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setTiling(TILE_SIZE, TILE_SIZE, 0, 0);
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            final String[] types = param.getCompressionTypes();
+            Arrays.stream(COMPRESSION_TYPES)
+                    .filter(t -> Arrays.asList(types).contains(t))
+                    .findFirst()
+                    .ifPresentOrElse(param::setCompressionType,
+                            () -> param.setCompressionMode(
+                                    ImageWriteParam.MODE_DISABLED));
+            try (ImageOutputStream ios = ImageIO.createImageOutputStream(os)) {
+                writer.setOutput(ios);
+                writer.write(null, new IIOImage(raster, null, null), param);
+                ios.flush();
+            }
+            os.flush();
+            os.setComplete(true);
+            LOGGER.debug("Wrote page {} of {} at {} DPI to the cache in {}",
+                    pageIndex, identifier, dpi, watch);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+}
@@ -6,11 +6,14 @@ import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Dimension;
 import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.image.Metadata;
+import edu.illinois.library.cantaloupe.image.Rectangle;
 import edu.illinois.library.cantaloupe.image.ScaleConstraint;
+import edu.illinois.library.cantaloupe.operation.Crop;
 import edu.illinois.library.cantaloupe.operation.Encode;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.operation.ReductionFactor;
 import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.operation.ScaleByPercent;
 import edu.illinois.library.cantaloupe.operation.ValidationException;
 import edu.illinois.library.cantaloupe.processor.codec.ImageWriterFactory;
@@ -32,12 +35,15 @@ import org.apache.pdfbox.rendering.PDFRenderer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -46,9 +52,13 @@ import java.util.Map;
 import java.util.Set;
 
 /**
- * Processor using the <a href="https://pdfbox.apache.org">Apache PDFBox</a>
+ * <p>Processor using the <a href="https://pdfbox.apache.org">Apache PDFBox</a>
  * library to render source PDFs, and Java 2D to perform post-rasterization
- * processing steps.
+ * processing steps.</p>
+ *
+ * <p>When reading from a file, loaded documents are returned to a {@link
+ * PdfDocumentPool} when the instance is {@link #close() closed}, from which
+ * they can be borrowed by subsequent instances reading the same file.</p>
  */
 class PdfBoxProcessor extends AbstractProcessor
         implements FileProcessor, StreamProcessor {
@@ -59,6 +69,8 @@ class PdfBoxProcessor extends AbstractProcessor
     private static final int DEFAULT_DPI = 150;
 
     private PDDocument doc;
+    private PdfDocumentPool.DocumentKey docKey;
+    private long docSize;
     private Metadata metadata;
     private Path sourceFile;
     private StreamFactory streamFactory;
@@ -76,8 +88,16 @@ class PdfBoxProcessor extends AbstractProcessor
 
     @Override
     public void close() {
-        IOUtils.closeQuietly(doc);
-        doc = null;
+        if (doc != null) {
+            if (docKey != null) {
+                PdfDocumentPool.getInstance().giveBack(docKey, doc, docSize);
+            } else {
+                IOUtils.closeQuietly(doc);
+            }
+        }
+        doc      = null;
+        docKey   = null;
+        docSize  = 0;
         metadata = null;
     }
 
@@ -116,10 +136,16 @@ class PdfBoxProcessor extends AbstractProcessor
             double pct = scale.getPercent();
             ReductionFactor reductionFactor = ReductionFactor.forScale(pct);
 
-            int pageIndex = opList.getPageIndex();
+            final int pageIndex = opList.getPageIndex();
 
-            BufferedImage image = readImage(
-                    pageIndex, reductionFactor, scaleConstraint);
+            Crop crop = (Crop) opList.getFirst(Crop.class);
+            if (crop != null && !crop.hasEffect(
+                    imageInfo.getSize(pageIndex), opList)) {
+                crop = null;
+            }
+
+            BufferedImage image = readImage(opList.getIdentifier(),
+                    pageIndex, crop, reductionFactor, scaleConstraint, hints);
             image = Java2DPostProcessor.postProcess(
                     image, hints, opList, imageInfo, reductionFactor);
             ImageWriterFacade.write(image,
@@ -139,10 +165,40 @@ class PdfBoxProcessor extends AbstractProcessor
         return false;
     }
 
+    /**
+     * @return Key under which the document is pooled in the {@link
+     *         PdfDocumentPool}, or {@code null} if it should not be pooled.
+     */
+    private PdfDocumentPool.DocumentKey getDocumentKey() throws IOException {
+        // Streams can't be identified, and temp files are deleted as soon as
+        // they are no longer needed.
+        if (sourceFile == null ||
+                sourceFile.startsWith(Application.getTempPath())) {
+            return null;
+        }
+        return new PdfDocumentPool.DocumentKey(
+                sourceFile.toAbsolutePath().toString(),
+                Files.getLastModifiedTime(sourceFile).toInstant());
+    }
+
     private void readDocument() throws IOException {
         if (doc == null) {
             final Stopwatch watch = new Stopwatch();
 
+            if (sourceFile != null) {
+                // The size has to be known when the document is given back,
+                // whether or not it came from the pool.
+                docSize = Files.size(sourceFile);
+            }
+            docKey = getDocumentKey();
+            if (docKey != null) {
+                doc = PdfDocumentPool.getInstance().borrow(docKey);
+                if (doc != null) {
+                    LOGGER.debug("Borrowed document from pool in {}", watch);
+                    return;
+                }
+            }
+
             if (sourceFile != null) {
                 doc = PDDocument.load(sourceFile.toFile(),
                         getMemoryUsageSetting());
@@ -164,6 +220,14 @@ class PdfBoxProcessor extends AbstractProcessor
                 }
             });
 
+            LOGGER.debug("Loaded document in {}", watch);
+        }
+    }
+
+    private void readMetadata() throws IOException {
+        if (metadata == null) {
+            readDocument();
+
             metadata = new Metadata();
             { // Read the document's native metadata.
                 PDDocumentInformation info = doc.getDocumentInformation();
@@ -186,8 +250,6 @@ class PdfBoxProcessor extends AbstractProcessor
                     }
                 }
             }
-
-            LOGGER.debug("Loaded document in {}", watch);
         }
     }
 
@@ -206,33 +268,154 @@ class PdfBoxProcessor extends AbstractProcessor
     }
 
     /**
-     * @return Rasterized page of the PDF.
+     * <p>Reads an image of a page, or a region of a page, of the PDF.</p>
+     *
+     * <p>If the {@link PageRasterCache} is available and the DPI corresponding
+     * to the given reduction factor and scale constraint is one of the cached
+     * {@link RasterizationHelper#isDPILevel(double) levels}, the image is
+     * read from the cache, and the whole page is rasterized and cached in the
+     * event of a miss. Otherwise, only the region covered by the given crop
+     * is rasterized.</p>
+     *
+     * @param identifier      Identifier of the source image. May be {@code
+     *                        null}, in which case the raster cache is not
+     *                        consulted.
+     * @param pageIndex       Index of the page to render.
+     * @param crop            Region of the page to render, or {@code null}
+     *                        to render the whole page.
+     * @param rf              Reduction factor.
+     * @param scaleConstraint Scale constraint.
+     * @param hints           Will be populated by information returned from
+     *                        the reader.
+     * @return                Rasterized page, or region of a page, of the
+     *                        PDF.
+     * @throws IndexOutOfBoundsException if the given page index is out of
+     *         bounds.
      */
-    private BufferedImage readImage(int pageIndex,
+    private BufferedImage readImage(Identifier identifier,
+                                    int pageIndex,
+                                    Crop crop,
                                     ReductionFactor rf,
-                                    ScaleConstraint scaleConstraint) throws IOException {
-        double dpi = new RasterizationHelper().getDPI(
-                rf.factor, scaleConstraint);
-        return readImage(pageIndex, dpi);
+                                    ScaleConstraint scaleConstraint,
+                                    Set<ReaderHint> hints) throws IOException {
+        final RasterizationHelper helper = new RasterizationHelper();
+        final double dpi = helper.getDPI(rf.factor, scaleConstraint);
+        LOGGER.debug("DPI: {}", dpi);
+
+        PageRasterCache rasterCache = null;
+        if (identifier != null && helper.isDPILevel(dpi)) {
+            rasterCache = new PageRasterCache();
+            if (rasterCache.isAvailable()) {
+                final BufferedImage image = rasterCache.read(identifier,
+                        pageIndex, dpi, crop, rf, scaleConstraint, hints);
+                if (image != null) {
+                    return image;
+                }
+            } else {
+                rasterCache = null;
+            }
+        }
+
+        readDocument();
+        final PDFRenderer renderer = new PDFRenderer(doc);
+        final float scale          = (float) (dpi / 72.0);
+        final Dimension pageSize   = getRenderedSize(doc.getPage(pageIndex), scale);
+
+        // The whole page is rasterized for the cache only if the raster will
+        // actually be written.
+        final boolean isCaching = rasterCache != null &&
+                rasterCache.isCacheable(pageSize) &&
+                rasterCache.tryReserveWrite(identifier, pageIndex, dpi);
+        if (crop == null || isCaching) {
+            final BufferedImage image;
+            try {
+                image = renderer.renderImageWithDPI(pageIndex, (float) dpi);
+            } catch (IOException | RuntimeException e) {
+                if (isCaching) {
+                    rasterCache.releaseWrite(identifier, pageIndex, dpi);
+                }
+                throw e;
+            }
+            if (isCaching) {
+                rasterCache.writeAsync(identifier, pageIndex, dpi, image);
+                // The raster is still being written, and post-processing
+                // (e.g. redaction) may draw on the returned image, so return
+                // a copy of the region that is needed.
+                final Rectangle region = (crop != null) ?
+                        crop.getRectangle(pageSize, rf, scaleConstraint) :
+                        new Rectangle(0, 0, image.getWidth(), image.getHeight());
+                if (crop != null) {
+                    hints.add(ReaderHint.ALREADY_CROPPED);
+                }
+                return copyRegion(image, region);
+            }
+            return image;
+        }
+
+        // Compute the region the same way Java2DUtil.crop() would if it were
+        // cropping the whole rendered page, and render only that region by
+        // translating the graphics context. This makes deep zooms into large
+        // pages at high DPIs a lot cheaper.
+        final Rectangle region = crop.getRectangle(
+                pageSize, rf, scaleConstraint);
+        LOGGER.debug("Rendering region {} of {}x{} page", region,
+                pageSize.intWidth(), pageSize.intHeight());
+
+        final BufferedImage image = new BufferedImage(
+                Math.max(region.intWidth(), 1),
+                Math.max(region.intHeight(), 1),
+                BufferedImage.TYPE_INT_RGB);
+        final Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setBackground(Color.WHITE);
+            g2d.clearRect(0, 0, image.getWidth(), image.getHeight());
+            g2d.translate(-region.intX(), -region.intY());
+            renderer.renderPageToGraphics(pageIndex, g2d, scale);
+        } finally {
+            g2d.dispose();
+        }
+        hints.add(ReaderHint.ALREADY_CROPPED);
+        return image;
     }
 
     /**
-     * @return Rasterized page of the PDF.
-     * @throws IllegalArgumentException if the given page index is out of
-     *                                   bounds.
+     * @return New image containing a copy of the given region of the given
+     *         image.
      */
-    private BufferedImage readImage(int pageIndex,
-                                    double dpi) throws IOException {
-        LOGGER.debug("DPI: {}", dpi);
+    private static BufferedImage copyRegion(BufferedImage image,
+                                            Rectangle region) {
+        final BufferedImage subimage = image.getSubimage(
+                region.intX(), region.intY(),
+                Math.max(region.intWidth(), 1),
+                Math.max(region.intHeight(), 1));
+        final BufferedImage copy = new BufferedImage(
+                subimage.getColorModel(),
+                subimage.getRaster().createCompatibleWritableRaster(),
+                subimage.isAlphaPremultiplied(), null);
+        subimage.copyData(copy.getRaster());
+        return copy;
+    }
 
-        readDocument();
-        PDFRenderer renderer = new PDFRenderer(doc);
-        return renderer.renderImageWithDPI(pageIndex, (float) dpi);
+    /**
+     * @return Dimensions of the given page as rendered by {@link
+     *         PDFRenderer#renderImage(int, float)} at the given scale.
+     */
+    private static Dimension getRenderedSize(PDPage page, float scale) {
+        final PDRectangle cropBox = page.getCropBox();
+        final int widthPx  = (int) Math.max(Math.floor(cropBox.getWidth() * scale), 1);
+        final int heightPx = (int) Math.max(Math.floor(cropBox.getHeight() * scale), 1);
+        final int rotationAngle = page.getRotation();
+        if (rotationAngle == 90 || rotationAngle == 270) {
+            //noinspection SuspiciousNameCombination
+            return new Dimension(heightPx, widthPx);
+        }
+        return new Dimension(widthPx, heightPx);
     }
 
     @Override
     public Info readInfo() throws IOException {
         readDocument();
+        readMetadata();
 
         final Configuration config = Configuration.getInstance();
         final int dpi = config.getInt(Key.PROCESSOR_DPI, DEFAULT_DPI);
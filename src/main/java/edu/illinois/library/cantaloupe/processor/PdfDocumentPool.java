@@ -0,0 +1,349 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import org.apache.commons.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Bounded pool of open {@link PDDocument}s, which spares {@link
+ * PdfBoxProcessor} from having to re-parse a document for every request into
+ * it&mdash;for example, for every tile of every page.</p>
+ *
+ * <p>{@link PDDocument}s are not thread-safe, so a pooled document is lent out
+ * to only one borrower at a time, and leaves the pool while it's out on loan.
+ * A concurrent borrower of the same document will come up empty and have to
+ * load its own instance, which it may then return to the pool like any other.
+ * The pool may therefore contain several instances of the same document.</p>
+ *
+ * <p>Documents are keyed by {@link DocumentKey source and last-modified
+ * time}, so a document whose source has changed will never be lent out. Idle
+ * documents are closed once they have been idle for longer than the {@link
+ * Key#PROCESSOR_PDF_POOL_TTL TTL}, or, least-recently-returned first,
+ * whenever the pool would otherwise exceed its {@link
+ * Key#PROCESSOR_PDF_POOL_MAX_DOCUMENTS document count} or {@link
+ * Key#PROCESSOR_PDF_POOL_MAX_SIZE size} limits. The size of a document is
+ * estimated by the length of its source file.</p>
+ *
+ * <p>Expired documents are evicted whenever the pool is used, and also by a
+ * reaper thread that runs periodically while the pool contains any documents,
+ * so that they don't stay open indefinitely on a quiet server.</p>
+ *
+ * @since 6.0
+ */
+final class PdfDocumentPool {
+
+    /**
+     * Identifies a particular version of a source document.
+     */
+    static final class DocumentKey {
+
+        private final String source;
+        private final Instant lastModified;
+
+        /**
+         * @param source       Source of the document, such as a pathname.
+         * @param lastModified Last-modified time of the source.
+         */
+        DocumentKey(String source, Instant lastModified) {
+            this.source       = source;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (obj instanceof DocumentKey) {
+                DocumentKey other = (DocumentKey) obj;
+                return source.equals(other.source) &&
+                        Objects.equals(lastModified, other.lastModified);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, lastModified);
+        }
+
+        @Override
+        public String toString() {
+            return source + " (" + lastModified + ")";
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final DocumentKey key;
+        private final PDDocument document;
+        private final long size;
+        private final Instant returnedAt = Instant.now();
+
+        private Entry(DocumentKey key, PDDocument document, long size) {
+            this.key      = key;
+            this.document = document;
+            this.size     = size;
+        }
+
+    }
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(PdfDocumentPool.class);
+
+    static final int DEFAULT_MAX_DOCUMENTS = 16;
+    static final long DEFAULT_MAX_SIZE     = 256 * 1024 * 1024;
+    static final int DEFAULT_TTL_SECONDS   = 300;
+
+    /**
+     * Interval at which the reaper evicts expired documents.
+     */
+    private static final Duration DEFAULT_REAPER_INTERVAL =
+            Duration.ofSeconds(30);
+
+    private static PdfDocumentPool instance;
+
+    /**
+     * Idle entries, ordered from most to least recently returned.
+     */
+    private final Deque<Entry> idleEntries = new ArrayDeque<>();
+
+    private long idleSize;
+
+    private final Duration reaperInterval;
+
+    /**
+     * Started when a document is added to the pool, and stopped when the pool
+     * is {@link #clear() cleared}.
+     */
+    private ScheduledExecutorService reaper;
+
+    /**
+     * For testing only!
+     */
+    static synchronized void clearInstance() {
+        if (instance != null) {
+            instance.clear();
+        }
+        instance = null;
+    }
+
+    /**
+     * @return Shared instance.
+     */
+    static synchronized PdfDocumentPool getInstance() {
+        if (instance == null) {
+            instance = new PdfDocumentPool();
+        }
+        return instance;
+    }
+
+    private static int getMaxDocuments() {
+        return Configuration.getInstance().getInt(
+                Key.PROCESSOR_PDF_POOL_MAX_DOCUMENTS, DEFAULT_MAX_DOCUMENTS);
+    }
+
+    private static long getMaxSize() {
+        return Configuration.getInstance().getLongBytes(
+                Key.PROCESSOR_PDF_POOL_MAX_SIZE, DEFAULT_MAX_SIZE);
+    }
+
+    private static Duration getTTL() {
+        return Duration.ofSeconds(Configuration.getInstance().getInt(
+                Key.PROCESSOR_PDF_POOL_TTL, DEFAULT_TTL_SECONDS));
+    }
+
+    PdfDocumentPool() {
+        this(DEFAULT_REAPER_INTERVAL);
+    }
+
+    /**
+     * @param reaperInterval Interval at which to evict expired documents.
+     */
+    PdfDocumentPool(Duration reaperInterval) {
+        this.reaperInterval = reaperInterval;
+    }
+
+    /**
+     * Removes an idle document corresponding to the given key from the pool
+     * and lends it to the caller, who must either {@link #giveBack give it
+     * back} or close it when done with it.
+     *
+     * @param key Key of the document to borrow.
+     * @return    Borrowed document, or {@code null} if the pool does not
+     *            contain an idle document with the given key.
+     */
+    PDDocument borrow(DocumentKey key) {
+        final List<PDDocument> evictees = new ArrayList<>();
+        PDDocument document = null;
+        synchronized (this) {
+            evictExpired(evictees);
+            final Iterator<Entry> it = idleEntries.iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.key.equals(key)) {
+                    it.remove();
+                    idleSize -= entry.size;
+                    document = entry.document;
+                    break;
+                }
+            }
+        }
+        close(evictees);
+        LOGGER.trace("borrow(): {} for {}",
+                (document != null) ? "hit" : "miss", key);
+        return document;
+    }
+
+    /**
+     * Returns a document to the pool, where it becomes available to other
+     * borrowers. If the pool is disabled, or the document is too large to fit
+     * in it, it is closed instead. The document may have been either borrowed
+     * from the pool or loaded independently.
+     *
+     * @param key      Key of the document.
+     * @param document Document to return.
+     * @param size     Estimated size of the document in bytes.
+     */
+    void giveBack(DocumentKey key, PDDocument document, long size) {
+        final int maxDocuments = getMaxDocuments();
+        final long maxSize     = getMaxSize();
+        final List<PDDocument> evictees = new ArrayList<>();
+        synchronized (this) {
+            if (maxDocuments < 1 || size > maxSize) {
+                evictees.add(document);
+            } else {
+                // Any idle versions of the same source other than this one
+                // are stale.
+                final Iterator<Entry> it = idleEntries.iterator();
+                while (it.hasNext()) {
+                    Entry entry = it.next();
+                    if (entry.key.source.equals(key.source) &&
+                            !entry.key.equals(key)) {
+                        it.remove();
+                        idleSize -= entry.size;
+                        evictees.add(entry.document);
+                    }
+                }
+                idleEntries.addFirst(new Entry(key, document, size));
+                idleSize += size;
+                startReaper();
+                while (idleEntries.size() > maxDocuments || idleSize > maxSize) {
+                    Entry entry = idleEntries.removeLast();
+                    idleSize -= entry.size;
+                    evictees.add(entry.document);
+                }
+                evictExpired(evictees);
+            }
+            LOGGER.trace("giveBack(): {} documents ({} bytes) idle",
+                    idleEntries.size(), idleSize);
+        }
+        close(evictees);
+    }
+
+    /**
+     * Closes all idle documents and stops the reaper.
+     */
+    void clear() {
+        final List<PDDocument> evictees = new ArrayList<>();
+        synchronized (this) {
+            idleEntries.forEach(e -> evictees.add(e.document));
+            idleEntries.clear();
+            idleSize = 0;
+            if (reaper != null) {
+                reaper.shutdownNow();
+                reaper = null;
+            }
+        }
+        close(evictees);
+    }
+
+    /**
+     * Closes all expired documents. Invoked periodically by the reaper.
+     */
+    void evictExpired() {
+        final List<PDDocument> evictees = new ArrayList<>();
+        synchronized (this) {
+            evictExpired(evictees);
+        }
+        if (!evictees.isEmpty()) {
+            LOGGER.trace("evictExpired(): closing {} expired documents",
+                    evictees.size());
+        }
+        close(evictees);
+    }
+
+    /**
+     * @return Estimated total size of all idle documents in bytes.
+     */
+    synchronized long getIdleSize() {
+        return idleSize;
+    }
+
+    /**
+     * @return Number of idle documents.
+     */
+    synchronized int size() {
+        return idleEntries.size();
+    }
+
+    /**
+     * Moves all expired documents from the pool into the given list.
+     */
+    private void evictExpired(List<PDDocument> evictees) {
+        final Instant cutoff = Instant.now().minus(getTTL());
+        while (!idleEntries.isEmpty() &&
+                idleEntries.getLast().returnedAt.isBefore(cutoff)) {
+            Entry entry = idleEntries.removeLast();
+            idleSize -= entry.size;
+            evictees.add(entry.document);
+        }
+    }
+
+    /**
+     * Starts the reaper if it isn't already running. Must be called while
+     * holding the instance's lock.
+     */
+    private void startReaper() {
+        if (reaper == null) {
+            reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "PdfDocumentPool-reaper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final long intervalMillis = reaperInterval.toMillis();
+            reaper.scheduleWithFixedDelay(() -> {
+                try {
+                    evictExpired();
+                } catch (RuntimeException e) {
+                    // An exception would prevent further runs.
+                    LOGGER.warn("evictExpired(): {}", e.getMessage());
+                }
+            }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Closes the given documents outside of any lock, as closing may involve
+     * I/O.
+     */
+    private static void close(List<PDDocument> documents) {
+        documents.forEach(IOUtils::closeQuietly);
+    }
+
+}
@@ -15,6 +15,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.Future;
 
@@ -195,7 +196,7 @@ public final class ProcessorConnector {
                                 FileProcessor.class.getSimpleName());
                         Path file = downloadToSourceCache(
                                 streamFactory, sourceCache, identifier);
-                        connect(sourceCache, file, processor);
+                        connect(sourceCache, file, processor, identifier);
                         break;
                     default:
                         throw new IncompatibleSourceException(source, processor);
@@ -236,7 +237,7 @@ public final class ProcessorConnector {
                             streamFactory,
                             sourceCache,
                             identifier);
-                    connect(sourceCache, file, processor);
+                    connect(sourceCache, file, processor, identifier);
                 }
             }
         }
@@ -270,18 +271,43 @@ public final class ProcessorConnector {
     }
 
     /**
-     * Acquires the source image with the given identifier from the given
-     * source cache, downloading it if necessary, and configures the given
-     * processor to read it.
+     * <p>Configures the given processor to read the given source image from
+     * the given source cache.</p>
+     *
+     * <p>If {@link Key#SOURCE_CACHE_NORMALIZATION_ENABLED source cache
+     * normalization} is enabled and the processor is an {@link
+     * AbstractImageIOProcessor}, the processor will instead read a pyramidal
+     * rendition of the source image, if one is available; otherwise, one will
+     * be queued for creation.</p>
      *
      * @param sourceCache     Source cache from which to read the source image,
      *                        and to which to download it, if necessary.
      * @param sourceCacheFile Source of streams to read from.
      * @param processor       Processor to configure.
+     * @param identifier      Identifier of the source image.
      */
     private void connect(SourceCache sourceCache,
                          Path sourceCacheFile,
-                         Processor processor) {
+                         Processor processor,
+                         Identifier identifier) throws IOException {
+        if (processor instanceof AbstractImageIOProcessor &&
+                SourceCacheNormalizer.isEnabled(processor.getSourceFormat())) {
+            Optional<Path> pyramidalFile =
+                    sourceCache.getPyramidalSourceImageFile(identifier);
+            if (pyramidalFile.isPresent()) {
+                LOGGER.debug("{} (pyramidal) -> {} connection between {} and {}",
+                        SourceCache.class.getSimpleName(),
+                        FileProcessor.class.getSimpleName(),
+                        sourceCache.getClass().getSimpleName(),
+                        processor.getClass().getSimpleName());
+                ((AbstractImageIOProcessor) processor)
+                        .setPyramidalSourceFile(pyramidalFile.get(),
+                                sourceCacheFile);
+                return;
+            }
+            new SourceCacheNormalizer(sourceCache, identifier,
+                    processor.getSourceFormat()).normalizeAsync();
+        }
         LOGGER.debug("{} -> {} connection between {} and {}",
                 SourceCache.class.getSimpleName(),
                 FileProcessor.class.getSimpleName(),
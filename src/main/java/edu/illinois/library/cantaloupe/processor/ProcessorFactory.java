@@ -4,11 +4,14 @@ import edu.illinois.library.cantaloupe.image.Format;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +35,14 @@ public final class ProcessorFactory {
 
     private static final Set<Processor> ALL_PROCESSORS = new HashSet<>();
 
+    /**
+     * Cache of no-argument constructors, which spares {@link
+     * #newProcessor(Format)} from having to look them up reflectively for
+     * every candidate in every request.
+     */
+    private static final Map<Class<?>,Constructor<?>> CONSTRUCTORS =
+            new ConcurrentHashMap<>();
+
     private SelectionStrategy selectionStrategy =
             SelectionStrategy.fromConfiguration();
 
@@ -49,6 +60,21 @@ public final class ProcessorFactory {
         return Collections.unmodifiableSet(ALL_PROCESSORS);
     }
 
+    /**
+     * @param class_ Processor class.
+     * @return       New instance of the given class.
+     */
+    private static <T> T instantiate(Class<T> class_)
+            throws NoSuchMethodException, InstantiationException,
+            IllegalAccessException, InvocationTargetException {
+        Constructor<?> constructor = CONSTRUCTORS.get(class_);
+        if (constructor == null) {
+            constructor = class_.getDeclaredConstructor();
+            CONSTRUCTORS.put(class_, constructor);
+        }
+        return class_.cast(constructor.newInstance());
+    }
+
     /**
      * @param unqualifiedName Unqualified class name.
      * @return                Qualified class name (package name + class name).
@@ -78,7 +104,7 @@ public final class ProcessorFactory {
             InvocationTargetException {
         String qualifiedName = getQualifiedName(name);
         Class<?> implClass = Class.forName(qualifiedName);
-        return (Processor) implClass.getDeclaredConstructor().newInstance();
+        return (Processor) instantiate(implClass);
     }
 
     /**
@@ -97,7 +123,7 @@ public final class ProcessorFactory {
 
         String errorMsg = null;
         for (Class<? extends Processor> class_ : candidates) {
-            Processor candidate = class_.getDeclaredConstructor().newInstance();
+            Processor candidate = instantiate(class_);
             errorMsg = candidate.getInitializationError();
             if (errorMsg == null) {
                 try {
@@ -13,6 +13,8 @@ import java.util.Arrays;
  */
 class RasterizationHelper {
 
+    private static final double DELTA = 0.00000001;
+
     private static final int FALLBACK_DPI = 150;
 
     private int baseDPI;
@@ -57,6 +59,22 @@ class RasterizationHelper {
         return baseDPI * minScale;
     }
 
+    /**
+     * @param dpi DPI to check.
+     * @return    Whether the given DPI is the base DPI multiplied or divided
+     *            by a power of two, which are the levels that {@link
+     *            #getDPI(int, ScaleConstraint)} returns in the absence of a
+     *            limiting scale constraint.
+     * @since 6.0
+     */
+    boolean isDPILevel(double dpi) {
+        if (dpi <= 0) {
+            return false;
+        }
+        final double exponent = Math.log(dpi / baseDPI) / Math.log(2);
+        return Math.abs(exponent - Math.round(exponent)) < DELTA;
+    }
+
     /**
      * @param dpi DPI at 1x scale.
      */
@@ -0,0 +1,235 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.async.TaskQueue;
+import edu.illinois.library.cantaloupe.async.ThreadPool;
+import edu.illinois.library.cantaloupe.cache.CompletableOutputStream;
+import edu.illinois.library.cantaloupe.cache.SourceCache;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Compression;
+import edu.illinois.library.cantaloupe.image.Dimension;
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.image.ScaleConstraint;
+import edu.illinois.library.cantaloupe.operation.Encode;
+import edu.illinois.library.cantaloupe.operation.ReductionFactor;
+import edu.illinois.library.cantaloupe.operation.ScaleByPercent;
+import edu.illinois.library.cantaloupe.processor.codec.ImageReader;
+import edu.illinois.library.cantaloupe.processor.codec.ImageReaderFactory;
+import edu.illinois.library.cantaloupe.processor.codec.ImageSequenceWriter;
+import edu.illinois.library.cantaloupe.processor.codec.tiff.TIFFImageWriter;
+import edu.illinois.library.cantaloupe.util.ObjectCache;
+import edu.illinois.library.cantaloupe.util.Stopwatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Rewrites ("normalizes") a source image in a {@link SourceCache} as a
+ * tiled, multi-resolution TIFF, which {@link ProcessorConnector} will then
+ * hand to {@link AbstractImageIOProcessor image I/O processors} in place of
+ * the source image. This enables them to read only the tiles they need from
+ * the most appropriate level of the pyramid, rather than most or all of a
+ * flat image, which greatly speeds up the processing of deep-zoom tiles.</p>
+ *
+ * <p>Normalization is done in the {@link ThreadPool.Priority#LOW
+ * low-priority} {@link TaskQueue}, one image at a time, so that it competes
+ * as little as possible with request handling.</p>
+ *
+ * @see Key#SOURCE_CACHE_NORMALIZATION_ENABLED
+ * @since 6.0
+ */
+final class SourceCacheNormalizer {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(SourceCacheNormalizer.class);
+
+    static final long DEFAULT_MAX_PIXELS = 25000000;
+
+    static final int DEFAULT_TILE_SIZE = 512;
+
+    /**
+     * Formats whose readers can't do any better than decoding most or all of
+     * an image in order to read a small region of it, and that are capable
+     * of being re-encoded losslessly as TIFF.
+     */
+    private static final Set<Format> NORMALIZABLE_FORMATS =
+            Set.of(Format.get("png"), Format.get("tif"));
+
+    /**
+     * Identifiers of images that are queued for normalization, which are
+     * used to avoid queueing the same image more than once.
+     */
+    private static final Set<Identifier> QUEUED_IMAGES =
+            ConcurrentHashMap.newKeySet();
+
+    /**
+     * Identifiers of images that have been found to not need normalization,
+     * which are used to avoid having to examine them again in the near
+     * future.
+     */
+    private static final ObjectCache<Identifier,Boolean> SKIPPED_IMAGES =
+            new ObjectCache<>(10000, Duration.ofHours(1));
+
+    private final SourceCache sourceCache;
+    private final Identifier identifier;
+    private final Format format;
+
+    /**
+     * @return Tile size from the application configuration, or a default if
+     *         it is unset or invalid.
+     */
+    static int getTileSize() {
+        final int tileSize = Configuration.getInstance().getInt(
+                Key.SOURCE_CACHE_NORMALIZATION_TILE_SIZE, DEFAULT_TILE_SIZE);
+        if (tileSize < 16 || tileSize % 16 != 0) {
+            LOGGER.warn("{} must be a positive multiple of 16; using {}",
+                    Key.SOURCE_CACHE_NORMALIZATION_TILE_SIZE,
+                    DEFAULT_TILE_SIZE);
+            return DEFAULT_TILE_SIZE;
+        }
+        return tileSize;
+    }
+
+    /**
+     * @param format Source image format.
+     * @return       Whether normalization is enabled for images of the given
+     *               format.
+     */
+    static boolean isEnabled(Format format) {
+        return Configuration.getInstance().getBoolean(
+                Key.SOURCE_CACHE_NORMALIZATION_ENABLED, false) &&
+                NORMALIZABLE_FORMATS.contains(format);
+    }
+
+    /**
+     * For testing only!
+     */
+    static void clearSkippedImages() {
+        SKIPPED_IMAGES.purge();
+    }
+
+    /**
+     * @param sourceCache Source cache containing the source image.
+     * @param identifier  Identifier of the source image.
+     * @param format      Format of the source image.
+     */
+    SourceCacheNormalizer(SourceCache sourceCache,
+                          Identifier identifier,
+                          Format format) {
+        this.sourceCache = sourceCache;
+        this.identifier  = identifier;
+        this.format      = format;
+    }
+
+    /**
+     * Queues the image for normalization, unless it is already queued or has
+     * recently been found to not need it.
+     */
+    void normalizeAsync() {
+        if (SKIPPED_IMAGES.get(identifier) != null ||
+                !QUEUED_IMAGES.add(identifier)) {
+            return;
+        }
+        TaskQueue.getInstance(ThreadPool.Priority.LOW).submit(() -> {
+            try {
+                normalizeSync();
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("normalizeAsync(): failed to normalize {}: {}",
+                        identifier, e.getMessage());
+            } finally {
+                QUEUED_IMAGES.remove(identifier);
+            }
+        });
+    }
+
+    /**
+     * Normalizes the image in the current thread.
+     *
+     * @return Whether a pyramidal rendition was written. This will be
+     *         {@code false} if the source image is not present in the cache,
+     *         already has a rendition, contains more than one image (i.e.
+     *         is already pyramidal, or has multiple pages, which would be
+     *         lost), is smaller than a single tile, or is larger than {@link
+     *         Key#SOURCE_CACHE_NORMALIZATION_MAX_PIXELS}, as it has to be
+     *         decoded entirely into the heap.
+     */
+    boolean normalizeSync() throws IOException {
+        final Optional<Path> optSourceFile =
+                sourceCache.getSourceImageFile(identifier);
+        if (optSourceFile.isEmpty() ||
+                sourceCache.getPyramidalSourceImageFile(identifier).isPresent()) {
+            return false;
+        }
+        final Stopwatch watch = new Stopwatch();
+        final int tileSize    = getTileSize();
+        final long maxPixels  = Configuration.getInstance().getLong(
+                Key.SOURCE_CACHE_NORMALIZATION_MAX_PIXELS, DEFAULT_MAX_PIXELS);
+
+        BufferedImage image;
+        final ImageReader reader = new ImageReaderFactory().newImageReader(
+                format, optSourceFile.get());
+        try {
+            final Dimension size = reader.getSize(0);
+            if (size.intWidth() <= tileSize && size.intHeight() <= tileSize) {
+                LOGGER.debug("normalizeSync(): {} is too small to benefit " +
+                        "from normalization; skipping", identifier);
+                SKIPPED_IMAGES.put(identifier, true);
+                return false;
+            } else if (size.intWidth() * (long) size.intHeight() > maxPixels) {
+                LOGGER.debug("normalizeSync(): {} is larger than {} pixels; " +
+                        "skipping", identifier, maxPixels);
+                SKIPPED_IMAGES.put(identifier, true);
+                return false;
+            } else if (reader.getNumImages() > 1) {
+                LOGGER.debug("normalizeSync(): {} is already pyramidal or " +
+                        "has multiple pages; skipping", identifier);
+                SKIPPED_IMAGES.put(identifier, true);
+                return false;
+            }
+            image = reader.read(0);
+        } finally {
+            reader.dispose();
+        }
+
+        final Encode encode = new Encode(Format.get("tif"));
+        encode.setCompression(Compression.DEFLATE);
+        final TIFFImageWriter writer = new TIFFImageWriter();
+        writer.setEncode(encode);
+        writer.setTileSize(tileSize);
+
+        int numLevels = 0;
+        try (CompletableOutputStream os =
+                     sourceCache.newPyramidalSourceImageOutputStream(identifier)) {
+            try (ImageSequenceWriter sequenceWriter =
+                         writer.newSequenceWriter(os)) {
+                // The full-sized level is written as-is, but the reduced
+                // levels are scaled from a copy in a resample-friendly type.
+                sequenceWriter.write(image);
+                numLevels++;
+                image = Java2DUtil.convertIndexedToARGB(
+                        Java2DUtil.convertCustomToRGB(image));
+                while (image.getWidth() > tileSize ||
+                        image.getHeight() > tileSize) {
+                    image = Java2DUtil.scale(image, new ScaleByPercent(0.5),
+                            new ScaleConstraint(1, 1), new ReductionFactor(),
+                            false);
+                    sequenceWriter.write(image);
+                    numLevels++;
+                }
+            }
+            os.setComplete(true);
+        }
+        LOGGER.debug("normalizeSync(): wrote a {}-level pyramid of {} in {}",
+                numLevels, identifier, watch);
+        return true;
+    }
+
+}
@@ -1,5 +1,7 @@
 package edu.illinois.library.cantaloupe.processor;
 
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Dimension;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Info;
@@ -9,31 +11,32 @@ import edu.illinois.library.cantaloupe.image.Rectangle;
 import edu.illinois.library.cantaloupe.image.ScaleConstraint;
 import edu.illinois.library.cantaloupe.operation.ColorTransform;
 import edu.illinois.library.cantaloupe.operation.Crop;
-import edu.illinois.library.cantaloupe.operation.CropByPercent;
 import edu.illinois.library.cantaloupe.operation.Encode;
 import edu.illinois.library.cantaloupe.operation.Operation;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.operation.ReductionFactor;
 import edu.illinois.library.cantaloupe.operation.Rotate;
 import edu.illinois.library.cantaloupe.operation.Scale;
-import edu.illinois.library.cantaloupe.operation.Sharpen;
 import edu.illinois.library.cantaloupe.operation.Transpose;
-import edu.illinois.library.cantaloupe.operation.overlay.Overlay;
-import edu.illinois.library.cantaloupe.operation.redaction.Redaction;
 import edu.illinois.library.cantaloupe.processor.codec.ImageWriter;
 import edu.illinois.library.cantaloupe.processor.codec.ImageWriterFactory;
+import edu.illinois.library.cantaloupe.processor.codec.ReaderHint;
 import edu.illinois.library.cantaloupe.processor.codec.jpeg.JPEGMetadataReader;
+import edu.illinois.library.cantaloupe.processor.codec.jpeg.TransformationNotSupportedException;
 import edu.illinois.library.cantaloupe.processor.codec.jpeg.TurboJPEGImageReader;
 import edu.illinois.library.cantaloupe.processor.codec.jpeg.TurboJPEGImageWriter;
 import edu.illinois.library.cantaloupe.source.StreamFactory;
+import edu.illinois.library.cantaloupe.source.stream.ByteArrayImageInputStream;
+import edu.illinois.library.cantaloupe.util.Rational;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.EnumSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * <p>Processor using the TurboJPEG high-level API to the libjpeg-turbo native
@@ -47,6 +50,15 @@ import java.util.stream.Collectors;
  * the pathname of the directory containing the library. See the {@link
  * org.libjpegturbo.turbojpeg} package documentation for more info.</p>
  *
+ * <h1>Lossless transcoding</h1>
+ *
+ * <p>When JPEG output is requested and the operation list consists of nothing
+ * more than an MCU-aligned crop, a multiple-of-90-degree rotation, a
+ * transposition, and/or a grayscale conversion, the source image is
+ * transcoded in the DCT domain rather than decoded and re-encoded, which is
+ * much faster and avoids generational loss. See {@link
+ * TurboJPEGImageReader#transcode(boolean)}.</p>
+ *
  * @author Alex Dolski UIUC
  */
 public class TurboJpegProcessor extends AbstractProcessor
@@ -57,6 +69,11 @@ public class TurboJpegProcessor extends AbstractProcessor
 
     private static boolean isClassInitialized;
 
+    /**
+     * libjpeg-turbo can scale by as little as 1/8 while decoding.
+     */
+    private static final int MAX_REDUCTION_FACTOR = 3;
+
     private static final boolean USE_FAST_DECODE_DCT = false;
     private static final boolean USE_FAST_ENCODE_DCT = true;
 
@@ -67,6 +84,12 @@ public class TurboJpegProcessor extends AbstractProcessor
 
     private StreamFactory streamFactory;
 
+    /**
+     * Source image data, read once by {@link #readSource()} and shared by
+     * {@link #imageReader} and {@link #metadataReader}.
+     */
+    private byte[] sourceBytes;
+
     private static synchronized void initializeClass() {
         if (!isClassInitialized) {
             isClassInitialized = true;
@@ -96,6 +119,7 @@ public class TurboJpegProcessor extends AbstractProcessor
     @Override
     public void close() {
         imageReader.close();
+        sourceBytes = null;
     }
 
     @Override
@@ -135,17 +159,26 @@ public class TurboJpegProcessor extends AbstractProcessor
     @Override
     public void setStreamFactory(StreamFactory streamFactory) {
         this.streamFactory = streamFactory;
-        try {
-            imageReader.setSource(streamFactory.newInputStream());
-        } catch (IOException e) {
-            LOGGER.warn(e.getMessage());
-        } finally {
-            try {
-                metadataReader.setSource(streamFactory.newSeekableStream());
-            } catch (IOException e) {
-                LOGGER.warn(e.getMessage());
-            }
+        this.sourceBytes   = null;
+    }
+
+    /**
+     * Reads the whole source image into {@link #sourceBytes} and hands it to
+     * both {@link #imageReader} and {@link #metadataReader}, unless this has
+     * already been done. This enables the info and image phases of a request
+     * to be served from a single fetch of the source image, which is
+     * particularly beneficial when it resides on a remote server.
+     */
+    private void readSource() throws IOException {
+        if (sourceBytes != null) {
+            return;
+        }
+        try (InputStream is = streamFactory.newInputStream()) {
+            sourceBytes = is.readAllBytes();
         }
+        LOGGER.trace("readSource(): read {} bytes", sourceBytes.length);
+        imageReader.setSource(sourceBytes);
+        metadataReader.setSource(new ByteArrayImageInputStream(sourceBytes));
     }
 
     @Override
@@ -157,6 +190,11 @@ public class TurboJpegProcessor extends AbstractProcessor
     public void process(final OperationList opList,
                         final Info info,
                         final OutputStream outputStream) throws FormatException, ProcessorException {
+        try {
+            readSource();
+        } catch (IOException e) {
+            throw new ProcessorException(e);
+        }
         if (Format.get("jpg").equals(opList.getOutputFormat())) {
             processUsingTurboJPEGWriter(opList, info, outputStream);
         } else {
@@ -168,93 +206,33 @@ public class TurboJpegProcessor extends AbstractProcessor
             final OperationList opList,
             final Info info,
             final OutputStream outputStream) throws FormatException, ProcessorException {
-        final Dimension fullSize              = info.getSize();
-        final ReductionFactor reductionFactor = new ReductionFactor();
-        final ScaleConstraint scaleConstraint = opList.getScaleConstraint();
-        final TurboJPEGImageWriter writer     = new TurboJPEGImageWriter();
+        final TurboJPEGImageWriter writer = new TurboJPEGImageWriter();
 
         try {
+            if (isLosslessTranscodingEnabled() &&
+                    processLosslessly(opList, info, writer, outputStream)) {
+                return;
+            }
             imageReader.setUseFastDCT(USE_FAST_DECODE_DCT);
             writer.setUseFastDCT(USE_FAST_ENCODE_DCT);
             writer.setSubsampling(imageReader.getSubsampling());
 
-            final Rectangle roiWithinSafeRegion = new Rectangle();
-            BufferedImage image =
-                    imageReader.readAsBufferedImage(roiWithinSafeRegion);
-
-            Orientation orientation = Orientation.ROTATE_0;
-            final Metadata metadata = info.getMetadata();
-            if (metadata != null) {
-                orientation = metadata.getOrientation();
-            }
-
-            // Apply the crop operation, if present, and retain a reference
-            // to it for subsequent operations to refer to.
-            Crop crop = new CropByPercent();
-            for (Operation op : opList) {
-                if (op instanceof Crop) {
-                    crop = (Crop) op;
-                    if (crop.hasEffect(fullSize, opList)) {
-                        // The TurboJPEG writer cannot deal with a
-                        // BufferedImage that has been "virtually cropped" by
-                        // BufferedImage.getSubimage(). We must tell this
-                        // method to copy the underlying raster.
-                        image = Java2DUtil.crop(image, crop, reductionFactor,
-                                scaleConstraint, true);
-                    }
-                }
-            }
-
-            // All operations have already been corrected for the orientation,
-            // but the image itself has not yet been corrected.
-            if (!Orientation.ROTATE_0.equals(orientation)) {
-                image = Java2DUtil.rotate(image, orientation);
-            }
-
-            final Set<Redaction> redactions = opList.stream()
-                    .filter(op -> op instanceof Redaction)
-                    .filter(op -> op.hasEffect(fullSize, opList))
-                    .map(op -> (Redaction) op)
-                    .collect(Collectors.toSet());
-            Java2DUtil.applyRedactions(image, fullSize, crop,
-                    new double[] { 1.0, 1.0 }, reductionFactor,
-                    scaleConstraint, redactions);
+            final ReductionFactor reductionFactor = new ReductionFactor();
+            final Set<ReaderHint> hints = EnumSet.noneOf(ReaderHint.class);
+            BufferedImage image = readImage(opList, info, reductionFactor, hints);
+            // N.B.: the TurboJPEG writer cannot deal with a BufferedImage that
+            // has been "virtually cropped" by BufferedImage.getSubimage(), so
+            // readImage() has copied the underlying raster.
+            image = Java2DPostProcessor.postProcess(
+                    image, hints, opList, info, reductionFactor);
 
             final Encode encode = (Encode) opList.getFirst(Encode.class);
             writer.setQuality(encode.getQuality());
             writer.setProgressive(encode.isInterlacing());
+            final Metadata metadata = info.getMetadata();
             if (metadata != null) {
                 metadata.getXMP().ifPresent(writer::setXMP);
             }
-
-            for (Operation op : opList) {
-                if (!op.hasEffect(fullSize, opList)) {
-                    continue;
-                }
-                if (op instanceof Scale) {
-                    final Scale scale = (Scale) op;
-                    final boolean isLinear = scale.isLinear() &&
-                            !scale.isUp(fullSize, scaleConstraint);
-                    if (isLinear) {
-                        image = Java2DUtil.convertColorToLinearRGB(image);
-                    }
-                    image = Java2DUtil.scale(image, scale,
-                            scaleConstraint, reductionFactor, isLinear);
-                    if (isLinear) {
-                        image = Java2DUtil.convertColorToSRGB(image);
-                    }
-                } else if (op instanceof Transpose) {
-                    image = Java2DUtil.transpose(image, (Transpose) op);
-                } else if (op instanceof Rotate) {
-                    image = Java2DUtil.rotate(image, (Rotate) op);
-                } else if (op instanceof ColorTransform) {
-                    image = Java2DUtil.transformColor(image, (ColorTransform) op);
-                } else if (op instanceof Sharpen) {
-                    image = Java2DUtil.sharpen(image, (Sharpen) op);
-                } else if (op instanceof Overlay) {
-                    Java2DUtil.applyOverlay(image, (Overlay) op);
-                }
-            }
             writer.write(image, outputStream);
         } catch (SourceFormatException e) {
             throw e;
@@ -263,87 +241,144 @@ public class TurboJpegProcessor extends AbstractProcessor
         }
     }
 
-    private void processUsingImageIOWriter(
-            final OperationList opList,
-            final Info info,
-            final OutputStream outputStream) throws FormatException, ProcessorException {
+    private static boolean isLosslessTranscodingEnabled() {
+        return Configuration.getInstance().getBoolean(
+                Key.PROCESSOR_JPG_LOSSLESS_TRANSCODING, true);
+    }
+
+    /**
+     * @param transpose Transposition that precedes the rotation. May be
+     *                  {@code null}.
+     * @param degrees   Rotation, which must be a multiple of 90.
+     * @return          Single lossless transform equivalent to the given
+     *                  transposition followed by the given rotation, or
+     *                  {@code null} if the combination has no effect.
+     */
+    static TurboJPEGImageReader.Transform getLosslessTransform(
+            Transpose transpose, int degrees) {
+        if (transpose == null) {
+            switch (degrees) {
+                case 90:
+                    return TurboJPEGImageReader.Transform.ROTATE_90;
+                case 180:
+                    return TurboJPEGImageReader.Transform.ROTATE_180;
+                case 270:
+                    return TurboJPEGImageReader.Transform.ROTATE_270;
+                default:
+                    return null;
+            }
+        }
+        // A vertical flip is equivalent to a horizontal flip followed by a
+        // 180-degree rotation.
+        if (Transpose.VERTICAL.equals(transpose)) {
+            degrees = (degrees + 180) % 360;
+        }
+        switch (degrees) {
+            case 90:
+                return TurboJPEGImageReader.Transform.TRANSVERSE;
+            case 180:
+                return TurboJPEGImageReader.Transform.FLIP_VERTICAL;
+            case 270:
+                return TurboJPEGImageReader.Transform.TRANSPOSE;
+            default:
+                return TurboJPEGImageReader.Transform.FLIP_HORIZONTAL;
+        }
+    }
+
+    /**
+     * Transcodes the source image losslessly, if the operation list permits.
+     *
+     * @return Whether the image was written.
+     */
+    private boolean processLosslessly(final OperationList opList,
+                                      final Info info,
+                                      final TurboJPEGImageWriter writer,
+                                      final OutputStream outputStream)
+            throws IOException {
         final Dimension fullSize              = info.getSize();
-        final ReductionFactor reductionFactor = new ReductionFactor();
         final ScaleConstraint scaleConstraint = opList.getScaleConstraint();
+        final Metadata metadata               = info.getMetadata();
+        if (scaleConstraint.hasEffect() || (metadata != null &&
+                !Orientation.ROTATE_0.equals(metadata.getOrientation()))) {
+            return false;
+        }
 
-        try {
-            imageReader.setUseFastDCT(USE_FAST_DECODE_DCT);
-
-            final Rectangle roiWithinSafeRegion = new Rectangle();
-            BufferedImage image =
-                    imageReader.readAsBufferedImage(roiWithinSafeRegion);
+        Rectangle region     = null;
+        Transpose transpose  = null;
+        int degrees          = 0;
+        boolean isGrayscale  = false;
+        for (Operation op : opList) {
+            if (op instanceof Encode || !op.hasEffect(fullSize, opList)) {
+                continue;
+            }
+            if (op instanceof Crop && region == null && transpose == null &&
+                    degrees == 0) {
+                region = ((Crop) op).getRectangle(
+                        fullSize, new ReductionFactor(), scaleConstraint);
+            } else if (op instanceof Transpose && transpose == null &&
+                    degrees == 0) {
+                transpose = (Transpose) op;
+            } else if (op instanceof Rotate && degrees == 0 &&
+                    ((Rotate) op).getDegrees() % 90 == 0) {
+                degrees = (int) ((Rotate) op).getDegrees();
+            } else if (ColorTransform.GRAY.equals(op)) {
+                isGrayscale = true;
+            } else {
+                return false;
+            }
+        }
+        if (region != null && region.intX() == 0 && region.intY() == 0 &&
+                region.intWidth() == fullSize.intWidth() &&
+                region.intHeight() == fullSize.intHeight()) {
+            region = null;
+        }
+        final TurboJPEGImageReader.Transform transform =
+                getLosslessTransform(transpose, degrees);
+        if (!imageReader.canTranscode(region, transform) ||
+                (isGrayscale && !imageReader.isTransformable())) {
+            return false;
+        }
 
-            Orientation orientation = Orientation.ROTATE_0;
-            final Metadata metadata = info.getMetadata();
+        try {
+            if (region != null) {
+                imageReader.setRegion(region.intX(), region.intY(),
+                        region.intWidth(), region.intHeight());
+            }
+            if (transform != null) {
+                imageReader.setTransform(transform);
+            }
+            if (isGrayscale) {
+                imageReader.setUseGrayscaleConversion(true);
+            }
+            final Encode encode = (Encode) opList.getFirst(Encode.class);
             if (metadata != null) {
-                orientation = metadata.getOrientation();
+                metadata.getXMP().ifPresent(writer::setXMP);
             }
+            writer.write(imageReader.transcode(encode.isInterlacing()),
+                    outputStream);
+            LOGGER.debug("processLosslessly(): transcoded {} without " +
+                    "decompressing", opList.getIdentifier());
+            return true;
+        } catch (TransformationNotSupportedException e) {
+            // This would be a bug, as canTranscode() has already been
+            // checked.
+            throw new IOException(e);
+        }
+    }
 
-            // Apply the crop operation, if present, and retain a reference
-            // to it for subsequent operations to refer to.
-            Crop crop = new CropByPercent();
-            for (Operation op : opList) {
-                if (op instanceof Crop) {
-                    crop = (Crop) op;
-                    if (crop.hasEffect(fullSize, opList)) {
-                        // The TurboJPEG writer cannot deal with a
-                        // BufferedImage that has been "virtually cropped" by
-                        // BufferedImage.getSubimage(). We must tell this
-                        // method to copy the underlying raster.
-                        image = Java2DUtil.crop(image, crop, reductionFactor,
-                                scaleConstraint, true);
-                    }
-                }
-            }
+    private void processUsingImageIOWriter(
+            final OperationList opList,
+            final Info info,
+            final OutputStream outputStream) throws FormatException, ProcessorException {
+        try {
+            imageReader.setUseFastDCT(USE_FAST_DECODE_DCT);
 
-            // All operations have already been corrected for the orientation,
-            // but the image itself has not yet been corrected.
-            if (!Orientation.ROTATE_0.equals(orientation)) {
-                image = Java2DUtil.rotate(image, orientation);
-            }
+            final ReductionFactor reductionFactor = new ReductionFactor();
+            final Set<ReaderHint> hints = EnumSet.noneOf(ReaderHint.class);
+            BufferedImage image = readImage(opList, info, reductionFactor, hints);
+            image = Java2DPostProcessor.postProcess(
+                    image, hints, opList, info, reductionFactor);
 
-            final Set<Redaction> redactions = opList.stream()
-                    .filter(op -> op instanceof Redaction)
-                    .filter(op -> op.hasEffect(fullSize, opList))
-                    .map(op -> (Redaction) op)
-                    .collect(Collectors.toSet());
-            Java2DUtil.applyRedactions(image, fullSize, crop,
-                    new double[] { 1.0, 1.0 }, reductionFactor,
-                    scaleConstraint, redactions);
-
-            for (Operation op : opList) {
-                if (!op.hasEffect(fullSize, opList)) {
-                    continue;
-                }
-                if (op instanceof Scale) {
-                    final Scale scale = (Scale) op;
-                    final boolean isLinear = scale.isLinear() &&
-                            !scale.isUp(fullSize, scaleConstraint);
-                    if (isLinear) {
-                        image = Java2DUtil.convertColorToLinearRGB(image);
-                    }
-                    image = Java2DUtil.scale(image, scale,
-                            scaleConstraint, reductionFactor, isLinear);
-                    if (isLinear) {
-                        image = Java2DUtil.convertColorToSRGB(image);
-                    }
-                } else if (op instanceof Transpose) {
-                    image = Java2DUtil.transpose(image, (Transpose) op);
-                } else if (op instanceof Rotate) {
-                    image = Java2DUtil.rotate(image, (Rotate) op);
-                } else if (op instanceof ColorTransform) {
-                    image = Java2DUtil.transformColor(image, (ColorTransform) op);
-                } else if (op instanceof Sharpen) {
-                    image = Java2DUtil.sharpen(image, (Sharpen) op);
-                } else if (op instanceof Overlay) {
-                    Java2DUtil.applyOverlay(image, (Overlay) op);
-                }
-            }
             Encode encode = (Encode) opList.getFirst(Encode.class);
             ImageWriter writer = new ImageWriterFactory().newImageWriter(encode);
             writer.write(image, outputStream);
@@ -354,8 +389,89 @@ public class TurboJpegProcessor extends AbstractProcessor
         }
     }
 
+    /**
+     * <p>Reads the region of interest of the source image, as determined by
+     * the {@link Crop} operation in the given operation list, if any.</p>
+     *
+     * <p>Only the blocks that intersect the region are decoded. They are
+     * decoded at the smallest power-of-two DCT scale (down to 1/8) that is
+     * still large enough to satisfy the {@link Scale} operation and {@link
+     * ScaleConstraint}, which is much cheaper than decoding at full scale
+     * and downscaling afterwards.</p>
+     *
+     * @param reductionFactor Will be set to the reduction factor of the
+     *                        returned image.
+     * @param hints           Will be populated with {@link
+     *                        ReaderHint#ALREADY_CROPPED}.
+     * @return                Image of the region of interest, with a copied
+     *                        raster.
+     */
+    private BufferedImage readImage(final OperationList opList,
+                                    final Info info,
+                                    final ReductionFactor reductionFactor,
+                                    final Set<ReaderHint> hints)
+            throws IOException {
+        final Dimension fullSize              = info.getSize();
+        final ScaleConstraint scaleConstraint = opList.getScaleConstraint();
+
+        Rectangle region = new Rectangle(
+                0, 0, fullSize.intWidth(), fullSize.intHeight());
+        for (Operation op : opList) {
+            if (op instanceof Crop && op.hasEffect(fullSize, opList)) {
+                region = ((Crop) op).getRectangle(fullSize, scaleConstraint);
+            } else if (op instanceof Scale) {
+                reductionFactor.factor = ((Scale) op).getReductionFactor(
+                        region.size(), scaleConstraint,
+                        MAX_REDUCTION_FACTOR).factor;
+            }
+        }
+        if (reductionFactor.factor > 0) {
+            try {
+                imageReader.setScale(
+                        new Rational(1, 1 << reductionFactor.factor));
+            } catch (TransformationNotSupportedException e) {
+                LOGGER.debug("readImage(): {}", e.getMessage());
+                reductionFactor.factor = 0;
+            }
+        }
+        final boolean isCropping = region.intX() != 0 ||
+                region.intY() != 0 ||
+                region.intWidth() != fullSize.intWidth() ||
+                region.intHeight() != fullSize.intHeight();
+        if (isCropping) {
+            imageReader.setRegion(region.intX(), region.intY(),
+                    region.intWidth(), region.intHeight());
+        }
+
+        final Rectangle roiWithinSafeRegion = new Rectangle();
+        BufferedImage image =
+                imageReader.readAsBufferedImage(roiWithinSafeRegion);
+        LOGGER.debug("readImage(): decoded a {}x{} image at {}x reduction",
+                image.getWidth(), image.getHeight(),
+                1 << reductionFactor.factor);
+
+        // The image is of the MCU-aligned region containing the region of
+        // interest, at reduced scale, so the ROI still needs to be cut out of
+        // it.
+        final double rfScale = reductionFactor.getScale();
+        Rectangle roi = new Rectangle(0, 0, image.getWidth(), image.getHeight());
+        if (isCropping) {
+            final int x = (int) Math.floor(roiWithinSafeRegion.x() * rfScale);
+            final int y = (int) Math.floor(roiWithinSafeRegion.y() * rfScale);
+            roi = new Rectangle(x, y,
+                    Math.max(1, Math.min(image.getWidth() - x,
+                            (int) Math.round(roiWithinSafeRegion.width() * rfScale))),
+                    Math.max(1, Math.min(image.getHeight() - y,
+                            (int) Math.round(roiWithinSafeRegion.height() * rfScale))));
+        }
+        image = Java2DUtil.crop(image, roi, true);
+        hints.add(ReaderHint.ALREADY_CROPPED);
+        return image;
+    }
+
     @Override
     public Info readInfo() throws IOException {
+        readSource();
         return Info.builder()
                 .withFormat(Format.get("jpg"))
                 .withSize(imageReader.getWidth(), imageReader.getHeight())
@@ -1,5 +1,7 @@
 package edu.illinois.library.cantaloupe.processor.codec;
 
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Dimension;
 import edu.illinois.library.cantaloupe.image.MediaType;
 import edu.illinois.library.cantaloupe.image.Rectangle;
@@ -12,6 +14,7 @@ import edu.illinois.library.cantaloupe.operation.ReductionFactor;
 import edu.illinois.library.cantaloupe.operation.ScaleByPercent;
 import edu.illinois.library.cantaloupe.operation.ScaleByPixels;
 import edu.illinois.library.cantaloupe.processor.SourceFormatException;
+import edu.illinois.library.cantaloupe.source.PathStreamFactory;
 import edu.illinois.library.cantaloupe.source.StreamFactory;
 import edu.illinois.library.cantaloupe.source.stream.ClosingMemoryCacheImageInputStream;
 import org.slf4j.Logger;
@@ -35,6 +38,16 @@ import java.util.Set;
  */
 public abstract class AbstractIIOImageReader {
 
+    /**
+     * Used when {@link Key#PROCESSOR_SUBSAMPLING_HEADROOM} is not set.
+     */
+    static final int DEFAULT_SUBSAMPLING_HEADROOM = 1;
+
+    /**
+     * Caps source subsampling at 256x.
+     */
+    private static final int MAX_SUBSAMPLING_REDUCTION_FACTOR = 8;
+
     /**
      * Assigned by {@link #createReader()}.
      */
@@ -97,7 +110,14 @@ public abstract class AbstractIIOImageReader {
             throw new IOException("No source set.");
         }
 
-        iioReader = negotiateIIOReader();
+        if (getFormat() != null) {
+            iioReader = IIOPluginCache.getInstance().acquireReader(
+                    getFormat(),
+                    getPreferredIIOImplementations(),
+                    this::negotiateIIOReader);
+        } else {
+            iioReader = negotiateIIOReader();
+        }
 
         if (iioReader != null) {
             getLogger().debug("Using {}", iioReader.getClass().getName());
@@ -109,7 +129,9 @@ public abstract class AbstractIIOImageReader {
     }
 
     /**
-     * Should be called when the instance is no longer needed.
+     * Should be called when the instance is no longer needed. The wrapped
+     * {@link javax.imageio.ImageReader} is returned to the {@link
+     * IIOPluginCache} for reuse.
      */
     public void dispose() {
         if (inputStream != null) {
@@ -121,7 +143,7 @@ public abstract class AbstractIIOImageReader {
                                 "stream: {}", e.getMessage(), e);
             } finally {
                 if (iioReader != null) {
-                    iioReader.dispose();
+                    IIOPluginCache.getInstance().releaseReader(iioReader);
                     iioReader = null;
                 }
             }
@@ -302,7 +324,7 @@ public abstract class AbstractIIOImageReader {
             getLogger().debug("setSource(Path): failed to close the input " +
                             "stream: {}", e.getMessage(), e);
         } finally {
-            inputStream = ImageIO.createImageInputStream(inputFile.toFile());
+            inputStream = new PathStreamFactory(inputFile).newSeekableStream();
             createReader();
         }
     }
@@ -393,8 +415,11 @@ public abstract class AbstractIIOImageReader {
             if (crop != null && !hints.contains(ReaderHint.IGNORE_CROP)) {
                 final Dimension fullSize = new Dimension(
                         iioReader.getWidth(0), iioReader.getHeight(0));
-                image = tileAwareRead(
-                        imageIndex, crop.getRectangle(fullSize), hints);
+                final Rectangle region = crop.getRectangle(fullSize);
+                image = subsampledRead(imageIndex, region,
+                        getSubsamplingReductionFactor(fullSize, region.size(),
+                                scale, scaleConstraint),
+                        reductionFactor, hints);
             } else {
                 image = iioReader.read(imageIndex);
             }
@@ -411,24 +436,35 @@ public abstract class AbstractIIOImageReader {
     }
 
     /**
-     * Reads a particular image from a multi-image file.
+     * Reads a particular image from a multi-image file, {@link
+     * #getSubsamplingReductionFactor subsampling} it if possible.
      *
      * @param imageIndex      Image index.
      * @param crop            Requested crop.
+     * @param scale           Requested scale. May be {@code null}.
      * @param scaleConstraint Virtual scale constraint applied to the image.
+     * @param reductionFactor Will be set to the reduction factor of the
+     *                        returned image.
+     * @param hints           Will be populated by information returned by the
+     *                        reader.
      * @return                Smallest image fitting the requested operations.
      * @see                   #readSmallestUsableSubimage
      */
     protected BufferedImage readMonoResolution(
             final int imageIndex,
             final Crop crop,
+            final Scale scale,
             final ScaleConstraint scaleConstraint,
+            final ReductionFactor reductionFactor,
             final Set<ReaderHint> hints) throws IOException {
         final Dimension fullSize = new Dimension(
                 iioReader.getWidth(0), iioReader.getHeight(0));
         final Rectangle regionRect = crop.getRectangle(
                 fullSize, new ReductionFactor(), scaleConstraint);
-        return tileAwareRead(imageIndex, regionRect, hints);
+        return subsampledRead(imageIndex, regionRect,
+                getSubsamplingReductionFactor(fullSize, regionRect.size(),
+                        scale, scaleConstraint),
+                reductionFactor, hints);
     }
 
     /**
@@ -458,7 +494,7 @@ public abstract class AbstractIIOImageReader {
         BufferedImage bestImage = null;
 
         if (!scale.hasEffect() && !scaleConstraint.hasEffect()) {
-            bestImage = tileAwareRead(0, regionRect, hints);
+            bestImage = tileAwareRead(0, regionRect, 1, hints);
             getLogger().debug("readSmallestUsableSubimage(): using a {}x{} source " +
                             "image (0x reduction factor)",
                     bestImage.getWidth(), bestImage.getHeight());
@@ -479,10 +515,14 @@ public abstract class AbstractIIOImageReader {
             }
             // At this point, we know how many images are available.
             if (numImages == 1) {
-                bestImage = tileAwareRead(0, regionRect, hints);
+                bestImage = subsampledRead(0, regionRect,
+                        getSubsamplingReductionFactor(fullSize,
+                                regionRect.size(), scale, scaleConstraint),
+                        reductionFactor, hints);
                 getLogger().debug("readSmallestUsableSubimage(): using a " +
-                                "{}x{} source image (0x reduction factor)",
-                        bestImage.getWidth(), bestImage.getHeight());
+                                "{}x{} source image ({}x reduction factor)",
+                        bestImage.getWidth(), bestImage.getHeight(),
+                        reductionFactor.factor);
             } else if (numImages > 1) {
                 // Loop through the reduced images from smallest to largest to
                 // find the first one that can supply the requested scale.
@@ -505,7 +545,7 @@ public abstract class AbstractIIOImageReader {
                                 regionRect.y() * reducedScale,
                                 regionRect.width() * reducedScale,
                                 regionRect.height() * reducedScale);
-                        bestImage = tileAwareRead(i, reducedRect, hints);
+                        bestImage = tileAwareRead(i, reducedRect, 1, hints);
                         break;
                     } else {
                         getLogger().trace("Subimage {}: {}x{} - too small",
@@ -517,6 +557,122 @@ public abstract class AbstractIIOImageReader {
         return bestImage;
     }
 
+    /**
+     * <p>Returns the reduction factor corresponding to the coarsest
+     * power-of-two source subsampling that will still supply enough pixels to
+     * satisfy the given scale. This enables mono-resolution images to be
+     * decoded at (close to) their output size rather than at full resolution
+     * only to be downscaled afterwards.</p>
+     *
+     * <p>Subsampling skips pixels rather than averaging them, which can
+     * introduce aliasing, so {@link Key#PROCESSOR_SUBSAMPLING_HEADROOM}
+     * levels are held back from the maximum in order to leave the final
+     * downscale some extra pixels to work with.</p>
+     *
+     * @param fullSize        Full size of the source image.
+     * @param regionSize      Size of the region to read.
+     * @param scale           Requested scale. May be {@code null}.
+     * @param scaleConstraint Virtual scale constraint applied to the image.
+     * @return                Reduction factor whose {@link
+     *                        ReductionFactor#getScale() scale} is the
+     *                        reciprocal of the subsampling to apply. This
+     *                        will be {@literal 0} if subsampling is disabled
+     *                        or would not help.
+     */
+    protected ReductionFactor getSubsamplingReductionFactor(
+            final Dimension fullSize,
+            final Dimension regionSize,
+            Scale scale,
+            final ScaleConstraint scaleConstraint) {
+        final Configuration config = Configuration.getInstance();
+        if (!config.getBoolean(Key.PROCESSOR_SUBSAMPLING_ENABLED, true)) {
+            return new ReductionFactor();
+        }
+        if (scale == null) {
+            scale = new ScaleByPercent();
+        }
+        if (!scale.hasEffect() && !scaleConstraint.hasEffect()) {
+            return new ReductionFactor();
+        }
+        int factor = 0;
+        while (factor < MAX_SUBSAMPLING_REDUCTION_FACTOR) {
+            final double nextScale = Math.pow(0.5, factor + 1);
+            if (regionSize.width() * nextScale < 1 ||
+                    regionSize.height() * nextScale < 1 ||
+                    !fits(fullSize, regionSize, scale, scaleConstraint,
+                            nextScale)) {
+                break;
+            }
+            factor++;
+        }
+        final int headroom = Math.max(0, config.getInt(
+                Key.PROCESSOR_SUBSAMPLING_HEADROOM,
+                DEFAULT_SUBSAMPLING_HEADROOM));
+        return new ReductionFactor(Math.max(0, factor - headroom));
+    }
+
+    /**
+     * Variant of {@link #tileAwareRead} that also applies source subsampling
+     * corresponding to the given reduction factor.
+     *
+     * @param imageIndex      Index of the image to read from the ImageReader.
+     * @param region          Image region to retrieve.
+     * @param subsamplingRF   Reduction factor whose {@link
+     *                        ReductionFactor#getScale() scale} is the
+     *                        reciprocal of the subsampling to apply.
+     * @param reductionFactor Will be set to the reduction factor of the
+     *                        returned image. May be {@code null}.
+     * @param hints           Will be populated with information returned from
+     *                        the reader.
+     */
+    private BufferedImage subsampledRead(final int imageIndex,
+                                         final Rectangle region,
+                                         final ReductionFactor subsamplingRF,
+                                         final ReductionFactor reductionFactor,
+                                         final Set<ReaderHint> hints) throws IOException {
+        final int subsampling = 1 << subsamplingRF.factor;
+        final BufferedImage image =
+                tileAwareRead(imageIndex, region, subsampling, hints);
+        if (reductionFactor != null && image != null) {
+            reductionFactor.factor = getActualReductionFactor(
+                    image, imageIndex, region, subsamplingRF).factor;
+        }
+        return image;
+    }
+
+    /**
+     * Some plugins may ignore the subsampling parameters of an {@link
+     * ImageReadParam}, in which case the image they return will be at full
+     * scale. This method checks for that.
+     *
+     * @param image         Image that was read.
+     * @param imageIndex    Index of the image that was read.
+     * @param region        Region that was read.
+     * @param subsamplingRF Reduction factor corresponding to the subsampling
+     *                      that was requested.
+     * @return              Reduction factor of the given image.
+     */
+    protected ReductionFactor getActualReductionFactor(
+            final BufferedImage image,
+            final int imageIndex,
+            final Rectangle region,
+            final ReductionFactor subsamplingRF) throws IOException {
+        if (subsamplingRF.factor < 1) {
+            return new ReductionFactor();
+        }
+        final int subsampling = 1 << subsamplingRF.factor;
+        final Dimension imageSize = getSize(imageIndex);
+        final int expectedWidth = (int) Math.ceil(Math.min(
+                region.intWidth(), imageSize.intWidth() - region.intX()) /
+                (double) subsampling);
+        if (image.getWidth() == expectedWidth) {
+            return new ReductionFactor(subsamplingRF.factor);
+        }
+        getLogger().debug("getActualReductionFactor(): {} ignored the " +
+                "subsampling parameters", iioReader.getClass().getName());
+        return new ReductionFactor();
+    }
+
     /**
      * <p>Returns an image for the requested source area by reading the tiles
      * (or strips) of the source image and joining them into a single image.</p>
@@ -529,15 +685,18 @@ public abstract class AbstractIIOImageReader {
      * have already been performed according to the {@literal region}
      * argument.</p>
      *
-     * @param imageIndex Index of the image to read from the ImageReader.
-     * @param region     Image region to retrieve. The returned image will be
-     *                   this size or smaller if it would overlap the right or
-     *                   bottom edge of the source image.
-     * @param hints      Will be populated with information returned from the
-     *                   reader.
+     * @param imageIndex  Index of the image to read from the ImageReader.
+     * @param region      Image region to retrieve. The returned image will be
+     *                    this size or smaller if it would overlap the right
+     *                    or bottom edge of the source image.
+     * @param subsampling Source subsampling to apply in both dimensions, or
+     *                    {@literal 1} for none.
+     * @param hints       Will be populated with information returned from
+     *                    the reader.
      */
     private BufferedImage tileAwareRead(final int imageIndex,
                                         final Rectangle region,
+                                        final int subsampling,
                                         final Set<ReaderHint> hints) throws IOException {
         final Dimension imageSize = getSize(imageIndex);
         final Dimension tileSize = getTileSize(imageIndex);
@@ -564,6 +723,10 @@ public abstract class AbstractIIOImageReader {
         hints.add(ReaderHint.ALREADY_CROPPED);
         final ImageReadParam param = iioReader.getDefaultReadParam();
         param.setSourceRegion(region.toAWTRectangle());
+        if (subsampling > 1) {
+            getLogger().debug("Subsampling by {}x", subsampling);
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        }
 
         return iioReader.read(imageIndex, param);
     }
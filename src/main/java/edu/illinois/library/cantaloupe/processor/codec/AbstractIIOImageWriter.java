@@ -44,17 +44,22 @@ public abstract class AbstractIIOImageWriter {
     }
 
     private void createWriter() {
-        this.iioWriter = negotiateImageWriter();
+        this.iioWriter = IIOPluginCache.getInstance().acquireWriter(
+                encode.getFormat(),
+                getPreferredIIOImplementations(),
+                this::negotiateImageWriter);
 
         getLogger().debug("Using {}", iioWriter.getClass().getName());
     }
 
     /**
-     * Should be called when the instance is no longer needed.
+     * Should be called when the instance is no longer needed. The wrapped
+     * {@link javax.imageio.ImageWriter} is returned to the {@link
+     * IIOPluginCache} for reuse.
      */
     public void dispose() {
         if (iioWriter != null) {
-            iioWriter.dispose();
+            IIOPluginCache.getInstance().releaseWriter(iioWriter);
             iioWriter = null;
         }
     }
@@ -154,6 +159,19 @@ public abstract class AbstractIIOImageWriter {
         return negotiatedWriter;
     }
 
+    /**
+     * Begins writing an image sequence to the given output stream. This
+     * implementation throws an {@link UnsupportedOperationException} and must
+     * be overridden by writers that support image sequences.
+     *
+     * @param outputStream Stream to write the sequence to.
+     * @since 6.0
+     */
+    public ImageSequenceWriter newSequenceWriter(OutputStream outputStream)
+            throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
     public void setEncode(Encode encode) {
         this.encode = encode;
         createWriter();
@@ -0,0 +1,310 @@
+package edu.illinois.library.cantaloupe.processor.codec;
+
+import edu.illinois.library.cantaloupe.image.Format;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import javax.imageio.spi.ImageReaderSpi;
+import javax.imageio.spi.ImageReaderWriterSpi;
+import javax.imageio.spi.ImageWriterSpi;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * <p>Caches the outcomes of ImageIO plugin negotiation, and pools the reader
+ * and writer instances created by the negotiated plugins for reuse.</p>
+ *
+ * <p>Looking up plugins in the {@link javax.imageio.spi.IIORegistry} is
+ * relatively expensive, not least because {@link
+ * javax.imageio.ImageIO#getImageReadersByMIMEType(String)} and friends
+ * instantiate a reader from every matching plugin, only one of which gets
+ * used. Some readers and writers also allocate native structures upon
+ * instantiation. Small requests, like tile requests, may spend a noticeable
+ * portion of their time doing all of this, so this class ensures that
+ * negotiation happens only once per format and set of implementation
+ * preferences, and that instances are {@link ImageReader#reset() reset} and
+ * recycled rather than disposed.</p>
+ *
+ * <p>At most {@link #MAX_IDLE_INSTANCES_PER_PLUGIN} idle instances are
+ * retained per plugin. Instances in excess of that are disposed, as are
+ * instances of classes that don't override {@link ImageReader#reset()} or
+ * {@link ImageWriter#reset()}, as such classes can't be trusted to discard
+ * the state of a previous read or write.</p>
+ *
+ * @since 6.0
+ */
+final class IIOPluginCache {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(IIOPluginCache.class);
+
+    static final int MAX_IDLE_INSTANCES_PER_PLUGIN =
+            Runtime.getRuntime().availableProcessors();
+
+    private static IIOPluginCache instance;
+
+    /**
+     * Negotiated reader plugins keyed by {@link #negotiationKey}.
+     */
+    private final Map<String,ImageReaderSpi> readerSpis =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Negotiated writer plugins keyed by {@link #negotiationKey}.
+     */
+    private final Map<String,ImageWriterSpi> writerSpis =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Idle {@link ImageReader}s and {@link ImageWriter}s keyed by their
+     * originating plugin. Each deque must be synchronized on when accessed.
+     */
+    private final Map<ImageReaderWriterSpi,Deque<Object>> idleInstances =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Cache of {@link #isRecyclable(Class)} results.
+     */
+    private final Map<Class<?>,Boolean> recyclableClasses =
+            new ConcurrentHashMap<>();
+
+    /**
+     * For testing only!
+     */
+    static synchronized void clearInstance() {
+        if (instance != null) {
+            instance.clear();
+        }
+        instance = null;
+    }
+
+    /**
+     * @return Shared instance.
+     */
+    static synchronized IIOPluginCache getInstance() {
+        if (instance == null) {
+            instance = new IIOPluginCache();
+        }
+        return instance;
+    }
+
+    private static String negotiationKey(Format format,
+                                         String[] preferredImpls) {
+        return format.getKey() + "/" + String.join(",", preferredImpls);
+    }
+
+    IIOPluginCache() {}
+
+    /**
+     * Acquires a reader for the given format, either from the pool, or from
+     * the plugin previously negotiated for the same format and preferences,
+     * or, failing those, from the given negotiator.
+     *
+     * @param format         Format to read.
+     * @param preferredImpls Preferred reader implementations, which form
+     *                       part of the cache key.
+     * @param negotiator     Negotiates a reader the first time a given
+     *                       format and set of preferences is encountered.
+     * @return               Reader, which should be {@link
+     *                       #releaseReader(ImageReader) released} when no
+     *                       longer needed, or {@code null} if the negotiator
+     *                       returned {@code null}.
+     */
+    ImageReader acquireReader(Format format,
+                              String[] preferredImpls,
+                              Supplier<ImageReader> negotiator) {
+        final String key = negotiationKey(format, preferredImpls);
+        final ImageReaderSpi spi = readerSpis.get(key);
+        if (spi != null) {
+            final ImageReader reader = (ImageReader) poll(spi);
+            if (reader != null) {
+                LOGGER.trace("acquireReader(): recycled {}",
+                        reader.getClass().getName());
+                return reader;
+            }
+            try {
+                return spi.createReaderInstance();
+            } catch (IOException e) {
+                LOGGER.debug("acquireReader(): failed to instantiate a reader " +
+                        "from {}; renegotiating: {}",
+                        spi.getClass().getName(), e.getMessage());
+            }
+        }
+        final ImageReader reader = negotiator.get();
+        if (reader != null && reader.getOriginatingProvider() != null) {
+            readerSpis.put(key, reader.getOriginatingProvider());
+        }
+        return reader;
+    }
+
+    /**
+     * Writer counterpart of {@link #acquireReader}.
+     *
+     * @param format         Format to write.
+     * @param preferredImpls Preferred writer implementations, which form
+     *                       part of the cache key.
+     * @param negotiator     Negotiates a writer the first time a given
+     *                       format and set of preferences is encountered.
+     * @return               Writer, which should be {@link
+     *                       #releaseWriter(ImageWriter) released} when no
+     *                       longer needed, or {@code null} if the negotiator
+     *                       returned {@code null}.
+     */
+    ImageWriter acquireWriter(Format format,
+                              String[] preferredImpls,
+                              Supplier<ImageWriter> negotiator) {
+        final String key = negotiationKey(format, preferredImpls);
+        final ImageWriterSpi spi = writerSpis.get(key);
+        if (spi != null) {
+            final ImageWriter writer = (ImageWriter) poll(spi);
+            if (writer != null) {
+                LOGGER.trace("acquireWriter(): recycled {}",
+                        writer.getClass().getName());
+                return writer;
+            }
+            try {
+                return spi.createWriterInstance();
+            } catch (IOException e) {
+                LOGGER.debug("acquireWriter(): failed to instantiate a writer " +
+                        "from {}; renegotiating: {}",
+                        spi.getClass().getName(), e.getMessage());
+            }
+        }
+        final ImageWriter writer = negotiator.get();
+        if (writer != null && writer.getOriginatingProvider() != null) {
+            writerSpis.put(key, writer.getOriginatingProvider());
+        }
+        return writer;
+    }
+
+    /**
+     * Resets the given reader and returns it to the pool, or disposes it if
+     * the pool is full.
+     *
+     * @param reader Reader to release. It must not be used anymore by the
+     *               caller.
+     */
+    void releaseReader(ImageReader reader) {
+        final ImageReaderSpi spi = reader.getOriginatingProvider();
+        try {
+            if (spi != null && isRecyclable(reader.getClass())) {
+                reader.reset();
+                if (offer(spi, reader)) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.debug("releaseReader(): failed to reset {}: {}",
+                    reader.getClass().getName(), e.getMessage());
+        }
+        reader.dispose();
+    }
+
+    /**
+     * Resets the given writer and returns it to the pool, or disposes it if
+     * the pool is full.
+     *
+     * @param writer Writer to release. It must not be used anymore by the
+     *               caller.
+     */
+    void releaseWriter(ImageWriter writer) {
+        final ImageWriterSpi spi = writer.getOriginatingProvider();
+        try {
+            if (spi != null && isRecyclable(writer.getClass())) {
+                writer.reset();
+                if (offer(spi, writer)) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.debug("releaseWriter(): failed to reset {}: {}",
+                    writer.getClass().getName(), e.getMessage());
+        }
+        writer.dispose();
+    }
+
+    /**
+     * Disposes all idle instances and forgets all negotiated plugins.
+     */
+    void clear() {
+        readerSpis.clear();
+        writerSpis.clear();
+        final List<Object> evictees = new ArrayList<>();
+        for (Deque<Object> deque : idleInstances.values()) {
+            synchronized (deque) {
+                evictees.addAll(deque);
+                deque.clear();
+            }
+        }
+        for (Object evictee : evictees) {
+            if (evictee instanceof ImageReader) {
+                ((ImageReader) evictee).dispose();
+            } else {
+                ((ImageWriter) evictee).dispose();
+            }
+        }
+    }
+
+    /**
+     * @return Number of idle instances originating from the given plugin.
+     */
+    int getNumIdleInstances(ImageReaderWriterSpi spi) {
+        final Deque<Object> deque = idleInstances.get(spi);
+        if (deque == null) {
+            return 0;
+        }
+        synchronized (deque) {
+            return deque.size();
+        }
+    }
+
+    /**
+     * @param readerOrWriterClass {@link ImageReader} or {@link ImageWriter}
+     *                            subclass.
+     * @return                    Whether the class overrides {@code
+     *                            reset()}.
+     */
+    boolean isRecyclable(Class<?> readerOrWriterClass) {
+        return recyclableClasses.computeIfAbsent(readerOrWriterClass, c -> {
+            try {
+                final Class<?> declaringClass =
+                        c.getMethod("reset").getDeclaringClass();
+                return !ImageReader.class.equals(declaringClass) &&
+                        !ImageWriter.class.equals(declaringClass);
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        });
+    }
+
+    private Object poll(ImageReaderWriterSpi spi) {
+        final Deque<Object> deque = idleInstances.get(spi);
+        if (deque == null) {
+            return null;
+        }
+        synchronized (deque) {
+            return deque.pollFirst();
+        }
+    }
+
+    private boolean offer(ImageReaderWriterSpi spi, Object readerOrWriter) {
+        final Deque<Object> deque = idleInstances.computeIfAbsent(
+                spi, k -> new ArrayDeque<>(MAX_IDLE_INSTANCES_PER_PLUGIN));
+        synchronized (deque) {
+            if (deque.size() < MAX_IDLE_INSTANCES_PER_PLUGIN) {
+                deque.addFirst(readerOrWriter);
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,34 @@
+package edu.illinois.library.cantaloupe.processor.codec;
+
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * <p>Writes an image sequence, such as an animated GIF, one frame at a time,
+ * so that the whole sequence never has to reside in memory at once.</p>
+ *
+ * <p>Instances are obtained from {@link
+ * ImageWriter#newSequenceWriter(java.io.OutputStream)}. Frames must be
+ * written in temporal order, and the instance must be {@link #close()
+ * closed} in order to complete the sequence.</p>
+ *
+ * @since 6.0
+ */
+public interface ImageSequenceWriter extends Closeable {
+
+    /**
+     * Appends the given frame to the sequence.
+     *
+     * @param frame Frame to write.
+     */
+    void write(BufferedImage frame) throws IOException;
+
+    /**
+     * Completes the sequence and releases all resources. Subsequent
+     * invocations have no effect.
+     */
+    @Override
+    void close() throws IOException;
+
+}
@@ -19,6 +19,22 @@ public interface ImageWriter {
      */
     void dispose();
 
+    /**
+     * Begins writing an image sequence to the given output stream one frame
+     * at a time. This is preferable to {@link
+     * #write(BufferedImageSequence, OutputStream)} for long sequences, which
+     * may not fit in memory.
+     *
+     * @param outputStream Stream to write the sequence to.
+     * @return             Writer to which frames can be written in temporal
+     *                     order, and which must be closed when done.
+     * @throws UnsupportedOperationException if the writer does not support
+     *         image sequences.
+     * @since 6.0
+     */
+    ImageSequenceWriter newSequenceWriter(OutputStream outputStream)
+            throws IOException;
+
     /**
      * @param encode Operation defining encoding parameters.
      */
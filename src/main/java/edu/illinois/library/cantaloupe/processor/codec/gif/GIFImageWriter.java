@@ -5,6 +5,7 @@ import edu.illinois.library.cantaloupe.image.Metadata;
 import edu.illinois.library.cantaloupe.image.xmp.Utils;
 import edu.illinois.library.cantaloupe.processor.codec.AbstractIIOImageWriter;
 import edu.illinois.library.cantaloupe.processor.codec.BufferedImageSequence;
+import edu.illinois.library.cantaloupe.processor.codec.ImageSequenceWriter;
 import edu.illinois.library.cantaloupe.processor.codec.ImageWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -192,38 +193,79 @@ public final class GIFImageWriter extends AbstractIIOImageWriter
             iioWriter.write(iioImage);
             os.flush(); // http://stackoverflow.com/a/14489406
         } finally {
-            iioWriter.dispose();
+            dispose();
         }
     }
 
+    @Override
+    public ImageSequenceWriter newSequenceWriter(OutputStream outputStream)
+            throws IOException {
+        return new GIFSequenceWriter(outputStream);
+    }
+
     @Override
     public void write(BufferedImageSequence sequence,
                       OutputStream outputStream) throws IOException {
-        final ImageWriteParam writeParam = iioWriter.getDefaultWriteParam();
-        final IIOMetadata metadata = getMetadata(writeParam, sequence.get(0));
+        try (ImageSequenceWriter sequenceWriter =
+                     newSequenceWriter(outputStream)) {
+            for (BufferedImage image : sequence) {
+                sequenceWriter.write(image);
+            }
+        }
+    }
 
-        String metaFormatName = metadata.getNativeMetadataFormatName();
+    /**
+     * Writes frames to the wrapped ImageIO writer as they arrive. The
+     * structural metadata is derived from the first frame and applied to all
+     * of them.
+     */
+    private final class GIFSequenceWriter implements ImageSequenceWriter {
 
-        IIOMetadataNode root = (IIOMetadataNode)
-                metadata.getAsTree(metaFormatName);
-        addStructuralMetadata(root);
-        metadata.setFromTree(metaFormatName, root);
-
-        try (ImageOutputStream os = ImageIO.
-                createImageOutputStream(outputStream)) {
-            iioWriter.setOutput(os);
+        private final ImageOutputStream outputStream;
+        private final ImageWriteParam writeParam;
+        private IIOMetadata metadata;
+        private boolean isClosed;
 
+        GIFSequenceWriter(OutputStream outputStream) throws IOException {
+            this.outputStream = ImageIO.createImageOutputStream(outputStream);
+            this.writeParam   = iioWriter.getDefaultWriteParam();
+            iioWriter.setOutput(this.outputStream);
             iioWriter.prepareWriteSequence(null);
+        }
 
-            for (BufferedImage image : sequence) {
-                final IIOImage iioImage = new IIOImage(image, null, metadata);
-                iioWriter.writeToSequence(iioImage, writeParam);
+        @Override
+        public void write(BufferedImage frame) throws IOException {
+            if (metadata == null) {
+                metadata = getMetadata(writeParam, frame);
+                final String metaFormatName =
+                        metadata.getNativeMetadataFormatName();
+                final IIOMetadataNode root = (IIOMetadataNode)
+                        metadata.getAsTree(metaFormatName);
+                addStructuralMetadata(root);
+                metadata.setFromTree(metaFormatName, root);
             }
-            iioWriter.endWriteSequence();
-            os.flush();
-        } finally {
-            iioWriter.dispose();
+            final IIOImage iioImage = new IIOImage(frame, null, metadata);
+            iioWriter.writeToSequence(iioImage, writeParam);
         }
+
+        @Override
+        public void close() throws IOException {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            try {
+                iioWriter.endWriteSequence();
+                outputStream.flush();
+            } finally {
+                try {
+                    outputStream.close();
+                } finally {
+                    GIFImageWriter.this.dispose();
+                }
+            }
+        }
+
     }
 
 }
@@ -154,17 +154,24 @@ public final class JPEGImageReader extends AbstractIIOImageReader
             crop = new CropByPercent();
         }
 
-        Dimension fullSize = getSize(imageIndex);
-        image = readRegion(crop.getRectangle(fullSize, scaleConstraint), hints);
+        final Dimension fullSize = getSize(imageIndex);
+        final Rectangle region = crop.getRectangle(fullSize, scaleConstraint);
+        final ReductionFactor subsamplingRF = getSubsamplingReductionFactor(
+                fullSize, region.size(), scale, scaleConstraint);
+        image = readRegion(region, subsamplingRF, hints);
 
         if (image == null) {
             throw new SourceFormatException(iioReader.getFormatName());
         }
-
+        if (reductionFactor != null) {
+            reductionFactor.factor = getActualReductionFactor(
+                    image, imageIndex, region, subsamplingRF).factor;
+        }
         return image;
     }
 
     private BufferedImage readRegion(final Rectangle region,
+                                     final ReductionFactor subsamplingRF,
                                      final Set<ReaderHint> hints) throws IOException {
         final Dimension imageSize = getSize(0);
 
@@ -176,6 +183,11 @@ public final class JPEGImageReader extends AbstractIIOImageReader
         hints.add(ReaderHint.ALREADY_CROPPED);
         final ImageReadParam param = iioReader.getDefaultReadParam();
         param.setSourceRegion(region.toAWTRectangle());
+        if (subsamplingRF.factor > 0) {
+            final int subsampling = 1 << subsamplingRF.factor;
+            getLogger().debug("Subsampling by {}x", subsampling);
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        }
 
         BufferedImage image = null;
         try {
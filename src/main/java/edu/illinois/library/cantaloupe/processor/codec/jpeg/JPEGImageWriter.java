@@ -185,7 +185,7 @@ public final class JPEGImageWriter extends AbstractIIOImageWriter
             iioWriter.setOutput(os);
             iioWriter.write(null, iioImage, writeParam);
         } finally {
-            iioWriter.dispose();
+            dispose();
         }
     }
 
@@ -228,7 +228,7 @@ public final class JPEGImageWriter extends AbstractIIOImageWriter
             iioWriter.setOutput(os);
             iioWriter.write(null, iioImage, writeParam);
         } finally {
-            iioWriter.dispose();
+            dispose();
         }
 
     }
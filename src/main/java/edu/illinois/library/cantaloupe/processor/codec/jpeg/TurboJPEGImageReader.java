@@ -28,7 +28,10 @@ import java.io.InputStream;
  *
  * <p>In general, when the source JPEG is going to be written by {@link
  * TurboJPEGImageWriter} without any further transformation, {@link #read()}
- * should be used. Otherwise, {@link #readAsBufferedImage} should be used.</p>
+ * should be used. Otherwise, {@link #readAsBufferedImage} should be used.
+ * When only an MCU-aligned region and/or a {@link Transform} is needed, {@link
+ * #transcode(boolean)} can be used instead to avoid decompression
+ * altogether.</p>
  *
  * @see org.libjpegturbo.turbojpeg for libjpeg-turbo setup.
  * @author Alex Dolski UIUC
@@ -91,7 +94,8 @@ public final class TurboJPEGImageReader implements AutoCloseable {
     private InputStream inputStream;
 
     /**
-     * Buffered JPEG data read from {@link #inputStream}.
+     * Buffered JPEG data read from {@link #inputStream}, or supplied directly
+     * via {@link #setSource(byte[])}.
      */
     private byte[] jpegBytes;
 
@@ -185,6 +189,48 @@ public final class TurboJPEGImageReader implements AutoCloseable {
         return safeRegion;
     }
 
+    /**
+     * Maps a region of a source image into the coordinate space of the same
+     * image after the given transform has been applied to it. This is needed
+     * because libjpeg-turbo applies transforms before cropping, whereas the
+     * clients of this class are used to cropping first.
+     *
+     * @param region    Region in source image coordinates.
+     * @param width     Full source image width.
+     * @param height    Full source image height.
+     * @param transform Transform to apply. May be {@code null}.
+     * @return          Region in transformed image coordinates.
+     * @since 6.0
+     */
+    static Rectangle getTransformedRegion(final Rectangle region,
+                                          final int width,
+                                          final int height,
+                                          final Transform transform) {
+        if (transform == null) {
+            return new Rectangle(region);
+        }
+        final int x = region.intX(), y = region.intY();
+        final int w = region.intWidth(), h = region.intHeight();
+        switch (transform) {
+            case FLIP_HORIZONTAL:
+                return new Rectangle(width - x - w, y, w, h);
+            case FLIP_VERTICAL:
+                return new Rectangle(x, height - y - h, w, h);
+            case TRANSPOSE:
+                return new Rectangle(y, x, h, w);
+            case TRANSVERSE:
+                return new Rectangle(height - y - h, width - x - w, h, w);
+            case ROTATE_90:
+                return new Rectangle(height - y - h, x, h, w);
+            case ROTATE_180:
+                return new Rectangle(width - x - w, height - y - h, w, h);
+            case ROTATE_270:
+                return new Rectangle(y, width - x - w, h, w);
+            default:
+                throw new IllegalArgumentException("Unknown transform");
+        }
+    }
+
     /**
      * @throws UnsatisfiedLinkError if there is an error loading libjpeg-turbo.
      */
@@ -293,6 +339,51 @@ public final class TurboJPEGImageReader implements AutoCloseable {
                 getHeight() % getBlockHeight() == 0;
     }
 
+    /**
+     * <p>Checks whether {@link #transcode(boolean)} would be able to produce
+     * the given region and transform without any loss.</p>
+     *
+     * <p>This is the case when the region's origin lies on the MCU grid, and
+     * its right and bottom edges either lie on the grid too or coincide with
+     * those of the image. When transforming, both the image and the region
+     * must consist entirely of whole MCUs, as partial blocks cannot be
+     * relocated.</p>
+     *
+     * @param region    Region in source image coordinates. May be {@code
+     *                  null} to indicate the whole image.
+     * @param transform Transform to apply after cropping. May be {@code
+     *                  null}.
+     * @since 6.0
+     */
+    public boolean canTranscode(Rectangle region,
+                                Transform transform) throws IOException {
+        final int width = getWidth(), height = getHeight();
+        if (width < TRANSFORM_MIN_SIZE || height < TRANSFORM_MIN_SIZE) {
+            return false;
+        }
+        if (transform != null && !isTransformable()) {
+            return false;
+        }
+        if (region == null) {
+            return true;
+        }
+        final int x = region.intX(), y = region.intY();
+        final int w = region.intWidth(), h = region.intHeight();
+        final int blockWidth = getBlockWidth(), blockHeight = getBlockHeight();
+        if (w < TRANSFORM_MIN_SIZE || h < TRANSFORM_MIN_SIZE ||
+                x + w > width || y + h > height ||
+                x % blockWidth != 0 || y % blockHeight != 0) {
+            return false;
+        }
+        final boolean isWidthAligned  = (w % blockWidth == 0);
+        final boolean isHeightAligned = (h % blockHeight == 0);
+        if (transform != null) {
+            return isWidthAligned && isHeightAligned;
+        }
+        return (isWidthAligned || x + w == width) &&
+                (isHeightAligned || y + h == height);
+    }
+
     /**
      * <p>Performs lossless cropping on the input image.</p>
      *
@@ -347,6 +438,20 @@ public final class TurboJPEGImageReader implements AutoCloseable {
         this.inputStream = source;
     }
 
+    /**
+     * Alternative to {@link #setSource(InputStream)} for callers that have
+     * already read the JPEG data into memory, perhaps in order to share it
+     * with some other reader.
+     *
+     * @param jpegBytes JPEG image data. It is not copied, and must not be
+     *                  modified while the instance is in use.
+     * @since 6.0
+     */
+    public void setSource(byte[] jpegBytes) {
+        this.inputStream = null;
+        this.jpegBytes   = jpegBytes;
+    }
+
     /**
      * @param transform Lossless transform to apply before decompression.
      * @throws TransformationNotSupportedException if the source image is not
@@ -470,7 +575,9 @@ public final class TurboJPEGImageReader implements AutoCloseable {
 
     private void initDecompressor() throws IOException {
         if (decompressor == null) {
-            jpegBytes = readInputStream();
+            if (jpegBytes == null) {
+                jpegBytes = readInputStream();
+            }
             try {
                 decompressor = new TJDecompressor(jpegBytes);
             } catch (TJException e) {
@@ -568,6 +675,85 @@ public final class TurboJPEGImageReader implements AutoCloseable {
         return image;
     }
 
+    /**
+     * <p>Crops and/or transforms the source image losslessly, by copying and
+     * rearranging its entropy-coded MCUs (like {@literal jpegtran} does)
+     * without decompressing and recompressing them. This is both much faster
+     * than decompressing and spares the image another generation of
+     * compression loss.</p>
+     *
+     * <p>Unlike with the other reading methods, the {@link #setRegion region}
+     * is expressed in source image coordinates, and the {@link
+     * #setTransform(Transform) transform} is applied after cropping. Markers
+     * are not copied from the source image.</p>
+     *
+     * @param isProgressive Whether to produce a progressive JPEG.
+     * @return              Compressed image data, which can be written by
+     *                      {@link TurboJPEGImageWriter#write(TurboJPEGImage,
+     *                      java.io.OutputStream)} as-is.
+     * @throws TransformationNotSupportedException if {@link
+     *         #canTranscode(Rectangle, Transform)} returns {@code false} for
+     *         the current region and transform.
+     * @since 6.0
+     */
+    public TurboJPEGImage transcode(boolean isProgressive)
+            throws IOException, TransformationNotSupportedException {
+        if (!canTranscode(region, transform)) {
+            throw new TransformationNotSupportedException(
+                    "The region is not aligned with the MCU grid.");
+        }
+        initDecompressor();
+
+        final TJTransform xform = new TJTransform();
+        xform.options = TJTransform.OPT_PERFECT | TJTransform.OPT_COPYNONE;
+        if (useGrayscaleConversion) {
+            xform.options |= TJTransform.OPT_GRAY;
+        }
+        if (isProgressive) {
+            xform.options |= TJTransform.OPT_PROGRESSIVE;
+        }
+        if (transform != null) {
+            xform.op = transform.tjEquivalentTx;
+        }
+        Rectangle outRegion = new Rectangle(0, 0, getWidth(), getHeight());
+        if (region != null) {
+            outRegion = getTransformedRegion(region, getWidth(), getHeight(),
+                    transform);
+            xform.x       = outRegion.intX();
+            xform.y       = outRegion.intY();
+            xform.width   = outRegion.intWidth();
+            xform.height  = outRegion.intHeight();
+            xform.options |= TJTransform.OPT_CROP;
+        } else if (transform == Transform.TRANSPOSE ||
+                transform == Transform.TRANSVERSE ||
+                transform == Transform.ROTATE_90 ||
+                transform == Transform.ROTATE_270) {
+            outRegion = new Rectangle(0, 0, getHeight(), getWidth());
+        }
+
+        try (TJTransformer tjt = new TJTransformer(jpegBytes)) {
+            // The buffer size depends on the subsampling, which may be
+            // swapped by transposition, so be generous.
+            final int side = Math.max(outRegion.intWidth(), outRegion.intHeight());
+            final byte[][] dstBufs = new byte[][] {
+                    new byte[TJ.bufSize(side, side, getSubsampling())] };
+            tjt.transform(dstBufs, new TJTransform[] { xform }, 0);
+
+            final TurboJPEGImage image = new TurboJPEGImage();
+            image.setData(dstBufs[0]);
+            image.setDataLength(tjt.getTransformedSizes()[0]);
+            image.setScaledWidth(outRegion.intWidth());
+            image.setScaledHeight(outRegion.intHeight());
+            image.setDecompressed(false);
+            return image;
+        } catch (TJException e) {
+            if (e.getMessage().contains("Not a JPEG file")) {
+                throw new SourceFormatException();
+            }
+            throw e;
+        }
+    }
+
     /**
      * @param roiWithinSafeRegion Empty rectangle whose coordinates will be
      *                            modified to reflect any additional cropping
@@ -123,8 +123,16 @@ public final class TurboJPEGImageWriter {
         return flags;
     }
 
+    /**
+     * @param image Image to write. If its data is compressed, it is written
+     *              as-is, aside from the insertion of an {@literal APP1}
+     *              segment if {@link #setXMP(String) XMP} has been set.
+     *              Otherwise it is compressed, and the segment is inserted
+     *              in the same way.
+     * @param os    Stream to write to.
+     */
     public void write(TurboJPEGImage image,
-                      OutputStream os) throws IOException { // TODO: XMP
+                      OutputStream os) throws IOException {
         if (image.isDecompressed()) {
             try (TJCompressor tjc = new TJCompressor()) {
                 tjc.setSubsamp(subsampling);
@@ -135,13 +143,44 @@ public final class TurboJPEGImageWriter {
                         image.getScaledHeight(),
                         TJ.PF_BGRX); // pixel format
                 byte[] jpegBuf = tjc.compress(getFlags());
-                os.write(jpegBuf, 0, tjc.getCompressedSize());
+                if (xmp != null) {
+                    os.write(jpegBuf, 0, APP1_OFFSET);
+                    os.write(Util.assembleAPP1Segment(xmp));
+                    os.write(jpegBuf, APP1_OFFSET,
+                            tjc.getCompressedSize() - APP1_OFFSET);
+                } else {
+                    os.write(jpegBuf, 0, tjc.getCompressedSize());
+                }
             }
+        } else if (xmp != null) {
+            final byte[] data  = image.getData();
+            final int length   = image.getDataLength();
+            final int offset   = getAPP1Offset(data);
+            os.write(data, 0, offset);
+            os.write(Util.assembleAPP1Segment(xmp));
+            os.write(data, offset, length - offset);
         } else {
             os.write(image.getData(), 0, image.getDataLength());
         }
     }
 
+    /**
+     * @param data Compressed JPEG data.
+     * @return     Offset at which to insert an {@literal APP1} segment, which
+     *             is right after the {@literal APP0} segment, if present, or
+     *             else right after the {@literal SOI} marker.
+     */
+    static int getAPP1Offset(byte[] data) {
+        int offset = 2;
+        if (data.length > offset + 4 &&
+                (data[offset] & 0xff) == 0xff &&
+                (data[offset + 1] & 0xff) == 0xe0) {
+            offset += 2 + (((data[offset + 2] & 0xff) << 8) |
+                    (data[offset + 3] & 0xff));
+        }
+        return offset;
+    }
+
     /**
      * @param image Image to write.
      * @param os    Stream to write to.
@@ -1,11 +1,14 @@
 package edu.illinois.library.cantaloupe.processor.codec.jpeg;
 
+import edu.illinois.library.cantaloupe.image.xmp.StAXUtils;
 import edu.illinois.library.cantaloupe.image.xmp.Utils;
 import edu.illinois.library.cantaloupe.util.ArrayUtils;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.StmtIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -19,6 +22,17 @@ import java.util.Set;
 
 final class Util {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(Util.class);
+
+    /**
+     * Properties removed from merged XMP trees (see {@link #mergeXMPModels}).
+     */
+    private static final Set<String> EXCLUDED_XMP_PROPERTIES = Set.of(
+            Constants.EXTENDED_XMP_PREDICATE,
+            "http://ns.adobe.com/xap/1.0/Thumbnails",
+            "http://ns.adobe.com/xap/1.0/g/img/image",
+            "http://ns.adobe.com/photoshop/1.0/History");
+
     /**
      * @param xmp XMP data with a root {@literal <rdf:RDF>} element.
      * @return    Full {@literal APP1} segment data including marker and length.
@@ -103,6 +117,16 @@ final class Util {
      */
     private static String mergeXMPModels(String standardXMP,
                                          String extendedXMP) throws IOException {
+        // Merging the trees as XML works in the vast majority of cases and is
+        // much cheaper than building models.
+        try {
+            return StAXUtils.merge(standardXMP, extendedXMP,
+                    EXCLUDED_XMP_PROPERTIES) + System.lineSeparator();
+        } catch (IOException e) {
+            LOGGER.debug("mergeXMPModels(): failed to merge XMP trees ({}); " +
+                    "falling back to merging models", e.getMessage());
+        }
+
         // Merge the models.
         Model model = readModel(standardXMP);
         model = model.union(readModel(extendedXMP));
@@ -131,11 +155,7 @@ final class Util {
      * #mergeXMPModels}).
      */
     private static void normalize(Model model) {
-        for (String property : Set.of(
-                Constants.EXTENDED_XMP_PREDICATE,
-                "http://ns.adobe.com/xap/1.0/Thumbnails",
-                "http://ns.adobe.com/xap/1.0/g/img/image",
-                "http://ns.adobe.com/photoshop/1.0/History")) {
+        for (String property : EXCLUDED_XMP_PROPERTIES) {
             final StmtIterator it = model.listStatements(
                     null,
                     model.createProperty(property),
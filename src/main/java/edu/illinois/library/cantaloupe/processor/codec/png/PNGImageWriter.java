@@ -120,7 +120,7 @@ public final class PNGImageWriter extends AbstractIIOImageWriter
             iioWriter.setOutput(os);
             iioWriter.write(iioImage);
         } finally {
-            iioWriter.dispose();
+            dispose();
         }
     }
 
@@ -4,6 +4,8 @@ import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.image.Compression;
 import edu.illinois.library.cantaloupe.image.Metadata;
 import edu.illinois.library.cantaloupe.processor.codec.AbstractIIOImageWriter;
+import edu.illinois.library.cantaloupe.processor.codec.BufferedImageSequence;
+import edu.illinois.library.cantaloupe.processor.codec.ImageSequenceWriter;
 import edu.illinois.library.cantaloupe.processor.codec.ImageWriter;
 import it.geosolutions.imageio.plugins.tiff.TIFFDirectory;
 import it.geosolutions.imageio.plugins.tiff.TIFFField;
@@ -43,6 +45,8 @@ public final class TIFFImageWriter extends AbstractIIOImageWriter
     static final String IMAGEIO_PLUGIN_CONFIG_KEY =
             "processor.imageio.tif.writer";
 
+    private int tileSize;
+
     /**
      * No-op.
      *
@@ -139,6 +143,10 @@ public final class TIFFImageWriter extends AbstractIIOImageWriter
      */
     private ImageWriteParam getWriteParam() {
         final ImageWriteParam writeParam = iioWriter.getDefaultWriteParam();
+        if (tileSize > 0) {
+            writeParam.setTilingMode(ImageWriteParam.MODE_EXPLICIT);
+            writeParam.setTiling(tileSize, tileSize, 0, 0);
+        }
         final Compression compression = encode.getCompression();
         if (compression != null) {
             final String type = getImageIOType(compression);
@@ -151,6 +159,44 @@ public final class TIFFImageWriter extends AbstractIIOImageWriter
         return writeParam;
     }
 
+    /**
+     * Writes each image of a sequence as a separate page (IFD). Combined with
+     * {@link #setTileSize(int)}, this can be used to write a pyramidal TIFF by
+     * writing successively half-sized versions of the same image.
+     *
+     * @since 6.0
+     */
+    @Override
+    public ImageSequenceWriter newSequenceWriter(OutputStream outputStream)
+            throws IOException {
+        return new TIFFSequenceWriter(outputStream);
+    }
+
+    /**
+     * @param tileSize Width and height of the tiles in which to write images,
+     *                 which must be a multiple of 16. The default of
+     *                 {@literal 0} causes them to be written in strips.
+     * @since 6.0
+     */
+    public void setTileSize(int tileSize) {
+        if (tileSize < 0 || tileSize % 16 != 0) {
+            throw new IllegalArgumentException(
+                    "Tile size must be a multiple of 16");
+        }
+        this.tileSize = tileSize;
+    }
+
+    @Override
+    public void write(BufferedImageSequence sequence,
+                      OutputStream outputStream) throws IOException {
+        try (ImageSequenceWriter sequenceWriter =
+                     newSequenceWriter(outputStream)) {
+            for (BufferedImage image : sequence) {
+                sequenceWriter.write(image);
+            }
+        }
+    }
+
     /**
      * Writes the given image to the given output stream.
      *
@@ -170,8 +216,51 @@ public final class TIFFImageWriter extends AbstractIIOImageWriter
             iioWriter.write(metadata, iioImage, writeParam);
             os.flush(); // http://stackoverflow.com/a/14489406
         } finally {
-            iioWriter.dispose();
+            dispose();
         }
     }
 
+    /**
+     * Writes pages to the wrapped ImageIO writer as they arrive.
+     */
+    private final class TIFFSequenceWriter implements ImageSequenceWriter {
+
+        private final ImageOutputStream outputStream;
+        private final ImageWriteParam writeParam;
+        private boolean isClosed;
+
+        TIFFSequenceWriter(OutputStream outputStream) throws IOException {
+            this.outputStream = ImageIO.createImageOutputStream(outputStream);
+            this.writeParam   = getWriteParam();
+            iioWriter.setOutput(this.outputStream);
+            iioWriter.prepareWriteSequence(null);
+        }
+
+        @Override
+        public void write(BufferedImage image) throws IOException {
+            final IIOMetadata metadata = getMetadata(writeParam, image);
+            final IIOImage iioImage    = new IIOImage(image, null, metadata);
+            iioWriter.writeToSequence(iioImage, writeParam);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            try {
+                iioWriter.endWriteSequence();
+                outputStream.flush();
+            } finally {
+                try {
+                    outputStream.close();
+                } finally {
+                    TIFFImageWriter.this.dispose();
+                }
+            }
+        }
+
+    }
+
 }
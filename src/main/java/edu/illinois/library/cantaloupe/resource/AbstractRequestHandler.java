@@ -5,16 +5,36 @@ import edu.illinois.library.cantaloupe.cache.CacheFactory;
 import edu.illinois.library.cantaloupe.cache.DerivativeCache;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.jfr.FormatDetectionEvent;
+import edu.illinois.library.cantaloupe.jfr.InfoReadEvent;
+import edu.illinois.library.cantaloupe.jfr.JFREvents;
+import edu.illinois.library.cantaloupe.jfr.SourceFetchEvent;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.Stage;
+import edu.illinois.library.cantaloupe.metrics.Timer;
 import edu.illinois.library.cantaloupe.processor.Processor;
+import edu.illinois.library.cantaloupe.processor.ProcessorConnector;
 import edu.illinois.library.cantaloupe.delegate.DelegateProxy;
+import edu.illinois.library.cantaloupe.source.Source;
+import edu.illinois.library.cantaloupe.source.StatResult;
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.Future;
 
 abstract class AbstractRequestHandler {
 
+    private static final ClassValue<Timer> STAT_TIMERS =
+            MetricRegistry.getInstance().timersByClass(
+                    "cantaloupe_source_stat_duration_seconds",
+                    "Time taken by sources to check access to source images.",
+                    "source");
+
     DelegateProxy delegateProxy;
     boolean isBypassingCache;
     boolean isBypassingCacheRead;
@@ -33,12 +53,19 @@ abstract class AbstractRequestHandler {
      */
     Info getOrReadInfo(final Identifier identifier,
                        final Processor proc) throws IOException {
+        try (Stage stage = beginStage("info")) {
+            return doGetOrReadInfo(identifier, proc);
+        }
+    }
+
+    private Info doGetOrReadInfo(final Identifier identifier,
+                                 final Processor proc) throws IOException {
         Info info;
         if (!isBypassingCache) {
             if (!isBypassingCacheRead) {
                 info = new CacheFacade().getOrReadInfo(identifier, proc).orElseThrow();
             } else {
-                info = proc.readInfo();
+                info = readInfo(identifier, proc);
                 DerivativeCache cache = CacheFactory.getDerivativeCache().orElse(null);
                 if (cache != null) {
                     cache.put(identifier, info);
@@ -47,12 +74,106 @@ abstract class AbstractRequestHandler {
             info.setIdentifier(identifier);
         } else {
             getLogger().debug("getOrReadInfo(): bypassing the cache, as requested");
-            info = proc.readInfo();
+            info = readInfo(identifier, proc);
             info.setIdentifier(identifier);
         }
         return info;
     }
 
+    /**
+     * Reads the info of a source image directly from a processor, recording
+     * the duration in a Flight Recorder event. (This is also done by {@link
+     * CacheFacade} when it reads one.)
+     */
+    private static Info readInfo(Identifier identifier,
+                                 Processor proc) throws IOException {
+        final InfoReadEvent event = new InfoReadEvent();
+        try (Stage stage = Stage.begin(null)
+                .withEvent(event)
+                .onCommit(() -> {
+                    event.setIdentifier(JFREvents.string(identifier));
+                    event.setProcessor(JFREvents.className(proc));
+                    event.setFormat(JFREvents.string(proc.getSourceFormat()));
+                })) {
+            return proc.readInfo();
+        }
+    }
+
+    /**
+     * Invokes {@link Source#stat()}, recording its duration in the
+     * application metrics, the request trace, and a Flight Recorder event.
+     */
+    StatResult stat(Source source) throws IOException {
+        final SourceFetchEvent event = new SourceFetchEvent();
+        try (Stage stage = beginStage("stat")
+                .withTimer(STAT_TIMERS.get(source.getClass()))
+                .withEvent(event)
+                .onCommit(() -> populateEvent(event, source,
+                        SourceFetchEvent.OPERATION_STAT))) {
+            return source.stat();
+        }
+    }
+
+    /**
+     * Connects the given source to the given processor using a {@link
+     * ProcessorConnector}, recording the duration in the request trace and a
+     * Flight Recorder event.
+     *
+     * @return See {@link ProcessorConnector#connect}.
+     */
+    Future<Path> connect(Source source,
+                         Processor processor,
+                         Identifier identifier,
+                         Format format) throws Exception {
+        final SourceFetchEvent event = new SourceFetchEvent();
+        try (Stage stage = beginStage("connect")
+                .withEvent(event)
+                .onCommit(() -> populateEvent(event, source,
+                        SourceFetchEvent.OPERATION_CONNECT))) {
+            return new ProcessorConnector().connect(
+                    source, processor, identifier, format);
+        }
+    }
+
+    /**
+     * Invokes {@link Iterator#next()} on an iterator obtained from {@link
+     * Source#getFormatIterator()} or the like, which may involve detecting
+     * the format, recording the duration in the request trace and a Flight
+     * Recorder event.
+     */
+    Format nextFormat(Iterator<Format> formatIterator, Source source) {
+        final FormatDetectionEvent event = new FormatDetectionEvent();
+        try (Stage stage = beginStage("format")
+                .withEvent(event)
+                .onCommit(() -> {
+                    event.setIdentifier(JFREvents.string(source.getIdentifier()));
+                    event.setSource(JFREvents.className(source));
+                })) {
+            final Format format = formatIterator.next();
+            event.setFormat(JFREvents.string(format));
+            return format;
+        }
+    }
+
+    private static void populateEvent(SourceFetchEvent event,
+                                      Source source,
+                                      String operation) {
+        event.setIdentifier(JFREvents.string(source.getIdentifier()));
+        event.setSource(JFREvents.className(source));
+        event.setOperation(operation);
+    }
+
+    /**
+     * Begins a stage that is recorded in the {@link RequestContext#getTrace()
+     * trace} of the request, if there is a request context.
+     *
+     * @param name Stage name.
+     */
+    Stage beginStage(String name) {
+        return Stage.begin(name,
+                (requestContext != null) ? requestContext.getTrace() : null);
+    }
+
     boolean isResolvingFirst() {
         return Configuration.getInstance().
                 getBoolean(Key.CACHE_SERVER_RESOLVE_FIRST, true);
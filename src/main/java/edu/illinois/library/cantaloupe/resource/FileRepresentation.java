@@ -0,0 +1,76 @@
+package edu.illinois.library.cantaloupe.resource;
+
+import edu.illinois.library.cantaloupe.util.Stopwatch;
+import org.eclipse.jetty.server.HttpOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>Writes a file directly to the response.</p>
+ *
+ * <p>When the response output stream is Jetty's, the file is handed to it as
+ * a {@link FileChannel}, or, if it is large, as a memory-mapped buffer, so
+ * that its contents are written to the socket from direct memory without
+ * being copied through the heap. Otherwise, it is simply copied to the
+ * response. In either case, the output stream should not be written to
+ * afterwards.</p>
+ *
+ * <p>The file is opened upon construction, so that an instance can't be
+ * obtained for a file that doesn't exist, and closed by {@link
+ * #write(OutputStream)}.</p>
+ *
+ * @since 6.0
+ */
+public class FileRepresentation implements Representation {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(FileRepresentation.class);
+
+    /**
+     * Files at least this large are memory-mapped. Mappings aren't released
+     * until they are garbage-collected, so mapping lots of small files (like
+     * tiles) would tie up a lot of them for little gain.
+     */
+    static final long MIN_MAPPED_SIZE = 1024 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+
+    /**
+     * @param file File to write.
+     * @throws java.nio.file.NoSuchFileException if the file does not exist.
+     */
+    public FileRepresentation(Path file) throws IOException {
+        this.file    = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    @Override
+    public void write(OutputStream outputStream) throws IOException {
+        final Stopwatch watch = new Stopwatch();
+        try (channel) {
+            if (outputStream instanceof HttpOutput) {
+                final HttpOutput httpOutput = (HttpOutput) outputStream;
+                final long size = channel.size();
+                if (size >= MIN_MAPPED_SIZE && size <= Integer.MAX_VALUE) {
+                    httpOutput.sendContent(
+                            channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+                } else {
+                    httpOutput.sendContent(channel);
+                }
+                LOGGER.debug("Sent {} ({} bytes) in {}", file, size, watch);
+            } else {
+                Channels.newInputStream(channel).transferTo(outputStream);
+                LOGGER.debug("Copied {} in {}", file, watch);
+            }
+        }
+    }
+
+}
@@ -6,7 +6,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Path;
 
 /**
  * Handles requests for static files.
@@ -22,11 +24,22 @@ public class FileServlet extends HttpServlet {
 
         final URL resURL = getClass().getResource(pathStr);
         if (resURL != null) {
-            try (InputStream is = new BufferedInputStream(resURL.openStream())) {
-                response.setStatus(200);
-                response.setHeader("Cache-Control", "public, max-age=2592000");
-                response.setHeader("Content-Type", getContentType(pathStr));
-                is.transferTo(response.getOutputStream());
+            response.setStatus(200);
+            response.setHeader("Cache-Control", "public, max-age=2592000");
+            response.setHeader("Content-Type", getContentType(pathStr));
+            if ("file".equals(resURL.getProtocol())) {
+                // The application is running from an exploded directory
+                // rather than a JAR, so the file can be sent directly.
+                try {
+                    new FileRepresentation(Path.of(resURL.toURI()))
+                            .write(response.getOutputStream());
+                } catch (URISyntaxException e) {
+                    throw new IOException(e);
+                }
+            } else {
+                try (InputStream is = new BufferedInputStream(resURL.openStream())) {
+                    is.transferTo(response.getOutputStream());
+                }
             }
         } else {
             response.setStatus(404);
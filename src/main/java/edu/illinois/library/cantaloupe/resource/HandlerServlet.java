@@ -4,6 +4,14 @@ import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.http.Method;
 import edu.illinois.library.cantaloupe.http.Status;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.jfr.JFREvents;
+import edu.illinois.library.cantaloupe.jfr.RequestEvent;
+import edu.illinois.library.cantaloupe.metrics.Counter;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.RequestTrace;
+import edu.illinois.library.cantaloupe.metrics.Stage;
+import edu.illinois.library.cantaloupe.metrics.Timer;
 import edu.illinois.library.cantaloupe.util.Stopwatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,7 +21,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
 
 /**
  * Front-controller Servlet that handles all requests.
@@ -23,6 +33,48 @@ public class HandlerServlet extends HttpServlet {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(HandlerServlet.class);
 
+    private static final Counter RESPONSE_BYTES_COUNTER =
+            MetricRegistry.getInstance().counter(
+                    "cantaloupe_response_bytes_total",
+                    "Bytes written to response bodies.");
+
+    /**
+     * Prefix to remove from resource class names to obtain the values of the
+     * {@literal resource} label of request metrics.
+     */
+    private static final String RESOURCE_PACKAGE_PREFIX =
+            HandlerServlet.class.getPackageName() + ".";
+
+    private static final String REQUEST_TIMER_NAME =
+            "cantaloupe_http_request_duration_seconds";
+    private static final String REQUEST_TIMER_HELP =
+            "Time taken to respond to HTTP requests, by resource.";
+
+    /**
+     * Times requests that no resource could handle.
+     */
+    private static final Timer NO_RESOURCE_REQUEST_TIMER =
+            MetricRegistry.getInstance().timer(
+                    REQUEST_TIMER_NAME, REQUEST_TIMER_HELP, "resource", "none");
+
+    /**
+     * Times requests by resource class.
+     */
+    private static final ClassValue<Timer> REQUEST_TIMERS =
+            new ClassValue<>() {
+                @Override
+                protected Timer computeValue(Class<?> type) {
+                    String resourceName = type.getName();
+                    if (resourceName.startsWith(RESOURCE_PACKAGE_PREFIX)) {
+                        resourceName = resourceName.substring(
+                                RESOURCE_PACKAGE_PREFIX.length());
+                    }
+                    return MetricRegistry.getInstance().timer(
+                            REQUEST_TIMER_NAME, REQUEST_TIMER_HELP,
+                            "resource", resourceName);
+                }
+            };
+
     @Override
     protected void doDelete(HttpServletRequest request,
                             HttpServletResponse response) {
@@ -62,6 +114,14 @@ public class HandlerServlet extends HttpServlet {
     private void handle(HttpServletRequest request,
                         HttpServletResponse response) {
         final Stopwatch requestClock = new Stopwatch();
+        final RequestEvent event = new RequestEvent();
+        // The request as a whole is not a stage of its own trace.
+        final Stage stage = Stage.begin(null, null).withEvent(event);
+        final RequestTrace trace = new RequestTrace();
+        RequestTrace.setCurrent(trace);
+        if (isServerTimingEnabled()) {
+            ServerTimingInterceptor.install(response, trace);
+        }
 
         final String path = getContextRelativePath(
                 request.getRequestURI(), request.getContextPath());
@@ -75,20 +135,20 @@ public class HandlerServlet extends HttpServlet {
                         "No route for path: " + path);
             }
 
-            resource = route.getResource().getDeclaredConstructor().newInstance();
+            resource = route.newResource();
+            resource.getRequestContext().setTrace(trace);
             resource.setPathArguments(route.getPathArguments());
             resource.setRequest(new Request(request));
             resource.setResponse(response);
             resource.doInit();
 
-            final List<Method> supportedMethods =
-                    List.of(resource.getSupportedMethods());
+            final Method[] supportedMethods = resource.getSupportedMethods();
             // If the request method is HEAD and GET is supported
-            if (("HEAD".equals(request.getMethod()) && supportedMethods.contains(Method.GET)) ||
+            if (("HEAD".equals(request.getMethod()) && contains(supportedMethods, Method.GET)) ||
                     // or if the request method is OPTIONS
                     "OPTIONS".equals(request.getMethod()) ||
                     // or if the request method is supported
-                    supportedMethods.contains(Method.valueOf(request.getMethod()))) {
+                    contains(supportedMethods, Method.valueOf(request.getMethod()))) {
                 switch (request.getMethod()) {
                     case "DELETE":
                         resource.doDELETE();
@@ -120,12 +180,98 @@ public class HandlerServlet extends HttpServlet {
             if (resource != null) {
                 resource.destroy();
             }
+            RequestTrace.setCurrent(null);
+            final AbstractResource finalResource = resource;
+            stage.withTimer((resource != null) ?
+                            REQUEST_TIMERS.get(resource.getClass()) :
+                            NO_RESOURCE_REQUEST_TIMER)
+                    .onCommit(() -> populateEvent(
+                            event, finalResource, request, response))
+                    .close();
+            recordResponseBytes(response);
             LOGGER.debug("Responded to {} {} with HTTP {} in {}",
                     request.getMethod(), request.getPathInfo(),
                     response.getStatus(), requestClock);
+            logIfSlow(resource, request, response, trace);
+        }
+    }
+
+    private static void populateEvent(RequestEvent event,
+                                      AbstractResource resource,
+                                      HttpServletRequest request,
+                                      HttpServletResponse response) {
+        event.setMethod(request.getMethod());
+        event.setPath(request.getPathInfo());
+        if (resource != null) {
+            event.setResource(JFREvents.className(resource));
+            event.setIdentifier(JFREvents.string(
+                    resource.getRequestContext().getIdentifier()));
+        }
+        event.setStatus(response.getStatus());
+        if (response instanceof org.eclipse.jetty.server.Response) {
+            event.setBytes(((org.eclipse.jetty.server.Response) response)
+                    .getHttpOutput().getWritten());
         }
     }
 
+    /**
+     * Logs a request at WARN level, along with the breakdown of its {@link
+     * RequestTrace}, if it took longer than {@link
+     * Key#LOG_SLOW_REQUESTS_THRESHOLD}. The parts of the log entry are
+     * structured arguments, so they become fields of Logstash-encoded
+     * entries.
+     *
+     * @param resource Resource that handled the request, or {@code null} if
+     *                 none could.
+     * @param request  Request.
+     * @param response Response.
+     * @param trace    Trace of the request.
+     */
+    private static void logIfSlow(AbstractResource resource,
+                                  HttpServletRequest request,
+                                  HttpServletResponse response,
+                                  RequestTrace trace) {
+        final long thresholdMsec = Configuration.getInstance()
+                .getLong(Key.LOG_SLOW_REQUESTS_THRESHOLD, 0);
+        if (thresholdMsec <= 0) {
+            return;
+        }
+        final long elapsedMsec =
+                TimeUnit.NANOSECONDS.toMillis(trace.getElapsedNanos());
+        if (elapsedMsec < thresholdMsec) {
+            return;
+        }
+        Identifier identifier = null;
+        if (resource != null) {
+            identifier = resource.getRequestContext().getIdentifier();
+        }
+        LOGGER.warn("Slow request: {} {} {} {} {} {}",
+                keyValue("method", request.getMethod()),
+                keyValue("path", request.getPathInfo()),
+                keyValue("identifier", identifier),
+                keyValue("status", response.getStatus()),
+                keyValue("duration_ms", elapsedMsec),
+                keyValue("stages_ms", trace.getStageMillis(), "{}={}"));
+    }
+
+    private static void recordResponseBytes(HttpServletResponse response) {
+        // The bytes written so far include any that are still buffered.
+        if (response instanceof org.eclipse.jetty.server.Response) {
+            RESPONSE_BYTES_COUNTER.increment(
+                    ((org.eclipse.jetty.server.Response) response)
+                            .getHttpOutput().getWritten());
+        }
+    }
+
+    private static boolean contains(Method[] methods, Method method) {
+        for (Method m : methods) {
+            if (m == method) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * @param fullPath    Full URI path including the context path.
      * @param contextPath Context path (path above the application root).
@@ -192,6 +338,11 @@ public class HandlerServlet extends HttpServlet {
         }
     }
 
+    private static boolean isServerTimingEnabled() {
+        Configuration config = Configuration.getInstance();
+        return config.getBoolean(Key.SERVER_TIMING_ENABLED, false);
+    }
+
     private boolean isPrintingStackTraces() {
         Configuration config = Configuration.getInstance();
         return config.getBoolean(Key.PRINT_STACK_TRACE_ON_ERROR_PAGES, false);
@@ -6,6 +6,11 @@ import edu.illinois.library.cantaloupe.cache.DerivativeCache;
 import edu.illinois.library.cantaloupe.image.Dimension;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.jfr.CacheWriteEvent;
+import edu.illinois.library.cantaloupe.jfr.JFREvents;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.Stage;
+import edu.illinois.library.cantaloupe.metrics.Timer;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.processor.FileProcessor;
 import edu.illinois.library.cantaloupe.processor.FormatException;
@@ -14,6 +19,7 @@ import edu.illinois.library.cantaloupe.processor.ProcessorException;
 import edu.illinois.library.cantaloupe.processor.StreamProcessor;
 import edu.illinois.library.cantaloupe.source.StreamFactory;
 import edu.illinois.library.cantaloupe.util.Stopwatch;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.commons.io.output.TeeOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,7 +27,6 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 
@@ -34,6 +39,13 @@ public class ImageRepresentation implements Representation {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(ImageRepresentation.class);
 
+    private static final ClassValue<Timer> PROCESS_TIMERS =
+            MetricRegistry.getInstance().timersByClass(
+                    "cantaloupe_processor_process_duration_seconds",
+                    "Time taken by processors to process images and write " +
+                            "them out.",
+                    "processor");
+
     private final boolean bypassCacheRead, bypassCacheWrite;
     private final Info imageInfo;
     private final OperationList opList;
@@ -89,16 +101,32 @@ public class ImageRepresentation implements Representation {
             final Optional<DerivativeCache> optCache = cacheFacade.getDerivativeCache();
             if (optCache.isPresent()) {
                 DerivativeCache cache = optCache.get();
-                try (InputStream cacheIS = cache.newDerivativeImageInputStream(opList)) {
-                    if (cacheIS != null) {
-                        // The image is available, so write it to the response.
+                try {
+                    // Prefer a file, which can be written to the response
+                    // more efficiently, if the cache can provide one.
+                    final Optional<Path> optCacheFile =
+                            cacheFacade.getDerivativeImageFile(opList);
+                    if (optCacheFile.isPresent()) {
                         final Stopwatch watch = new Stopwatch();
-                        cacheIS.transferTo(responseOS);
+                        new FileRepresentation(optCacheFile.get())
+                                .write(responseOS);
 
-                        LOGGER.debug("Streamed from {} in {}: {}",
+                        LOGGER.debug("Sent from {} in {}: {}",
                                 cache.getClass().getSimpleName(), watch, opList);
                         return;
                     }
+                    try (InputStream cacheIS = cacheFacade.newDerivativeImageInputStream(opList)) {
+                        if (cacheIS != null) {
+                            // The image is available, so write it to the
+                            // response.
+                            final Stopwatch watch = new Stopwatch();
+                            cacheIS.transferTo(responseOS);
+
+                            LOGGER.debug("Streamed from {} in {}: {}",
+                                    cache.getClass().getSimpleName(), watch, opList);
+                            return;
+                        }
+                    }
                 } catch (IOException e) {
                     LOGGER.debug("Error while streaming from {} to the response: {}",
                             cache.getClass().getSimpleName(),
@@ -121,15 +149,32 @@ public class ImageRepresentation implements Representation {
         // finalizer. But, when teeOS is closed, its wrapped streams' close()
         // methods will have been called twice, so it's important that these
         // two streams' close() methods can deal with that.
+        //
+        // Begun when the write to the cache is being completed.
+        Stage cacheWriteStage = null;
+        // Closed, and therefore recorded, only if there is a cache write.
+        final CacheWriteEvent event = new CacheWriteEvent();
+        final Stage eventStage = Stage.begin(null).withEvent(event);
+        // Counts the bytes written to the cache, but only if the event will
+        // need them.
+        CountingOutputStream countingOS = null;
+        boolean isCacheWriteComplete = false;
         try (CompletableOutputStream cacheOS =
                      cacheFacade.newDerivativeImageOutputStream(opList)) {
             if (cacheOS != null) {
-                OutputStream teeOS = new TeeOutputStream(responseOS, cacheOS);
+                OutputStream cacheSideOS = cacheOS;
+                if (event.isEnabled()) {
+                    countingOS  = new CountingOutputStream(cacheOS);
+                    cacheSideOS = countingOS;
+                }
+                OutputStream teeOS = new TeeOutputStream(responseOS, cacheSideOS);
                 LOGGER.debug("Writing to the response & derivative " +
                         "cache simultaneously");
                 copyOrProcess(teeOS);
+                cacheWriteStage = Stage.begin("cache_write");
                 cacheOS.flush();
                 cacheOS.setComplete(true);
+                isCacheWriteComplete = true;
             } else {
                 copyOrProcess(responseOS);
             }
@@ -145,6 +190,23 @@ public class ImageRepresentation implements Representation {
         } catch (Throwable t) {
             LOGGER.error("write(): {}", t.getMessage(), t);
             throw t;
+        } finally {
+            // Closing cacheOS may take longer than writing to it.
+            if (cacheWriteStage != null) {
+                cacheWriteStage.close();
+            }
+            if (countingOS != null) {
+                final CountingOutputStream finalCountingOS = countingOS;
+                final boolean isComplete = isCacheWriteComplete;
+                eventStage.onCommit(() -> {
+                    event.setIdentifier(JFREvents.string(opList.getIdentifier()));
+                    event.setCache(JFREvents.className(
+                            cacheFacade.getDerivativeCache().orElse(null)));
+                    event.setType(CacheWriteEvent.TYPE_DERIVATIVE);
+                    event.setBytes(finalCountingOS.getByteCount());
+                    event.setComplete(isComplete);
+                }).close();
+            }
         }
     }
 
@@ -179,19 +241,21 @@ public class ImageRepresentation implements Representation {
         boolean done = false;
         final Stopwatch watch = new Stopwatch();
 
-        if (processor instanceof FileProcessor) {
-            Path sourceFile = ((FileProcessor) processor).getSourceFile();
-            if (sourceFile != null) {
-                Files.copy(sourceFile, responseOS);
-                done = true;
+        try (Stage stage = Stage.begin("copy")) {
+            if (processor instanceof FileProcessor) {
+                Path sourceFile = ((FileProcessor) processor).getSourceFile();
+                if (sourceFile != null) {
+                    new FileRepresentation(sourceFile).write(responseOS);
+                    done = true;
+                }
             }
-        }
-        if (!done && processor instanceof StreamProcessor) {
-            StreamFactory streamFactory =
-                    ((StreamProcessor) processor).getStreamFactory();
-            if (streamFactory != null) {
-                try (InputStream sourceIS = streamFactory.newInputStream()) {
-                    sourceIS.transferTo(responseOS);
+            if (!done && processor instanceof StreamProcessor) {
+                StreamFactory streamFactory =
+                        ((StreamProcessor) processor).getStreamFactory();
+                if (streamFactory != null) {
+                    try (InputStream sourceIS = streamFactory.newInputStream()) {
+                        sourceIS.transferTo(responseOS);
+                    }
                 }
             }
         }
@@ -202,7 +266,10 @@ public class ImageRepresentation implements Representation {
             throws FormatException, ProcessorException {
         final Stopwatch watch = new Stopwatch();
 
-        processor.process(opList, imageInfo, outputStream);
+        try (Stage stage = Stage.begin("process")
+                .withTimer(PROCESS_TIMERS.get(processor.getClass()))) {
+            processor.process(opList, imageInfo, outputStream);
+        }
 
         LOGGER.debug("{} processed in {}: {}",
                 processor.getClass().getSimpleName(), watch, opList);
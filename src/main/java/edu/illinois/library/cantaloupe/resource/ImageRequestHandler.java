@@ -9,9 +9,11 @@ import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.image.MediaType;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.Stage;
+import edu.illinois.library.cantaloupe.metrics.Timer;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.processor.Processor;
-import edu.illinois.library.cantaloupe.processor.ProcessorConnector;
 import edu.illinois.library.cantaloupe.processor.ProcessorFactory;
 import edu.illinois.library.cantaloupe.processor.SourceFormatException;
 import edu.illinois.library.cantaloupe.delegate.DelegateProxy;
@@ -229,6 +231,11 @@ public class ImageRequestHandler extends AbstractRequestHandler
     private static final Logger LOGGER =
             LoggerFactory.getLogger(ImageRequestHandler.class);
 
+    private static final Timer TIMER = MetricRegistry.getInstance().timer(
+            "cantaloupe_image_request_duration_seconds",
+            "Time taken to handle image requests, including writing the " +
+                    "image to the response.");
+
     // No-op callback to avoid having to check for one.
     private Callback callback = new Callback() {
         @Override
@@ -293,6 +300,12 @@ public class ImageRequestHandler extends AbstractRequestHandler
      *                     closed.
      */
     public void handle(OutputStream outputStream) throws Exception {
+        try (Stage stage = Stage.begin(null).withTimer(TIMER)) {
+            doHandle(outputStream);
+        }
+    }
+
+    private void doHandle(OutputStream outputStream) throws Exception {
         if (!callback.preAuthorize()) {
             return;
         }
@@ -303,6 +316,10 @@ public class ImageRequestHandler extends AbstractRequestHandler
 
         Iterator<Format> formatIterator = Collections.emptyIterator();
         boolean isFormatKnownYet = false;
+        // Whether the derivative cache has already been checked for an image
+        // matching the request, in which case ImageRepresentation shouldn't
+        // check (and count a miss) again.
+        boolean isDerivativeCacheChecked = false;
 
         // If we are using a cache, and don't need to resolve first:
         // 1. If the cache contains an image matching the request, skip all the
@@ -310,24 +327,41 @@ public class ImageRequestHandler extends AbstractRequestHandler
         // 2. Otherwise, if the cache contains a relevant info, get it to avoid
         //    having to get it from a source later.
         if (!isBypassingCache && !isBypassingCacheRead && !isResolvingFirst()) {
+            final Stage cacheReadStage = beginStage("cache_read");
             final Optional<Info> optInfo = cacheFacade.getInfo(identifier);
             if (optInfo.isPresent()) {
                 Info info = optInfo.get();
                 operationList.applyNonEndpointMutations(info, delegateProxy);
 
-                InputStream cacheStream = null;
+                Representation cacheRepresentation = null;
                 try {
-                    cacheStream = cacheFacade.newDerivativeImageInputStream(operationList);
+                    // Prefer a file, which can be written to the response
+                    // more efficiently, if the cache can provide one.
+                    final Optional<Path> optCacheFile =
+                            cacheFacade.getDerivativeImageFile(operationList);
+                    if (optCacheFile.isPresent()) {
+                        cacheRepresentation =
+                                new FileRepresentation(optCacheFile.get());
+                    } else {
+                        InputStream cacheStream =
+                                cacheFacade.newDerivativeImageInputStream(operationList);
+                        if (cacheStream != null) {
+                            cacheRepresentation =
+                                    new InputStreamRepresentation(cacheStream);
+                        }
+                    }
                 } catch (IOException e) {
                     // Don't rethrow -- it's still possible to service the
                     // request.
                     LOGGER.error(e.getMessage());
                 }
+                isDerivativeCacheChecked = true;
+                cacheReadStage.close();
 
-                if (cacheStream != null) {
+                if (cacheRepresentation != null) {
                     callback.infoAvailable(info);
                     callback.willStreamImageFromDerivativeCache();
-                    new InputStreamRepresentation(cacheStream).write(outputStream);
+                    cacheRepresentation.write(outputStream);
                     return;
                 } else {
                     Format infoFormat = info.getSourceFormat();
@@ -336,6 +370,8 @@ public class ImageRequestHandler extends AbstractRequestHandler
                         isFormatKnownYet = true;
                     }
                 }
+            } else {
+                cacheReadStage.close();
             }
         }
 
@@ -348,7 +384,7 @@ public class ImageRequestHandler extends AbstractRequestHandler
         final Optional<Path> sourceImage = cacheFacade.getSourceCacheFile(identifier);
         if (sourceImage.isEmpty() || isResolvingFirst()) {
             try {
-                StatResult result = source.stat();
+                StatResult result = stat(source);
                 callback.sourceAccessed(result);
             } catch (NoSuchFileException e) { // this needs to be rethrown!
                 if (config.getBoolean(Key.CACHE_SERVER_PURGE_MISSING, false)) {
@@ -359,6 +395,7 @@ public class ImageRequestHandler extends AbstractRequestHandler
             }
         }
 
+        final Stage formatStage = beginStage("format");
         if (!isFormatKnownYet) {
             // If we are not resolving first, and there is a hit in the source
             // cache, read the format from the source-cached-file, as we expect
@@ -377,16 +414,18 @@ public class ImageRequestHandler extends AbstractRequestHandler
                 formatIterator = source.getFormatIterator();
             }
         }
+        formatStage.close();
 
         while (formatIterator.hasNext()) {
-            final Format format = formatIterator.next();
+            // Sources may not detect the format until it's needed.
+            final Format format = nextFormat(formatIterator, source);
             // Obtain an instance of the processor assigned to this format.
             String processorName = "unknown processor";
             try (Processor processor = new ProcessorFactory().newProcessor(format)) {
                 processorName = processor.getClass().getSimpleName();
 
                 // Connect it to the source.
-                tempFileFuture = new ProcessorConnector().connect(
+                tempFileFuture = connect(
                         source, processor, identifier, format);
 
                 final Info info = getOrReadInfo(
@@ -415,9 +454,13 @@ public class ImageRequestHandler extends AbstractRequestHandler
                 callback.willProcessImage(processor, info);
 
                 new ImageRepresentation(info, processor, operationList,
-                        isBypassingCacheRead, isBypassingCache)
+                        isBypassingCacheRead || isDerivativeCacheChecked,
+                        isBypassingCache)
                         .write(outputStream);
 
+                // Let the source know that the format was correct, so that it
+                // can skip straight to it next time.
+                source.confirmFormat(format);
                 // Notify the health checker of a successful response.
                 HealthChecker.addSourceUsage(source);
                 return;
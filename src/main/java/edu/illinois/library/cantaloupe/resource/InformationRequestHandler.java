@@ -7,8 +7,10 @@ import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
 import edu.illinois.library.cantaloupe.image.MediaType;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.Stage;
+import edu.illinois.library.cantaloupe.metrics.Timer;
 import edu.illinois.library.cantaloupe.processor.Processor;
-import edu.illinois.library.cantaloupe.processor.ProcessorConnector;
 import edu.illinois.library.cantaloupe.processor.ProcessorFactory;
 import edu.illinois.library.cantaloupe.processor.SourceFormatException;
 import edu.illinois.library.cantaloupe.delegate.DelegateProxy;
@@ -169,6 +171,10 @@ public class InformationRequestHandler extends AbstractRequestHandler
     private static final Logger LOGGER =
             LoggerFactory.getLogger(InformationRequestHandler.class);
 
+    private static final Timer TIMER = MetricRegistry.getInstance().timer(
+            "cantaloupe_information_request_duration_seconds",
+            "Time taken to obtain infos for information requests.");
+
     // No-op callback to avoid having to check for one.
     private InformationRequestHandler.Callback callback = new Callback() {
         @Override
@@ -221,6 +227,12 @@ public class InformationRequestHandler extends AbstractRequestHandler
      * Handles an information request.
      */
     public Info handle() throws Exception {
+        try (Stage stage = Stage.begin(null).withTimer(TIMER)) {
+            return doHandle();
+        }
+    }
+
+    private Info doHandle() throws Exception {
         if (!callback.authorize()) {
             return null;
         }
@@ -234,7 +246,10 @@ public class InformationRequestHandler extends AbstractRequestHandler
         if (!isBypassingCache && !isBypassingCacheRead &&
                 !isResolvingFirst()) {
             try {
-                Optional<Info> optInfo = cacheFacade.getInfo(identifier);
+                final Optional<Info> optInfo;
+                try (Stage stage = beginStage("cache_read")) {
+                    optInfo = cacheFacade.getInfo(identifier);
+                }
                 if (optInfo.isPresent()) {
                     final Info info = optInfo.get();
                     // The source format will be null or UNKNOWN if the info was
@@ -260,7 +275,7 @@ public class InformationRequestHandler extends AbstractRequestHandler
         final Optional<Path> optSrcImage = cacheFacade.getSourceCacheFile(identifier);
         if (optSrcImage.isEmpty() || isResolvingFirst()) {
             try {
-                StatResult result = source.stat();
+                StatResult result = stat(source);
                 callback.sourceAccessed(result);
             } catch (NoSuchFileException e) { // this needs to be rethrown!
                 if (config.getBoolean(Key.CACHE_SERVER_PURGE_MISSING, false)) {
@@ -276,6 +291,7 @@ public class InformationRequestHandler extends AbstractRequestHandler
         // cache, read the format from the source-cached-file, as we will
         // expect source cache access to be more efficient.
         // Otherwise, read it from the source.
+        final Stage formatStage = beginStage("format");
         Iterator<Format> formatIterator = Collections.emptyIterator();
         if (!isResolvingFirst() && optSrcImage.isPresent()) {
             List<MediaType> mediaTypes = MediaType.detectMediaTypes(optSrcImage.get());
@@ -288,19 +304,24 @@ public class InformationRequestHandler extends AbstractRequestHandler
         } else {
             formatIterator = source.getFormatIterator();
         }
+        formatStage.close();
 
         while (formatIterator.hasNext()) {
-            final Format format = formatIterator.next();
+            // Sources may not detect the format until it's needed.
+            final Format format = nextFormat(formatIterator, source);
             // Obtain an instance of the processor assigned to this format.
             String processorName = "unknown processor";
             try (Processor processor = new ProcessorFactory().newProcessor(format)) {
                 processorName = processor.getClass().getSimpleName();
                 // Connect it to the source.
-                tempFileFuture = new ProcessorConnector().connect(
+                tempFileFuture = connect(
                         source, processor, identifier, format);
                 callback.knowAvailableOutputFormats(
                         processor.getAvailableOutputFormats());
                 Info info = getOrReadInfo(identifier, processor);
+                // Let the source know that the format was correct, so that it
+                // can skip straight to it next time.
+                source.confirmFormat(format);
                 setRequestContextKeys(info);
                 return info;
             } catch (SourceFormatException e) {
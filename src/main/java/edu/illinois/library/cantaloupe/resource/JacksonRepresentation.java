@@ -2,12 +2,12 @@ package edu.illinois.library.cantaloupe.resource;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -15,30 +15,28 @@ import java.util.Map;
  */
 public class JacksonRepresentation implements Representation {
 
-    private Object toWrite;
-
-    public JacksonRepresentation(Object toWrite) {
-        this.toWrite = toWrite;
-    }
+    private static final ObjectMapper MAPPER = newMapper();
 
-    @Override
-    public void write(OutputStream outputStream) throws IOException {
-        // Serialize dates as ISO-8601 strings rather than timestamps.
-        Map<SerializationFeature,Boolean> features = new HashMap<>();
-        features.put(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+    /**
+     * Serializes dates as ISO-8601 strings rather than timestamps.
+     */
+    private static final ObjectWriter DEFAULT_WRITER = MAPPER.writer()
+            .without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
-        write(outputStream, features);
-    }
+    private Object toWrite;
 
-    public void write(OutputStream outputStream,
-                      Map<SerializationFeature,Boolean> serializationFeatures) throws IOException {
+    /**
+     * {@link ObjectMapper}s are expensive to create, so a single shared one
+     * is used for all instances. It must not be reconfigured after this
+     * method returns; per-call features are applied to (cheap, immutable)
+     * {@link ObjectWriter}s instead.
+     */
+    private static ObjectMapper newMapper() {
         ObjectMapper mapper = new ObjectMapper();
         // Make ObjectMapper aware of JDK8 date/time objects
         // See: https://github.com/FasterXML/jackson-modules-java8
         mapper.registerModule(new JavaTimeModule());
 
-        serializationFeatures.forEach(mapper::configure);
-
         // Add a config override to omit keys with empty or null values.
         //
         // (It would be better not to do this, and to instead use @JsonInclude
@@ -54,7 +52,27 @@ public class JacksonRepresentation implements Representation {
         // present with an empty list."
         mapper.configOverride(Object.class).setInclude(
                 JsonInclude.Value.construct(JsonInclude.Include.NON_EMPTY, null));
-        mapper.writer().writeValue(outputStream, toWrite);
+        return mapper;
+    }
+
+    public JacksonRepresentation(Object toWrite) {
+        this.toWrite = toWrite;
+    }
+
+    @Override
+    public void write(OutputStream outputStream) throws IOException {
+        DEFAULT_WRITER.writeValue(outputStream, toWrite);
+    }
+
+    public void write(OutputStream outputStream,
+                      Map<SerializationFeature,Boolean> serializationFeatures) throws IOException {
+        ObjectWriter writer = MAPPER.writer();
+        for (Map.Entry<SerializationFeature,Boolean> entry :
+                serializationFeatures.entrySet()) {
+            writer = entry.getValue() ?
+                    writer.with(entry.getKey()) : writer.without(entry.getKey());
+        }
+        writer.writeValue(outputStream, toWrite);
     }
 
 }
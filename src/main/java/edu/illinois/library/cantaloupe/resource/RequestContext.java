@@ -7,6 +7,7 @@ import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Metadata;
 import edu.illinois.library.cantaloupe.image.ScaleConstraint;
+import edu.illinois.library.cantaloupe.metrics.RequestTrace;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.delegate.JavaContext;
 
@@ -22,6 +23,9 @@ import java.util.Map;
  * <p>Developer note: this class' properties need to be kept in sync with
  * {@link JavaContext}.</p>
  *
+ * <p>The {@link #getTrace() trace} is an exception to the above: it is for
+ * internal use and is not exposed to the delegate.</p>
+ *
  * @see RequestContextMap
  */
 public final class RequestContext {
@@ -40,6 +44,7 @@ public final class RequestContext {
     private Reference requestURI;
     private Dimension resultingSize;
     private ScaleConstraint scaleConstraint;
+    private RequestTrace trace = new RequestTrace();
 
     public String getClientIP() {
         return clientIPAddress;
@@ -97,6 +102,14 @@ public final class RequestContext {
         return scaleConstraint;
     }
 
+    /**
+     * @return Trace of the request. Never {@code null}.
+     * @since 6.0
+     */
+    public RequestTrace getTrace() {
+        return trace;
+    }
+
     /**
      * @param clientIP May be {@code null}.
      */
@@ -205,6 +218,14 @@ public final class RequestContext {
         this.scaleConstraint = scaleConstraint;
     }
 
+    /**
+     * @param trace Trace of the request. Must not be {@code null}.
+     * @since 6.0
+     */
+    public void setTrace(RequestTrace trace) {
+        this.trace = trace;
+    }
+
     /**
      * @return New instance backed by this instance.
      */
@@ -1,6 +1,8 @@
 package edu.illinois.library.cantaloupe.resource;
 
+import java.lang.reflect.Constructor;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -8,8 +10,16 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Associates a URI path pattern with an {@link AbstractResource}
- * implementation.
+ * <p>Associates a URI path pattern with an {@link AbstractResource}
+ * implementation.</p>
+ *
+ * <p>Most routes are expressed as templates, which are compiled into a trie
+ * keyed by literal path segments (e.g. {@code iiif} &rarr; {@code 3}), each
+ * of whose nodes holds the variable parts of its routes keyed by segment
+ * count. This enables a path to be dispatched by walking a couple of hash
+ * maps and inspecting a handful of segments. Routes that can't be expressed
+ * as templates are expressed as regexes, which are tried only when no
+ * template matches.</p>
  *
  * @since 4.1
  */
@@ -23,95 +33,327 @@ public final class Route {
     public static final String IIIF_1_PATH        = "/iiif/1";
     public static final String IIIF_2_PATH        = "/iiif/2";
     public static final String IIIF_3_PATH        = "/iiif/3";
+    public static final String METRICS_PATH       = "/metrics";
     public static final String STATUS_PATH        = "/status";
     public static final String TASKS_PATH         = "/tasks";
 
     /**
+     * Type of a {@link Template} path segment.
+     */
+    private enum SegmentType {
+
+        /**
+         * Literal segment, which matches only itself.
+         */
+        LITERAL,
+
+        /**
+         * Equivalent to {@code ([^/]+)}.
+         */
+        ANY,
+
+        /**
+         * Equivalent to {@code ([^/]+)\.([^/]+)}, i.e. split at the last
+         * dot that is followed by at least one character.
+         */
+        ANY_WITH_EXTENSION,
+
+        /**
+         * Equivalent to {@code ([^/.]+)}.
+         */
+        NO_DOT,
+
+        /**
+         * Equivalent to {@code ([^/.]+)\.([^/]+)}, i.e. split at the first
+         * dot.
+         */
+        NO_DOT_WITH_EXTENSION
+
+    }
+
+    /**
+     * Variable part of a route, following the literal prefix that leads to
+     * the {@link Node} it is attached to.
+     */
+    private static final class Template {
+
+        private final SegmentType[] types;
+        private final String[] literals;
+        private final Constructor<? extends AbstractResource> constructor;
+
+        private Template(SegmentType[] types,
+                         String[] literals,
+                         Constructor<? extends AbstractResource> constructor) {
+            this.types       = types;
+            this.literals    = literals;
+            this.constructor = constructor;
+        }
+
+        /**
+         * @param segments All path segments.
+         * @param offset   Index of the first segment following the literal
+         *                 prefix.
+         * @return         Matching route, or {@code null} if the segments
+         *                 don't match.
+         */
+        private Route match(String[] segments, int offset) {
+            final Route route = new Route(constructor);
+            for (int i = 0; i < types.length; i++) {
+                final String segment = segments[offset + i];
+                switch (types[i]) {
+                    case LITERAL:
+                        if (!segment.equals(literals[i])) {
+                            return null;
+                        }
+                        break;
+                    case ANY:
+                        if (segment.isEmpty()) {
+                            return null;
+                        }
+                        route.pathArguments.add(segment);
+                        break;
+                    case ANY_WITH_EXTENSION: {
+                        final int dot = segment.lastIndexOf('.', segment.length() - 2);
+                        if (dot < 1) {
+                            return null;
+                        }
+                        route.pathArguments.add(segment.substring(0, dot));
+                        route.pathArguments.add(segment.substring(dot + 1));
+                        break;
+                    }
+                    case NO_DOT:
+                        if (segment.isEmpty() || segment.indexOf('.') >= 0) {
+                            return null;
+                        }
+                        route.pathArguments.add(segment);
+                        break;
+                    case NO_DOT_WITH_EXTENSION: {
+                        final int dot = segment.indexOf('.');
+                        if (dot < 1 || dot == segment.length() - 1) {
+                            return null;
+                        }
+                        route.pathArguments.add(segment.substring(0, dot));
+                        route.pathArguments.add(segment.substring(dot + 1));
+                        break;
+                    }
+                }
+            }
+            return route;
+        }
+
+    }
+
+    /**
+     * Node in the routing trie, corresponding to a literal path prefix.
+     */
+    private static final class Node {
+
+        private final Map<String,Node> children = new HashMap<>();
+
+        /**
+         * Templates of routes whose literal prefix ends at this node, keyed
+         * by their segment count. Templates with the same segment count are
+         * tried in order of registration.
+         */
+        private final Map<Integer,List<Template>> templates = new HashMap<>();
+
+    }
+
+    /**
+     * Root of the routing trie, through which most requests are dispatched
+     * without any regex matching.
+     */
+    private static final Node ROOT = new Node();
+
+    /**
+     * Routes that can't be expressed as {@link Template templates}, which are
+     * tried in order, and only if no templated route matches.
+     *
      * N.B.: the {@link LinkedHashMap} preserves order as each mapping will be
      * checked sequentially and the first match used.
      */
-    private static final Map<Pattern,Class<? extends AbstractResource>> MAPPINGS =
+    private static final Map<Pattern,Constructor<? extends AbstractResource>> PATTERNS =
             new LinkedHashMap<>();
 
-    private Class<? extends AbstractResource> resource;
-    private final List<String> pathArguments = new ArrayList<>();
+    private final Constructor<? extends AbstractResource> constructor;
+    private final List<String> pathArguments = new ArrayList<>(6);
 
     static {
+        // N.B.: In templates, "{}" is a variable segment; "{}.{}" is a
+        // variable segment with an extension; "{nodot}" is a variable segment
+        // that can't contain dots; and anything else is literal.
+        add("", LandingResource.class);
+        add("/", LandingResource.class);
         // N.B.: Regex groups are used to extract the URI path arguments.
-        MAPPINGS.put(Pattern.compile("\\A\\z"),
-                LandingResource.class);
-        MAPPINGS.put(Pattern.compile("^/$"),
-                LandingResource.class);
-        MAPPINGS.put(Pattern.compile("/$"),
+        addPattern(Pattern.compile("/$"),
                 TrailingSlashRemovingResource.class);
 
         // IIIF Image API v3 routes
-        MAPPINGS.put(Pattern.compile("^" + IIIF_3_PATH + "$"),
+        add(IIIF_3_PATH,
                 edu.illinois.library.cantaloupe.resource.iiif.v3.LandingResource.class);
-        MAPPINGS.put(Pattern.compile("^" + IIIF_3_PATH + "/([^/]+)/info\\.json$"),
+        add(IIIF_3_PATH + "/{}/info.json",
                 edu.illinois.library.cantaloupe.resource.iiif.v3.InformationResource.class);
-        MAPPINGS.put(Pattern.compile("^" + IIIF_3_PATH + "/([^/]+)$"),
+        add(IIIF_3_PATH + "/{}",
                 edu.illinois.library.cantaloupe.resource.iiif.v3.IdentifierResource.class);
-        MAPPINGS.put(Pattern.compile("^" + IIIF_3_PATH + "/([^/]+)/([^/]+)/([^/]+)/([^/]+)/([^/]+)\\.([^/]+)$"),
+        add(IIIF_3_PATH + "/{}/{}/{}/{}/{}.{}",
                 edu.illinois.library.cantaloupe.resource.iiif.v3.ImageResource.class);
 
         // IIIF Image API v2 routes
-        MAPPINGS.put(Pattern.compile("^" + IIIF_2_PATH + "$"),
+        add(IIIF_2_PATH,
                 edu.illinois.library.cantaloupe.resource.iiif.v2.LandingResource.class);
-        MAPPINGS.put(Pattern.compile("^" + IIIF_2_PATH + "/([^/]+)/info\\.json$"),
+        add(IIIF_2_PATH + "/{}/info.json",
                 edu.illinois.library.cantaloupe.resource.iiif.v2.InformationResource.class);
-        MAPPINGS.put(Pattern.compile("^" + IIIF_2_PATH + "/([^/]+)$"),
+        add(IIIF_2_PATH + "/{}",
                 edu.illinois.library.cantaloupe.resource.iiif.v2.IdentifierResource.class);
-        MAPPINGS.put(Pattern.compile("^" + IIIF_2_PATH + "/([^/]+)/([^/]+)/([^/]+)/([^/]+)/([^/]+)\\.([^/]+)$"),
+        add(IIIF_2_PATH + "/{}/{}/{}/{}/{}.{}",
                 edu.illinois.library.cantaloupe.resource.iiif.v2.ImageResource.class);
 
         // IIIF Image API v1 routes
-        MAPPINGS.put(Pattern.compile("^" + IIIF_1_PATH + "$"),
+        add(IIIF_1_PATH,
                 edu.illinois.library.cantaloupe.resource.iiif.v1.LandingResource.class);
-        MAPPINGS.put(Pattern.compile("^" + IIIF_1_PATH + "/([^/]+)/info\\.json$"),
+        add(IIIF_1_PATH + "/{}/info.json",
                 edu.illinois.library.cantaloupe.resource.iiif.v1.InformationResource.class);
-        MAPPINGS.put(Pattern.compile("^" + IIIF_1_PATH + "/([^/]+)$"),
+        add(IIIF_1_PATH + "/{}",
                 edu.illinois.library.cantaloupe.resource.iiif.v1.IdentifierResource.class);
-        MAPPINGS.put(Pattern.compile("^" + IIIF_1_PATH + "/([^/]+)/([^/]+)/([^/]+)/([^/]+)/([^/.]+)$"),
+        add(IIIF_1_PATH + "/{}/{}/{}/{}/{nodot}",
                 edu.illinois.library.cantaloupe.resource.iiif.v1.ImageResource.class);
-        MAPPINGS.put(Pattern.compile("^" + IIIF_1_PATH + "/([^/]+)/([^/]+)/([^/]+)/([^/]+)/([^/.]+)\\.([^/]+)$"),
+        add(IIIF_1_PATH + "/{}/{}/{}/{}/{nodot}.{}",
                 edu.illinois.library.cantaloupe.resource.iiif.v1.ImageResource.class);
 
         // Control Panel routes
-        MAPPINGS.put(Pattern.compile("^" + ADMIN_CONFIG_PATH + "$"),
+        add(ADMIN_CONFIG_PATH,
                 edu.illinois.library.cantaloupe.resource.admin.ConfigurationResource.class);
-        MAPPINGS.put(Pattern.compile("^" + ADMIN_PATH + "$"),
+        add(ADMIN_PATH,
                 edu.illinois.library.cantaloupe.resource.admin.AdminResource.class);
-        MAPPINGS.put(Pattern.compile("^" + ADMIN_STATUS_PATH + "$"),
+        add(ADMIN_STATUS_PATH,
                 edu.illinois.library.cantaloupe.resource.admin.StatusResource.class);
 
         // API routes
-        MAPPINGS.put(Pattern.compile("^" + CONFIGURATION_PATH + "$"),
+        add(CONFIGURATION_PATH,
                 edu.illinois.library.cantaloupe.resource.api.ConfigurationResource.class);
-        MAPPINGS.put(Pattern.compile("^" + HEALTH_PATH + "$"),
+        add(HEALTH_PATH,
                 edu.illinois.library.cantaloupe.resource.health.HealthResource.class);
-        MAPPINGS.put(Pattern.compile("^" + STATUS_PATH + "$"),
+        add(METRICS_PATH,
+                edu.illinois.library.cantaloupe.resource.metrics.MetricsResource.class);
+        add(STATUS_PATH,
                 edu.illinois.library.cantaloupe.resource.api.StatusResource.class);
-        MAPPINGS.put(Pattern.compile("^" + TASKS_PATH + "$"),
+        add(TASKS_PATH,
                 edu.illinois.library.cantaloupe.resource.api.TasksResource.class);
-        MAPPINGS.put(Pattern.compile("^" + TASKS_PATH + "/([^/]+)$"),
+        add(TASKS_PATH + "/{}",
                 edu.illinois.library.cantaloupe.resource.api.TaskResource.class);
     }
 
+    /**
+     * Adds a templated route to the trie. The template's leading literal
+     * segments become trie nodes, and the rest become a {@link Template}.
+     */
+    private static void add(String template,
+                            Class<? extends AbstractResource> resource) {
+        final String[] segments = split(template);
+        Node node = ROOT;
+        int i = 0;
+        for (; i < segments.length && !segments[i].startsWith("{"); i++) {
+            node = node.children.computeIfAbsent(segments[i], k -> new Node());
+        }
+        final int numVariableSegments = segments.length - i;
+        final SegmentType[] types     = new SegmentType[numVariableSegments];
+        final String[] literals       = new String[numVariableSegments];
+        for (int j = 0; j < numVariableSegments; j++) {
+            final String segment = segments[i + j];
+            switch (segment) {
+                case "{}":
+                    types[j] = SegmentType.ANY;
+                    break;
+                case "{}.{}":
+                    types[j] = SegmentType.ANY_WITH_EXTENSION;
+                    break;
+                case "{nodot}":
+                    types[j] = SegmentType.NO_DOT;
+                    break;
+                case "{nodot}.{}":
+                    types[j] = SegmentType.NO_DOT_WITH_EXTENSION;
+                    break;
+                default:
+                    types[j]    = SegmentType.LITERAL;
+                    literals[j] = segment;
+                    break;
+            }
+        }
+        node.templates
+                .computeIfAbsent(numVariableSegments, k -> new ArrayList<>(2))
+                .add(new Template(types, literals, getConstructor(resource)));
+    }
+
+    private static void addPattern(Pattern pattern,
+                                   Class<? extends AbstractResource> resource) {
+        PATTERNS.put(pattern, getConstructor(resource));
+    }
+
+    private static Constructor<? extends AbstractResource> getConstructor(
+            Class<? extends AbstractResource> resource) {
+        try {
+            return resource.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(resource.getName() +
+                    " has no no-argument constructor", e);
+        }
+    }
+
+    /**
+     * Splits a path into segments. The empty path has no segments, and any
+     * other path has an initial empty segment for the root if it starts with
+     * a slash.
+     */
+    private static String[] split(String path) {
+        if (path.isEmpty()) {
+            return new String[0];
+        }
+        return path.split("/", -1);
+    }
+
     /**
      * @param path URI path relative to the context path.
      * @return     Route corresponding to the given path, or {@code null} if
      *             there is no match.
      */
     static Route forPath(String path) {
-        for (var entry : MAPPINGS.entrySet()) {
-            final Pattern pattern = entry.getKey();
-            final Matcher matcher = pattern.matcher(path);
+        // No templated route ends with a slash, so don't bother looking for
+        // one. (This excludes "/" itself, which is a templated route.)
+        if (path.length() < 2 || path.charAt(path.length() - 1) != '/') {
+            final String[] segments = split(path);
+            // Walk down the trie as far as the literal segments go, noting
+            // the deepest node at each level, and try the templates of each
+            // node from the deepest up.
+            final Node[] nodes = new Node[segments.length + 1];
+            Node node = ROOT;
+            int depth = 0;
+            nodes[0] = node;
+            while (depth < segments.length) {
+                node = node.children.get(segments[depth]);
+                if (node == null) {
+                    break;
+                }
+                nodes[++depth] = node;
+            }
+            for (int d = depth; d >= 0; d--) {
+                final List<Template> templates =
+                        nodes[d].templates.get(segments.length - d);
+                if (templates != null) {
+                    for (Template template : templates) {
+                        final Route route = template.match(segments, d);
+                        if (route != null) {
+                            return route;
+                        }
+                    }
+                }
+            }
+        }
+        for (var entry : PATTERNS.entrySet()) {
+            final Matcher matcher = entry.getKey().matcher(path);
             if (matcher.find()) {
-                final Route route = new Route();
-                route.setResource(entry.getValue());
+                final Route route = new Route(entry.getValue());
                 for (int i = 1; i <= matcher.groupCount(); i++) {
-                    route.getPathArguments().add(matcher.group(i));
+                    route.pathArguments.add(matcher.group(i));
                 }
                 return route;
             }
@@ -119,6 +361,10 @@ public final class Route {
         return null;
     }
 
+    private Route(Constructor<? extends AbstractResource> constructor) {
+        this.constructor = constructor;
+    }
+
     /**
      * <p>Returns a list of non-decoded URI path components that are considered
      * arguments, as extracted from the string argument to {@link
@@ -134,11 +380,16 @@ public final class Route {
      * @return Resource the instance "connects" to.
      */
     Class<? extends AbstractResource> getResource() {
-        return resource;
+        return constructor.getDeclaringClass();
     }
 
-    void setResource(Class<? extends AbstractResource> resource) {
-        this.resource = resource;
+    /**
+     * @return New instance of the {@link #getResource() resource}, created
+     *         using a constructor that is looked up only once.
+     * @since 6.0
+     */
+    AbstractResource newResource() throws ReflectiveOperationException {
+        return constructor.newInstance();
     }
 
 }
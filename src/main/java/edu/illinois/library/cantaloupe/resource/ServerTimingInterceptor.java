@@ -0,0 +1,75 @@
+package edu.illinois.library.cantaloupe.resource;
+
+import edu.illinois.library.cantaloupe.metrics.RequestTrace;
+import org.eclipse.jetty.server.HttpOutput;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.util.Callback;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.ByteBuffer;
+
+/**
+ * <p>Adds a {@literal Server-Timing} header containing the stages of a
+ * {@link RequestTrace} to a response.</p>
+ *
+ * <p>Headers can't be changed once the response has been committed, which
+ * happens when the first part of the body is written. So, rather than
+ * wrapping the response output stream&mdash;which would also defeat the
+ * optimizations in {@link FileRepresentation}&mdash;this intercepts the
+ * first write to Jetty's output and adds the header just before it. The
+ * header therefore contains only the stages that were completed before the
+ * response started to be sent.</p>
+ *
+ * @since 6.0
+ */
+final class ServerTimingInterceptor implements HttpOutput.Interceptor {
+
+    static final String HEADER = "Server-Timing";
+
+    private final HttpOutput.Interceptor next;
+    private final Response response;
+    private final RequestTrace trace;
+    private boolean isHeaderAdded;
+
+    /**
+     * Installs an instance into the output of the given response, if it is
+     * Jetty's. Jetty restores the output's original interceptor when it
+     * recycles it for the next request.
+     *
+     * @param response Response.
+     * @param trace    Trace of the request.
+     */
+    static void install(HttpServletResponse response, RequestTrace trace) {
+        if (response instanceof Response) {
+            final Response jettyResponse = (Response) response;
+            final HttpOutput output      = jettyResponse.getHttpOutput();
+            output.setInterceptor(new ServerTimingInterceptor(
+                    output.getInterceptor(), jettyResponse, trace));
+        }
+    }
+
+    private ServerTimingInterceptor(HttpOutput.Interceptor next,
+                                    Response response,
+                                    RequestTrace trace) {
+        this.next     = next;
+        this.response = response;
+        this.trace    = trace;
+    }
+
+    @Override
+    public HttpOutput.Interceptor getNextInterceptor() {
+        return next;
+    }
+
+    @Override
+    public void write(ByteBuffer content, boolean last, Callback callback) {
+        if (!isHeaderAdded) {
+            isHeaderAdded = true;
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER, trace.toServerTimingHeader());
+            }
+        }
+        next.write(content, last, callback);
+    }
+
+}
@@ -1,6 +1,7 @@
 package edu.illinois.library.cantaloupe.resource.api;
 
 import edu.illinois.library.cantaloupe.cache.InfoService;
+import edu.illinois.library.cantaloupe.resource.iiif.InformationResponseCache;
 
 import java.util.concurrent.Callable;
 
@@ -9,6 +10,7 @@ final class PurgeInfoCacheCommand<T> extends Command implements Callable<T> {
     @Override
     public T call() throws Exception {
         InfoService.getInstance().purgeObjectCache();
+        InformationResponseCache.getInstance().purge();
         return null;
     }
 
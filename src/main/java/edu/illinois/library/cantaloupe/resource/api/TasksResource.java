@@ -25,6 +25,12 @@ public class TasksResource extends AbstractAPIResource {
     private static final Method[] SUPPORTED_METHODS =
             new Method[] { Method.OPTIONS, Method.POST };
 
+    /**
+     * N.B.: ObjectMapper will deserialize into the correct subclass.
+     */
+    private static final ObjectReader COMMAND_READER =
+            new ObjectMapper().readerFor(Command.class);
+
     @Override
     protected Logger getLogger() {
         return LOGGER;
@@ -43,11 +49,8 @@ public class TasksResource extends AbstractAPIResource {
      */
     @Override
     public void doPOST() throws Exception {
-        // N.B.: ObjectMapper will deserialize into the correct subclass.
-        ObjectReader reader = new ObjectMapper().readerFor(Command.class);
-
         try {
-            Command command = reader.readValue(getRequest().getInputStream());
+            Command command = COMMAND_READER.readValue(getRequest().getInputStream());
             Callable<?> callable = (Callable<?>) command;
             APITask<?> task = new APITask<>(callable);
 
@@ -0,0 +1,221 @@
+package edu.illinois.library.cantaloupe.resource.iiif;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.image.ScaleConstraint;
+import edu.illinois.library.cantaloupe.util.ObjectCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>Heap cache of serialized IIIF information response bodies, which spares
+ * information endpoints from having to compute sizes and tiles and serialize
+ * the same response over and over again when the same image is requested
+ * repeatedly.</p>
+ *
+ * <p>Entries are keyed by everything that goes into a response body other
+ * than the {@link Info} (see {@link ResponseKey}), and are only returned for
+ * an {@link Info} that is {@link Info#equals equal} to the one they were
+ * created from, so that they can never be out of date with respect to it.
+ * They expire after {@link Key#INFO_RESPONSE_CACHE_TTL} seconds (which
+ * bounds the staleness of responses after a configuration change), and are
+ * purged along with infos via {@link
+ * edu.illinois.library.cantaloupe.cache.CacheFacade}.</p>
+ *
+ * @since 6.0
+ */
+public final class InformationResponseCache {
+
+    /**
+     * Identifies a response body.
+     */
+    public static final class ResponseKey {
+
+        private final String apiVersion;
+        private final Identifier identifier;
+        private final int pageIndex;
+        private final ScaleConstraint scaleConstraint;
+        private final String imageURI;
+        private final Set<Format> outputFormats;
+        private final Map<String,Object> extraKeys;
+
+        /**
+         * @param apiVersion      IIIF Image API major version.
+         * @param identifier      Image identifier.
+         * @param pageIndex       Page index.
+         * @param scaleConstraint Scale constraint. May be {@code null}.
+         * @param imageURI        Public image URI, which reflects the public
+         *                        root reference and public identifier.
+         * @param outputFormats   Available output formats.
+         * @param extraKeys       Extra keys returned from the delegate.
+         */
+        public ResponseKey(String apiVersion,
+                           Identifier identifier,
+                           int pageIndex,
+                           ScaleConstraint scaleConstraint,
+                           String imageURI,
+                           Set<Format> outputFormats,
+                           Map<String,Object> extraKeys) {
+            this.apiVersion      = apiVersion;
+            this.identifier      = identifier;
+            this.pageIndex       = pageIndex;
+            this.scaleConstraint = scaleConstraint;
+            this.imageURI        = imageURI;
+            this.outputFormats   = Set.copyOf(outputFormats);
+            this.extraKeys       = extraKeys;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (obj instanceof ResponseKey) {
+                ResponseKey other = (ResponseKey) obj;
+                return apiVersion.equals(other.apiVersion) &&
+                        identifier.equals(other.identifier) &&
+                        pageIndex == other.pageIndex &&
+                        Objects.equals(scaleConstraint, other.scaleConstraint) &&
+                        imageURI.equals(other.imageURI) &&
+                        outputFormats.equals(other.outputFormats) &&
+                        Objects.equals(extraKeys, other.extraKeys);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(apiVersion, identifier, pageIndex,
+                    scaleConstraint, imageURI, outputFormats, extraKeys);
+        }
+
+        @Override
+        public String toString() {
+            return apiVersion + " " + imageURI + " [page " + pageIndex + "]";
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final Info info;
+        private final byte[] body;
+
+        private Entry(Info info, byte[] body) {
+            this.info = info;
+            this.body = body;
+        }
+
+    }
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(InformationResponseCache.class);
+
+    static final int DEFAULT_TTL_SECONDS = 300;
+
+    private static final long MAX_SIZE = 10000;
+
+    private static InformationResponseCache instance;
+
+    private final ObjectCache<ResponseKey,Entry> objectCache;
+
+    /**
+     * For testing only!
+     */
+    static synchronized void clearInstance() {
+        instance = null;
+    }
+
+    /**
+     * @return Shared instance.
+     */
+    public static synchronized InformationResponseCache getInstance() {
+        if (instance == null) {
+            final int ttl = Configuration.getInstance().getInt(
+                    Key.INFO_RESPONSE_CACHE_TTL, DEFAULT_TTL_SECONDS);
+            instance = new InformationResponseCache(Duration.ofSeconds(ttl));
+        }
+        return instance;
+    }
+
+    private static boolean isEnabled() {
+        return Configuration.getInstance().getBoolean(
+                Key.INFO_RESPONSE_CACHE_ENABLED, true);
+    }
+
+    InformationResponseCache(Duration timeToLive) {
+        objectCache = new ObjectCache<>(MAX_SIZE, timeToLive);
+    }
+
+    /**
+     * @param key  Response key.
+     * @param info Info that the response body is expected to describe.
+     * @return     Cached response body, or {@code null} if there is no
+     *             unexpired body corresponding to the given arguments or the
+     *             cache is disabled. The returned array must not be
+     *             modified.
+     */
+    public byte[] get(ResponseKey key, Info info) {
+        if (!isEnabled()) {
+            return null;
+        }
+        final Entry entry = objectCache.get(key);
+        if (entry != null) {
+            // The info will usually be the very same instance, coming from
+            // the info cache.
+            if (entry.info == info || entry.info.equals(info)) {
+                LOGGER.trace("get(): hit for {}", key);
+                return entry.body;
+            }
+            objectCache.remove(key);
+        }
+        LOGGER.trace("get(): miss for {}", key);
+        return null;
+    }
+
+    /**
+     * Adds the given response body, unless the cache is disabled or the
+     * given info is not {@link Info#isPersistable() persistable}.
+     *
+     * @param key  Response key.
+     * @param info Info that the response body describes.
+     * @param body Response body, which must not be subsequently modified.
+     */
+    public void put(ResponseKey key, Info info, byte[] body) {
+        if (isEnabled() && info.isPersistable()) {
+            objectCache.put(key, new Entry(info, body));
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void purge() {
+        LOGGER.debug("purge()");
+        objectCache.purge();
+    }
+
+    /**
+     * Removes all entries pertaining to the given identifier.
+     */
+    public void purge(Identifier identifier) {
+        LOGGER.debug("purge(Identifier): purging {}", identifier);
+        objectCache.asMap().keySet()
+                .removeIf(k -> identifier.equals(k.identifier));
+    }
+
+    /**
+     * @return Number of entries.
+     */
+    public long size() {
+        return objectCache.size();
+    }
+
+}
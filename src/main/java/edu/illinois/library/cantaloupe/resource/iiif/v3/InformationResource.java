@@ -1,11 +1,15 @@
 package edu.illinois.library.cantaloupe.resource.iiif.v3;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import edu.illinois.library.cantaloupe.delegate.DelegateProxy;
 import edu.illinois.library.cantaloupe.http.Method;
 import edu.illinois.library.cantaloupe.http.Status;
 import edu.illinois.library.cantaloupe.image.Format;
@@ -15,6 +19,7 @@ import edu.illinois.library.cantaloupe.resource.JacksonRepresentation;
 import edu.illinois.library.cantaloupe.resource.ResourceException;
 import edu.illinois.library.cantaloupe.resource.Route;
 import edu.illinois.library.cantaloupe.resource.InformationRequestHandler;
+import edu.illinois.library.cantaloupe.resource.iiif.InformationResponseCache;
 import edu.illinois.library.cantaloupe.source.StatResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -89,8 +94,8 @@ public class InformationResource extends IIIF3Resource {
             try {
                 Info info = handler.handle();
                 addHeaders(info);
-                newRepresentation(info, availableOutputFormats)
-                        .write(getResponse().getOutputStream());
+                getResponse().getOutputStream().write(
+                        getResponseBody(info, availableOutputFormats));
             } catch (ResourceException e) {
                 if (e.getStatus().getCode() < 500) {
                     newHTTP4xxRepresentation(e.getStatus(), e.getMessage())
@@ -137,18 +142,61 @@ public class InformationResource extends IIIF3Resource {
         return contentType;
     }
 
-    private JacksonRepresentation newRepresentation(Info info,
-                                                    Set<Format> availableOutputFormats) {
-        final InformationFactory factory = new InformationFactory();
-        factory.setDelegateProxy(getDelegateProxy());
-
-        final Information<String, Object> iiifInfo = factory.newImageInfo(
-                availableOutputFormats,
-                getImageURI(),
-                info,
-                getPageIndex(),
-                getMetaIdentifier().getScaleConstraint());
-        return new JacksonRepresentation(iiifInfo);
+    /**
+     * @return Extra response keys from the delegate, or an empty map if there
+     *         is no delegate or it fails.
+     */
+    private Map<String,Object> getExtraResponseKeys() {
+        final DelegateProxy proxy = getDelegateProxy();
+        if (proxy != null) {
+            try {
+                return proxy.getExtraIIIF3InformationResponseKeys();
+            } catch (ScriptException e) {
+                LOGGER.error(e.getMessage());
+            }
+        }
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Returns a serialized {@link Information} instance, from the {@link
+     * InformationResponseCache} if possible.
+     */
+    private byte[] getResponseBody(Info info,
+                                   Set<Format> availableOutputFormats) throws IOException {
+        final Map<String,Object> extraKeys = getExtraResponseKeys();
+        final InformationResponseCache.ResponseKey key =
+                new InformationResponseCache.ResponseKey(
+                        "3",
+                        getMetaIdentifier().getIdentifier(),
+                        getPageIndex(),
+                        getMetaIdentifier().getScaleConstraint(),
+                        getImageURI(),
+                        availableOutputFormats,
+                        extraKeys);
+        final InformationResponseCache cache =
+                InformationResponseCache.getInstance();
+        byte[] body = (isBypassingCache() || isBypassingCacheRead()) ?
+                null : cache.get(key, info);
+        if (body == null) {
+            // The factory would otherwise invoke the delegate method again.
+            final InformationFactory factory = new InformationFactory();
+            final Information<String, Object> iiifInfo = factory.newImageInfo(
+                    availableOutputFormats,
+                    getImageURI(),
+                    info,
+                    getPageIndex(),
+                    getMetaIdentifier().getScaleConstraint());
+            iiifInfo.putAll(extraKeys);
+
+            final ByteArrayOutputStream os = new ByteArrayOutputStream();
+            new JacksonRepresentation(iiifInfo).write(os);
+            body = os.toByteArray();
+            if (!isBypassingCache()) {
+                cache.put(key, info, body);
+            }
+        }
+        return body;
     }
 
     private JacksonRepresentation newHTTP4xxRepresentation(
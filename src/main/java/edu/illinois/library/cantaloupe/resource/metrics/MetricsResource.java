@@ -0,0 +1,62 @@
+package edu.illinois.library.cantaloupe.resource.metrics;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.http.Method;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.PrometheusTextWriter;
+import edu.illinois.library.cantaloupe.resource.AbstractResource;
+import edu.illinois.library.cantaloupe.resource.EndpointDisabledException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Provides the contents of the {@link MetricRegistry} in the Prometheus text
+ * exposition format, for scraping by Prometheus or a compatible agent.
+ *
+ * @since 6.0
+ */
+public class MetricsResource extends AbstractResource {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(MetricsResource.class);
+
+    private static final Method[] SUPPORTED_METHODS =
+            new Method[] { Method.GET, Method.OPTIONS };
+
+    @Override
+    public void doInit() throws Exception {
+        super.doInit();
+        getResponse().setHeader("Cache-Control", "no-cache");
+
+        final Configuration config = Configuration.getInstance();
+        if (!config.getBoolean(Key.METRICS_ENDPOINT_ENABLED, false)) {
+            throw new EndpointDisabledException();
+        }
+    }
+
+    @Override
+    protected Logger getLogger() {
+        return LOGGER;
+    }
+
+    @Override
+    public Method[] getSupportedMethods() {
+        return SUPPORTED_METHODS;
+    }
+
+    @Override
+    public void doGET() throws IOException {
+        getResponse().setHeader("Content-Type",
+                PrometheusTextWriter.CONTENT_TYPE);
+        final Writer writer = new OutputStreamWriter(
+                getResponse().getOutputStream(), StandardCharsets.UTF_8);
+        new PrometheusTextWriter(MetricRegistry.getInstance()).write(writer);
+    }
+
+}
@@ -2,6 +2,7 @@ package edu.illinois.library.cantaloupe.source;
 
 import com.microsoft.azure.storage.CloudStorageAccount;
 import com.microsoft.azure.storage.StorageException;
+import com.microsoft.azure.storage.blob.BlobProperties;
 import com.microsoft.azure.storage.blob.CloudBlobClient;
 import com.microsoft.azure.storage.blob.CloudBlobContainer;
 import com.microsoft.azure.storage.blob.CloudBlockBlob;
@@ -45,7 +46,10 @@ import java.util.NoSuchElementException;
  * <h1>Resource Access</h1>
  *
  * <p>While proceeding through the client request fulfillment flow, the
- * following server requests are sent:</p>
+ * following server requests are sent. The results of the {@literal HEAD}
+ * request and of any magic byte check are stored in the {@link
+ * SourceMetadataCache}, so those requests are skipped when it contains an
+ * entry for the blob.</p>
  *
  * <ol>
  *     <li>{@literal HEAD}</li>
@@ -80,7 +84,11 @@ final class AzureStorageSource extends AbstractSource implements Source {
 
     /**
      * <ol>
-     *     <li>If the blob key has a recognized filename extension, the format
+     *     <li>If a processor has {@link #confirmFormat(Format) confirmed} a
+     *     format for the blob in a previous request (see {@link
+     *     SourceMetadata#getConfirmedFormat()}), that format is returned
+     *     first.</li>
+     *     <li>Otherwise, if the blob key has a recognized filename extension, the format
      *     is inferred from that.</li>
      *     <li>Otherwise, if the source image's URI identifier has a recognized
      *     filename extension, the format is inferred from that.</li>
@@ -105,8 +113,7 @@ final class AzureStorageSource extends AbstractSource implements Source {
         private class ContentTypeHeaderChecker implements FormatChecker {
             @Override
             public Format check() throws IOException {
-                final CloudBlockBlob blob = fetchBlob();
-                final String contentType  = blob.getProperties().getContentType();
+                final String contentType = getMetadata().getContentType();
                 if (contentType != null && !contentType.isEmpty()) {
                     return new MediaType(contentType).toFormat();
                 }
@@ -120,15 +127,21 @@ final class AzureStorageSource extends AbstractSource implements Source {
         private class ByteChecker implements FormatChecker {
             @Override
             public Format check() throws IOException {
+                final SourceMetadata metadata = getMetadata();
+                if (metadata.getFormat() != null) {
+                    return metadata.getFormat();
+                }
                 try {
                     byte[] bytes = new byte[FORMAT_INFERENCE_RANGE_LENGTH];
-                    fetchBlob().downloadRangeToByteArray(
+                    getBlobReference().downloadRangeToByteArray(
                             0, (long) FORMAT_INFERENCE_RANGE_LENGTH, bytes, 0);
 
                     try (InputStream is = new ByteArrayInputStream(bytes)) {
                         List<MediaType> types = MediaType.detectMediaTypes(is);
                         if (!types.isEmpty()) {
-                            return types.get(0).toFormat();
+                            final Format format = types.get(0).toFormat();
+                            metadata.setFormat(format);
+                            return format;
                         }
                     }
                 } catch (StorageException e) {
@@ -143,6 +156,7 @@ final class AzureStorageSource extends AbstractSource implements Source {
         @Override
         public boolean hasNext() {
             return (formatChecker == null ||
+                    formatChecker instanceof ConfirmedFormatChecker ||
                     formatChecker instanceof NameFormatChecker ||
                     formatChecker instanceof IdentifierFormatChecker ||
                     formatChecker instanceof FormatIterator.ContentTypeHeaderChecker);
@@ -151,6 +165,16 @@ final class AzureStorageSource extends AbstractSource implements Source {
         @Override
         public T next() {
             if (formatChecker == null) {
+                final ConfirmedFormatChecker checker =
+                        new ConfirmedFormatChecker(metadata);
+                formatChecker = checker;
+                final Format format = checker.check();
+                if (!Format.UNKNOWN.equals(format)) {
+                    //noinspection unchecked
+                    return (T) format;
+                }
+                return next();
+            } else if (formatChecker instanceof ConfirmedFormatChecker) {
                 try {
                     formatChecker = new NameFormatChecker(getBlobKey());
                 } catch (IOException e) {
@@ -190,7 +214,8 @@ final class AzureStorageSource extends AbstractSource implements Source {
     private static CloudBlobClient client;
 
     private CloudBlockBlob cachedBlob;
-    private IOException cachedBlobException;
+    private SourceMetadata metadata;
+    private IOException metadataException;
     private String objectKey;
 
     private FormatIterator<Format> formatIterator = new FormatIterator<>();
@@ -227,16 +252,56 @@ final class AzureStorageSource extends AbstractSource implements Source {
 
     @Override
     public StatResult stat() throws IOException {
-        CloudBlockBlob blob = fetchBlob();
-        StatResult result = new StatResult();
-        result.setLastModified(blob.getProperties().getLastModified().toInstant());
-        return result;
+        return getMetadata().toStatResult();
+    }
+
+    /**
+     * Retrieves metadata about the blob from the {@link SourceMetadataCache},
+     * or, failing that, via a {@literal HEAD} request, in which case the
+     * metadata is added to the cache.
+     */
+    private SourceMetadata getMetadata() throws IOException {
+        if (metadataException != null) {
+            throw metadataException;
+        } else if (metadata == null) {
+            try {
+                final CloudBlockBlob blob = getBlobReference();
+                // The blob URI excludes any SAS token, which is part of the
+                // blob key.
+                final String cacheKey     = SourceMetadataCache.newKey(
+                        blob.getUri().toString(), getBlobKey());
+                final SourceMetadataCache cache =
+                        SourceMetadataCache.getInstance();
+                metadata = cache.get(cacheKey);
+                if (metadata == null) {
+                    if (!blob.exists()) {
+                        throw new NoSuchFileException("Not found: " + getBlobKey());
+                    }
+                    final BlobProperties props = blob.getProperties();
+                    final SourceMetadata newMetadata = new SourceMetadata(identifier);
+                    newMetadata.setLastModified(props.getLastModified().toInstant());
+                    newMetadata.setContentType(props.getContentType());
+                    newMetadata.setContentLength(props.getLength());
+                    newMetadata.setETag(props.getEtag());
+                    newMetadata.setAcceptsRanges(true);
+                    cache.put(cacheKey, newMetadata);
+                    metadata = newMetadata;
+                }
+            } catch (StorageException e) {
+                throw new IOException(e);
+            } catch (IOException e) {
+                metadataException = e;
+                throw e;
+            }
+        }
+        return metadata;
     }
 
-    private CloudBlockBlob fetchBlob() throws IOException {
-        if (cachedBlobException != null) {
-            throw cachedBlobException;
-        } else if (cachedBlob == null) {
+    /**
+     * @return Reference to the blob, which may or may not exist.
+     */
+    private CloudBlockBlob getBlobReference() throws IOException {
+        if (cachedBlob == null) {
             try {
                 final String containerName = getContainerName();
                 LOGGER.debug("Using container: {}", containerName);
@@ -259,16 +324,9 @@ final class AzureStorageSource extends AbstractSource implements Source {
                             objectKey, containerName);
                     blob = container.getBlockBlobReference(objectKey);
                 }
-
-                if (!blob.exists()) {
-                    throw new NoSuchFileException("Not found: " + objectKey);
-                }
                 cachedBlob = blob;
             } catch (URISyntaxException | StorageException e) {
                 throw new IOException(e);
-            } catch (IOException e) {
-                cachedBlobException = e;
-                throw e;
             }
         }
         return cachedBlob;
@@ -316,6 +374,13 @@ final class AzureStorageSource extends AbstractSource implements Source {
         return key;
     }
 
+    @Override
+    public void confirmFormat(Format format) {
+        if (metadata != null) {
+            metadata.setConfirmedFormat(format);
+        }
+    }
+
     @Override
     public FormatIterator<Format> getFormatIterator() {
         return formatIterator;
@@ -323,7 +388,8 @@ final class AzureStorageSource extends AbstractSource implements Source {
 
     @Override
     public StreamFactory newStreamFactory() throws IOException {
-        return new AzureStorageStreamFactory(fetchBlob());
+        return new AzureStorageStreamFactory(
+                getBlobReference(), getMetadata().getContentLength());
     }
 
     @Override
@@ -333,7 +399,11 @@ final class AzureStorageSource extends AbstractSource implements Source {
     }
 
     private void reset() {
-        formatIterator = new FormatIterator<>();
+        cachedBlob        = null;
+        metadata          = null;
+        metadataException = null;
+        objectKey         = null;
+        formatIterator    = new FormatIterator<>();
     }
 
 }
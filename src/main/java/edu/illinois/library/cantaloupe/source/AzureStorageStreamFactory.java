@@ -22,13 +22,26 @@ class AzureStorageStreamFactory implements StreamFactory {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(AzureStorageStreamFactory.class);
 
-    private static final int DEFAULT_CHUNK_SIZE       = 1024 * 512;
-    private static final int DEFAULT_CHUNK_CACHE_SIZE = 1024 * 1024 * 10;
+    private static final int DEFAULT_CHUNK_SIZE        = 1024 * 512;
+    private static final int DEFAULT_CHUNK_CACHE_SIZE  = 1024 * 1024 * 10;
+    private static final int DEFAULT_READ_AHEAD_CHUNKS = 4;
 
     private final CloudBlockBlob blob;
+    private final long length;
 
     AzureStorageStreamFactory(CloudBlockBlob blob) {
-        this.blob = blob;
+        this(blob, -1);
+    }
+
+    /**
+     * @param blob   Blob to read.
+     * @param length Length of the blob, or {@literal -1} if unknown, in which
+     *               case it will be looked up as needed.
+     * @since 6.0
+     */
+    AzureStorageStreamFactory(CloudBlockBlob blob, long length) {
+        this.blob   = blob;
+        this.length = length;
     }
 
     @Override
@@ -50,20 +63,26 @@ class AzureStorageStreamFactory implements StreamFactory {
             final AzureStorageHTTPImageInputStreamClient client =
                     new AzureStorageHTTPImageInputStreamClient(blob);
 
-            try {
-                // Populate the blob's properties, if they haven't been already.
-                blob.exists();
-            } catch (StorageException e) {
-                LOGGER.warn("newSeekableStream(): {}", e.getMessage());
+            long length = this.length;
+            if (length < 0) {
+                try {
+                    // Populate the blob's properties, if they haven't been
+                    // already.
+                    blob.exists();
+                } catch (StorageException e) {
+                    LOGGER.warn("newSeekableStream(): {}", e.getMessage());
+                }
+                length = blob.getProperties().getLength();
             }
 
             HTTPImageInputStream stream = new HTTPImageInputStream(
-                    client, blob.getProperties().getLength());
+                    client, length);
             try {
                 stream.setWindowSize(chunkSize);
                 if (isChunkCacheEnabled()) {
                     stream.setMaxChunkCacheSize(getMaxChunkCacheSize());
                 }
+                stream.setMaxReadAheadWindows(getMaxReadAheadChunks());
                 return stream;
             } catch (Throwable t) {
                 IOUtils.closeQuietly(stream);
@@ -101,4 +120,9 @@ class AzureStorageStreamFactory implements StreamFactory {
                 DEFAULT_CHUNK_CACHE_SIZE);
     }
 
+    private int getMaxReadAheadChunks() {
+        return Math.max(0, Configuration.getInstance().getInt(
+                Key.AZURESTORAGESOURCE_CHUNK_READ_AHEAD, DEFAULT_READ_AHEAD_CHUNKS));
+    }
+
 }
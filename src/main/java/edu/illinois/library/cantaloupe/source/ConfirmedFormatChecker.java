@@ -0,0 +1,36 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.image.Format;
+
+/**
+ * Returns the format that a processor has previously {@link
+ * Source#confirmFormat(Format) confirmed} for a source image, as recorded in
+ * its {@link SourceMetadata}. This is the cheapest and most reliable check,
+ * so format iterators try it before any other.
+ *
+ * @since 6.0
+ */
+final class ConfirmedFormatChecker implements FormatChecker {
+
+    private final SourceMetadata metadata;
+
+    /**
+     * @param metadata Metadata of the source image. May be {@code null} if it
+     *                 has not been obtained yet.
+     */
+    ConfirmedFormatChecker(SourceMetadata metadata) {
+        this.metadata = metadata;
+    }
+
+    /**
+     * @return Confirmed format, or {@link Format#UNKNOWN} if there isn't one.
+     */
+    @Override
+    public Format check() {
+        if (metadata != null && metadata.getConfirmedFormat() != null) {
+            return metadata.getConfirmedFormat();
+        }
+        return Format.UNKNOWN;
+    }
+
+}
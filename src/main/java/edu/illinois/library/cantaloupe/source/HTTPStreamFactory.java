@@ -3,7 +3,9 @@ package edu.illinois.library.cantaloupe.source;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.http.Headers;
+import edu.illinois.library.cantaloupe.source.stream.DrainingInputStream;
 import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream;
+import okhttp3.Call;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
@@ -21,8 +23,9 @@ import static edu.illinois.library.cantaloupe.source.HttpSource.getHTTPClient;
  */
 final class HTTPStreamFactory implements StreamFactory {
 
-    private static final int DEFAULT_CHUNK_SIZE       = (int) Math.pow(2, 19);
-    private static final int DEFAULT_CHUNK_CACHE_SIZE = (int) Math.pow(1024, 2);
+    private static final int DEFAULT_CHUNK_SIZE        = (int) Math.pow(2, 19);
+    private static final int DEFAULT_CHUNK_CACHE_SIZE  = (int) Math.pow(1024, 2);
+    private static final int DEFAULT_READ_AHEAD_CHUNKS = 4;
 
     private final HTTPRequestInfo requestInfo;
     private final long contentLength;
@@ -56,10 +59,18 @@ final class HTTPStreamFactory implements StreamFactory {
         LOGGER.trace("Requesting GET {} [extra headers: {}]",
                 requestInfo.getURI(), HttpSource.toString(request.headers()));
 
-        Response response = getHTTPClient().newCall(request).execute();
+        Call call         = getHTTPClient().newCall(request);
+        Response response = call.execute();
         ResponseBody body = response.body();
-
-        return (body != null) ? body.byteStream() : null;
+        if (body == null) {
+            return null;
+        }
+        // If the body is closed before being fully consumed, OkHttp makes a
+        // brief attempt to discard the rest of it before giving up on the
+        // connection. The wrapper replaces that with a policy based on how
+        // much of it remains.
+        return new DrainingInputStream(
+                body.byteStream(), body.contentLength(), call::cancel);
     }
 
     @Override
@@ -78,6 +89,7 @@ final class HTTPStreamFactory implements StreamFactory {
                 if (isChunkCacheEnabled()) {
                     stream.setMaxChunkCacheSize(getMaxChunkCacheSize());
                 }
+                stream.setMaxReadAheadWindows(getMaxReadAheadChunks());
                 return stream;
             } else {
                 LOGGER.debug("newSeekableStream(): chunking is enabled, but " +
@@ -115,4 +127,9 @@ final class HTTPStreamFactory implements StreamFactory {
                 Key.HTTPSOURCE_CHUNK_CACHE_MAX_SIZE, DEFAULT_CHUNK_CACHE_SIZE);
     }
 
+    private int getMaxReadAheadChunks() {
+        return Math.max(0, Configuration.getInstance().getInt(
+                Key.HTTPSOURCE_CHUNK_READ_AHEAD, DEFAULT_READ_AHEAD_CHUNKS));
+    }
+
 }
@@ -8,6 +8,9 @@ import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.MediaType;
 import edu.illinois.library.cantaloupe.delegate.DelegateMethod;
 import edu.illinois.library.cantaloupe.delegate.DelegateProxy;
+import edu.illinois.library.cantaloupe.http.Header;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.Headers;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -19,6 +22,7 @@ import javax.net.ssl.SSLContext;
 import javax.net.ssl.X509TrustManager;
 import javax.script.ScriptException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.URI;
@@ -40,7 +44,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
@@ -70,7 +77,10 @@ import java.util.stream.Collectors;
  * <h1>Resource Access</h1>
  *
  * <p>While proceeding through the client request fulfillment flow, this source
- * issues the following server requests:</p>
+ * issues the following server requests. Metadata from the initial request, and
+ * any format inferred from magic bytes, are stored in the {@link
+ * SourceMetadataCache}, so when that contains an entry for the resource, the
+ * initial request and the ranged {@code GET} are skipped.</p>
  *
  * <ol>
  *     <li>If {@link Key#HTTPSOURCE_SEND_HEAD_REQUESTS} is {@code true}, or
@@ -79,8 +89,12 @@ import java.util.stream.Collectors;
  *     a small range of the beginning of the resource.</li>
  *     <li>If a {@code HEAD} request was sent:
  *         <ol>
- *             <li>If {@link FormatIterator#next()} needs to check magic bytes,
- *             and the server supports ranges:
+ *             <li>If neither the URI path nor the identifier has a
+ *             recognized filename extension, a ranged {@code GET}, sent
+ *             concurrently with the {@code HEAD} request, so that the magic
+ *             bytes are on hand if {@link FormatIterator#next()} needs to
+ *             check them without another round trip. Otherwise, if it needs
+ *             to check them, and the server supports ranges:
  *                 <ol>
  *                     <li>Ranged {@code GET}</li>
  *                 </ol>
@@ -146,7 +160,12 @@ class HttpSource extends AbstractSource implements Source {
             info.headers       = response.headers();
             if ("GET".equals(response.request().method()) &&
                     response.body() != null) {
-                info.entity = response.body().bytes();
+                // The server may have ignored the Range header, in which case
+                // the rest of the body is discarded along with the
+                // connection.
+                try (InputStream is = response.body().byteStream()) {
+                    info.entity = is.readNBytes(RANGE_LENGTH);
+                }
             }
             return info;
         }
@@ -156,6 +175,12 @@ class HttpSource extends AbstractSource implements Source {
         }
 
         long contentLength() {
+            // The Content-Length of a ranged response is the length of the
+            // range; the length of the whole resource is in Content-Range.
+            String range = headers.get("Content-Range");
+            if (status == 206 && range != null && range.matches(".*/\\d+$")) {
+                return Long.parseLong(range.substring(range.lastIndexOf('/') + 1));
+            }
             String value = headers.get("Content-Length");
             return (value != null) ? Long.parseLong(value) : 0;
         }
@@ -175,6 +200,10 @@ class HttpSource extends AbstractSource implements Source {
             return format;
         }
 
+        String eTag() {
+            return headers.get("ETag");
+        }
+
         Instant lastModified() {
             String str = headers.get("Last-Modified");
             if (str != null) {
@@ -187,23 +216,38 @@ class HttpSource extends AbstractSource implements Source {
             return null;
         }
 
+        SourceMetadata toSourceMetadata(Identifier identifier) {
+            SourceMetadata metadata = new SourceMetadata(identifier);
+            metadata.setLastModified(lastModified());
+            metadata.setContentType(contentType());
+            metadata.setContentLength(contentLength());
+            metadata.setETag(eTag());
+            metadata.setAcceptsRanges(acceptsRanges());
+            return metadata;
+        }
+
     }
 
     /**
      * <ol>
-     *     <li>If the path component of the URI contains a recognized filename
-     *     extension, the format is inferred from that.</li>
+     *     <li>If a processor has {@link #confirmFormat(Format) confirmed} a
+     *     format for the resource in a previous request (see {@link
+     *     SourceMetadata#getConfirmedFormat()}), that format is returned
+     *     first.</li>
+     *     <li>Otherwise, if the path component of the URI contains a
+     *     recognized filename extension, the format is inferred from
+     *     that.</li>
      *     <li>Otherwise, if the identifier contains a recognized filename
      *     extension, the format is inferred from that.</li>
      *     <li>Otherwise, if a {@code Content-Type} header is present in the
      *     {@link #getResourceInfo HEAD response}, and its value is
      *     specific enough (not {@code application/octet-stream}, for
      *     example), a format is inferred from that.</li>
-     *     <li>Otherwise, if the {@literal HEAD} response contains an {@code
-     *     Accept-Ranges: bytes} header, a {@code GET} request is sent with a
-     *     {@code Range} header specifying a small range of data from the
-     *     beginning of the resource, and a format is inferred from the magic
-     *     bytes in the response entity.</li>
+     *     <li>Otherwise, if a ranged {@code GET} request was sent
+     *     concurrently with the {@code HEAD} request, or the {@literal HEAD}
+     *     response contains an {@code Accept-Ranges: bytes} header (in which
+     *     case a ranged {@code GET} request is sent now), a format is
+     *     inferred from the magic bytes in the response entity.</li>
      *     <li>Otherwise, {@link Format#UNKNOWN} is returned.</li>
      * </ol>
      *
@@ -224,29 +268,19 @@ class HttpSource extends AbstractSource implements Source {
             public Format check() {
                 try {
                     final HTTPRequestInfo requestInfo = getRequestInfo();
-                    final ResourceInfo resourceInfo   = getResourceInfo();
-
-                    if (resourceInfo.status >= 200 && resourceInfo.status < 300) {
-                        String value = resourceInfo.contentType();
-                        if (value != null) {
-                            Format format = MediaType.fromContentType(value).toFormat();
-                            if (Format.UNKNOWN.equals(format)) {
-                                LOGGER.debug("Unrecognized Content-Type header value for {} {}: {}",
-                                        resourceInfo.requestMethod,
-                                        requestInfo.getURI(),
-                                        value);
-                            }
-                            return format;
-                        } else {
-                            LOGGER.debug("No Content-Type header for {} {}",
-                                    resourceInfo.requestMethod,
-                                    requestInfo.getURI());
+                    final SourceMetadata metadata     = getMetadata();
+
+                    String value = metadata.getContentType();
+                    if (value != null) {
+                        Format format = MediaType.fromContentType(value).toFormat();
+                        if (Format.UNKNOWN.equals(format)) {
+                            LOGGER.debug("Unrecognized Content-Type header value for {}: {}",
+                                    requestInfo.getURI(), value);
                         }
+                        return format;
                     } else {
-                        LOGGER.debug("{} {} returned status {}",
-                                resourceInfo.requestMethod,
-                                requestInfo.getURI(),
-                                resourceInfo.status);
+                        LOGGER.debug("No Content-Type header for {}",
+                                requestInfo.getURI());
                     }
                 } catch (Exception e) {
                     LOGGER.error(e.getMessage(), e);
@@ -257,12 +291,14 @@ class HttpSource extends AbstractSource implements Source {
 
         private class ByteChecker implements FormatChecker {
             /**
-             * If the {@link #getResourceInfo initial response} is from a
-             * {@code HEAD} request, issues an HTTP {@code GET} request for a
-             * small range of the beginning of the resource. (If it is a {@code
-             * GET} response, that data has already been received.) Then, a
-             * source format is inferred from the magic bytes in the response
-             * entity.
+             * If the format has already been inferred from the magic bytes in
+             * this or a previous request, returns it. Otherwise, if the
+             * {@link #getResourceInfo initial response} is from a {@code
+             * HEAD} request, or was obtained in a previous request, issues an
+             * HTTP {@code GET} request for a small range of the beginning of
+             * the resource. (If it is a {@code GET} response, that data has
+             * already been received.) Then, a source format is inferred from
+             * the magic bytes in the response entity.
              *
              * @return Inferred source format, or {@link Format#UNKNOWN}.
              */
@@ -270,18 +306,24 @@ class HttpSource extends AbstractSource implements Source {
             public Format check() {
                 try {
                     final HTTPRequestInfo requestInfo = getRequestInfo();
-                    // If a request hasn't yet been sent, send one. This may be
-                    // a HEAD or a ranged GET. It's not safe to send a ranged
-                    // GET without first checking (via HEAD) whether the
-                    // resource supports ranges--unless we are told via the
-                    // configuration not to send HEADs.
-                    if (resourceInfo == null) {
-                        resourceInfo = getResourceInfo();
+                    final SourceMetadata metadata     = getMetadata();
+                    if (metadata.getFormat() != null) {
+                        LOGGER.debug("Using cached {} format for {}",
+                                metadata.getFormat(), requestInfo.getURI());
+                        return metadata.getFormat();
                     }
-                    // If it was a HEAD, we need to know whether the resource
-                    // supports ranged requests. If it does, send one.
-                    if ("HEAD".equals(resourceInfo.requestMethod)) {
-                        if (resourceInfo.acceptsRanges()) {
+                    // If the metadata came from the cache, no request has
+                    // been sent by this instance, and we need a ranged GET.
+                    // It's not safe to send one without knowing (via HEAD)
+                    // whether the resource supports ranges--unless we are told
+                    // via the configuration not to send HEADs.
+                    // If the initial request was a HEAD, the same applies.
+                    if (resourceInfo == null ||
+                            "HEAD".equals(resourceInfo.requestMethod)) {
+                        if (rangeInfoFuture != null) {
+                            resourceInfo = awaitRangeInfo();
+                        } else if (metadata.acceptsRanges() ||
+                                !requestInfo.isSendingHeadRequest()) {
                             resourceInfo = fetchResourceInfoViaGET();
                         } else {
                             LOGGER.debug("Server did not supply an " +
@@ -297,6 +339,7 @@ class HttpSource extends AbstractSource implements Source {
                         if (!Format.UNKNOWN.equals(format)) {
                             LOGGER.debug("Inferred {} format from magic bytes for GET {}",
                                     format, requestInfo.getURI());
+                            metadata.setFormat(format);
                             return format;
                         } else {
                             LOGGER.debug("Unable to infer a format from magic bytes for GET {}",
@@ -320,6 +363,7 @@ class HttpSource extends AbstractSource implements Source {
         @Override
         public boolean hasNext() {
             return (formatChecker == null ||
+                    formatChecker instanceof ConfirmedFormatChecker ||
                     formatChecker instanceof URIPathChecker ||
                     formatChecker instanceof IdentifierFormatChecker ||
                     formatChecker instanceof FormatIterator.ContentTypeHeaderChecker);
@@ -328,6 +372,16 @@ class HttpSource extends AbstractSource implements Source {
         @Override
         public T next() {
             if (formatChecker == null) {
+                final ConfirmedFormatChecker checker =
+                        new ConfirmedFormatChecker(metadata);
+                formatChecker = checker;
+                final Format format = checker.check();
+                if (!Format.UNKNOWN.equals(format)) {
+                    //noinspection unchecked
+                    return (T) format;
+                }
+                return next();
+            } else if (formatChecker instanceof ConfirmedFormatChecker) {
                 formatChecker = new URIPathChecker();
             } else if (formatChecker instanceof URIPathChecker) {
                 formatChecker = new IdentifierFormatChecker(getIdentifier());
@@ -397,6 +451,18 @@ class HttpSource extends AbstractSource implements Source {
      */
     private ResourceInfo resourceInfo;
 
+    /**
+     * Response info from a ranged {@code GET} request sent concurrently with
+     * the initial {@code HEAD} request, if any. See {@link
+     * #fetchResourceInfoViaHEADAndGET()}.
+     */
+    private CompletableFuture<ResourceInfo> rangeInfoFuture;
+
+    /**
+     * Cached by {@link #getMetadata()}.
+     */
+    private SourceMetadata metadata;
+
     private final FormatIterator<Format> formatIterator =
             new FormatIterator<>();
 
@@ -488,6 +554,14 @@ class HttpSource extends AbstractSource implements Source {
     static Response request(HTTPRequestInfo requestInfo,
                             String method,
                             Map<String,String> extraHeaders) throws IOException {
+        return getHTTPClient()
+                .newCall(newRequest(requestInfo, method, extraHeaders))
+                .execute();
+    }
+
+    private static Request newRequest(HTTPRequestInfo requestInfo,
+                                      String method,
+                                      Map<String,String> extraHeaders) {
         Request.Builder builder = new Request.Builder()
                 .method(method, null)
                 .url(requestInfo.getURI())
@@ -507,8 +581,7 @@ class HttpSource extends AbstractSource implements Source {
 
         LOGGER.debug("Requesting {} {} [extra headers: {}]",
                 method, requestInfo.getURI(), toString(request.headers()));
-
-        return getHTTPClient().newCall(request).execute();
+        return request;
     }
 
     static String toString(Headers headers) {
@@ -522,21 +595,14 @@ class HttpSource extends AbstractSource implements Source {
 
     @Override
     public StatResult stat() throws IOException {
-        ResourceInfo info = getResourceInfo();
-        final int status  = info.status;
-        if (status >= 400) {
-            final String statusLine = "HTTP " + status;
-            if (status == 404 || status == 410) {        // not found or gone
-                throw new NoSuchFileException(statusLine);
-            } else if (status == 401 || status == 403) { // unauthorized or forbidden
-                throw new AccessDeniedException(statusLine);
-            } else {
-                throw new IOException(statusLine);
-            }
+        return getMetadata().toStatResult();
+    }
+
+    @Override
+    public void confirmFormat(Format format) {
+        if (metadata != null) {
+            metadata.setConfirmedFormat(format);
         }
-        StatResult result = new StatResult();
-        result.setLastModified(info.lastModified());
-        return result;
     }
 
     @Override
@@ -544,6 +610,59 @@ class HttpSource extends AbstractSource implements Source {
         return formatIterator;
     }
 
+    /**
+     * Retrieves metadata about the resource from the {@link
+     * SourceMetadataCache}, or, failing that, from the {@link
+     * #getResourceInfo() initial response}, in which case the metadata is
+     * added to the cache.
+     *
+     * @throws NoSuchFileException   if the server responds with HTTP 404 or
+     *                               410.
+     * @throws AccessDeniedException if the server responds with HTTP 401 or
+     *                               403.
+     * @throws IOException           if the server responds with any other
+     *                               error status, or some other error occurs.
+     */
+    private SourceMetadata getMetadata() throws IOException {
+        if (metadata == null) {
+            final HTTPRequestInfo requestInfo;
+            try {
+                requestInfo = getRequestInfo();
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            final String cacheKey = SourceMetadataCache.newKey(
+                    requestInfo.getURI(),
+                    requestInfo.getUsername(),
+                    requestInfo.getSecret(),
+                    requestInfo.getHeaders().stream()
+                            .map(Header::toString)
+                            .sorted()
+                            .collect(Collectors.joining("\n")));
+            final SourceMetadataCache cache = SourceMetadataCache.getInstance();
+            metadata = cache.get(cacheKey);
+            if (metadata == null) {
+                final ResourceInfo info = getResourceInfo();
+                final int status        = info.status;
+                if (status >= 400) {
+                    final String statusLine = "HTTP " + status;
+                    if (status == 404 || status == 410) {        // not found or gone
+                        throw new NoSuchFileException(statusLine);
+                    } else if (status == 401 || status == 403) { // unauthorized or forbidden
+                        throw new AccessDeniedException(statusLine);
+                    } else {
+                        throw new IOException(statusLine);
+                    }
+                }
+                metadata = info.toSourceMetadata(identifier);
+                cache.put(cacheKey, metadata);
+            }
+        }
+        return metadata;
+    }
+
     /**
      * Issues a {@code HEAD} or ranged {@code GET} request (depending on the
      * configuration) and caches the result in {@link #resourceInfo}.
@@ -553,7 +672,11 @@ class HttpSource extends AbstractSource implements Source {
             try {
                 requestInfo = getRequestInfo();
                 if (requestInfo.isSendingHeadRequest()) {
-                    fetchResourceInfoViaHEAD();
+                    if (isFormatInferableFromName()) {
+                        fetchResourceInfoViaHEAD();
+                    } else {
+                        fetchResourceInfoViaHEADAndGET();
+                    }
                 } else {
                     fetchResourceInfoViaGET();
                 }
@@ -575,13 +698,82 @@ class HttpSource extends AbstractSource implements Source {
 
     private ResourceInfo fetchResourceInfoViaGET() throws Exception {
         requestInfo = getRequestInfo();
-        var extraHeaders = Map.of("Range", "bytes=0-" + (RANGE_LENGTH - 1));
-        try (Response response = request("GET", extraHeaders)) {
+        try (Response response = request("GET", getRangeHeaders())) {
             resourceInfo = ResourceInfo.fromResponse(response);
         }
         return resourceInfo;
     }
 
+    /**
+     * Sends a ranged {@code GET} request asynchronously, storing its
+     * eventual result in {@link #rangeInfoFuture}, and then a {@code HEAD}
+     * request synchronously. This is used when the format can't be inferred
+     * from a filename extension, in which case it may well have to be inferred
+     * from magic bytes, so that doing so doesn't incur another round trip.
+     * The ranged response is used for nothing else, so it doesn't matter if
+     * the server doesn't support ranges.
+     */
+    private ResourceInfo fetchResourceInfoViaHEADAndGET() throws Exception {
+        requestInfo = getRequestInfo();
+        final CompletableFuture<ResourceInfo> future = new CompletableFuture<>();
+        final Call call = getHTTPClient().newCall(
+                newRequest(requestInfo, "GET", getRangeHeaders()));
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    future.complete(ResourceInfo.fromResponse(response));
+                } catch (IOException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        rangeInfoFuture = future;
+        try {
+            fetchResourceInfoViaHEAD();
+        } finally {
+            if (resourceInfo == null || resourceInfo.status >= 400) {
+                call.cancel();
+            }
+        }
+        return resourceInfo;
+    }
+
+    /**
+     * @return Result of the ranged {@code GET} request sent by {@link
+     *         #fetchResourceInfoViaHEADAndGET()}.
+     */
+    private ResourceInfo awaitRangeInfo() throws IOException {
+        try {
+            return rangeInfoFuture.get(
+                    getRequestTimeout().getSeconds(), TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } catch (InterruptedException | TimeoutException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static Map<String,String> getRangeHeaders() {
+        return Map.of("Range", "bytes=0-" + (RANGE_LENGTH - 1));
+    }
+
+    /**
+     * @return Whether the format can be inferred from a filename extension
+     *         in the URI path or identifier, which doesn't require any
+     *         requests.
+     */
+    private boolean isFormatInferableFromName() {
+        return !Format.UNKNOWN.equals(new URIPathChecker().check()) ||
+                !Format.UNKNOWN.equals(
+                        new IdentifierFormatChecker(identifier).check());
+    }
+
     private Response request(String method,
                              Map<String,String> extraHeaders) throws IOException {
         return request(requestInfo, method, extraHeaders);
@@ -663,11 +855,11 @@ class HttpSource extends AbstractSource implements Source {
 
         if (info != null) {
             LOGGER.debug("Resolved {} to {}", identifier, info.getURI());
-            getResourceInfo();
+            final SourceMetadata metadata = getMetadata();
             return new HTTPStreamFactory(
                     info,
-                    resourceInfo.contentLength(),
-                    resourceInfo.acceptsRanges());
+                    metadata.getContentLength(),
+                    metadata.acceptsRanges());
         }
         return null;
     }
@@ -679,8 +871,10 @@ class HttpSource extends AbstractSource implements Source {
     }
 
     private void reset() {
-        requestInfo  = null;
-        resourceInfo = null;
+        requestInfo     = null;
+        resourceInfo    = null;
+        rangeInfoFuture = null;
+        metadata        = null;
     }
 
     /**
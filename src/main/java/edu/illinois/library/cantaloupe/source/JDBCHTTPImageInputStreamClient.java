@@ -0,0 +1,163 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.http.Range;
+import edu.illinois.library.cantaloupe.http.Response;
+import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStreamClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * <p>Implementation backed by the JDBC {@link Blob} API, which enables {@link
+ * edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream} to read
+ * BLOB column values in chunks, via {@link Blob#length()} in place of a
+ * {@literal HEAD} request and {@link Blob#getBytes(long, int)} in place of a
+ * ranged {@literal GET} request.</p>
+ *
+ * <p>The lookup SQL is executed only once per instance, upon the first
+ * request, and the resulting {@link Blob} is read by all subsequent requests.
+ * Because a {@link Blob} is valid only as long as the transaction in which it
+ * was obtained, the instance holds on to its connection until it is {@link
+ * #close() closed}.</p>
+ *
+ * <p>Whether this is efficient depends on the driver: some return a locator
+ * from {@link ResultSet#getBlob(int)} and fetch only the requested bytes,
+ * while others fetch the whole value. Drivers that don't support the {@link
+ * Blob} API at all are reported as not supporting ranges.</p>
+ *
+ * @since 6.0
+ */
+class JDBCHTTPImageInputStreamClient
+        implements HTTPImageInputStreamClient, Closeable {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(JDBCHTTPImageInputStreamClient.class);
+
+    private final String sql;
+    private final String databaseIdentifier;
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+
+    /**
+     * Access via {@link #getBlob()}.
+     */
+    private Blob blob;
+
+    /**
+     * @param sql                Lookup SQL that selects the BLOB column
+     *                           value, with a single parameter for the
+     *                           database identifier.
+     * @param databaseIdentifier Database identifier.
+     */
+    JDBCHTTPImageInputStreamClient(String sql, String databaseIdentifier) {
+        this.sql                = sql;
+        this.databaseIdentifier = databaseIdentifier;
+    }
+
+    /**
+     * Frees the {@link Blob}, if it has been obtained, and releases the
+     * connection.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            if (blob != null) {
+                blob.free();
+            }
+        } catch (SQLException e) {
+            LOGGER.debug("close(): failed to free the Blob: {}",
+                    e.getMessage());
+        } finally {
+            blob = null;
+            closeQuietly(resultSet);
+            closeQuietly(statement);
+            closeQuietly(connection);
+            resultSet  = null;
+            statement  = null;
+            connection = null;
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                LOGGER.debug("closeQuietly(): {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Executes the lookup SQL, if it hasn't already been executed, and
+     * returns the resulting {@link Blob}.
+     */
+    private Blob getBlob() throws IOException, SQLException {
+        if (blob == null) {
+            try {
+                connection = JdbcSource.getConnection();
+                statement  = connection.prepareStatement(sql);
+                statement.setString(1, databaseIdentifier);
+                LOGGER.debug(sql);
+                resultSet = statement.executeQuery();
+                if (!resultSet.next()) {
+                    throw new NoSuchFileException("Resource not found");
+                }
+                blob = resultSet.getBlob(1);
+            } catch (IOException | SQLException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+        return blob;
+    }
+
+    @Override
+    public synchronized Response sendHEADRequest() throws IOException {
+        final Response response = new Response();
+        try {
+            final long length = getBlob().length();
+            response.getHeaders().set("Content-Length", Long.toString(length));
+            response.getHeaders().set("Accept-Ranges", "bytes");
+        } catch (SQLFeatureNotSupportedException e) {
+            LOGGER.debug("sendHEADRequest(): driver does not support the " +
+                    "Blob API: {}", e.getMessage());
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+        response.setStatus(200);
+        return response;
+    }
+
+    /**
+     * N.B.: Requests are serialized, as they share a connection.
+     */
+    @Override
+    public synchronized Response sendGETRequest(Range range)
+            throws IOException {
+        LOGGER.trace("{} [bytes {}-{}]", sql, range.start, range.end);
+        try {
+            // Blob positions are 1-based.
+            final byte[] bytes = getBlob().getBytes(range.start + 1,
+                    (int) (range.end - range.start + 1));
+            final Response response = new Response();
+            response.setStatus(206);
+            response.setBody(bytes);
+            return response;
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+}
@@ -1,8 +1,14 @@
 package edu.illinois.library.cantaloupe.source;
 
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream;
+import edu.illinois.library.cantaloupe.source.stream.RangesNotSupportedException;
+import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.imageio.stream.ImageInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.NoSuchFileException;
@@ -19,6 +25,16 @@ class JDBCStreamFactory implements StreamFactory {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(JDBCStreamFactory.class);
 
+    private static final int DEFAULT_CHUNK_SIZE        = 1024 * 512;
+    private static final int DEFAULT_CHUNK_CACHE_SIZE  = 1024 * 1024 * 10;
+    private static final int DEFAULT_READ_AHEAD_CHUNKS = 0;
+
+    /**
+     * Whether the driver supports the {@link java.sql.Blob} API, or {@code
+     * null} if that isn't known yet. Set by {@link #isBlobSupported()}.
+     */
+    private static volatile Boolean isBlobSupported;
+
     private String sql;
     private String databaseIdentifier;
 
@@ -46,4 +62,117 @@ class JDBCStreamFactory implements StreamFactory {
         }
     }
 
+    /**
+     * If chunking is enabled, returns an instance that reads the BLOB in
+     * chunks via {@link JDBCHTTPImageInputStreamClient}. Otherwise, or if the
+     * driver doesn't support the {@link java.sql.Blob} API, falls back to the
+     * default implementation.
+     */
+    @Override
+    public ImageInputStream newSeekableStream() throws IOException {
+        if (isChunkingEnabled() && isBlobSupported()) {
+            final int chunkSize = getChunkSize();
+            LOGGER.debug("newSeekableStream(): using {}-byte chunks",
+                    chunkSize);
+            final JDBCHTTPImageInputStreamClient client =
+                    new JDBCHTTPImageInputStreamClient(sql, databaseIdentifier);
+            HTTPImageInputStream stream;
+            try {
+                stream = new HTTPImageInputStream(client) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            client.close();
+                        }
+                    }
+                };
+            } catch (RangesNotSupportedException e) {
+                client.close();
+                LOGGER.debug("newSeekableStream(): chunking is enabled, but " +
+                        "won't be used because the driver doesn't support " +
+                        "the Blob API.");
+                return StreamFactory.super.newSeekableStream();
+            } catch (IOException | RuntimeException e) {
+                client.close();
+                throw e;
+            }
+            try {
+                stream.setWindowSize(chunkSize);
+                if (isChunkCacheEnabled()) {
+                    stream.setMaxChunkCacheSize(getMaxChunkCacheSize());
+                }
+                stream.setMaxReadAheadWindows(getMaxReadAheadChunks());
+                return stream;
+            } catch (Throwable t) {
+                IOUtils.closeQuietly(stream);
+                throw t;
+            }
+        } else {
+            LOGGER.debug("newSeekableStream(): chunking is disabled or " +
+                    "unsupported");
+            return StreamFactory.super.newSeekableStream();
+        }
+    }
+
+    /**
+     * @return Whether chunking is enabled and the driver supports the {@link
+     *         java.sql.Blob} API that it relies on.
+     */
+    @Override
+    public boolean isSeekingDirect() {
+        return isChunkingEnabled() && isBlobSupported();
+    }
+
+    /**
+     * Probes whether the driver supports the {@link java.sql.Blob} API by
+     * looking up the instance's BLOB through it, the first time it is
+     * invoked, and caches the result, as the same driver is used for the
+     * lifetime of the application. A failure to look up the BLOB for any
+     * other reason is not cached.
+     */
+    private boolean isBlobSupported() {
+        Boolean isSupported = isBlobSupported;
+        if (isSupported == null) {
+            try (JDBCHTTPImageInputStreamClient client =
+                         new JDBCHTTPImageInputStreamClient(sql, databaseIdentifier)) {
+                isSupported = "bytes".equals(client.sendHEADRequest()
+                        .getHeaders().getFirstValue("Accept-Ranges"));
+                LOGGER.debug("isBlobSupported(): {}", isSupported);
+                isBlobSupported = isSupported;
+            } catch (IOException e) {
+                LOGGER.debug("isBlobSupported(): failed to probe: {}",
+                        e.getMessage());
+                return false;
+            }
+        }
+        return isSupported;
+    }
+
+    private boolean isChunkingEnabled() {
+        return Configuration.getInstance().getBoolean(
+                Key.JDBCSOURCE_CHUNKING_ENABLED, false);
+    }
+
+    private int getChunkSize() {
+        return (int) Configuration.getInstance().getLongBytes(
+                Key.JDBCSOURCE_CHUNK_SIZE, DEFAULT_CHUNK_SIZE);
+    }
+
+    private boolean isChunkCacheEnabled() {
+        return Configuration.getInstance().getBoolean(
+                Key.JDBCSOURCE_CHUNK_CACHE_ENABLED, true);
+    }
+
+    private int getMaxChunkCacheSize() {
+        return (int) Configuration.getInstance().getLongBytes(
+                Key.JDBCSOURCE_CHUNK_CACHE_MAX_SIZE, DEFAULT_CHUNK_CACHE_SIZE);
+    }
+
+    private int getMaxReadAheadChunks() {
+        return Math.max(0, Configuration.getInstance().getInt(
+                Key.JDBCSOURCE_CHUNK_READ_AHEAD, DEFAULT_READ_AHEAD_CHUNKS));
+    }
+
 }
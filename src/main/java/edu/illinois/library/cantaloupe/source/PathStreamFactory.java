@@ -1,5 +1,9 @@
 package edu.illinois.library.cantaloupe.source;
 
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.source.stream.MappedFileImageInputStream;
+
 import javax.imageio.stream.FileImageInputStream;
 import javax.imageio.stream.ImageInputStream;
 import java.io.IOException;
@@ -23,8 +27,17 @@ public class PathStreamFactory implements StreamFactory {
         return Files.newInputStream(path);
     }
 
+    /**
+     * @return {@link MappedFileImageInputStream} if {@link
+     *         Key#PROCESSOR_MEMORY_MAPPING_ENABLED memory mapping is enabled};
+     *         otherwise a {@link FileImageInputStream}.
+     */
     @Override
     public ImageInputStream newSeekableStream() throws IOException {
+        if (Configuration.getInstance().getBoolean(
+                Key.PROCESSOR_MEMORY_MAPPING_ENABLED, false)) {
+            return new MappedFileImageInputStream(path);
+        }
         return new FileImageInputStream(path.toFile());
     }
 
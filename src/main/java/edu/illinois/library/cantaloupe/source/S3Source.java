@@ -10,10 +10,12 @@ import edu.illinois.library.cantaloupe.delegate.DelegateMethod;
 import edu.illinois.library.cantaloupe.util.S3ClientBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
@@ -28,7 +30,6 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.NoSuchFileException;
-import java.time.Instant;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -53,7 +54,10 @@ import java.util.NoSuchElementException;
  * <h1>Resource Access</h1>
  *
  * <p>While proceeding through the client request fulfillment flow, the
- * following server requests are sent:</p>
+ * following server requests are sent. The results of the {@literal HEAD}
+ * request and of any magic byte check are stored in the {@link
+ * SourceMetadataCache}, so those requests are skipped when it contains an
+ * entry for the object.</p>
  *
  * <ol>
  *     <li>{@literal HEAD}</li>
@@ -84,15 +88,13 @@ import java.util.NoSuchElementException;
  */
 final class S3Source extends AbstractSource implements Source {
 
-    private static class S3ObjectAttributes {
-        String contentType;
-        Instant lastModified;
-        long length;
-    }
-
     /**
      * <ol>
-     *     <li>If the object key has a recognized filename extension, the
+     *     <li>If a processor has {@link #confirmFormat(Format) confirmed} a
+     *     format for the object in a previous request (see {@link
+     *     SourceMetadata#getConfirmedFormat()}), that format is returned
+     *     first.</li>
+     *     <li>Otherwise, if the object key has a recognized filename extension, the
      *     format is inferred from that.</li>
      *     <li>Otherwise, if the source image's URI identifier has a recognized
      *     filename extension, the format will be inferred from that.</li>
@@ -121,7 +123,7 @@ final class S3Source extends AbstractSource implements Source {
         private class ContentTypeHeaderChecker implements FormatChecker {
             @Override
             public Format check() throws IOException {
-                String contentType = getObjectAttributes().contentType;
+                String contentType = getMetadata().getContentType();
                 if (contentType != null && !contentType.isEmpty()) {
                     return new MediaType(contentType).toFormat();
                 }
@@ -135,11 +137,17 @@ final class S3Source extends AbstractSource implements Source {
         private class ByteChecker implements FormatChecker {
             @Override
             public Format check() throws IOException {
+                final SourceMetadata metadata = getMetadata();
+                if (metadata.getFormat() != null) {
+                    return metadata.getFormat();
+                }
                 try (InputStream is = new BufferedInputStream(
                         newObjectInputStream(getObjectInfo(), FORMAT_INFERENCE_RANGE))) {
                     List<MediaType> types = MediaType.detectMediaTypes(is);
                     if (!types.isEmpty()) {
-                        return types.get(0).toFormat();
+                        final Format format = types.get(0).toFormat();
+                        metadata.setFormat(format);
+                        return format;
                     }
                 }
                 return Format.UNKNOWN;
@@ -151,6 +159,7 @@ final class S3Source extends AbstractSource implements Source {
         @Override
         public boolean hasNext() {
             return (formatChecker == null ||
+                    formatChecker instanceof ConfirmedFormatChecker ||
                     formatChecker instanceof NameFormatChecker ||
                     formatChecker instanceof IdentifierFormatChecker ||
                     formatChecker instanceof FormatIterator.ContentTypeHeaderChecker);
@@ -159,6 +168,16 @@ final class S3Source extends AbstractSource implements Source {
         @Override
         public T next() {
             if (formatChecker == null) {
+                final ConfirmedFormatChecker checker =
+                        new ConfirmedFormatChecker(metadata);
+                formatChecker = checker;
+                final Format format = checker.check();
+                if (!Format.UNKNOWN.equals(format)) {
+                    //noinspection unchecked
+                    return (T) format;
+                }
+                return next();
+            } else if (formatChecker instanceof ConfirmedFormatChecker) {
                 try {
                     formatChecker = new NameFormatChecker(getObjectInfo().getKey());
                 } catch (IOException e) {
@@ -209,7 +228,7 @@ final class S3Source extends AbstractSource implements Source {
     /**
      * Cached by {@link #getObjectAttributes()}.
      */
-    private S3ObjectAttributes objectAttributes;
+    private SourceMetadata metadata;
 
     private FormatIterator<Format> formatIterator = new FormatIterator<>();
 
@@ -260,7 +279,7 @@ final class S3Source extends AbstractSource implements Source {
      *
      * @param info Object info.
      */
-    static InputStream newObjectInputStream(S3ObjectInfo info)
+    static ResponseInputStream<GetObjectResponse> newObjectInputStream(S3ObjectInfo info)
             throws IOException {
         return newObjectInputStream(info, null);
     }
@@ -271,8 +290,8 @@ final class S3Source extends AbstractSource implements Source {
      * @param info  Object info.
      * @param range Byte range. May be {@code null}.
      */
-    static InputStream newObjectInputStream(S3ObjectInfo info,
-                                            Range range) throws IOException {
+    static ResponseInputStream<GetObjectResponse> newObjectInputStream(S3ObjectInfo info,
+                                                                        Range range) throws IOException {
         final S3Client client = getClientInstance(info);
         try {
             GetObjectRequest request;
@@ -301,10 +320,14 @@ final class S3Source extends AbstractSource implements Source {
 
     @Override
     public StatResult stat() throws IOException {
-        S3ObjectAttributes attrs = getObjectAttributes();
-        StatResult result = new StatResult();
-        result.setLastModified(attrs.lastModified);
-        return result;
+        return getMetadata().toStatResult();
+    }
+
+    @Override
+    public void confirmFormat(Format format) {
+        if (metadata != null) {
+            metadata.setConfirmedFormat(format);
+        }
     }
 
     @Override
@@ -312,21 +335,41 @@ final class S3Source extends AbstractSource implements Source {
         return formatIterator;
     }
 
-    private S3ObjectAttributes getObjectAttributes() throws IOException {
-        if (objectAttributes == null) {
+    /**
+     * Retrieves metadata about the object from the {@link
+     * SourceMetadataCache}, or, failing that, via a {@literal HEAD} request,
+     * in which case the metadata is added to the cache.
+     */
+    private SourceMetadata getMetadata() throws IOException {
+        if (metadata == null) {
             // https://docs.aws.amazon.com/AmazonS3/latest/API/ErrorResponses.html#ErrorCodeList
             final S3ObjectInfo info = getObjectInfo();
             final String bucket     = info.getBucketName();
             final String key        = info.getKey();
-            final S3Client client   = getClientInstance(info);
+            final String cacheKey   = SourceMetadataCache.newKey(
+                    String.format("s3://%s/%s/%s",
+                            (info.getEndpoint() != null) ? info.getEndpoint() : "",
+                            bucket, key),
+                    info.getAccessKeyID(), info.getSecretAccessKey());
+            final SourceMetadataCache cache = SourceMetadataCache.getInstance();
+            metadata = cache.get(cacheKey);
+            if (metadata != null) {
+                return metadata;
+            }
+            final S3Client client = getClientInstance(info);
             try {
                 HeadObjectResponse response = client.headObject(HeadObjectRequest.builder()
                         .bucket(bucket)
                         .key(key)
                         .build());
-                objectAttributes              = new S3ObjectAttributes();
-                objectAttributes.length       = response.contentLength();
-                objectAttributes.lastModified = response.lastModified();
+                final SourceMetadata newMetadata = new SourceMetadata(identifier);
+                newMetadata.setContentLength(response.contentLength());
+                newMetadata.setLastModified(response.lastModified());
+                newMetadata.setContentType(response.contentType());
+                newMetadata.setETag(response.eTag());
+                newMetadata.setAcceptsRanges(true);
+                cache.put(cacheKey, newMetadata);
+                metadata = newMetadata;
             } catch (NoSuchBucketException | NoSuchKeyException e) {
                 throw new NoSuchFileException(info.toString());
             } catch (S3Exception e) {
@@ -342,7 +385,7 @@ final class S3Source extends AbstractSource implements Source {
                 throw new IOException(info.toString(), e);
             }
         }
-        return objectAttributes;
+        return metadata;
     }
 
     /**
@@ -423,7 +466,7 @@ final class S3Source extends AbstractSource implements Source {
     @Override
     public StreamFactory newStreamFactory() throws IOException {
         S3ObjectInfo info = getObjectInfo();
-        info.setLength(getObjectAttributes().length);
+        info.setLength(getMetadata().getContentLength());
         return new S3StreamFactory(info);
     }
 
@@ -435,7 +478,7 @@ final class S3Source extends AbstractSource implements Source {
 
     private void reset() {
         objectInfo       = null;
-        objectAttributes = null;
+        metadata         = null;
         formatIterator   = new FormatIterator<>();
     }
 
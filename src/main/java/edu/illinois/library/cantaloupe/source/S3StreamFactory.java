@@ -1,12 +1,14 @@
 package edu.illinois.library.cantaloupe.source;
 
-import edu.illinois.library.cantaloupe.async.ThreadPool;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.source.stream.DrainingInputStream;
 import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 
 import javax.imageio.stream.ImageInputStream;
 import java.io.IOException;
@@ -21,8 +23,9 @@ class S3StreamFactory implements StreamFactory {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(S3StreamFactory.class);
 
-    private static final int DEFAULT_CHUNK_SIZE       = 1024 * 512;
-    private static final int DEFAULT_CHUNK_CACHE_SIZE = 1024 * 1024 * 10;
+    private static final int DEFAULT_CHUNK_SIZE        = 1024 * 512;
+    private static final int DEFAULT_CHUNK_CACHE_SIZE  = 1024 * 1024 * 10;
+    private static final int DEFAULT_READ_AHEAD_CHUNKS = 4;
 
     private S3ObjectInfo objectInfo;
 
@@ -32,65 +35,20 @@ class S3StreamFactory implements StreamFactory {
 
     @Override
     public InputStream newInputStream() throws IOException {
-        final InputStream responseStream =
+        final ResponseInputStream<GetObjectResponse> responseStream =
                 S3Source.newObjectInputStream(objectInfo);
+        final Long length = responseStream.response().contentLength();
 
         // Ideally we would just return responseStream. However, if it is
         // close()d before being fully consumed, its underlying TCP connection
         // will also be closed, negating the advantage of the connection pool
-        // and triggering a warning log message from the S3 client.
-        //
-        // This wrapper stream's close() method will drain the stream
-        // before closing it. Because this may take a long time, it will be
-        // done in another thread.
-        return new InputStream() {
-            private boolean isClosed;
-
-            @Override
-            public void close() {
-                if (!isClosed) {
-                    isClosed = true;
-
-                    ThreadPool.getInstance().submit(() -> {
-                        try {
-                            try {
-                                while (responseStream.read() != -1) {
-                                    // drain the stream
-                                }
-                            } finally {
-                                try {
-                                    responseStream.close();
-                                } finally {
-                                    super.close();
-                                }
-                            }
-                        } catch (IOException e) {
-                            LOGGER.warn(e.getMessage(), e);
-                        }
-                    });
-                }
-            }
-
-            @Override
-            public int read() throws IOException {
-                return responseStream.read();
-            }
-
-            @Override
-            public int read(byte[] b) throws IOException {
-                return responseStream.read(b);
-            }
-
-            @Override
-            public int read(byte[] b, int off, int len) throws IOException {
-                return responseStream.read(b, off, len);
-            }
-
-            @Override
-            public long skip(long n) throws IOException {
-                return responseStream.skip(n);
-            }
-        };
+        // and triggering a warning log message from the S3 client. On the
+        // other hand, draining a large remainder of it would waste a lot of
+        // bandwidth, so the wrapper drains only small remainders, and aborts
+        // the request otherwise.
+        return new DrainingInputStream(responseStream,
+                (length != null) ? length : -1,
+                responseStream::abort);
     }
 
     @Override
@@ -110,6 +68,7 @@ class S3StreamFactory implements StreamFactory {
                 if (isChunkCacheEnabled()) {
                     stream.setMaxChunkCacheSize(getMaxChunkCacheSize());
                 }
+                stream.setMaxReadAheadWindows(getMaxReadAheadChunks());
                 return stream;
             } catch (Throwable t) {
                 IOUtils.closeQuietly(stream);
@@ -146,4 +105,9 @@ class S3StreamFactory implements StreamFactory {
                 Key.S3SOURCE_CHUNK_CACHE_MAX_SIZE, DEFAULT_CHUNK_CACHE_SIZE);
     }
 
+    private int getMaxReadAheadChunks() {
+        return Math.max(0, Configuration.getInstance().getInt(
+                Key.S3SOURCE_CHUNK_READ_AHEAD, DEFAULT_READ_AHEAD_CHUNKS));
+    }
+
 }
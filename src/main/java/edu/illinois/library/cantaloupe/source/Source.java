@@ -27,6 +27,22 @@ import java.util.Iterator;
  */
 public interface Source {
 
+    /**
+     * <p>Informs the instance that a processor has successfully read the
+     * source image as the given format, which was obtained from {@link
+     * #getFormatIterator()}. Implementations that have to go to some expense
+     * to infer a format may remember it in order to return it first from
+     * their {@link #getFormatIterator() format iterators} in subsequent
+     * requests, sparing them from having to try other strategies, or
+     * processors from having to retry with other formats.</p>
+     *
+     * <p>The default implementation does nothing.</p>
+     *
+     * @param format Format that was successfully read.
+     * @since 6.0
+     */
+    default void confirmFormat(Format format) {}
+
     /**
      * @return Identifier of the source image to read.
      * @since 4.1
@@ -0,0 +1,133 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
+
+import java.time.Instant;
+
+/**
+ * <p>Metadata about a source image that a {@link Source} has obtained from
+ * its origin server, such as the response to an HTTP {@code HEAD} request.
+ * Instances are shared across requests via the {@link
+ * SourceMetadataCache}.</p>
+ *
+ * <p>Instances are populated by their owning source before being cached,
+ * with the exception of the {@link #getFormat() format}, which may be filled
+ * in later, if and when it is inferred from the image's magic bytes, and the
+ * {@link #getConfirmedFormat() confirmed format}, which is filled in once a
+ * processor has successfully read the image.</p>
+ *
+ * @since 6.0
+ */
+public final class SourceMetadata {
+
+    private final Identifier identifier;
+    private Instant lastModified;
+    private String contentType;
+    private long contentLength = -1;
+    private String eTag;
+    private boolean acceptsRanges;
+    private volatile Format format;
+    private volatile Format confirmedFormat;
+
+    /**
+     * @param identifier Identifier of the image, which enables the instance to
+     *                   be purged by identifier.
+     */
+    SourceMetadata(Identifier identifier) {
+        this.identifier = identifier;
+    }
+
+    /**
+     * @return Whether the origin server supports ranged requests.
+     */
+    public boolean acceptsRanges() {
+        return acceptsRanges;
+    }
+
+    /**
+     * @return Format that a processor has successfully read the image as
+     *         (see {@link Source#confirmFormat(Format)}), or {@code null} if
+     *         none has yet.
+     */
+    public Format getConfirmedFormat() {
+        return confirmedFormat;
+    }
+
+    /**
+     * @return Length of the image in bytes, or {@literal -1} if unknown.
+     */
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    /**
+     * @return Media type reported by the origin server, or {@code null} if
+     *         none was reported.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return Entity tag reported by the origin server, or {@code null} if
+     *         none was reported.
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return Format inferred from the image's magic bytes, or {@code null}
+     *         if it has not been inferred yet.
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    public Identifier getIdentifier() {
+        return identifier;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    void setAcceptsRanges(boolean acceptsRanges) {
+        this.acceptsRanges = acceptsRanges;
+    }
+
+    void setConfirmedFormat(Format confirmedFormat) {
+        this.confirmedFormat = confirmedFormat;
+    }
+
+    void setContentLength(long contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    void setETag(String eTag) {
+        this.eTag = eTag;
+    }
+
+    void setFormat(Format format) {
+        this.format = format;
+    }
+
+    void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @return New instance reflecting this one.
+     */
+    StatResult toStatResult() {
+        StatResult result = new StatResult();
+        result.setLastModified(lastModified);
+        return result;
+    }
+
+}
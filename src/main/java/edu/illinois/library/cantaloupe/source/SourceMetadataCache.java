@@ -0,0 +1,156 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.util.ObjectCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.bind.DatatypeConverter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+
+/**
+ * <p>Heap cache of {@link SourceMetadata} shared by all {@link Source}
+ * instances, which spares sources whose origin servers are remote from having
+ * to ask them for the same metadata (via {@code HEAD} requests and the like)
+ * in every request&mdash;of which there may be hundreds for the same image in
+ * quick succession when a viewer requests tiles.</p>
+ *
+ * <p>Entries are keyed by a resolved source locator, such as a URI or
+ * bucket/key pair, rather than by identifier, as the same identifier may
+ * resolve to different locators in different requests when a delegate
+ * method is involved. As a delegate method may also return different
+ * credentials for the same locator, keys also contain a hash of the
+ * credentials that were used to access it (see {@link #newKey}), so that
+ * metadata obtained with one set of credentials is never served to a request
+ * with another. Entries expire after {@link
+ * Key#SOURCE_METADATA_CACHE_TTL} seconds, and are purged along with the rest
+ * of the server-side caches via {@link
+ * edu.illinois.library.cantaloupe.cache.CacheFacade}.</p>
+ *
+ * @since 6.0
+ */
+public final class SourceMetadataCache {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(SourceMetadataCache.class);
+
+    static final int DEFAULT_TTL_SECONDS = 60;
+
+    private static final long MAX_SIZE = 10000;
+
+    private static SourceMetadataCache instance;
+
+    private final ObjectCache<String,SourceMetadata> objectCache;
+
+    /**
+     * For testing only!
+     */
+    static synchronized void clearInstance() {
+        instance = null;
+    }
+
+    /**
+     * @return Shared instance.
+     */
+    public static synchronized SourceMetadataCache getInstance() {
+        if (instance == null) {
+            final int ttl = Configuration.getInstance().getInt(
+                    Key.SOURCE_METADATA_CACHE_TTL, DEFAULT_TTL_SECONDS);
+            instance = new SourceMetadataCache(Duration.ofSeconds(ttl));
+        }
+        return instance;
+    }
+
+    /**
+     * @param locator     Resolved source locator.
+     * @param credentials Credentials, request headers, or anything else that
+     *                    can affect access to the resource at the locator.
+     *                    Elements may be {@code null}.
+     * @return            Cache key for the combination of the arguments. The
+     *                    credentials are hashed so that they are not retained
+     *                    in the heap.
+     */
+    static String newKey(String locator, String... credentials) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String credential : credentials) {
+                if (credential != null) {
+                    digest.update(credential.getBytes(StandardCharsets.UTF_8));
+                }
+                // Separate the elements so that e.g. ("ab", "c") and
+                // ("a", "bc") hash differently.
+                digest.update((byte) 0);
+            }
+            return locator + "#" +
+                    DatatypeConverter.printHexBinary(digest.digest()).toLowerCase();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static boolean isEnabled() {
+        return Configuration.getInstance().getBoolean(
+                Key.SOURCE_METADATA_CACHE_ENABLED, true);
+    }
+
+    SourceMetadataCache(Duration timeToLive) {
+        objectCache = new ObjectCache<>(MAX_SIZE, timeToLive);
+    }
+
+    /**
+     * @param key Key returned from {@link #newKey}.
+     * @return    Cached metadata, or {@code null} if there is no unexpired
+     *            metadata for the given key or the cache is disabled.
+     */
+    SourceMetadata get(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        final SourceMetadata metadata = objectCache.get(key);
+        LOGGER.trace("get(): {} for {}",
+                (metadata != null) ? "hit" : "miss", key);
+        return metadata;
+    }
+
+    /**
+     * Adds the given metadata, unless the cache is disabled.
+     *
+     * @param key      Key returned from {@link #newKey}.
+     * @param metadata Metadata to cache.
+     */
+    void put(String key, SourceMetadata metadata) {
+        if (isEnabled()) {
+            objectCache.put(key, metadata);
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void purge() {
+        LOGGER.debug("purge()");
+        objectCache.purge();
+    }
+
+    /**
+     * Removes all entries pertaining to the given identifier.
+     */
+    public void purge(Identifier identifier) {
+        LOGGER.debug("purge(Identifier): purging {}", identifier);
+        objectCache.asMap().values()
+                .removeIf(m -> identifier.equals(m.getIdentifier()));
+    }
+
+    /**
+     * @return Number of entries.
+     */
+    public long size() {
+        return objectCache.size();
+    }
+
+}
@@ -0,0 +1,75 @@
+package edu.illinois.library.cantaloupe.source.stream;
+
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageInputStreamImpl;
+import java.io.IOException;
+
+/**
+ * <p>{@link ImageInputStream} backed by a byte array.</p>
+ *
+ * <p>Unlike a {@link javax.imageio.stream.MemoryCacheImageInputStream}
+ * wrapping a {@link java.io.ByteArrayInputStream}, this class reads directly
+ * from the array, without copying it into a cache, which enables the same
+ * array to be shared by several readers without any additional memory
+ * use.</p>
+ *
+ * @since 6.0
+ */
+public class ByteArrayImageInputStream extends ImageInputStreamImpl
+        implements ImageInputStream {
+
+    private final byte[] data;
+
+    /**
+     * @param data Data to read. It is not copied, and must not be modified
+     *             while the instance is in use.
+     */
+    public ByteArrayImageInputStream(byte[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public boolean isCached() {
+        return true;
+    }
+
+    @Override
+    public boolean isCachedMemory() {
+        return true;
+    }
+
+    @Override
+    public long length() {
+        return data.length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkClosed();
+        bitOffset = 0;
+        if (streamPos >= data.length) {
+            return -1;
+        }
+        return data[(int) streamPos++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int length) throws IOException {
+        checkClosed();
+        if (offset < 0 || length < 0 || offset + length > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        bitOffset = 0;
+        if (length == 0) {
+            return 0;
+        }
+        if (streamPos >= data.length) {
+            return -1;
+        }
+        final int count = (int) Math.min(length, data.length - streamPos);
+        System.arraycopy(data, (int) streamPos, b, offset, count);
+        streamPos += count;
+        return count;
+    }
+
+}
@@ -0,0 +1,223 @@
+package edu.illinois.library.cantaloupe.source.stream;
+
+import edu.illinois.library.cantaloupe.async.ThreadPool;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.metrics.Counter;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * <p>Wraps a response body stream whose underlying pooled connection can be
+ * reused only if the body is consumed in full before the stream is
+ * closed.</p>
+ *
+ * <p>When an instance is closed before then, it either drains the rest of the
+ * body in bulk in the background, if no more than {@link
+ * Key#SOURCE_STREAM_MAX_DRAIN_SIZE} bytes of it remain, or else invokes an
+ * abort action that severs the connection, on the premise that downloading a
+ * large remainder only to throw it away costs more than opening a new
+ * connection does. When the length of the body is unknown, up to that many
+ * bytes are drained before giving up and aborting.</p>
+ *
+ * <p>Bytes and streams drained and aborted are tallied application-wide (see
+ * {@link #getNumBytesDrained()} etc.) in the {@link MetricRegistry}.</p>
+ *
+ * @since 6.0
+ */
+public final class DrainingInputStream extends FilterInputStream {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(DrainingInputStream.class);
+
+    static final long DEFAULT_MAX_DRAIN_SIZE = 1024 * 1024;
+
+    private static final int DRAIN_BUFFER_SIZE = 8192;
+
+    private static final Counter NUM_BYTES_ABORTED =
+            MetricRegistry.getInstance().counter(
+                    "cantaloupe_source_stream_aborted_bytes_total",
+                    "Unread bytes of source streams that were aborted " +
+                            "rather than drained.");
+    private static final Counter NUM_BYTES_DRAINED =
+            MetricRegistry.getInstance().counter(
+                    "cantaloupe_source_stream_drained_bytes_total",
+                    "Unread bytes of source streams that were drained.");
+    private static final Counter NUM_STREAMS_ABORTED =
+            MetricRegistry.getInstance().counter(
+                    "cantaloupe_source_streams_aborted_total",
+                    "Source streams that were aborted when closed early.");
+    private static final Counter NUM_STREAMS_DRAINED =
+            MetricRegistry.getInstance().counter(
+                    "cantaloupe_source_streams_drained_total",
+                    "Source streams that were drained when closed early.");
+
+    private final long length;
+    private final Runnable abortAction;
+    private long position;
+    private boolean isClosed;
+
+    /**
+     * @return Number of unread bytes that were not downloaded because their
+     *         streams were aborted. Bytes of streams of unknown length are
+     *         not included.
+     */
+    public static long getNumBytesAborted() {
+        return NUM_BYTES_ABORTED.getCount();
+    }
+
+    /**
+     * @return Number of unread bytes that were downloaded and discarded in
+     *         order to drain streams, including streams that ended up being
+     *         aborted.
+     */
+    public static long getNumBytesDrained() {
+        return NUM_BYTES_DRAINED.getCount();
+    }
+
+    /**
+     * @return Number of streams that were aborted.
+     */
+    public static long getNumStreamsAborted() {
+        return NUM_STREAMS_ABORTED.getCount();
+    }
+
+    /**
+     * @return Number of streams that were drained successfully.
+     */
+    public static long getNumStreamsDrained() {
+        return NUM_STREAMS_DRAINED.getCount();
+    }
+
+    /**
+     * @return Max number of bytes to drain from the application
+     *         configuration.
+     */
+    static long getMaxDrainSize() {
+        return Math.max(0, Configuration.getInstance().getLongBytes(
+                Key.SOURCE_STREAM_MAX_DRAIN_SIZE, DEFAULT_MAX_DRAIN_SIZE));
+    }
+
+    /**
+     * @param in          Response body stream.
+     * @param length      Length of the response body, or {@literal -1} if
+     *                    unknown.
+     * @param abortAction Severs the connection underlying {@code in}. It is
+     *                    invoked before {@code in} is closed, and must not
+     *                    throw.
+     */
+    public DrainingInputStream(InputStream in,
+                               long length,
+                               Runnable abortAction) {
+        super(in);
+        this.length      = length;
+        this.abortAction = abortAction;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        final long remaining    = (length >= 0) ? length - position : -1;
+        final long maxDrainSize = getMaxDrainSize();
+        if (remaining == 0) {
+            in.close();
+        } else if (remaining > maxDrainSize) {
+            LOGGER.trace("close(): aborting with {} bytes remaining",
+                    remaining);
+            abort(remaining);
+        } else {
+            // Draining may take a while, so it's done in the background.
+            ThreadPool.getInstance().submit(() -> {
+                try {
+                    drain(maxDrainSize);
+                } catch (IOException e) {
+                    LOGGER.warn("close(): {}", e.getMessage());
+                }
+            }, ThreadPool.Priority.LOW);
+        }
+    }
+
+    /**
+     * Reads and discards the rest of the stream, unless it turns out to be
+     * longer than {@code maxBytes}, in which case it is aborted.
+     */
+    void drain(long maxBytes) throws IOException {
+        final byte[] buffer = new byte[DRAIN_BUFFER_SIZE];
+        long numDrained = 0;
+        try {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                numDrained += n;
+                if (numDrained > maxBytes) {
+                    LOGGER.trace("drain(): aborting after {} bytes",
+                            numDrained);
+                    NUM_BYTES_DRAINED.increment(numDrained);
+                    abort((length >= 0) ?
+                            length - position - numDrained : -1);
+                    return;
+                }
+            }
+            LOGGER.trace("drain(): drained {} bytes", numDrained);
+            NUM_BYTES_DRAINED.increment(numDrained);
+            NUM_STREAMS_DRAINED.increment();
+            in.close();
+        } catch (IOException e) {
+            NUM_BYTES_DRAINED.increment(numDrained);
+            abort(-1);
+            throw e;
+        }
+    }
+
+    private void abort(long remaining) throws IOException {
+        try {
+            abortAction.run();
+        } finally {
+            if (remaining > 0) {
+                NUM_BYTES_ABORTED.increment(remaining);
+            }
+            NUM_STREAMS_ABORTED.increment();
+            in.close();
+        }
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int b = in.read();
+        if (b != -1) {
+            position++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        final int n = in.read(b, off, len);
+        if (n > 0) {
+            position += n;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        final long skipped = in.skip(n);
+        if (skipped > 0) {
+            position += skipped;
+        }
+        return skipped;
+    }
+
+}
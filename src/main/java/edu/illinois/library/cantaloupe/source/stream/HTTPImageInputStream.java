@@ -1,7 +1,15 @@
 package edu.illinois.library.cantaloupe.source.stream;
 
+import edu.illinois.library.cantaloupe.async.ThreadPool;
 import edu.illinois.library.cantaloupe.http.Range;
 import edu.illinois.library.cantaloupe.http.Response;
+import edu.illinois.library.cantaloupe.jfr.JFREvents;
+import edu.illinois.library.cantaloupe.jfr.SourceFetchEvent;
+import edu.illinois.library.cantaloupe.metrics.Counter;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.metrics.RequestTrace;
+import edu.illinois.library.cantaloupe.metrics.Stage;
+import edu.illinois.library.cantaloupe.metrics.Timer;
 import edu.illinois.library.cantaloupe.util.ObjectCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +17,18 @@ import org.slf4j.LoggerFactory;
 import javax.imageio.stream.ImageInputStream;
 import javax.imageio.stream.ImageInputStreamImpl;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <p>Input stream that supports pseudo-seeking over HTTP.</p>
@@ -24,11 +44,25 @@ import java.io.IOException;
  * {@link #setMaxChunkCacheSize(long)}. This could help readers that seek
  * around a lot beyond the window size. The cache is per-instance.</p>
  *
+ * <p>Read-ahead can be enabled by passing a positive value to {@link
+ * #setMaxReadAheadWindows(int)}. When the reader moves from one window into
+ * the next one, the instance assumes that it is reading sequentially, and
+ * begins fetching upcoming windows asynchronously, doubling the number of
+ * windows it fetches ahead each time the run continues, up to the maximum.
+ * Adjacent upcoming windows are merged into a single ranged request, and up to
+ * {@link #MAX_PARALLEL_FETCHES} disjoint requests are sent in parallel. A seek
+ * outside of the run resets the read-ahead. This reduces the effect of latency
+ * on readers that consume large contiguous parts of an image, like JPEG2000
+ * code-block sequences or TIFF strips, at the cost of some unused data being
+ * downloaded when the run ends. {@link #getNumBytesDownloaded()} and {@link
+ * #getNumBytesRead()} can be compared to tune the policy.</p>
+ *
  * <p>The HTTP client is abstracted into the exceedingly simple {@link
  * HTTPImageInputStreamClient} interface, so probably any existing client
  * implementation, including many cloud storage clients, can be hooked up and
  * used easily, without this class needing to know about things like SSL/TLS,
- * request signing, etc.</p>
+ * request signing, etc. When read-ahead is enabled, the client must be safe
+ * to use from multiple threads.</p>
  *
  * <p>This class works only with HTTP servers that support {@literal Range}
  * requests, as advertised by the presence of a {@literal Accept-Ranges: bytes}
@@ -53,6 +87,23 @@ public class HTTPImageInputStream extends ImageInputStreamImpl
      */
     private static final int DEFAULT_WINDOW_SIZE = 1024 * 512;
 
+    /**
+     * Maximum number of read-ahead requests that an instance may have in
+     * flight at once.
+     */
+    static final int MAX_PARALLEL_FETCHES = 4;
+
+    private static final Counter CHUNK_BYTES_COUNTER =
+            MetricRegistry.getInstance().counter(
+                    "cantaloupe_source_chunk_download_bytes_total",
+                    "Bytes downloaded by ranged requests for chunks of " +
+                            "source images.");
+    private static final Timer CHUNK_TIMER =
+            MetricRegistry.getInstance().timer(
+                    "cantaloupe_source_chunk_download_duration_seconds",
+                    "Time taken by ranged requests for chunks of source " +
+                            "images, including read-ahead requests.");
+
     private HTTPImageInputStreamClient client;
     private ObjectCache<Range,byte[]> chunkCache;
     private long streamLength   = -1;
@@ -61,8 +112,77 @@ public class HTTPImageInputStream extends ImageInputStreamImpl
     private int windowIndex     = -1;
     private byte[] windowBuffer = new byte[windowSize];
 
-    private int numChunkDownloads, numChunkCacheHits, numChunkCacheMisses;
-    private long numBytesDownloaded, numBytesRead;
+    /**
+     * Maximum number of windows to read ahead. {@literal 0} disables
+     * read-ahead.
+     */
+    private int maxReadAheadWindows;
+
+    /**
+     * Current number of windows to read ahead, which grows during sequential
+     * runs.
+     */
+    private int readAheadWindows;
+
+    /**
+     * Windows that are being (or have been) fetched ahead of the reader, keyed
+     * by window index. Accessed only by the reading thread.
+     */
+    private final Map<Integer,Future<byte[]>> pendingWindows = new HashMap<>();
+
+    /**
+     * Read-ahead requests that have been submitted and of which at least one
+     * window is still pending. Accessed only by the reading thread.
+     */
+    private final List<ReadAheadRequest> readAheadRequests = new ArrayList<>();
+
+    /**
+     * Limits the number of {@link #readAheadRequests} that are in flight to
+     * {@link #MAX_PARALLEL_FETCHES}.
+     */
+    private final Semaphore readAheadPermits =
+            new Semaphore(MAX_PARALLEL_FETCHES);
+
+    private final AtomicInteger numChunkDownloads = new AtomicInteger();
+    private final AtomicLong numBytesDownloaded   = new AtomicLong();
+    private int numChunkCacheHits, numChunkCacheMisses, numReadAheadHits;
+    private long numBytesRead;
+
+    /**
+     * Request for one or more contiguous windows that is executed in the
+     * application thread pool.
+     */
+    private static final class ReadAheadRequest {
+
+        /**
+         * Completes with the bytes of all of the windows.
+         */
+        private final CompletableFuture<byte[]> result =
+                new CompletableFuture<>();
+
+        /**
+         * Futures of the individual windows, derived from {@link #result},
+         * keyed by window index.
+         */
+        private final Map<Integer,Future<byte[]>> windows = new HashMap<>();
+
+        /**
+         * Task that executes the request.
+         */
+        private Future<?> task;
+
+        /**
+         * Cancels the request, interrupting it if it is in progress. This has
+         * no effect if it has already completed.
+         */
+        void cancel() {
+            result.cancel(true);
+            if (task != null) {
+                task.cancel(true);
+            }
+        }
+
+    }
 
     private static void debug(String message, Object... vars) {
         if (DEBUG) {
@@ -99,6 +219,31 @@ public class HTTPImageInputStream extends ImageInputStreamImpl
         this.streamLength = resourceLength;
     }
 
+    /**
+     * @return Number of bytes downloaded so far, including bytes that were
+     *         read ahead.
+     * @since 6.0
+     */
+    public long getNumBytesDownloaded() {
+        return numBytesDownloaded.get();
+    }
+
+    /**
+     * @return Number of bytes read so far.
+     * @since 6.0
+     */
+    public long getNumBytesRead() {
+        return numBytesRead;
+    }
+
+    /**
+     * @return Number of windows that were obtained from read-ahead.
+     * @since 6.0
+     */
+    public int getNumReadAheadHits() {
+        return numReadAheadHits;
+    }
+
     public long getMaxChunkCacheSize() {
         if (chunkCache != null) {
             return chunkCache.maxSize();
@@ -106,6 +251,13 @@ public class HTTPImageInputStream extends ImageInputStreamImpl
         return 0;
     }
 
+    /**
+     * @since 6.0
+     */
+    public int getMaxReadAheadWindows() {
+        return maxReadAheadWindows;
+    }
+
     public int getWindowSize() {
         return windowSize;
     }
@@ -124,6 +276,23 @@ public class HTTPImageInputStream extends ImageInputStreamImpl
         }
     }
 
+    /**
+     * Sets the maximum number of windows to fetch ahead of the reader during
+     * sequential runs. Must be called before any reading or seeking occurs.
+     *
+     * @param maxReadAheadWindows Maximum number of windows. Supply {@literal
+     *                            0} to disable read-ahead.
+     * @throws IllegalArgumentException if the argument is negative.
+     * @since 6.0
+     */
+    public void setMaxReadAheadWindows(int maxReadAheadWindows) {
+        if (maxReadAheadWindows < 0) {
+            throw new IllegalArgumentException(
+                    "Max read-ahead windows must be >= 0");
+        }
+        this.maxReadAheadWindows = maxReadAheadWindows;
+    }
+
     /**
      * <p>Sets the window size. Must be called before any reading or seeking
      * occurs.</p>
@@ -166,6 +335,10 @@ public class HTTPImageInputStream extends ImageInputStreamImpl
         try {
             super.close();
         } finally {
+            pendingWindows.values().forEach(f -> f.cancel(true));
+            pendingWindows.clear();
+            readAheadRequests.forEach(ReadAheadRequest::cancel);
+            readAheadRequests.clear();
             client       = null;
             windowBuffer = null;
             chunkCache   = null;
@@ -173,15 +346,18 @@ public class HTTPImageInputStream extends ImageInputStreamImpl
     }
 
     private void logStatistics() {
+        final long numBytesDownloaded = this.numBytesDownloaded.get();
         LOGGER.debug("Downloaded {} chunks ({} ({}%) of {} bytes); " +
-                        "read {}% of chunk data; {} cache hits; {} cache misses",
-                numChunkDownloads,
+                        "read {}% of chunk data; {} cache hits; {} cache misses; " +
+                        "{} read-ahead hits",
+                numChunkDownloads.get(),
                 numBytesDownloaded,
                 String.format("%.2f", numBytesDownloaded * 100 / (double) streamLength),
                 streamLength,
                 String.format("%.2f", numBytesRead * 100 / (double) numBytesDownloaded),
                 numChunkCacheHits,
-                numChunkCacheMisses);
+                numChunkCacheMisses,
+                numReadAheadHits);
     }
 
     /**
@@ -306,13 +482,172 @@ public class HTTPImageInputStream extends ImageInputStreamImpl
     private void prepareWindowBuffer() throws IOException {
         final int neededWindowIndex = getStreamWindowIndex();
         if (neededWindowIndex != windowIndex) {
-            Range range  = getRange(neededWindowIndex);
-            windowBuffer = fetchChunk(range);
+            adaptReadAhead(neededWindowIndex);
+            windowBuffer = fetchWindow(neededWindowIndex);
             windowIndex  = neededWindowIndex;
             windowPos    = getIndexWithinWindow();
+            readAhead(neededWindowIndex);
+        }
+    }
+
+    /**
+     * Grows {@link #readAheadWindows} if the given window immediately follows
+     * the current one, or else resets it and discards any read-ahead that has
+     * become irrelevant.
+     */
+    private void adaptReadAhead(int neededWindowIndex) {
+        if (maxReadAheadWindows < 1) {
+            return;
+        }
+        if (windowIndex >= 0 && neededWindowIndex == windowIndex + 1) {
+            readAheadWindows = Math.min(maxReadAheadWindows,
+                    Math.max(1, readAheadWindows * 2));
+        } else {
+            readAheadWindows = 0;
+            pendingWindows.entrySet().removeIf(e -> {
+                final int index = e.getKey();
+                if (index < neededWindowIndex ||
+                        index > neededWindowIndex + maxReadAheadWindows) {
+                    e.getValue().cancel(true);
+                    return true;
+                }
+                return false;
+            });
+            cancelUnneededReadAheadRequests();
         }
     }
 
+    /**
+     * Cancels and forgets any {@link #readAheadRequests} none of whose
+     * windows are pending anymore, so that the ones whose windows have all
+     * been discarded don't continue to download and occupy a permit.
+     */
+    private void cancelUnneededReadAheadRequests() {
+        readAheadRequests.removeIf(request -> {
+            final boolean isNeeded = request.windows.entrySet().stream()
+                    .anyMatch(e -> pendingWindows.get(e.getKey()) == e.getValue());
+            if (!isNeeded) {
+                request.cancel();
+            }
+            return !isNeeded;
+        });
+    }
+
+    /**
+     * Fetches the window at the given index by either retrieving it from
+     * read-ahead, or by calling {@link #fetchChunk(Range)}.
+     */
+    private byte[] fetchWindow(int index) throws IOException {
+        final Future<byte[]> pending = pendingWindows.remove(index);
+        if (pending != null) {
+            try {
+                final byte[] chunk = pending.get();
+                numReadAheadHits++;
+                if (chunkCache != null) {
+                    chunkCache.put(getRange(index), chunk);
+                }
+                return chunk;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } catch (ExecutionException e) {
+                LOGGER.debug("Read-ahead of window {} failed ({}); " +
+                        "fetching it again", index, e.getMessage());
+            } finally {
+                // The request is complete, but it has to be forgotten.
+                cancelUnneededReadAheadRequests();
+            }
+        }
+        return fetchChunk(getRange(index));
+    }
+
+    /**
+     * Asynchronously fetches up to {@link #readAheadWindows} windows following
+     * the one at the given index that are not already pending or cached.
+     * Contiguous windows are split into up to {@link #MAX_PARALLEL_FETCHES}
+     * groups, each of which is fetched with one request. Groups for which no
+     * {@link #readAheadPermits permit} is available are skipped, and are
+     * either read ahead later or fetched when they are needed.
+     */
+    private void readAhead(int index) {
+        if (readAheadWindows < 1) {
+            return;
+        }
+        final int lastIndex = (int) ((streamLength - 1) / windowSize);
+        final List<Integer> missingIndices = new ArrayList<>();
+        for (int i = index + 1; i <= Math.min(index + readAheadWindows, lastIndex); i++) {
+            if (!pendingWindows.containsKey(i) &&
+                    (chunkCache == null || chunkCache.get(getRange(i)) == null)) {
+                missingIndices.add(i);
+            }
+        }
+        if (missingIndices.isEmpty()) {
+            return;
+        }
+        final int groupSize = (int) Math.ceil(
+                missingIndices.size() / (double) MAX_PARALLEL_FETCHES);
+        List<Integer> group = new ArrayList<>();
+        for (int i : missingIndices) {
+            if (!group.isEmpty() && (group.size() >= groupSize ||
+                    i != group.get(group.size() - 1) + 1)) {
+                readAheadGroup(group);
+                group = new ArrayList<>();
+            }
+            group.add(i);
+        }
+        readAheadGroup(group);
+    }
+
+    /**
+     * Fetches the given contiguous windows with one request, and adds a
+     * future for each of them to {@link #pendingWindows}, unless {@link
+     * #MAX_PARALLEL_FETCHES} requests are already in flight.
+     */
+    private void readAheadGroup(List<Integer> indices) {
+        if (!readAheadPermits.tryAcquire()) {
+            debug("Not reading ahead windows {}: too many requests in flight",
+                    indices);
+            return;
+        }
+        final Range range = new Range();
+        range.start       = getRange(indices.get(0)).start;
+        range.end         = getRange(indices.get(indices.size() - 1)).end;
+        range.length      = streamLength;
+
+        debug("Reading ahead range: {}", range);
+        final HTTPImageInputStreamClient client = this.client;
+        // The download happens in a pool thread, which doesn't know which
+        // request it is working on.
+        final RequestTrace trace = RequestTrace.current();
+        final ReadAheadRequest request = new ReadAheadRequest();
+        final CompletableFuture<byte[]> result = request.result;
+        // The result completes exactly once, whether it is downloaded,
+        // fails, or is cancelled, even before the task has started.
+        result.whenComplete((bytes, t) -> readAheadPermits.release());
+        request.task = ThreadPool.getInstance().submit(() -> {
+            try {
+                result.complete(downloadChunk(client, range, trace));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        for (int index : indices) {
+            final Range windowRange = getRange(index);
+            final int offset = (int) (windowRange.start - range.start);
+            final int length = (int) (windowRange.end - windowRange.start + 1);
+            final Future<byte[]> window = result.thenApply(bytes -> {
+                if (bytes.length < offset + length) {
+                    throw new CompletionException(new IOException(
+                            "Received fewer bytes than requested"));
+                }
+                return Arrays.copyOfRange(bytes, offset, offset + length);
+            });
+            request.windows.put(index, window);
+            pendingWindows.put(index, window);
+        }
+        readAheadRequests.add(request);
+    }
+
     /**
      * Fetches a chunk for the given range by either retrieving it from the
      * chunk cache or downloading it.
@@ -337,11 +672,34 @@ public class HTTPImageInputStream extends ImageInputStreamImpl
     }
 
     private byte[] downloadChunk(Range range) throws IOException {
+        return downloadChunk(client, range, RequestTrace.current());
+    }
+
+    /**
+     * @param trace Trace into which to record the download. May be {@code
+     *              null}.
+     */
+    private byte[] downloadChunk(HTTPImageInputStreamClient client,
+                                 Range range,
+                                 RequestTrace trace) throws IOException {
         debug("Downloading range: {}", range);
-        Response response  = client.sendGETRequest(range);
-        byte[] entity      = response.getBody();
-        numBytesDownloaded += entity.length;
-        numChunkDownloads++;
+        final SourceFetchEvent event = new SourceFetchEvent();
+        final byte[] entity;
+        try (Stage stage = Stage.begin("download", trace)
+                .withTimer(CHUNK_TIMER)
+                .withEvent(event)) {
+            Response response = client.sendGETRequest(range);
+            entity = response.getBody();
+            stage.onCommit(() -> {
+                // The identifier is not known at this level.
+                event.setSource(JFREvents.className(client));
+                event.setOperation(SourceFetchEvent.OPERATION_DOWNLOAD);
+                event.setBytes(entity.length);
+            });
+        }
+        CHUNK_BYTES_COUNTER.increment(entity.length);
+        numBytesDownloaded.addAndGet(entity.length);
+        numChunkDownloads.incrementAndGet();
         return entity;
     }
 
@@ -0,0 +1,140 @@
+package edu.illinois.library.cantaloupe.source.stream;
+
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageInputStreamImpl;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>{@link ImageInputStream} backed by a memory-mapped file.</p>
+ *
+ * <p>Unlike a {@link javax.imageio.stream.FileImageInputStream}, which is
+ * backed by an unbuffered {@link java.io.RandomAccessFile} and issues a
+ * system call for nearly every read, this class reads from memory that the
+ * operating system pages in from the file as needed. This greatly speeds up
+ * readers that do a lot of small, scattered reads, such as those that parse
+ * TIFF IFDs or JPEG2000 boxes.</p>
+ *
+ * <p>Because a single mapping is limited to {@link Integer#MAX_VALUE} bytes,
+ * files larger than {@link #DEFAULT_SEGMENT_SIZE} are mapped in several
+ * segments.</p>
+ *
+ * <p>N.B.: mappings are released when they are garbage-collected, not when
+ * the instance is closed, and on some platforms (Windows) a mapped file
+ * can't be deleted until then. Also, if a mapped file is truncated by
+ * another process while it is being read, reads may fail with an {@link
+ * InternalError} or even crash the VM with {@literal SIGBUS}.</p>
+ *
+ * @since 6.0
+ */
+public class MappedFileImageInputStream extends ImageInputStreamImpl
+        implements ImageInputStream {
+
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    private final MappedByteBuffer[] segments;
+    private final int segmentSize;
+    private final long length;
+
+    /**
+     * @param file File to read.
+     */
+    public MappedFileImageInputStream(Path file) throws IOException {
+        this(file, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param file        File to read.
+     * @param segmentSize Max size of each mapping. This is only configurable
+     *                    for testing.
+     */
+    MappedFileImageInputStream(Path file, int segmentSize) throws IOException {
+        this.segmentSize = segmentSize;
+        try (FileChannel channel =
+                     FileChannel.open(file, StandardOpenOption.READ)) {
+            length = channel.size();
+            final int numSegments =
+                    (int) ((length + segmentSize - 1) / segmentSize);
+            segments = new MappedByteBuffer[numSegments];
+            for (int i = 0; i < numSegments; i++) {
+                final long position = (long) i * segmentSize;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        position, Math.min(segmentSize, length - position));
+            }
+        }
+    }
+
+    /**
+     * @return {@code false}, as with {@link
+     *         javax.imageio.stream.FileImageInputStream}. The instance reads
+     *         directly from the file, so there is no cache that readers could
+     *         rely on to make seeking backwards cheaper than it already is.
+     */
+    @Override
+    public boolean isCached() {
+        return false;
+    }
+
+    /**
+     * @return {@code false}.
+     * @see #isCached()
+     */
+    @Override
+    public boolean isCachedFile() {
+        return false;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkClosed();
+        bitOffset = 0;
+        if (streamPos >= length) {
+            return -1;
+        }
+        final MappedByteBuffer segment =
+                segments[(int) (streamPos / segmentSize)];
+        final int b = segment.get((int) (streamPos % segmentSize)) & 0xff;
+        streamPos++;
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int len) throws IOException {
+        checkClosed();
+        if (offset < 0 || len < 0 || offset + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        bitOffset = 0;
+        if (len == 0) {
+            return 0;
+        }
+        if (streamPos >= length) {
+            return -1;
+        }
+        int remaining = (int) Math.min(len, length - streamPos);
+        final int count = remaining;
+        while (remaining > 0) {
+            // Reads may span segments.
+            final MappedByteBuffer segment =
+                    segments[(int) (streamPos / segmentSize)];
+            final int segmentOffset = (int) (streamPos % segmentSize);
+            final int n = Math.min(remaining,
+                    segment.limit() - segmentOffset);
+            segment.position(segmentOffset);
+            segment.get(b, offset, n);
+            offset    += n;
+            remaining -= n;
+            streamPos += n;
+        }
+        return count;
+    }
+
+}
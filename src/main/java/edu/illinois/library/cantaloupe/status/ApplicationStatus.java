@@ -3,6 +3,8 @@ package edu.illinois.library.cantaloupe.status;
 import edu.illinois.library.cantaloupe.Application;
 import edu.illinois.library.cantaloupe.cache.InfoCache;
 import edu.illinois.library.cantaloupe.cache.InfoService;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
+import edu.illinois.library.cantaloupe.source.stream.DrainingInputStream;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.RuntimeMXBean;
@@ -111,6 +113,24 @@ public final class ApplicationStatus {
         return System.getProperty("java.version");
     }
 
+    /**
+     * Registers gauges for the info cache size and VM heap usage with the
+     * given registry.
+     *
+     * @since 6.0
+     */
+    public void registerGauges(MetricRegistry registry) {
+        registry.gauge("cantaloupe_info_cache_size",
+                "Infos in the info cache.",
+                this::getInfoCacheSize);
+        registry.gauge("cantaloupe_vm_heap_used_bytes",
+                "Used VM heap.",
+                this::getVMUsedHeap);
+        registry.gauge("cantaloupe_vm_heap_max_bytes",
+                "Max VM heap.",
+                this::getVMMaxHeap);
+    }
+
     public Map<String,Object> toMap() {
         final Map<String,Object> status = new LinkedHashMap<>();
 
@@ -125,6 +145,18 @@ public final class ApplicationStatus {
             section.put("maxSize", getInfoCacheMaxSize());
             status.put("infoCache", section);
         }
+        { // Source streams
+            var section = new LinkedHashMap<>();
+            section.put("numStreamsDrained",
+                    DrainingInputStream.getNumStreamsDrained());
+            section.put("numBytesDrained",
+                    DrainingInputStream.getNumBytesDrained());
+            section.put("numStreamsAborted",
+                    DrainingInputStream.getNumStreamsAborted());
+            section.put("numBytesAborted",
+                    DrainingInputStream.getNumBytesAborted());
+            status.put("sourceStreams", section);
+        }
         { // VM
             var section = new LinkedHashMap<>();
             section.put("vendor", getVMVendor());
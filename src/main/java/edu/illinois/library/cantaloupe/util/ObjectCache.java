@@ -3,7 +3,9 @@ package edu.illinois.library.cantaloupe.util;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
+import java.time.Duration;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Size-bounded heap cache.
@@ -23,6 +25,21 @@ public final class ObjectCache<K, V> {
         store = Caffeine.newBuilder().softValues().maximumSize(maxSize).build();
     }
 
+    /**
+     * Creates an instance with the given max size whose entries expire after
+     * the given amount of time has elapsed since they were put.
+     *
+     * @since 6.0
+     */
+    public ObjectCache(long maxSize, Duration timeToLive) {
+        this.maxSize = maxSize;
+        store = Caffeine.newBuilder()
+                .softValues()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLive.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
     public ConcurrentMap<K,V> asMap() {
         return store.asMap();
     }
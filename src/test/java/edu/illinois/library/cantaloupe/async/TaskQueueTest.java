@@ -21,6 +21,27 @@ public class TaskQueueTest extends BaseTest {
         instance = TaskQueue.getInstance();
     }
 
+    /* getInstance(Priority) */
+
+    @Test
+    void testGetInstanceWithPriority() {
+        assertSame(instance,
+                TaskQueue.getInstance(ThreadPool.Priority.NORMAL));
+        assertSame(TaskQueue.getInstance(ThreadPool.Priority.LOW),
+                TaskQueue.getInstance(ThreadPool.Priority.LOW));
+        assertNotSame(instance,
+                TaskQueue.getInstance(ThreadPool.Priority.LOW));
+    }
+
+    @Test
+    void testGetInstanceWithPriorityRunsTasksInThreadOfThatPriority()
+            throws Exception {
+        final FutureTask<String> task =
+                new FutureTask<>(() -> Thread.currentThread().getName());
+        TaskQueue.getInstance(ThreadPool.Priority.LOW).submit(task);
+        assertTrue(task.get().startsWith("work-lo"));
+    }
+
     /* queuedTasks() */
 
     @Test
@@ -30,6 +30,7 @@ import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 
 import static edu.illinois.library.cantaloupe.cache.FilesystemCache.*;
 import static edu.illinois.library.cantaloupe.test.Assert.PathAssert.assertRecursiveFileCount;
@@ -178,6 +179,19 @@ public class FilesystemCacheTest extends AbstractCacheTest {
         assertEquals(expected, infoTempFile(identifier));
     }
 
+    @Test
+    void testPyramidalSourceImageFile() {
+        final String pathname = Configuration.getInstance().
+                getString(Key.FILESYSTEMCACHE_PATHNAME);
+        final Identifier identifier = new Identifier("cats_~!@#$%^&*()");
+        final Path expected = Paths.get(
+                pathname,
+                "source",
+                FilesystemCache.hashedPathFragment(identifier.toString()),
+                StringUtils.md5(identifier.toString()) + ".tif");
+        assertEquals(expected, pyramidalSourceImageFile(identifier));
+    }
+
     @Test
     void testSourceImageFile() {
         final String pathname = Configuration.getInstance().
@@ -320,6 +334,36 @@ public class FilesystemCacheTest extends AbstractCacheTest {
         assertRecursiveFileCount(fixturePath, 3);
     }
 
+    /* getDerivativeImageFile(OperationList) */
+
+    @Test
+    void testGetDerivativeImageFileWithPresentFile() throws Exception {
+        OperationList ops = new OperationList(new Identifier("cats"));
+        Path imageFile = derivativeImageFile(ops);
+        createEmptyFile(imageFile);
+        assertEquals(imageFile,
+                instance.getDerivativeImageFile(ops).orElseThrow());
+    }
+
+    @Test
+    void testGetDerivativeImageFileWithMissingFile() throws Exception {
+        OperationList ops = new OperationList(new Identifier("cats"));
+        assertFalse(instance.getDerivativeImageFile(ops).isPresent());
+    }
+
+    @Test
+    void testGetDerivativeImageFileWithExpiredFile() throws Exception {
+        Configuration.getInstance().setProperty(Key.DERIVATIVE_CACHE_TTL, 1);
+        OperationList ops = new OperationList(new Identifier("cats"));
+        Path imageFile = derivativeImageFile(ops);
+        createEmptyFile(imageFile);
+        Files.setAttribute(imageFile, "lastAccessTime",
+                FileTime.fromMillis(System.currentTimeMillis() - 60000));
+        assertFalse(instance.getDerivativeImageFile(ops).isPresent());
+    }
+
+    /* getDerivativeImageFiles(Identifier) */
+
     @Test
     void testGetDerivativeImageFiles() throws Exception {
         Identifier identifier = new Identifier("dogs");
@@ -339,6 +383,49 @@ public class FilesystemCacheTest extends AbstractCacheTest {
         assertEquals(3, instance.getDerivativeImageFiles(identifier).size());
     }
 
+    /* getPyramidalSourceImageFile(Identifier) */
+
+    @Test
+    void testGetPyramidalSourceImageFileWithNoSourceImage() throws Exception {
+        Identifier identifier = new Identifier("cats");
+        createEmptyFile(pyramidalSourceImageFile(identifier));
+        assertFalse(instance.getPyramidalSourceImageFile(identifier).isPresent());
+    }
+
+    @Test
+    void testGetPyramidalSourceImageFileWithNoPyramidalSourceImage()
+            throws Exception {
+        Identifier identifier = new Identifier("cats");
+        createEmptyFile(sourceImageFile(identifier));
+        assertFalse(instance.getPyramidalSourceImageFile(identifier).isPresent());
+    }
+
+    @Test
+    void testGetPyramidalSourceImageFileWithCurrentPyramidalSourceImage()
+            throws Exception {
+        Identifier identifier = new Identifier("cats");
+        createEmptyFile(sourceImageFile(identifier));
+        try (CompletableOutputStream os =
+                     instance.newPyramidalSourceImageOutputStream(identifier)) {
+            os.write(new byte[] { 1, 2, 3 });
+            os.setComplete(true);
+        }
+        assertEquals(pyramidalSourceImageFile(identifier),
+                instance.getPyramidalSourceImageFile(identifier).orElseThrow());
+    }
+
+    @Test
+    void testGetPyramidalSourceImageFileWithStalePyramidalSourceImage()
+            throws Exception {
+        Identifier identifier = new Identifier("cats");
+        Path pyramidalFile = pyramidalSourceImageFile(identifier);
+        createEmptyFile(pyramidalFile);
+        Files.setLastModifiedTime(pyramidalFile,
+                FileTime.fromMillis(System.currentTimeMillis() - 60000));
+        createEmptyFile(sourceImageFile(identifier));
+        assertFalse(instance.getPyramidalSourceImageFile(identifier).isPresent());
+    }
+
     /* getSourceImageFile(Identifier) */
 
     @Test
@@ -397,6 +484,19 @@ public class FilesystemCacheTest extends AbstractCacheTest {
         super.testNewDerivativeImageInputStreamConcurrently();
     }
 
+    /* newPyramidalSourceImageOutputStream(Identifier) */
+
+    @Test
+    void testNewPyramidalSourceImageOutputStreamWithIncompleteStream()
+            throws Exception {
+        Identifier identifier = new Identifier("cats");
+        try (CompletableOutputStream os =
+                     instance.newPyramidalSourceImageOutputStream(identifier)) {
+            os.write(new byte[] { 1, 2, 3 });
+        }
+        assertFalse(Files.exists(pyramidalSourceImageFile(identifier)));
+    }
+
     /* newSourceImageOutputStream(Identifier) */
 
     @Test
@@ -466,9 +566,10 @@ public class FilesystemCacheTest extends AbstractCacheTest {
         Identifier id1 = new Identifier("dogs");
         ops.setIdentifier(id1);
 
-        // create a new source image
+        // create a new source image and pyramidal rendition
         Path sourceImageFile = sourceImageFile(ops.getIdentifier());
         createEmptyFile(sourceImageFile);
+        createEmptyFile(pyramidalSourceImageFile(ops.getIdentifier()));
 
         // create a new derivative image
         Path derivativeImageFile = derivativeImageFile(ops);
@@ -491,7 +592,7 @@ public class FilesystemCacheTest extends AbstractCacheTest {
         infoFile = infoFile(ops.getIdentifier());
         createEmptyFile(infoFile);
 
-        assertRecursiveFileCount(sourceImagePath, 2);
+        assertRecursiveFileCount(sourceImagePath, 3);
         assertRecursiveFileCount(derivativeImagePath, 2);
         assertRecursiveFileCount(infoPath, 2);
         instance.purge(id1);
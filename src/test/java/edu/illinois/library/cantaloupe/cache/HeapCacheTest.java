@@ -136,7 +136,7 @@ public class HeapCacheTest extends AbstractCacheTest {
         Info info = new Info();
         instance.put(id1, info);
 
-        assertEquals(5439 + info.toJSON().length(), instance.getByteSize());
+        assertEquals(5439 + info.toBytes().length, instance.getByteSize());
     }
 
     /* getInfo(Identifier) */
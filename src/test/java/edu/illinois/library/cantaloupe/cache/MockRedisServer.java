@@ -0,0 +1,388 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for a Redis server that implements just enough of the
+ * RESP2 protocol and command set for {@link RedisCacheTest} to run without a
+ * real Redis server.
+ */
+class MockRedisServer implements AutoCloseable {
+
+    private static final class Entry {
+        final Object value;
+        long expiresAt; // epoch millis; 0 = never
+
+        Entry(Object value) {
+            this.value = value;
+        }
+    }
+
+    private final Map<String,Entry> data = new HashMap<>();
+    private final ServerSocket serverSocket;
+    private final List<Socket> clientSockets = new ArrayList<>();
+
+    private static String globToRegex(String glob) {
+        final StringBuilder builder = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            switch (c) {
+                case '*':
+                    builder.append(".*");
+                    break;
+                case '?':
+                    builder.append('.');
+                    break;
+                default:
+                    builder.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String readLine(InputStream is) throws IOException {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        int b;
+        while ((b = is.read()) != '\r') {
+            if (b == -1) {
+                throw new EOFException();
+            }
+            os.write(b);
+        }
+        is.read(); // \n
+        return os.toString(StandardCharsets.UTF_8);
+    }
+
+    private static List<byte[]> readCommand(InputStream is)
+            throws IOException {
+        final String header = readLine(is);
+        final int numArgs = Integer.parseInt(header.substring(1));
+        final List<byte[]> args = new ArrayList<>(numArgs);
+        for (int i = 0; i < numArgs; i++) {
+            final int length = Integer.parseInt(readLine(is).substring(1));
+            final byte[] arg = is.readNBytes(length);
+            is.readNBytes(2); // \r\n
+            args.add(arg);
+        }
+        return args;
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeArray(OutputStream os, List<byte[]> values)
+            throws IOException {
+        os.write(("*" + values.size() + "\r\n").getBytes(StandardCharsets.UTF_8));
+        for (byte[] value : values) {
+            writeBulk(os, value);
+        }
+    }
+
+    private static void writeBulk(OutputStream os, byte[] value)
+            throws IOException {
+        if (value == null) {
+            os.write("$-1\r\n".getBytes(StandardCharsets.UTF_8));
+        } else {
+            os.write(("$" + value.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+            os.write(value);
+            os.write("\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void writeInteger(OutputStream os, long value)
+            throws IOException {
+        os.write((":" + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeSimple(OutputStream os, String value)
+            throws IOException {
+        os.write((value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Starts listening on a random port on the loopback interface.
+     */
+    MockRedisServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        final Thread thread = new Thread(this::acceptConnections,
+                "MockRedisServer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket socket = serverSocket.accept();
+                synchronized (clientSockets) {
+                    clientSockets.add(socket);
+                }
+                final Thread thread = new Thread(() -> serve(socket),
+                        "MockRedisServer-client");
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                // The socket was closed.
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        synchronized (clientSockets) {
+            for (Socket socket : clientSockets) {
+                socket.close();
+            }
+        }
+    }
+
+    String getHost() {
+        return serverSocket.getInetAddress().getHostAddress();
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return The entry with the given key, or {@code null} if it doesn't
+     *         exist or has expired.
+     */
+    private Entry get(String key) {
+        final Entry entry = data.get(key);
+        if (entry != null && entry.expiresAt > 0 &&
+                entry.expiresAt <= System.currentTimeMillis()) {
+            data.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String,byte[]> getHash(String key, boolean create) {
+        Entry entry = get(key);
+        if (entry == null) {
+            if (!create) {
+                return null;
+            }
+            entry = new Entry(new HashMap<String,byte[]>());
+            data.put(key, entry);
+        }
+        return (Map<String,byte[]>) entry.value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> getSet(String key, boolean create) {
+        Entry entry = get(key);
+        if (entry == null) {
+            if (!create) {
+                return null;
+            }
+            entry = new Entry(new LinkedHashSet<String>());
+            data.put(key, entry);
+        }
+        return (Set<String>) entry.value;
+    }
+
+    private void serve(Socket socket) {
+        try (InputStream is = new BufferedInputStream(socket.getInputStream());
+             OutputStream os = new BufferedOutputStream(socket.getOutputStream())) {
+            while (true) {
+                final List<byte[]> args = readCommand(is);
+                synchronized (this) {
+                    handle(args, os);
+                }
+                if (is.available() == 0) {
+                    os.flush();
+                }
+            }
+        } catch (IOException e) {
+            // The client disconnected.
+        }
+    }
+
+    private void handle(List<byte[]> args, OutputStream os)
+            throws IOException {
+        final String command = string(args.get(0)).toUpperCase();
+        switch (command) {
+            case "AUTH":
+            case "SELECT":
+                writeSimple(os, "+OK");
+                break;
+            case "PING":
+                writeSimple(os, "+PONG");
+                break;
+            case "GET": {
+                final Entry entry = get(string(args.get(1)));
+                writeBulk(os, (entry != null) ? (byte[]) entry.value : null);
+                break;
+            }
+            case "SET": {
+                final Entry entry = new Entry(args.get(2));
+                if (args.size() == 5 &&
+                        "EX".equalsIgnoreCase(string(args.get(3)))) {
+                    entry.expiresAt = System.currentTimeMillis() +
+                            Long.parseLong(string(args.get(4))) * 1000;
+                }
+                data.put(string(args.get(1)), entry);
+                writeSimple(os, "+OK");
+                break;
+            }
+            case "DEL":
+            case "UNLINK": {
+                long count = 0;
+                for (byte[] key : args.subList(1, args.size())) {
+                    if (get(string(key)) != null) {
+                        data.remove(string(key));
+                        count++;
+                    }
+                }
+                writeInteger(os, count);
+                break;
+            }
+            case "EXPIRE": {
+                final Entry entry = get(string(args.get(1)));
+                if (entry != null) {
+                    entry.expiresAt = System.currentTimeMillis() +
+                            Long.parseLong(string(args.get(2))) * 1000;
+                }
+                writeInteger(os, (entry != null) ? 1 : 0);
+                break;
+            }
+            case "PERSIST": {
+                final Entry entry = get(string(args.get(1)));
+                if (entry != null) {
+                    entry.expiresAt = 0;
+                }
+                writeInteger(os, (entry != null) ? 1 : 0);
+                break;
+            }
+            case "TTL": {
+                final Entry entry = get(string(args.get(1)));
+                if (entry == null) {
+                    writeInteger(os, -2);
+                } else if (entry.expiresAt == 0) {
+                    writeInteger(os, -1);
+                } else {
+                    writeInteger(os, (long) Math.ceil(
+                            (entry.expiresAt - System.currentTimeMillis()) / 1000.0));
+                }
+                break;
+            }
+            case "RENAME": {
+                final Entry entry = get(string(args.get(1)));
+                if (entry == null) {
+                    writeSimple(os, "-ERR no such key");
+                } else {
+                    data.remove(string(args.get(1)));
+                    data.put(string(args.get(2)), entry);
+                    writeSimple(os, "+OK");
+                }
+                break;
+            }
+            case "HSET": {
+                final Map<String,byte[]> hash =
+                        getHash(string(args.get(1)), true);
+                long count = 0;
+                for (int i = 2; i < args.size(); i += 2) {
+                    if (hash.put(string(args.get(i)), args.get(i + 1)) == null) {
+                        count++;
+                    }
+                }
+                writeInteger(os, count);
+                break;
+            }
+            case "HGET": {
+                final Map<String,byte[]> hash =
+                        getHash(string(args.get(1)), false);
+                writeBulk(os, (hash != null) ?
+                        hash.get(string(args.get(2))) : null);
+                break;
+            }
+            case "HMGET": {
+                final Map<String,byte[]> hash =
+                        getHash(string(args.get(1)), false);
+                final List<byte[]> values = new ArrayList<>();
+                for (byte[] field : args.subList(2, args.size())) {
+                    values.add((hash != null) ? hash.get(string(field)) : null);
+                }
+                writeArray(os, values);
+                break;
+            }
+            case "SADD": {
+                final Set<String> set = getSet(string(args.get(1)), true);
+                long count = 0;
+                for (byte[] member : args.subList(2, args.size())) {
+                    if (set.add(string(member))) {
+                        count++;
+                    }
+                }
+                writeInteger(os, count);
+                break;
+            }
+            case "SREM": {
+                final Set<String> set = getSet(string(args.get(1)), false);
+                long count = 0;
+                for (byte[] member : args.subList(2, args.size())) {
+                    if (set != null && set.remove(string(member))) {
+                        count++;
+                    }
+                }
+                writeInteger(os, count);
+                break;
+            }
+            case "SMEMBERS": {
+                final Set<String> set = getSet(string(args.get(1)), false);
+                final List<byte[]> members = new ArrayList<>();
+                if (set != null) {
+                    set.forEach(m -> members.add(m.getBytes(StandardCharsets.UTF_8)));
+                }
+                writeArray(os, members);
+                break;
+            }
+            case "SCAN": {
+                // Returns all matching keys in one iteration.
+                Pattern pattern = Pattern.compile(".*");
+                for (int i = 2; i < args.size() - 1; i += 2) {
+                    if ("MATCH".equalsIgnoreCase(string(args.get(i)))) {
+                        pattern = Pattern.compile(
+                                globToRegex(string(args.get(i + 1))));
+                    }
+                }
+                final List<byte[]> keys = new ArrayList<>();
+                for (String key : new HashSet<>(data.keySet())) {
+                    if (get(key) != null && pattern.matcher(key).matches()) {
+                        keys.add(key.getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+                os.write("*2\r\n".getBytes(StandardCharsets.UTF_8));
+                writeBulk(os, "0".getBytes(StandardCharsets.UTF_8));
+                writeArray(os, keys);
+                break;
+            }
+            default:
+                // Includes HELLO, which makes the client fall back to RESP2.
+                writeSimple(os, "-ERR unknown command '" + command + "'");
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package edu.illinois.library.cantaloupe.cache;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartBufferPoolTest extends BaseTest {
+
+    private PartBufferPool instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new PartBufferPool(1024, 2);
+    }
+
+    /* PartBufferPool() */
+
+    @Test
+    void testConstructorWithIllegalBufferSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PartBufferPool(0, 2));
+    }
+
+    @Test
+    void testConstructorWithIllegalMaxBuffers() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PartBufferPool(1024, 0));
+    }
+
+    /* acquire() */
+
+    @Test
+    void testAcquire() throws Exception {
+        byte[] buffer = instance.acquire(0);
+        assertEquals(1024, buffer.length);
+        assertEquals(1, instance.getNumInUse());
+    }
+
+    @Test
+    void testAcquireReusesReleasedBuffers() throws Exception {
+        byte[] buffer = instance.acquire(0);
+        instance.release(buffer);
+        assertSame(buffer, instance.acquire(0));
+    }
+
+    @Test
+    void testAcquireWithExhaustedPoolTimesOut() throws Exception {
+        instance.acquire(0);
+        instance.acquire(0);
+        assertNull(instance.acquire(10));
+    }
+
+    @Test
+    void testAcquireWithExhaustedPoolWaitsForRelease() throws Exception {
+        final byte[] buffer = instance.acquire(0);
+        instance.acquire(0);
+        CompletableFuture<byte[]> future = CompletableFuture.supplyAsync(() -> {
+            try {
+                return instance.acquire(5000);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Thread.sleep(50);
+        assertFalse(future.isDone());
+        instance.release(buffer);
+        assertSame(buffer, future.get(5, TimeUnit.SECONDS));
+    }
+
+    /* release() */
+
+    @Test
+    void testRelease() throws Exception {
+        byte[] buffer = instance.acquire(0);
+        instance.release(buffer);
+        assertEquals(0, instance.getNumInUse());
+    }
+
+    /* tryAcquire() */
+
+    @Test
+    void testTryAcquire() {
+        byte[] buffer = instance.tryAcquire();
+        assertEquals(1024, buffer.length);
+        assertEquals(1, instance.getNumInUse());
+    }
+
+    @Test
+    void testTryAcquireReusesReleasedBuffers() {
+        byte[] buffer = instance.tryAcquire();
+        instance.release(buffer);
+        assertSame(buffer, instance.tryAcquire());
+    }
+
+    @Test
+    void testTryAcquireWithExhaustedPool() {
+        instance.tryAcquire();
+        instance.tryAcquire();
+        assertNull(instance.tryAcquire());
+    }
+
+}
@@ -2,59 +2,173 @@ package edu.illinois.library.cantaloupe.cache;
 
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.operation.Encode;
+import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.test.BaseTest;
 import edu.illinois.library.cantaloupe.test.ConfigurationConstants;
 import edu.illinois.library.cantaloupe.test.TestUtil;
+import io.lettuce.core.cluster.SlotHash;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the Redis server configured in the test configuration, or, if
+ * there is none, against a {@link MockRedisServer}.
+ */
 public class RedisCacheTest extends AbstractCacheTest {
 
+    private static MockRedisServer mockServer;
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        BaseTest.beforeClass();
+        String host = TestUtil.getTestConfig().getString(
+                ConfigurationConstants.REDIS_HOST.getKey(), "");
+        if (host.isBlank()) {
+            mockServer = new MockRedisServer();
+        }
+    }
+
+    @AfterAll
+    public static void afterClass() throws Exception {
+        BaseTest.afterClass();
+        new RedisCache().shutdown();
+        if (mockServer != null) {
+            mockServer.close();
+            mockServer = null;
+        }
+    }
+
     @Override
     RedisCache newInstance() {
         Configuration config = Configuration.getInstance();
-        org.apache.commons.configuration.Configuration testConfig =
-                TestUtil.getTestConfig();
-        config.setProperty(Key.REDISCACHE_HOST,
-                testConfig.getString(ConfigurationConstants.REDIS_HOST.getKey()));
-        config.setProperty(Key.REDISCACHE_PORT,
-                testConfig.getProperty(ConfigurationConstants.REDIS_PORT.getKey()));
-        config.setProperty(Key.REDISCACHE_SSL,
-                testConfig.getProperty(ConfigurationConstants.REDIS_SSL.getKey()));
-        config.setProperty(Key.REDISCACHE_PASSWORD,
-                testConfig.getString(ConfigurationConstants.REDIS_PASSWORD.getKey()));
-        config.setProperty(Key.REDISCACHE_DATABASE,
-                testConfig.getProperty(ConfigurationConstants.REDIS_DATABASE.getKey()));
+        if (mockServer != null) {
+            config.setProperty(Key.REDISCACHE_HOST, mockServer.getHost());
+            config.setProperty(Key.REDISCACHE_PORT, mockServer.getPort());
+        } else {
+            org.apache.commons.configuration.Configuration testConfig =
+                    TestUtil.getTestConfig();
+            config.setProperty(Key.REDISCACHE_HOST,
+                    testConfig.getString(ConfigurationConstants.REDIS_HOST.getKey()));
+            config.setProperty(Key.REDISCACHE_PORT,
+                    testConfig.getProperty(ConfigurationConstants.REDIS_PORT.getKey()));
+            config.setProperty(Key.REDISCACHE_SSL,
+                    testConfig.getProperty(ConfigurationConstants.REDIS_SSL.getKey()));
+            config.setProperty(Key.REDISCACHE_PASSWORD,
+                    testConfig.getString(ConfigurationConstants.REDIS_PASSWORD.getKey()));
+            config.setProperty(Key.REDISCACHE_DATABASE,
+                    testConfig.getProperty(ConfigurationConstants.REDIS_DATABASE.getKey()));
+        }
 
         RedisCache instance = new RedisCache();
         instance.purge();
         return instance;
     }
 
+    /* imageKey(), indexKey(), infoKey() */
 
-    /* getInfo(Identifier) */
+    @Test
+    void testKeysOfAnIdentifierAreInTheSameHashSlot() {
+        Identifier identifier = new Identifier("cats");
+        OperationList opList = OperationList.builder()
+                .withIdentifier(identifier)
+                .withOperations(new Encode(Format.get("jpg")))
+                .build();
+        int slot = SlotHash.getSlot(RedisCache.infoKey(identifier));
+        assertEquals(slot, SlotHash.getSlot(RedisCache.indexKey(identifier)));
+        assertEquals(slot, SlotHash.getSlot(RedisCache.imageKey(opList)));
+    }
+
+    /* newDerivativeImageOutputStream(OperationList) */
+
+    @Test
+    void testNewDerivativeImageOutputStreamWithoutTTLPersistsImage()
+            throws Exception {
+        Configuration.getInstance().setProperty(Key.DERIVATIVE_CACHE_TTL, 0);
+        final RedisCache instance = newInstance();
+        final OperationList opList = OperationList.builder()
+                .withIdentifier(new Identifier("cats"))
+                .withOperations(new Encode(Format.get("jpg")))
+                .build();
+
+        try (CompletableOutputStream os =
+                     instance.newDerivativeImageOutputStream(opList)) {
+            Files.copy(TestUtil.getImage(IMAGE), os);
+            os.setComplete(true);
+        }
+
+        assertEquals(-1, RedisCache.sync().ttl(RedisCache.imageKey(opList)));
+    }
 
-    /**
-     * Override that does nothing, as validity is determined by Redis.
-     */
-    @Override
     @Test
-    void testGetInfoWithExistingInvalidImage() {}
+    void testNewDerivativeImageOutputStreamWithTTLExpiresImage()
+            throws Exception {
+        Configuration.getInstance().setProperty(Key.DERIVATIVE_CACHE_TTL, 60);
+        final RedisCache instance = newInstance();
+        final OperationList opList = OperationList.builder()
+                .withIdentifier(new Identifier("cats"))
+                .withOperations(new Encode(Format.get("jpg")))
+                .build();
+
+        try (CompletableOutputStream os =
+                     instance.newDerivativeImageOutputStream(opList)) {
+            Files.copy(TestUtil.getImage(IMAGE), os);
+            os.setComplete(true);
+        }
+
+        long ttl = RedisCache.sync().ttl(RedisCache.imageKey(opList));
+        assertTrue(ttl > 0 && ttl <= 60);
+    }
 
     /* newDerivativeImageInputStream(OperationList) */
 
-    /**
-     * Override that does nothing, as validity is determined by Redis.
-     */
-    @Override
     @Test
-    void testNewDerivativeImageInputStreamWithNonzeroTTL() {}
+    void testNewDerivativeImageInputStreamWithMultipleChunks()
+            throws Exception {
+        final RedisCache instance = newInstance();
+        instance.setChunkSize(1000);
+        final OperationList opList = OperationList.builder()
+                .withIdentifier(new Identifier("cats"))
+                .withOperations(new Encode(Format.get("jpg")))
+                .build();
+        final Path fixture = TestUtil.getImage(IMAGE);
 
-    /* purgeInvalid() */
+        try (CompletableOutputStream os =
+                     instance.newDerivativeImageOutputStream(opList)) {
+            Files.copy(fixture, os);
+            os.setComplete(true);
+        }
+
+        try (InputStream is = instance.newDerivativeImageInputStream(opList)) {
+            assertArrayEquals(Files.readAllBytes(fixture), is.readAllBytes());
+        }
+    }
 
-    /**
-     * Override that does nothing, as validity is determined by Redis.
-     */
     @Test
-    @Override
-    void testPurgeInvalid() {}
+    void testNewDerivativeImageInputStreamWithEmptyImage() throws Exception {
+        final RedisCache instance = newInstance();
+        final OperationList opList = OperationList.builder()
+                .withIdentifier(new Identifier("cats"))
+                .withOperations(new Encode(Format.get("jpg")))
+                .build();
+
+        try (CompletableOutputStream os =
+                     instance.newDerivativeImageOutputStream(opList)) {
+            os.setComplete(true);
+        }
+
+        try (InputStream is = instance.newDerivativeImageInputStream(opList)) {
+            assertEquals(-1, is.read());
+        }
+    }
 
 }
@@ -9,20 +9,96 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.SecureRandom;
+import java.util.concurrent.CountDownLatch;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class S3MultipartAsyncOutputStreamTest extends BaseTest {
 
+    /**
+     * Client that doesn't talk to S3, for testing the instance's own
+     * behavior. Creating a multipart upload blocks until {@link
+     * #uploadCreationLatch} is released.
+     */
+    private static class FakeS3Client implements S3Client {
+
+        private final CountDownLatch uploadCreationLatch;
+        private volatile byte[] putObjectBytes;
+
+        FakeS3Client() {
+            this(new CountDownLatch(0));
+        }
+
+        FakeS3Client(CountDownLatch uploadCreationLatch) {
+            this.uploadCreationLatch = uploadCreationLatch;
+        }
+
+        @Override
+        public AbortMultipartUploadResponse abortMultipartUpload(
+                AbortMultipartUploadRequest request) {
+            return AbortMultipartUploadResponse.builder().build();
+        }
+
+        @Override
+        public void close() {}
+
+        @Override
+        public CreateMultipartUploadResponse createMultipartUpload(
+                CreateMultipartUploadRequest request) {
+            try {
+                uploadCreationLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CreateMultipartUploadResponse.builder()
+                    .uploadId("cats")
+                    .build();
+        }
+
+        @Override
+        public PutObjectResponse putObject(PutObjectRequest request,
+                                           RequestBody body) {
+            try {
+                putObjectBytes = body.contentStreamProvider()
+                        .newStream().readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return PutObjectResponse.builder().build();
+        }
+
+        @Override
+        public String serviceName() {
+            return "s3";
+        }
+
+        @Override
+        public UploadPartResponse uploadPart(UploadPartRequest request,
+                                             RequestBody body) {
+            return UploadPartResponse.builder().eTag("dogs").build();
+        }
+    }
+
     private static S3Client client;
 
     @BeforeAll
@@ -131,6 +207,91 @@ class S3MultipartAsyncOutputStreamTest extends BaseTest {
         }
     }
 
+    @Test
+    void closeWithExhaustedBufferPoolAbandonsUpload() throws Exception {
+        final String key = S3MultipartAsyncOutputStreamTest.class.getSimpleName() +
+                "/closeWithExhaustedBufferPoolAbandonsUpload";
+        PartBufferPool pool = new PartBufferPool(
+                S3MultipartAsyncOutputStream.MINIMUM_PART_LENGTH, 1);
+        byte[] heldBuffer = pool.acquire(0);
+        S3MultipartAsyncOutputStream instance = new S3MultipartAsyncOutputStream(
+                client(), getBucket(), key, "image/jpeg", pool, 1);
+        instance.observer = this;
+
+        try {
+            byte[] bytes = new byte[
+                    S3MultipartAsyncOutputStream.MINIMUM_PART_LENGTH + 1024];
+            new SecureRandom().nextBytes(bytes);
+            instance.write(bytes);
+            instance.setComplete(true);
+
+            // The observer may be notified as soon as the instance is closed.
+            //noinspection SynchronizationOnLocalVariableOrMethodParameter
+            synchronized (instance) {
+                instance.close();
+                instance.wait();
+            }
+            assertFalse(instance.isComplete());
+            assertThrows(NoSuchKeyException.class, () -> readBytes(key));
+        } finally {
+            pool.release(heldBuffer);
+        }
+    }
+
+    @Test
+    void writeWithSinglePartDoesNotUseBufferPool() throws Exception {
+        final FakeS3Client fakeClient = new FakeS3Client();
+        PartBufferPool pool = new PartBufferPool(
+                S3MultipartAsyncOutputStream.MINIMUM_PART_LENGTH, 1);
+        S3MultipartAsyncOutputStream instance = new S3MultipartAsyncOutputStream(
+                fakeClient, "bucket", "key", "image/jpeg", pool, 1);
+        instance.observer = this;
+
+        byte[] expectedBytes = new byte[1024 * 1024]; // smaller than part size
+        new SecureRandom().nextBytes(expectedBytes);
+        instance.write(expectedBytes);
+        assertEquals(0, pool.getNumInUse());
+        instance.setComplete(true);
+
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (instance) {
+            instance.close();
+            instance.wait();
+        }
+        assertTrue(instance.isComplete());
+        assertArrayEquals(expectedBytes, fakeClient.putObjectBytes);
+        assertEquals(0, pool.getNumInUse());
+    }
+
+    @Test
+    void writeWithNoUploadSlotAvailableAbandonsUpload() throws Exception {
+        // Part uploads can't start until the upload has been created, so
+        // the first one holds the only upload slot.
+        final CountDownLatch latch = new CountDownLatch(1);
+        PartBufferPool pool = new PartBufferPool(
+                S3MultipartAsyncOutputStream.MINIMUM_PART_LENGTH, 3);
+        S3MultipartAsyncOutputStream instance = new S3MultipartAsyncOutputStream(
+                new FakeS3Client(latch), "bucket", "key", "image/jpeg", pool, 1);
+        instance.observer = this;
+
+        try {
+            byte[] bytes = new byte[
+                    S3MultipartAsyncOutputStream.MINIMUM_PART_LENGTH * 2 + 1024];
+            instance.write(bytes);
+            instance.setComplete(true);
+        } finally {
+            latch.countDown();
+        }
+
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (instance) {
+            instance.close();
+            instance.wait();
+        }
+        assertFalse(instance.isComplete());
+        assertEquals(0, pool.getNumInUse());
+    }
+
     @Test
     void write1WithMultipleParts() throws Exception {
         final String key = S3MultipartAsyncOutputStreamTest.class.getSimpleName() +
@@ -1,6 +1,11 @@
 package edu.illinois.library.cantaloupe.image;
 
 import edu.illinois.library.cantaloupe.Application;
+import edu.illinois.library.cantaloupe.image.exif.DataType;
+import edu.illinois.library.cantaloupe.image.exif.Directory;
+import edu.illinois.library.cantaloupe.image.exif.Tag;
+import edu.illinois.library.cantaloupe.image.exif.TagSet;
+import edu.illinois.library.cantaloupe.image.iptc.DataSet;
 import edu.illinois.library.cantaloupe.test.BaseTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -8,11 +13,13 @@ import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -195,6 +202,90 @@ class InfoTest extends BaseTest {
 
     /************************ Info tests ****************************/
 
+    /* fromBytes() */
+
+    @Test
+    void testFromBytesWithBinarySerialization() throws Exception {
+        Info info = Info.fromBytes(instance.toBytes());
+        assertEquals(instance, info);
+        assertEquals(Application.getVersion(), info.getApplicationVersion());
+        assertEquals(Info.Serialization.CURRENT, info.getSerialization());
+        assertNotNull(info.getSerializationTimestamp());
+    }
+
+    @Test
+    void testFromBytesWithBinarySerializationOfAllMetadata() throws Exception {
+        Directory exif = new Directory(TagSet.EXIF);
+        exif.put(Tag.LENS_MODEL, DataType.ASCII, "cats");
+        Metadata metadata = new Metadata();
+        metadata.setEXIF(exif);
+        metadata.setIPTC(List.of(new DataSet(
+                edu.illinois.library.cantaloupe.image.iptc.Tag.CITY,
+                "Urbana".getBytes())));
+        metadata.setXMP("<rdf:RDF>\"cats\" &amp; dogs</rdf:RDF>");
+        instance.setMetadata(metadata);
+
+        Info info = Info.fromBytes(instance.toBytes());
+        assertEquals(instance.getMetadata(), info.getMetadata());
+    }
+
+    @Test
+    void testFromBytesWithBinarySerializationOfMinimalInstance()
+            throws Exception {
+        Info minimal = new Info();
+        Info info    = Info.fromBytes(minimal.toBytes());
+        assertEquals(minimal, info);
+        assertNull(info.getIdentifier());
+        assertNull(info.getImages().get(0).tileWidth);
+        assertNull(info.getImages().get(0).tileHeight);
+    }
+
+    @Test
+    void testFromBytesWithBinarySerializationPreservesOrientation()
+            throws Exception {
+        Metadata metadata = new Metadata();
+        metadata.setOrientation(Orientation.ROTATE_270);
+        instance.setMetadata(metadata);
+
+        Info info = Info.fromBytes(instance.toBytes());
+        assertEquals(Orientation.ROTATE_270,
+                info.getMetadata().getOrientation());
+    }
+
+    @Test
+    void testFromBytesWithVersion1BinarySerialization() throws Exception {
+        byte[] bytes = instance.toBytes();
+        // Version 1 lacks the trailing orientation.
+        byte[] v1Bytes = new byte[bytes.length - 4];
+        System.arraycopy(bytes, 0, v1Bytes, 0, v1Bytes.length);
+        v1Bytes[3] = 1;
+        Info info = Info.fromBytes(v1Bytes);
+        assertEquals(instance, info);
+        assertEquals(Orientation.ROTATE_0, info.getMetadata().getOrientation());
+    }
+
+    @Test
+    void testFromBytesWithJSONSerialization() throws Exception {
+        byte[] json = instance.toJSON().getBytes(StandardCharsets.UTF_8);
+        Info info = Info.fromBytes(json);
+        assertEquals(instance, info);
+    }
+
+    @Test
+    void testFromBytesWithUnsupportedBinaryVersion() throws Exception {
+        byte[] bytes = instance.toBytes();
+        bytes[3] = (byte) (InfoBinaryCodec.VERSION + 1);
+        assertThrows(IOException.class, () -> Info.fromBytes(bytes));
+    }
+
+    @Test
+    void testFromBytesWithTruncatedBinarySerialization() throws Exception {
+        byte[] bytes = instance.toBytes();
+        byte[] truncated = new byte[bytes.length - 5];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        assertThrows(IOException.class, () -> Info.fromBytes(truncated));
+    }
+
     /* fromJSON(Path) */
 
     @Test
@@ -362,9 +453,39 @@ class InfoTest extends BaseTest {
                 .build();
         expected.setApplicationVersion("6.0");
         expected.setSerializationTimestamp(timestamp);
+        actual.setSerializationVersion(Info.Serialization.CURRENT.getVersion());
         assertEquals(expected, actual);
     }
 
+    @Test
+    void testFromJSONWithVersion6Serialization() throws Exception {
+        Instant timestamp = Instant.now();
+        String v6json = "{\n" +
+                "  \"applicationVersion\": \"6.0\",\n" +
+                "  \"serializationVersion\": 6,\n" +
+                "  \"serializationTimestamp\": \"" + timestamp.toString() + "\",\n" +
+                "  \"identifier\": \"cats\",\n" +
+                "  \"mediaType\": \"image/jpeg\",\n" +
+                "  \"numResolutions\": 3,\n" +
+                "  \"images\": [\n" +
+                "    {\n" +
+                "      \"width\": 100,\n" +
+                "      \"height\": 80,\n" +
+                "      \"tileWidth\": 50,\n" +
+                "      \"tileHeight\": 40\n" +
+                "    }\n" +
+                "  ],\n" +
+                "  \"metadata\": {\n" +
+                "    \"xmp\": \"<cats/>\",\n" +
+                "    \"orientation\": 6\n" +
+                "  }\n" +
+                "}";
+        Info actual = Info.fromJSON(v6json);
+        assertEquals(Info.Serialization.VERSION_6, actual.getSerialization());
+        assertEquals(Orientation.ROTATE_90,
+                actual.getMetadata().getOrientation());
+    }
+
     /* Info() */
 
     @Test
@@ -966,6 +1087,14 @@ class InfoTest extends BaseTest {
         assertEquals(format, instance.getSourceFormat());
     }
 
+    /* toBytes() */
+
+    @Test
+    void testToBytesIsSmallerThanJSON() throws Exception {
+        assertTrue(instance.toBytes().length <
+                instance.toJSON().getBytes(StandardCharsets.UTF_8).length);
+    }
+
     /* toJSON() */
 
     @Test
@@ -985,7 +1114,8 @@ class InfoTest extends BaseTest {
                         "}" +
                         "]," +
                         "\"metadata\":{" +
-                        "\"xmp\":\"<cats/>\"" +
+                        "\"xmp\":\"<cats/>\"," +
+                        "\"orientation\":1" +
                         "}" +
                         "}",
                 obscureTimestamps(instance.toJSON()));
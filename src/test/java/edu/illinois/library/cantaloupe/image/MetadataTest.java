@@ -1,5 +1,6 @@
 package edu.illinois.library.cantaloupe.image;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.illinois.library.cantaloupe.image.exif.DataType;
 import edu.illinois.library.cantaloupe.image.exif.Directory;
 import edu.illinois.library.cantaloupe.image.exif.Rational;
@@ -243,6 +244,23 @@ public class MetadataTest extends BaseTest {
         }
     }
 
+    @Test
+    void testGetOrientationWithXMPOrientationAttribute() {
+        instance.setXMP("<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\">" +
+                "<rdf:Description rdf:about=\"\" " +
+                "xmlns:tiff=\"http://ns.adobe.com/tiff/1.0/\" " +
+                "tiff:Orientation=\"3\"/>" +
+                "</rdf:RDF>");
+        assertEquals(Orientation.ROTATE_180, instance.getOrientation());
+    }
+
+    @Test
+    void testGetOrientationIsDeserialized() throws Exception {
+        Metadata metadata = new ObjectMapper()
+                .readValue("{\"orientation\":6}", Metadata.class);
+        assertEquals(Orientation.ROTATE_90, metadata.getOrientation());
+    }
+
     @Test
     void testGetOrientationWithMalformedXMP() {
         instance.setXMP("����\u0000\u0010JFIF\u0000\u0001\u0001\u0001\u0000H\u0000H\u0000\u0000��\u0000C\u0000\b\u0006\u0006\u0007\u0006\u0005\b\u0007\u0007\u0007");
@@ -0,0 +1,128 @@
+package edu.illinois.library.cantaloupe.image.xmp;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StAXUtilsTest extends BaseTest {
+
+    private static final String RDF_NS =
+            "http://www.w3.org/1999/02/22-rdf-syntax-ns#";
+
+    private static Model readModel(String xmp) {
+        Model model = ModelFactory.createDefaultModel();
+        model.read(new StringReader(xmp), null, "RDF/XML");
+        return model;
+    }
+
+    /* merge() */
+
+    @Test
+    void testMerge() throws Exception {
+        String xmp1 = "<rdf:RDF xmlns:rdf=\"" + RDF_NS + "\">" +
+                "<rdf:Description rdf:about=\"\" " +
+                "xmlns:xmpNote=\"http://ns.adobe.com/xmp/note/\" " +
+                "xmpNote:HasExtendedXMP=\"ABC123\" " +
+                "xmlns:tiff=\"http://ns.adobe.com/tiff/1.0/\" " +
+                "tiff:Orientation=\"6\"/>" +
+                "</rdf:RDF>";
+        String xmp2 = "<rdf:RDF xmlns:rdf=\"" + RDF_NS + "\" " +
+                "xmlns:dc=\"http://purl.org/dc/elements/1.1/\" " +
+                "xmlns:photoshop=\"http://ns.adobe.com/photoshop/1.0/\">" +
+                "<rdf:Description rdf:about=\"\">" +
+                "<dc:title>Cats &amp; Dogs</dc:title>" +
+                "<photoshop:History><rdf:Seq><rdf:li>1</rdf:li></rdf:Seq></photoshop:History>" +
+                "</rdf:Description>" +
+                "</rdf:RDF>";
+        String merged = StAXUtils.merge(xmp1, xmp2, Set.of(
+                "http://ns.adobe.com/xmp/note/HasExtendedXMP",
+                "http://ns.adobe.com/photoshop/1.0/History"));
+
+        Model expected = readModel("<rdf:RDF xmlns:rdf=\"" + RDF_NS + "\">" +
+                "<rdf:Description rdf:about=\"\" " +
+                "xmlns:tiff=\"http://ns.adobe.com/tiff/1.0/\" " +
+                "xmlns:dc=\"http://purl.org/dc/elements/1.1/\" " +
+                "tiff:Orientation=\"6\">" +
+                "<dc:title>Cats &amp; Dogs</dc:title>" +
+                "</rdf:Description>" +
+                "</rdf:RDF>");
+        Model actual = readModel(merged);
+        assertTrue(expected.isIsomorphicWith(actual));
+        assertFalse(merged.contains("HasExtendedXMP"));
+        assertFalse(merged.contains("History"));
+    }
+
+    @Test
+    void testMergeWithMalformedXMP() {
+        String xmp = "<rdf:RDF xmlns:rdf=\"" + RDF_NS + "\"></rdf:RDF>";
+        assertThrows(IOException.class,
+                () -> StAXUtils.merge(xmp, "<rdf:RDF>", Set.of()));
+    }
+
+    @Test
+    void testMergeWithUnsupportedSerialization() {
+        String xmp1 = "<rdf:RDF xmlns:rdf=\"" + RDF_NS + "\"></rdf:RDF>";
+        String xmp2 = "<rdf:RDF xmlns:rdf=\"" + RDF_NS + "\" " +
+                "xmlns:dc=\"http://purl.org/dc/elements/1.1/\">" +
+                "<dc:Agent rdf:about=\"\"/>" +
+                "</rdf:RDF>";
+        assertThrows(IOException.class,
+                () -> StAXUtils.merge(xmp1, xmp2, Set.of()));
+    }
+
+    /* readOrientation() */
+
+    @Test
+    void testReadOrientationFromAttribute() throws Exception {
+        String xmp = "<rdf:RDF xmlns:rdf=\"" + RDF_NS + "\">" +
+                "<rdf:Description rdf:about=\"\" " +
+                "xmlns:tiff=\"http://ns.adobe.com/tiff/1.0/\" " +
+                "tiff:Orientation=\"8\"/>" +
+                "</rdf:RDF>";
+        assertEquals(8, StAXUtils.readOrientation(xmp).orElseThrow());
+    }
+
+    @Test
+    void testReadOrientationFromElement() throws Exception {
+        String xmp = "<rdf:RDF xmlns:rdf=\"" + RDF_NS + "\">" +
+                "<rdf:Description rdf:about=\"\" " +
+                "xmlns:tiff=\"http://ns.adobe.com/tiff/1.0/\">" +
+                "<tiff:Orientation> 6 </tiff:Orientation>" +
+                "</rdf:Description>" +
+                "</rdf:RDF>";
+        assertEquals(6, StAXUtils.readOrientation(xmp).orElseThrow());
+    }
+
+    @Test
+    void testReadOrientationWithNoOrientation() throws Exception {
+        String xmp = "<rdf:RDF xmlns:rdf=\"" + RDF_NS + "\">" +
+                "<rdf:Description rdf:about=\"\"/>" +
+                "</rdf:RDF>";
+        assertFalse(StAXUtils.readOrientation(xmp).isPresent());
+    }
+
+    @Test
+    void testReadOrientationWithMalformedXMP() {
+        assertThrows(IOException.class,
+                () -> StAXUtils.readOrientation("<rdf:RDF"));
+    }
+
+    @Test
+    void testReadOrientationWithNonIntegerValue() {
+        String xmp = "<rdf:RDF xmlns:rdf=\"" + RDF_NS + "\">" +
+                "<rdf:Description rdf:about=\"\" " +
+                "xmlns:tiff=\"http://ns.adobe.com/tiff/1.0/\" " +
+                "tiff:Orientation=\"cats\"/>" +
+                "</rdf:RDF>";
+        assertThrows(IOException.class,
+                () -> StAXUtils.readOrientation(xmp));
+    }
+
+}
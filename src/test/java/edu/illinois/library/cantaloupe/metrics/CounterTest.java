@@ -0,0 +1,38 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CounterTest extends BaseTest {
+
+    private Counter instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new Counter();
+    }
+
+    @Test
+    void testGetCount() {
+        assertEquals(0, instance.getCount());
+    }
+
+    @Test
+    void testIncrement() {
+        instance.increment();
+        instance.increment();
+        assertEquals(2, instance.getCount());
+    }
+
+    @Test
+    void testIncrementWithArgument() {
+        instance.increment(5);
+        instance.increment(3);
+        assertEquals(8, instance.getCount());
+    }
+
+}
@@ -0,0 +1,31 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GaugeTest extends BaseTest {
+
+    @Test
+    void testGetValue() {
+        Gauge instance = new Gauge(() -> 5);
+        assertEquals(5, instance.getValue());
+    }
+
+    @Test
+    void testGetValueWithFailingSupplier() {
+        Gauge instance = new Gauge(() -> {
+            throw new IllegalStateException();
+        });
+        assertTrue(Double.isNaN(instance.getValue()));
+    }
+
+    @Test
+    void testSetSupplier() {
+        Gauge instance = new Gauge(() -> 5);
+        instance.setSupplier(() -> 7);
+        assertEquals(7, instance.getValue());
+    }
+
+}
@@ -0,0 +1,127 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricRegistryTest extends BaseTest {
+
+    private MetricRegistry instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new MetricRegistry();
+    }
+
+    /* counter() */
+
+    @Test
+    void testCounterReturnsSameInstanceForSameLabels() {
+        Counter c1 = instance.counter("test_total", "Help", "a", "1");
+        Counter c2 = instance.counter("test_total", "Help", "a", "1");
+        assertSame(c1, c2);
+    }
+
+    @Test
+    void testCounterReturnsDifferentInstancesForDifferentLabels() {
+        Counter c1 = instance.counter("test_total", "Help", "a", "1");
+        Counter c2 = instance.counter("test_total", "Help", "a", "2");
+        assertNotSame(c1, c2);
+    }
+
+    @Test
+    void testCounterWithInvalidName() {
+        assertThrows(IllegalArgumentException.class,
+                () -> instance.counter("test-total", "Help"));
+    }
+
+    @Test
+    void testCounterWithInvalidLabelName() {
+        assertThrows(IllegalArgumentException.class,
+                () -> instance.counter("test_total", "Help", "a-b", "1"));
+    }
+
+    @Test
+    void testCounterWithOddNumberOfLabels() {
+        assertThrows(IllegalArgumentException.class,
+                () -> instance.counter("test_total", "Help", "a"));
+    }
+
+    @Test
+    void testCounterWithNullLabelValue() {
+        assertThrows(IllegalArgumentException.class,
+                () -> instance.counter("test_total", "Help", "a", null));
+    }
+
+    @Test
+    void testCounterWithDifferentLabelNames() {
+        instance.counter("test_total", "Help", "a", "1");
+        assertThrows(IllegalArgumentException.class,
+                () -> instance.counter("test_total", "Help", "b", "1"));
+    }
+
+    @Test
+    void testCounterWithNameOfDifferentType() {
+        instance.timer("test", "Help");
+        assertThrows(IllegalArgumentException.class,
+                () -> instance.counter("test", "Help"));
+    }
+
+    /* gauge() */
+
+    @Test
+    void testGaugeReplacesSupplier() {
+        Gauge g1 = instance.gauge("test", "Help", () -> 1);
+        Gauge g2 = instance.gauge("test", "Help", () -> 2);
+        assertSame(g1, g2);
+        assertEquals(2, g1.getValue());
+    }
+
+    /* getFamilies() */
+
+    @Test
+    void testGetFamiliesIsSortedByName() {
+        instance.counter("c_total", "Help");
+        instance.timer("a_seconds", "Help");
+        instance.gauge("b", "Help", () -> 0);
+        List<String> names = instance.getFamilies().stream()
+                .map(MetricRegistry.Family::getName)
+                .collect(Collectors.toList());
+        assertEquals(List.of("a_seconds", "b", "c_total"), names);
+    }
+
+    /* getInstance() */
+
+    @Test
+    void testGetInstance() {
+        assertSame(MetricRegistry.getInstance(), MetricRegistry.getInstance());
+    }
+
+    /* timer() */
+
+    @Test
+    void testTimerReturnsSameInstanceForSameLabels() {
+        Timer t1 = instance.timer("test_seconds", "Help", "a", "1", "b", "2");
+        Timer t2 = instance.timer("test_seconds", "Help", "a", "1", "b", "2");
+        assertSame(t1, t2);
+    }
+
+    /* timersByClass() */
+
+    @Test
+    void testTimersByClass() {
+        ClassValue<Timer> timers =
+                instance.timersByClass("test_seconds", "Help", "class");
+        assertSame(instance.timer("test_seconds", "Help", "class", "String"),
+                timers.get(String.class));
+        assertSame(timers.get(String.class), timers.get(String.class));
+        assertNotSame(timers.get(String.class), timers.get(Integer.class));
+    }
+
+}
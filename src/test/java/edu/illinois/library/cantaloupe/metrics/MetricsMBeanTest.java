@@ -0,0 +1,92 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsMBeanTest extends BaseTest {
+
+    private MetricRegistry registry;
+    private MetricsMBean instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        registry = new MetricRegistry();
+        instance = new MetricsMBean(registry);
+    }
+
+    @Test
+    void testGetAttributeWithCounter() throws Exception {
+        registry.counter("test_total", "Help", "a", "x").increment(2);
+        assertEquals(2L, instance.getAttribute("test_total{a=\"x\"}"));
+    }
+
+    @Test
+    void testGetAttributeWithGauge() throws Exception {
+        registry.gauge("test", "Help", () -> 3);
+        assertEquals(3.0, instance.getAttribute("test"));
+    }
+
+    @Test
+    void testGetAttributeWithTimer() throws Exception {
+        registry.timer("test_seconds", "Help").record(2, TimeUnit.SECONDS);
+        assertEquals(1L, instance.getAttribute("test_seconds_count"));
+        assertEquals(2.0, instance.getAttribute("test_seconds_sum"));
+    }
+
+    @Test
+    void testGetAttributeWithUnknownAttribute() {
+        assertThrows(AttributeNotFoundException.class,
+                () -> instance.getAttribute("bogus"));
+    }
+
+    @Test
+    void testGetAttributes() {
+        registry.counter("test_total", "Help").increment();
+        registry.gauge("test", "Help", () -> 3);
+        AttributeList list = instance.getAttributes(
+                new String[] { "test_total", "test", "bogus" });
+        assertEquals(2, list.size());
+    }
+
+    @Test
+    void testGetMBeanInfo() {
+        registry.counter("test_total", "Help");
+        registry.timer("test_seconds", "Help");
+        List<String> names = Arrays.stream(instance.getMBeanInfo().getAttributes())
+                .map(MBeanAttributeInfo::getName)
+                .collect(Collectors.toList());
+        assertEquals(List.of("test_seconds_count", "test_seconds_sum",
+                "test_total"), names);
+    }
+
+    @Test
+    void testRegisterAndUnregister() throws Exception {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(MetricsMBean.OBJECT_NAME);
+        try {
+            MetricsMBean.register();
+            assertTrue(server.isRegistered(name));
+            // Registering again should be harmless.
+            MetricsMBean.register();
+        } finally {
+            MetricsMBean.unregister();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+}
@@ -0,0 +1,102 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrometheusTextWriterTest extends BaseTest {
+
+    private MetricRegistry registry;
+    private PrometheusTextWriter instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        registry = new MetricRegistry();
+        instance = new PrometheusTextWriter(registry);
+    }
+
+    private String write() throws Exception {
+        StringWriter writer = new StringWriter();
+        instance.write(writer);
+        return writer.toString();
+    }
+
+    @Test
+    void testEscapeLabelValue() {
+        assertEquals("a\\\\b\\\"c\\nd",
+                PrometheusTextWriter.escapeLabelValue("a\\b\"c\nd"));
+    }
+
+    @Test
+    void testFormatValue() {
+        assertEquals("3", PrometheusTextWriter.formatValue(3));
+        assertEquals("3.5", PrometheusTextWriter.formatValue(3.5));
+        assertEquals("NaN", PrometheusTextWriter.formatValue(Double.NaN));
+        assertEquals("+Inf",
+                PrometheusTextWriter.formatValue(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void testWriteWithEmptyRegistry() throws Exception {
+        assertEquals("", write());
+    }
+
+    @Test
+    void testWriteWithCounters() throws Exception {
+        registry.counter("test_total", "Test\ncounter.", "a", "x").increment(3);
+        registry.counter("test_total", "Test\ncounter.", "a", "\"y\"").increment();
+
+        assertEquals("# HELP test_total Test\\ncounter.\n" +
+                "# TYPE test_total counter\n" +
+                "test_total{a=\"\\\"y\\\"\"} 1\n" +
+                "test_total{a=\"x\"} 3\n", write());
+    }
+
+    @Test
+    void testWriteWithGauge() throws Exception {
+        registry.gauge("test", "Test gauge.", () -> 1.5);
+
+        assertEquals("# HELP test Test gauge.\n" +
+                "# TYPE test gauge\n" +
+                "test 1.5\n", write());
+    }
+
+    @Test
+    void testWriteWithTimer() throws Exception {
+        Timer timer = registry.timer("test_seconds", "Test timer.", "a", "x");
+        timer.record(20, TimeUnit.MILLISECONDS);
+        timer.record(2, TimeUnit.SECONDS);
+
+        String expected = "# HELP test_seconds Test timer.\n" +
+                "# TYPE test_seconds histogram\n" +
+                "test_seconds_bucket{a=\"x\",le=\"0.005\"} 0\n" +
+                "test_seconds_bucket{a=\"x\",le=\"0.01\"} 0\n" +
+                "test_seconds_bucket{a=\"x\",le=\"0.025\"} 1\n" +
+                "test_seconds_bucket{a=\"x\",le=\"0.05\"} 1\n" +
+                "test_seconds_bucket{a=\"x\",le=\"0.1\"} 1\n" +
+                "test_seconds_bucket{a=\"x\",le=\"0.25\"} 1\n" +
+                "test_seconds_bucket{a=\"x\",le=\"0.5\"} 1\n" +
+                "test_seconds_bucket{a=\"x\",le=\"1.0\"} 1\n" +
+                "test_seconds_bucket{a=\"x\",le=\"2.5\"} 2\n" +
+                "test_seconds_bucket{a=\"x\",le=\"5.0\"} 2\n" +
+                "test_seconds_bucket{a=\"x\",le=\"10.0\"} 2\n" +
+                "test_seconds_bucket{a=\"x\",le=\"30.0\"} 2\n" +
+                "test_seconds_bucket{a=\"x\",le=\"+Inf\"} 2\n" +
+                "test_seconds_sum{a=\"x\"} 2.02\n" +
+                "test_seconds_count{a=\"x\"} 2\n";
+        assertEquals(expected, write());
+    }
+
+    @Test
+    void testWriteWithUnlabeledTimer() throws Exception {
+        registry.timer("test_seconds", "Test timer.");
+        assertTrue(write().contains("test_seconds_bucket{le=\"+Inf\"} 0\n"));
+    }
+
+}
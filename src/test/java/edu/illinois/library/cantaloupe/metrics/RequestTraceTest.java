@@ -0,0 +1,133 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestTraceTest extends BaseTest {
+
+    private RequestTrace instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new RequestTrace();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        RequestTrace.setCurrent(null);
+    }
+
+    /* add() */
+
+    @Test
+    void testAddAccumulatesDurationsOfTheSameStage() {
+        instance.add("stat", TimeUnit.MILLISECONDS.toNanos(2));
+        instance.add("stat", TimeUnit.MILLISECONDS.toNanos(3));
+        assertEquals(5.0, instance.getStageMillis().get("stat"));
+    }
+
+    /* current() */
+
+    @Test
+    void testCurrentWithNoCurrentTrace() {
+        assertNull(RequestTrace.current());
+    }
+
+    @Test
+    void testCurrentIsThreadLocal() throws Exception {
+        RequestTrace.setCurrent(instance);
+        final RequestTrace[] otherThreadTrace = new RequestTrace[1];
+        Thread thread = new Thread(() ->
+                otherThreadTrace[0] = RequestTrace.current());
+        thread.start();
+        thread.join();
+        assertSame(instance, RequestTrace.current());
+        assertNull(otherThreadTrace[0]);
+    }
+
+    /* getStageMillis() */
+
+    @Test
+    void testGetStageMillisIsInOrderOfFirstOccurrence() {
+        instance.add("stat", 1);
+        instance.add("info", 1);
+        instance.add("stat", 1);
+        instance.add("decode", 1);
+        assertEquals(List.of("stat", "info", "decode"),
+                List.copyOf(instance.getStageMillis().keySet()));
+    }
+
+    @Test
+    void testGetStageMillisRoundsToTenthsOfMilliseconds() {
+        instance.add("stat", 1_234_567);
+        assertEquals(Map.of("stat", 1.2), instance.getStageMillis());
+    }
+
+    /* record() */
+
+    @Test
+    void testRecord() {
+        instance.record("stat",
+                System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue(instance.getStageMillis().get("stat") >= 10);
+    }
+
+    /* recordCurrent() */
+
+    @Test
+    void testRecordCurrent() {
+        RequestTrace.setCurrent(instance);
+        RequestTrace.recordCurrent("decode", System.nanoTime());
+        assertTrue(instance.getStageMillis().containsKey("decode"));
+    }
+
+    @Test
+    void testRecordCurrentWithNoCurrentTrace() {
+        RequestTrace.recordCurrent("decode", System.nanoTime());
+    }
+
+    /* setCurrent() */
+
+    @Test
+    void testSetCurrentWithNullArgument() {
+        RequestTrace.setCurrent(instance);
+        RequestTrace.setCurrent(null);
+        assertNull(RequestTrace.current());
+    }
+
+    /* toServerTimingHeader() */
+
+    @Test
+    void testToServerTimingHeader() {
+        instance.add("stat", TimeUnit.MILLISECONDS.toNanos(3));
+        instance.add("info", TimeUnit.MICROSECONDS.toNanos(12500));
+        String value = instance.toServerTimingHeader();
+        assertTrue(value.matches(
+                "stat;dur=3\\.0, info;dur=12\\.5, total;dur=[\\d.]+"));
+    }
+
+    @Test
+    void testToServerTimingHeaderWithNoStages() {
+        assertTrue(instance.toServerTimingHeader().matches("total;dur=[\\d.]+"));
+    }
+
+    /* toString() */
+
+    @Test
+    void testToString() {
+        instance.add("stat", TimeUnit.MILLISECONDS.toNanos(3));
+        instance.add("info", TimeUnit.MICROSECONDS.toNanos(12500));
+        assertEquals("stat=3.0ms info=12.5ms", instance.toString());
+    }
+
+}
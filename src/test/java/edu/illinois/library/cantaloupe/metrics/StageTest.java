@@ -0,0 +1,76 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import edu.illinois.library.cantaloupe.jfr.InfoReadEvent;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StageTest extends BaseTest {
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        RequestTrace.setCurrent(null);
+    }
+
+    /* begin() */
+
+    @Test
+    void testBeginWithNoTrace() {
+        Stage.begin("stat", null).close();
+    }
+
+    @Test
+    void testBeginUsesCurrentTrace() {
+        RequestTrace trace = new RequestTrace();
+        RequestTrace.setCurrent(trace);
+        Stage.begin("stat").close();
+        assertTrue(trace.getStageMillis().containsKey("stat"));
+    }
+
+    /* close() */
+
+    @Test
+    void testCloseRecordsInTrace() {
+        RequestTrace trace = new RequestTrace();
+        Stage.begin("stat", trace).close();
+        assertTrue(trace.getStageMillis().containsKey("stat"));
+    }
+
+    @Test
+    void testCloseWithNullNameDoesNotRecordInTrace() {
+        RequestTrace trace = new RequestTrace();
+        Stage.begin(null, trace).close();
+        assertTrue(trace.getStageMillis().isEmpty());
+    }
+
+    @Test
+    void testCloseRecordsInTimer() {
+        Timer timer = new Timer();
+        Stage.begin(null).withTimer(timer).close();
+        assertEquals(1, timer.getCount());
+    }
+
+    @Test
+    void testCloseRecordsOnlyOnce() {
+        Timer timer = new Timer();
+        Stage stage = Stage.begin(null).withTimer(timer);
+        stage.close();
+        stage.close();
+        assertEquals(1, timer.getCount());
+    }
+
+    @Test
+    void testCloseWithEventThatIsNotRecordedDoesNotInvokeCallback() {
+        // No recording is in progress, so the event won't be committed.
+        final boolean[] isInvoked = new boolean[1];
+        Stage.begin(null)
+                .withEvent(new InfoReadEvent())
+                .onCommit(() -> isInvoked[0] = true)
+                .close();
+        assertFalse(isInvoked[0]);
+    }
+
+}
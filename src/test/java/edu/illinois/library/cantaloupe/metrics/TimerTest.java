@@ -0,0 +1,61 @@
+package edu.illinois.library.cantaloupe.metrics;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimerTest extends BaseTest {
+
+    private Timer instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new Timer();
+    }
+
+    @Test
+    void testGetCumulativeBucketCounts() {
+        instance.record(1, TimeUnit.MILLISECONDS);    // first bucket
+        instance.record(5, TimeUnit.MILLISECONDS);    // first bucket (inclusive)
+        instance.record(200, TimeUnit.MILLISECONDS);  // 0.25 bucket
+        instance.record(1, TimeUnit.MINUTES);         // unbounded bucket
+
+        long[] counts = instance.getCumulativeBucketCounts();
+        assertEquals(Timer.BUCKET_BOUNDS.length + 1, counts.length);
+        assertEquals(2, counts[0]);
+        assertEquals(2, counts[4]);                   // 0.1
+        assertEquals(3, counts[5]);                   // 0.25
+        assertEquals(3, counts[counts.length - 2]);   // 30
+        assertEquals(4, counts[counts.length - 1]);   // +Inf
+    }
+
+    @Test
+    void testGetCount() {
+        assertEquals(0, instance.getCount());
+        instance.record(1, TimeUnit.SECONDS);
+        instance.record(2, TimeUnit.SECONDS);
+        assertEquals(2, instance.getCount());
+    }
+
+    @Test
+    void testGetSum() {
+        instance.record(1500, TimeUnit.MILLISECONDS);
+        instance.record(2, TimeUnit.SECONDS);
+        assertEquals(3.5, instance.getSum(), 0.0000001);
+    }
+
+    @Test
+    void testRecordSince() throws Exception {
+        final long start = System.nanoTime();
+        Thread.sleep(2);
+        instance.recordSince(start);
+        assertEquals(1, instance.getCount());
+        assertTrue(instance.getSum() >= 0.002);
+    }
+
+}
@@ -1,20 +1,31 @@
 package edu.illinois.library.cantaloupe.perf.processor;
 
+import java.awt.image.BufferedImage;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.image.Rectangle;
+import edu.illinois.library.cantaloupe.operation.CropByPixels;
 import edu.illinois.library.cantaloupe.operation.Encode;
 import edu.illinois.library.cantaloupe.operation.OperationList;
-import edu.illinois.library.cantaloupe.processor.FileProcessor;
+import edu.illinois.library.cantaloupe.operation.ScaleByPercent;
+import edu.illinois.library.cantaloupe.processor.InitializationException;
 import edu.illinois.library.cantaloupe.processor.ProcessorFactory;
+import edu.illinois.library.cantaloupe.processor.StreamProcessor;
+import edu.illinois.library.cantaloupe.processor.codec.jpeg.TurboJPEGImageReader;
+import edu.illinois.library.cantaloupe.source.PathStreamFactory;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
@@ -24,49 +35,147 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 
+import javax.imageio.ImageIO;
+
 import static edu.illinois.library.cantaloupe.test.PerformanceTestConstants.*;
 
+/**
+ * <p>Benchmarks {@link
+ * edu.illinois.library.cantaloupe.processor.TurboJpegProcessor} against a
+ * generated 6000&times;4000 JPEG, which is large enough for region and
+ * reduced-scale decoding to make a difference. {@link #decodeWholeImage()}
+ * measures the full-scale decode of the whole image that every request used
+ * to require, and serves as the baseline for the other benchmarks.</p>
+ *
+ * <p>libjpeg-turbo must be installed in {@literal /opt/libjpeg-turbo/lib} or
+ * on the {@literal LD_LIBRARY_PATH}, which forked VMs inherit. When it isn't
+ * available, setup fails with an explanatory message, and JMH skips this
+ * class's benchmarks and moves on to the next class.</p>
+ */
 @BenchmarkMode(Mode.AverageTime)
-@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
 @Warmup(iterations = WARMUP_ITERATIONS,
         time = WARMUP_TIME)
 @Measurement(iterations = MEASUREMENT_ITERATIONS,
         time = MEASUREMENT_TIME)
 @State(Scope.Benchmark)
-@Fork(value = 1, jvmArgs = { "-server", "-Xms128M", "-Xmx128M", "-Dcantaloupe.config=memory" })
+@Fork(value = 1, jvmArgs = { "-server", "-Xms1G", "-Xmx1G", "-Dcantaloupe.config=memory" })
 public class TurboJpegProcessorPerformance {
 
     private static final Format SOURCE_FORMAT = Format.get("jpg");
     private static final Format OUTPUT_FORMAT = Format.get("jpg");
 
-    private FileProcessor processor;
+    private static final int SOURCE_WIDTH  = 6000;
+    private static final int SOURCE_HEIGHT = 4000;
+
+    private Path sourceFile;
+    private StreamProcessor processor;
 
-    @Setup
-    public void setUp() throws Exception {
+    /**
+     * @return Image containing a gradient overlaid with noise, which
+     *         compresses about as well as a photograph.
+     */
+    private static BufferedImage newSourceImage() {
+        final BufferedImage image = new BufferedImage(
+                SOURCE_WIDTH, SOURCE_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        final Random random = new Random(0);
+        for (int y = 0; y < SOURCE_HEIGHT; y++) {
+            for (int x = 0; x < SOURCE_WIDTH; x++) {
+                int r = (x * 255 / SOURCE_WIDTH) ^ random.nextInt(16);
+                int g = (y * 255 / SOURCE_HEIGHT) ^ random.nextInt(16);
+                int b = ((x + y) * 255 / (SOURCE_WIDTH + SOURCE_HEIGHT)) ^
+                        random.nextInt(16);
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        return image;
+    }
+
+    @Setup(Level.Trial)
+    public void setUpTrial() throws Exception {
         Configuration config = Configuration.getInstance();
+        config.setProperty(Key.PROCESSOR_SELECTION_STRATEGY,
+                "ManualSelectionStrategy");
         config.setProperty(Key.PROCESSOR_FALLBACK, "TurboJpegProcessor");
-        processor = (FileProcessor) new ProcessorFactory().newProcessor(SOURCE_FORMAT);
+        try {
+            processor = (StreamProcessor) new ProcessorFactory()
+                    .newProcessor(SOURCE_FORMAT);
+        } catch (InitializationException e) {
+            throw new IllegalStateException("Skipping: libjpeg-turbo is " +
+                    "not available (" + e.getMessage() + ")", e);
+        }
+
+        sourceFile = Files.createTempFile(
+                TurboJpegProcessorPerformance.class.getSimpleName(), ".jpg");
+        ImageIO.write(newSourceImage(), "jpeg", sourceFile.toFile());
     }
 
-    @TearDown
-    public void tearDown() {
-        processor.close();
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws Exception {
+        if (processor != null) {
+            processor.close();
+        }
+        if (sourceFile != null) {
+            Files.deleteIfExists(sourceFile);
+        }
     }
 
-    @Benchmark
-    public void process() throws Exception {
+    private void process(OperationList opList) throws Exception {
         processor.setSourceFormat(SOURCE_FORMAT);
-        processor.setSourceFile(TestUtil.getImage("jpg"));
-        processor.process(
-                OperationList.builder().withOperations(new Encode(OUTPUT_FORMAT)).build(),
-                Info.builder().withSize(64, 56).build(),
+        processor.setStreamFactory(new PathStreamFactory(sourceFile));
+        processor.process(opList,
+                Info.builder().withSize(SOURCE_WIDTH, SOURCE_HEIGHT).build(),
                 OutputStream.nullOutputStream());
     }
 
+    /**
+     * Baseline: decodes the whole image at full scale, without cropping,
+     * scaling, or encoding it.
+     */
+    @Benchmark
+    public BufferedImage decodeWholeImage() throws Exception {
+        try (TurboJPEGImageReader reader = new TurboJPEGImageReader()) {
+            reader.setSource(Files.readAllBytes(sourceFile));
+            return reader.readAsBufferedImage(new Rectangle());
+        }
+    }
+
+    /**
+     * Exercises region decoding.
+     */
+    @Benchmark
+    public void processWithRegion() throws Exception {
+        process(OperationList.builder().withOperations(
+                new CropByPixels(2011, 1507, 512, 512),
+                new Encode(OUTPUT_FORMAT)).build());
+    }
+
+    /**
+     * Exercises DCT-domain scaled decoding.
+     */
+    @Benchmark
+    public void processWithReducedScale() throws Exception {
+        process(OperationList.builder().withOperations(
+                new ScaleByPercent(0.05),
+                new Encode(OUTPUT_FORMAT)).build());
+    }
+
+    /**
+     * Exercises region decoding combined with DCT-domain scaled decoding.
+     */
+    @Benchmark
+    public void processWithRegionAndReducedScale() throws Exception {
+        process(OperationList.builder().withOperations(
+                new CropByPixels(1003, 997, 2048, 2048),
+                new ScaleByPercent(0.125),
+                new Encode(OUTPUT_FORMAT)).build());
+    }
+
     @Benchmark
     public void readInfo() throws Exception {
         processor.setSourceFormat(SOURCE_FORMAT);
-        processor.setSourceFile(TestUtil.getImage("jpg"));
+        processor.setStreamFactory(
+                new PathStreamFactory(TestUtil.getImage("jpg")));
         processor.readInfo();
     }
 
@@ -0,0 +1,127 @@
+package edu.illinois.library.cantaloupe.perf.processor.codec;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.ScaleConstraint;
+import edu.illinois.library.cantaloupe.operation.CropByPixels;
+import edu.illinois.library.cantaloupe.operation.ReductionFactor;
+import edu.illinois.library.cantaloupe.operation.ScaleByPixels;
+import edu.illinois.library.cantaloupe.processor.codec.ImageReader;
+import edu.illinois.library.cantaloupe.processor.codec.ImageReaderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+
+import static edu.illinois.library.cantaloupe.test.PerformanceTestConstants.*;
+
+/**
+ * Compares reading a large mono-resolution source image of each format down
+ * to a thumbnail with subsampling enabled ({@link #readWithSubsampling()})
+ * and disabled ({@link #readWithSubsamplingDisabled()}). The source image is
+ * generated in a temporary file, as there is no fixture big enough for the
+ * difference to show.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = WARMUP_ITERATIONS,
+        time = WARMUP_TIME)
+@Measurement(iterations = MEASUREMENT_ITERATIONS,
+        time = MEASUREMENT_TIME)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms2G", "-Xmx2G", "-Dcantaloupe.config=memory" })
+public class SubsampledReadPerformance {
+
+    private static final int SOURCE_WIDTH  = 6000;
+    private static final int SOURCE_HEIGHT = 4000;
+    private static final int OUTPUT_SIZE   = 300;
+
+    @Param({ "bmp", "gif", "jpg", "png", "tif" })
+    private String format;
+
+    private Path sourceFile;
+
+    /**
+     * @return Image containing a gradient overlaid with noise, which
+     *         compresses about as well as a photograph.
+     */
+    private static BufferedImage newSourceImage() {
+        final BufferedImage image = new BufferedImage(
+                SOURCE_WIDTH, SOURCE_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        final Random random = new Random(0);
+        for (int y = 0; y < SOURCE_HEIGHT; y++) {
+            for (int x = 0; x < SOURCE_WIDTH; x++) {
+                int r = (x * 255 / SOURCE_WIDTH) ^ random.nextInt(16);
+                int g = (y * 255 / SOURCE_HEIGHT) ^ random.nextInt(16);
+                int b = ((x + y) * 255 / (SOURCE_WIDTH + SOURCE_HEIGHT)) ^
+                        random.nextInt(16);
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        return image;
+    }
+
+    @Setup(Level.Trial)
+    public void setUpTrial() throws Exception {
+        sourceFile = Files.createTempFile(
+                SubsampledReadPerformance.class.getSimpleName(), "." + format);
+        final String formatName = "jpg".equals(format) ? "jpeg" :
+                "tif".equals(format) ? "tiff" : format;
+        if (!ImageIO.write(newSourceImage(), formatName, sourceFile.toFile())) {
+            throw new IllegalStateException("No ImageIO writer for " + format);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws Exception {
+        Files.deleteIfExists(sourceFile);
+    }
+
+    private BufferedImage read(boolean isSubsamplingEnabled) throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_SUBSAMPLING_ENABLED, isSubsamplingEnabled);
+        ImageReader reader = new ImageReaderFactory().newImageReader(
+                Format.get(format), sourceFile);
+        try {
+            return reader.read(0,
+                    new CropByPixels(0, 0, SOURCE_WIDTH, SOURCE_HEIGHT),
+                    new ScaleByPixels(OUTPUT_SIZE, OUTPUT_SIZE,
+                            ScaleByPixels.Mode.ASPECT_FIT_INSIDE),
+                    new ScaleConstraint(1, 1),
+                    new ReductionFactor(),
+                    new HashSet<>());
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    @Benchmark
+    public BufferedImage readWithSubsampling() throws Exception {
+        return read(true);
+    }
+
+    @Benchmark
+    public BufferedImage readWithSubsamplingDisabled() throws Exception {
+        return read(false);
+    }
+
+}
@@ -0,0 +1,66 @@
+package edu.illinois.library.cantaloupe.perf.resource;
+
+import java.util.concurrent.TimeUnit;
+
+import edu.illinois.library.cantaloupe.resource.FileRepresentationTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static edu.illinois.library.cantaloupe.test.PerformanceTestConstants.*;
+
+/**
+ * Measures the throughput of sending a 16 MB file to a client over loopback
+ * via a {@link edu.illinois.library.cantaloupe.resource.FileRepresentation}
+ * ({@link #testWriteToJettyOutputStreamWithLargeFile()}) versus an {@link
+ * edu.illinois.library.cantaloupe.resource.InputStreamRepresentation}
+ * ({@link #testWriteToJettyOutputStreamWithLargeFileViaInputStream()}) using
+ * a single client thread. Multiplying the score by 16 MB gives bytes per
+ * second per client thread.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = WARMUP_ITERATIONS,
+        time = WARMUP_TIME)
+@Measurement(iterations = MEASUREMENT_ITERATIONS,
+        time = MEASUREMENT_TIME)
+@State(Scope.Benchmark)
+@Threads(1)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms512M", "-Xmx512M", "-Dcantaloupe.config=memory" })
+public class FileRepresentationPerformance extends FileRepresentationTest {
+
+    @Setup
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+    }
+
+    @TearDown
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+    }
+
+    @Benchmark
+    @Override
+    public void testWriteToJettyOutputStreamWithLargeFile() throws Exception {
+        super.testWriteToJettyOutputStreamWithLargeFile();
+    }
+
+    @Benchmark
+    @Override
+    public void testWriteToJettyOutputStreamWithLargeFileViaInputStream()
+            throws Exception {
+        super.testWriteToJettyOutputStreamWithLargeFileViaInputStream();
+    }
+
+}
@@ -0,0 +1,82 @@
+package edu.illinois.library.cantaloupe.perf.resource;
+
+import java.util.concurrent.TimeUnit;
+
+import edu.illinois.library.cantaloupe.resource.RouteTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static edu.illinois.library.cantaloupe.test.PerformanceTestConstants.*;
+
+/**
+ * Measures the latency of dispatching representative request paths to
+ * resources.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = WARMUP_ITERATIONS,
+        time = WARMUP_TIME)
+@Measurement(iterations = MEASUREMENT_ITERATIONS,
+        time = MEASUREMENT_TIME)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms128M", "-Xmx128M", "-Dcantaloupe.config=memory" })
+public class RoutePerformance extends RouteTest {
+
+    @Setup
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+    }
+
+    @TearDown
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+    }
+
+    @Benchmark
+    @Override
+    public void testForPathWithIIIFv1Routes() {
+        super.testForPathWithIIIFv1Routes();
+    }
+
+    @Benchmark
+    @Override
+    public void testForPathWithIIIFv2Routes() {
+        super.testForPathWithIIIFv2Routes();
+    }
+
+    @Benchmark
+    @Override
+    public void testForPathWithIIIFv3Routes() {
+        super.testForPathWithIIIFv3Routes();
+    }
+
+    @Benchmark
+    @Override
+    public void testForPathWithInvalidRoute() {
+        super.testForPathWithInvalidRoute();
+    }
+
+    @Benchmark
+    @Override
+    public void testForPathWithTrailingSlashes() {
+        super.testForPathWithTrailingSlashes();
+    }
+
+    @Benchmark
+    @Override
+    public void testNewResource() throws Exception {
+        super.testNewResource();
+    }
+
+}
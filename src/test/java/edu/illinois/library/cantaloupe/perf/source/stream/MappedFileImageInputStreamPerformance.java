@@ -0,0 +1,81 @@
+package edu.illinois.library.cantaloupe.perf.source.stream;
+
+import java.util.concurrent.TimeUnit;
+
+import edu.illinois.library.cantaloupe.source.stream.MappedFileImageInputStreamTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+
+import static edu.illinois.library.cantaloupe.test.PerformanceTestConstants.*;
+
+/**
+ * Compares the latency of parsing a TIFF header via a {@link
+ * edu.illinois.library.cantaloupe.source.stream.MappedFileImageInputStream}
+ * ({@link #functionalTestWithTIFF()}) to that of a {@link
+ * FileImageInputStream} ({@link #functionalTestWithTIFFViaFileImageInputStream()}).
+ * System call counts can be compared by running the two benchmarks under e.g.
+ * {@literal strace -c -f}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = WARMUP_ITERATIONS,
+        time = WARMUP_TIME)
+@Measurement(iterations = MEASUREMENT_ITERATIONS,
+        time = MEASUREMENT_TIME)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = { "-server", "-Xms128M", "-Xmx128M", "-Dcantaloupe.config=memory" })
+public class MappedFileImageInputStreamPerformance
+        extends MappedFileImageInputStreamTest {
+
+    @Setup
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+    }
+
+    @TearDown
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+    }
+
+    @Benchmark
+    @Override
+    public void testRead1() throws Exception {
+        super.testRead1();
+    }
+
+    @Benchmark
+    @Override
+    public void testRead2() throws Exception {
+        super.testRead2();
+    }
+
+    @Benchmark
+    @Override
+    public void functionalTestWithTIFF() throws Exception {
+        super.functionalTestWithTIFF();
+    }
+
+    @Benchmark
+    public void functionalTestWithTIFFViaFileImageInputStream()
+            throws Exception {
+        try (ImageInputStream is =
+                     new FileImageInputStream(getTIFFFixture().toFile())) {
+            readTIFFSize(is);
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.operation.Encode;
+import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.operation.ScaleByPercent;
+import edu.illinois.library.cantaloupe.processor.codec.ImageReader;
+import edu.illinois.library.cantaloupe.processor.codec.ImageReaderFactory;
+import edu.illinois.library.cantaloupe.processor.codec.ImageSequenceWriter;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrameStreamerTest extends BaseTest {
+
+    /**
+     * Collects written frames in memory.
+     */
+    private static class CollectingSequenceWriter
+            implements ImageSequenceWriter {
+
+        private final List<BufferedImage> frames = new ArrayList<>();
+
+        @Override
+        public void write(BufferedImage frame) {
+            frames.add(frame);
+        }
+
+        @Override
+        public void close() {}
+
+    }
+
+    private ImageReader reader;
+    private CollectingSequenceWriter writer;
+    private FrameStreamer instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        reader = new ImageReaderFactory().newImageReader(
+                Format.get("gif"),
+                TestUtil.getImage("gif-animated-looping.gif"));
+        writer = new CollectingSequenceWriter();
+        OperationList ops = OperationList.builder()
+                .withOperations(new ScaleByPercent(0.5),
+                        new Encode(Format.get("gif")))
+                .build();
+        Info info = Info.builder()
+                .withSize(136, 200)
+                .withFormat(Format.get("gif"))
+                .build();
+        instance = new FrameStreamer(reader, writer, ops, info);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        reader.dispose();
+    }
+
+    @Test
+    void testSetWindowSizeWithIllegalArgument() {
+        assertThrows(IllegalArgumentException.class,
+                () -> instance.setWindowSize(0));
+    }
+
+    @Test
+    void testStream() throws Exception {
+        assertEquals(2, instance.stream());
+        assertEquals(2, writer.frames.size());
+        for (BufferedImage frame : writer.frames) {
+            assertEquals(68, frame.getWidth());
+            assertEquals(100, frame.getHeight());
+        }
+    }
+
+    @Test
+    void testStreamWithWindowSmallerThanSequence() throws Exception {
+        instance.setWindowSize(1);
+        assertEquals(2, instance.stream());
+        assertEquals(2, writer.frames.size());
+    }
+
+}
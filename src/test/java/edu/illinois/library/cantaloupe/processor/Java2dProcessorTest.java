@@ -1,18 +1,29 @@
 package edu.illinois.library.cantaloupe.processor;
 
 import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.jfr.DecodeEvent;
+import edu.illinois.library.cantaloupe.jfr.EncodeEvent;
+import edu.illinois.library.cantaloupe.jfr.PostProcessEvent;
 import edu.illinois.library.cantaloupe.operation.Encode;
 import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.operation.Rotate;
 import edu.illinois.library.cantaloupe.processor.codec.ImageReader;
 import edu.illinois.library.cantaloupe.processor.codec.ImageReaderFactory;
 import edu.illinois.library.cantaloupe.test.TestUtil;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,6 +56,58 @@ public class Java2dProcessorTest extends AbstractImageIOProcessorTest {
         assertTrue(instance.isSeeking());
     }
 
+    @Test
+    void testProcessEmitsFlightRecorderEvents() throws Exception {
+        final Path file = Files.createTempFile(getClass().getSimpleName(), ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(DecodeEvent.NAME);
+            recording.enable(PostProcessEvent.NAME);
+            recording.enable(EncodeEvent.NAME);
+            recording.start();
+
+            OperationList ops = OperationList.builder()
+                    .withIdentifier(new Identifier("cats"))
+                    .withOperations(new Rotate(90),
+                            new Encode(Format.get("png")))
+                    .build();
+            Info info = Info.builder()
+                    .withSize(64, 56)
+                    .withFormat(Format.get("png"))
+                    .build();
+            instance.setSourceFile(TestUtil.getImage("png-rgb-64x56x8.png"));
+            instance.setSourceFormat(Format.get("png"));
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            instance.process(ops, info, os);
+
+            recording.stop();
+            recording.dump(file);
+
+            Map<String,RecordedEvent> events = new HashMap<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                events.put(event.getEventType().getName(), event);
+            }
+            RecordedEvent decode = events.get(DecodeEvent.NAME);
+            assertEquals("cats", decode.getString("identifier"));
+            assertEquals("Java2dProcessor", decode.getString("processor"));
+            assertEquals("png", decode.getString("format"));
+            assertEquals(64, decode.getInt("width"));
+            assertEquals(56, decode.getInt("height"));
+
+            RecordedEvent postProcess = events.get(PostProcessEvent.NAME);
+            assertEquals("cats", postProcess.getString("identifier"));
+            assertEquals("Rotate", postProcess.getString("operation"));
+            assertEquals(56, postProcess.getInt("width"));
+            assertEquals(64, postProcess.getInt("height"));
+
+            RecordedEvent encode = events.get(EncodeEvent.NAME);
+            assertEquals("cats", encode.getString("identifier"));
+            assertEquals("png", encode.getString("format"));
+            assertEquals(os.size(), encode.getLong("bytes"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
     @Test
     void testProcessWithAnimatedGIF() throws Exception {
         Path image = TestUtil.getImage("gif-animated-looping.gif");
@@ -0,0 +1,235 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.cache.CacheFacade;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Dimension;
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.image.ScaleConstraint;
+import edu.illinois.library.cantaloupe.operation.CropByPixels;
+import edu.illinois.library.cantaloupe.operation.Encode;
+import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.operation.ReductionFactor;
+import edu.illinois.library.cantaloupe.processor.codec.ReaderHint;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageRasterCacheTest extends BaseTest {
+
+    private static final Identifier IDENTIFIER = new Identifier("cats");
+
+    private Path cacheDir;
+    private PageRasterCache instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        cacheDir = Files.createTempDirectory("test");
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.DERIVATIVE_CACHE_ENABLED, true);
+        config.setProperty(Key.DERIVATIVE_CACHE, "FilesystemCache");
+        config.setProperty(Key.FILESYSTEMCACHE_PATHNAME, cacheDir.toString());
+        instance = new PageRasterCache();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        FileUtils.deleteDirectory(cacheDir.toFile());
+    }
+
+    private static BufferedImage newRaster() {
+        BufferedImage image = new BufferedImage(100, 80,
+                BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, (x * 2) << 16 | (y * 3) << 8 | 0x40);
+            }
+        }
+        return image;
+    }
+
+    /* getOperationList() */
+
+    @Test
+    void testGetOperationListIsDistinctPerDPI() {
+        OperationList opList1 =
+                PageRasterCache.getOperationList(IDENTIFIER, 0, 150);
+        OperationList opList2 =
+                PageRasterCache.getOperationList(IDENTIFIER, 0, 75);
+        assertNotEquals(opList1.toString(), opList2.toString());
+        assertEquals(150.0, ((PageRasterCache.PageRaster)
+                opList1.getFirst(PageRasterCache.PageRaster.class)).getDPI());
+    }
+
+    @Test
+    void testGetOperationListIsDistinctFromClientOperationLists() {
+        OperationList rasterOpList =
+                PageRasterCache.getOperationList(IDENTIFIER, 0, 150);
+        // Options are populated from query arguments.
+        OperationList clientOpList = OperationList.builder()
+                .withIdentifier(IDENTIFIER)
+                .withOperations(new Encode(Format.get("tif")))
+                .build();
+        clientOpList.getOptions().put("raster", 150.0);
+        assertNotEquals(rasterOpList.toString(), clientOpList.toString());
+        assertNotEquals(rasterOpList.toFilename(), clientOpList.toFilename());
+    }
+
+    /* isAvailable() */
+
+    @Test
+    void testIsAvailable() {
+        assertTrue(instance.isAvailable());
+    }
+
+    @Test
+    void testIsAvailableWithDerivativeCacheDisabled() {
+        Configuration.getInstance().setProperty(
+                Key.DERIVATIVE_CACHE_ENABLED, false);
+        assertFalse(instance.isAvailable());
+    }
+
+    @Test
+    void testIsAvailableWithRasterCacheDisabled() {
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_PDF_RASTER_CACHE_ENABLED, false);
+        assertFalse(instance.isAvailable());
+    }
+
+    /* isCacheable() */
+
+    @Test
+    void testIsCacheable() {
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_PDF_RASTER_CACHE_MAX_PIXELS, 10000);
+        assertTrue(instance.isCacheable(new Dimension(100, 100)));
+        assertFalse(instance.isCacheable(new Dimension(100, 101)));
+    }
+
+    /* read() */
+
+    @Test
+    void testReadWithMiss() throws Exception {
+        assertNull(instance.read(IDENTIFIER, 0, 150, null,
+                new ReductionFactor(), new ScaleConstraint(1, 1),
+                EnumSet.noneOf(ReaderHint.class)));
+    }
+
+    @Test
+    void testReadWholeRaster() throws Exception {
+        final BufferedImage raster = newRaster();
+        instance.write(IDENTIFIER, 0, 150, raster);
+
+        BufferedImage image = instance.read(IDENTIFIER, 0, 150, null,
+                new ReductionFactor(), new ScaleConstraint(1, 1),
+                EnumSet.noneOf(ReaderHint.class));
+        assertEquals(100, image.getWidth());
+        assertEquals(80, image.getHeight());
+        assertEquals(raster.getRGB(50, 40), image.getRGB(50, 40));
+    }
+
+    @Test
+    void testReadRegion() throws Exception {
+        final BufferedImage raster = newRaster();
+        instance.write(IDENTIFIER, 0, 150, raster);
+
+        final Set<ReaderHint> hints = EnumSet.noneOf(ReaderHint.class);
+        BufferedImage image = instance.read(IDENTIFIER, 0, 150,
+                new CropByPixels(10, 20, 30, 40),
+                new ReductionFactor(), new ScaleConstraint(1, 1), hints);
+        assertEquals(30, image.getWidth());
+        assertEquals(40, image.getHeight());
+        assertEquals(raster.getRGB(15, 25), image.getRGB(5, 5));
+        assertTrue(hints.contains(ReaderHint.ALREADY_CROPPED));
+    }
+
+    @Test
+    void testReadRegionWithReductionFactor() throws Exception {
+        // The raster is at half scale, and the crop is relative to full
+        // scale.
+        final BufferedImage raster = newRaster();
+        instance.write(IDENTIFIER, 0, 75, raster);
+
+        BufferedImage image = instance.read(IDENTIFIER, 0, 75,
+                new CropByPixels(20, 40, 60, 80),
+                new ReductionFactor(1), new ScaleConstraint(1, 1),
+                EnumSet.noneOf(ReaderHint.class));
+        assertEquals(30, image.getWidth());
+        assertEquals(40, image.getHeight());
+        assertEquals(raster.getRGB(10, 20), image.getRGB(0, 0));
+    }
+
+    /* write() */
+
+    @Test
+    void testWriteIsKeyedByPage() throws Exception {
+        instance.write(IDENTIFIER, 0, 150, newRaster());
+        assertNull(instance.read(IDENTIFIER, 1, 150, null,
+                new ReductionFactor(), new ScaleConstraint(1, 1),
+                EnumSet.noneOf(ReaderHint.class)));
+        try (InputStream is = new CacheFacade().newDerivativeImageInputStream(
+                PageRasterCache.getOperationList(IDENTIFIER, 0, 150))) {
+            assertNotNull(is);
+        }
+    }
+
+    /* tryReserveWrite() */
+
+    @Test
+    void testTryReserveWriteWithWriteAlreadyReserved() {
+        try {
+            assertTrue(instance.tryReserveWrite(IDENTIFIER, 0, 150));
+            assertFalse(instance.tryReserveWrite(IDENTIFIER, 0, 150));
+            assertEquals(1, PageRasterCache.getNumPendingWrites());
+        } finally {
+            instance.releaseWrite(IDENTIFIER, 0, 150);
+        }
+        assertEquals(0, PageRasterCache.getNumPendingWrites());
+    }
+
+    @Test
+    void testTryReserveWriteWithTooManyWritesPending() {
+        final int max = PageRasterCache.MAX_PENDING_WRITES;
+        try {
+            for (int i = 0; i < max; i++) {
+                assertTrue(instance.tryReserveWrite(IDENTIFIER, i, 150));
+            }
+            assertFalse(instance.tryReserveWrite(IDENTIFIER, max, 150));
+        } finally {
+            for (int i = 0; i < max; i++) {
+                instance.releaseWrite(IDENTIFIER, i, 150);
+            }
+        }
+        assertTrue(instance.tryReserveWrite(IDENTIFIER, max, 150));
+        instance.releaseWrite(IDENTIFIER, max, 150);
+    }
+
+    /* writeAsync() */
+
+    @Test
+    void testWriteAsync() throws Exception {
+        assertTrue(instance.tryReserveWrite(IDENTIFIER, 0, 150));
+        instance.writeAsync(IDENTIFIER, 0, 150, newRaster())
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(0, PageRasterCache.getNumPendingWrites());
+        assertNotNull(instance.read(IDENTIFIER, 0, 150, null,
+                new ReductionFactor(), new ScaleConstraint(1, 1),
+                EnumSet.noneOf(ReaderHint.class)));
+    }
+
+}
@@ -1,20 +1,29 @@
 package edu.illinois.library.cantaloupe.processor;
 
+import edu.illinois.library.cantaloupe.cache.CacheFacade;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Dimension;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.operation.CropByPixels;
 import edu.illinois.library.cantaloupe.operation.Encode;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.operation.ValidationException;
 import edu.illinois.library.cantaloupe.test.TestUtil;
+import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,6 +40,7 @@ public class PdfBoxProcessorTest extends AbstractProcessorTest {
         config.setProperty(Key.PROCESSOR_PDF_SCRATCH_FILE_ENABLED, false);
         config.setProperty(Key.PROCESSOR_PDF_MAX_MEMORY_BYTES, -1);
         config.setProperty(Key.TEMP_PATHNAME, "/tmp");
+        PdfDocumentPool.clearInstance();
         instance = newInstance();
     }
 
@@ -38,6 +48,7 @@ public class PdfBoxProcessorTest extends AbstractProcessorTest {
     public void tearDown() throws Exception {
         super.tearDown();
         instance.close();
+        PdfDocumentPool.clearInstance();
     }
 
     @Override
@@ -51,11 +62,90 @@ public class PdfBoxProcessorTest extends AbstractProcessorTest {
         return proc;
     }
 
+    /* close() */
+
+    @Test
+    void testCloseReturnsDocumentToPool() throws Exception {
+        instance.setSourceFile(TestUtil.getImage("pdf.pdf"));
+        instance.readInfo();
+        instance.close();
+        assertEquals(1, PdfDocumentPool.getInstance().size());
+
+        // Another instance should borrow it.
+        try (PdfBoxProcessor instance2 = newInstance()) {
+            instance2.setSourceFile(TestUtil.getImage("pdf.pdf"));
+            instance2.readInfo();
+            assertEquals(0, PdfDocumentPool.getInstance().size());
+        }
+        assertEquals(1, PdfDocumentPool.getInstance().size());
+    }
+
+    @Test
+    void testCloseReturnsBorrowedDocumentToPoolWithItsSize() throws Exception {
+        final Path file = TestUtil.getImage("pdf.pdf");
+        instance.setSourceFile(file);
+        instance.readInfo();
+        instance.close();
+
+        try (PdfBoxProcessor instance2 = newInstance()) {
+            instance2.setSourceFile(file);
+            instance2.readInfo();
+        }
+        assertEquals(Files.size(file),
+                PdfDocumentPool.getInstance().getIdleSize());
+    }
+
+    @Test
+    void testCloseWithPoolDisabled() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_PDF_POOL_MAX_DOCUMENTS, 0);
+        instance.setSourceFile(TestUtil.getImage("pdf.pdf"));
+        instance.readInfo();
+        instance.close();
+        assertEquals(0, PdfDocumentPool.getInstance().size());
+    }
+
+    /* isSeeking() */
+
     @Test
     void testIsSeeking() {
         assertFalse(instance.isSeeking());
     }
 
+    /* process() */
+
+    @Test
+    void testProcessWithCropRendersSameRegionAsFullPage() throws Exception {
+        instance.setSourceFile(TestUtil.getImage("pdf.pdf"));
+        final Info imageInfo = instance.readInfo();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        OperationList ops = OperationList.builder()
+                .withOperations(new Encode(Format.get("png")))
+                .build();
+        instance.process(ops, imageInfo, outputStream);
+        final BufferedImage fullImage = ImageIO.read(
+                new ByteArrayInputStream(outputStream.toByteArray()));
+
+        outputStream = new ByteArrayOutputStream();
+        ops = OperationList.builder()
+                .withOperations(new CropByPixels(10, 20, 50, 40),
+                        new Encode(Format.get("png")))
+                .build();
+        instance.process(ops, imageInfo, outputStream);
+        final BufferedImage regionImage = ImageIO.read(
+                new ByteArrayInputStream(outputStream.toByteArray()));
+
+        assertEquals(50, regionImage.getWidth());
+        assertEquals(40, regionImage.getHeight());
+        for (int y = 0; y < regionImage.getHeight(); y++) {
+            for (int x = 0; x < regionImage.getWidth(); x++) {
+                assertEquals(fullImage.getRGB(x + 10, y + 20),
+                        regionImage.getRGB(x, y));
+            }
+        }
+    }
+
     @Test
     void testProcessWithNonOnePageIndex() throws Exception {
         instance.setSourceFile(TestUtil.getImage("pdf-multipage.pdf"));
@@ -78,6 +168,49 @@ public class PdfBoxProcessorTest extends AbstractProcessorTest {
         assertFalse(Arrays.equals(page1, page2));
     }
 
+    @Test
+    void testProcessWithRasterCache() throws Exception {
+        final Path cacheDir = Files.createTempDirectory("test");
+        try {
+            Configuration config = Configuration.getInstance();
+            config.setProperty(Key.DERIVATIVE_CACHE_ENABLED, true);
+            config.setProperty(Key.DERIVATIVE_CACHE, "FilesystemCache");
+            config.setProperty(Key.FILESYSTEMCACHE_PATHNAME, cacheDir.toString());
+
+            instance.setSourceFile(TestUtil.getImage("pdf.pdf"));
+            final Info imageInfo = instance.readInfo();
+            final OperationList ops = OperationList.builder()
+                    .withIdentifier(new Identifier("cats"))
+                    .withOperations(new CropByPixels(10, 20, 50, 40),
+                            new Encode(Format.get("png")))
+                    .build();
+
+            // The first invocation rasterizes and caches the page...
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            instance.process(ops, imageInfo, outputStream);
+            final byte[] rendered = outputStream.toByteArray();
+            // (It is written asynchronously.)
+            final OperationList rasterOpList = PageRasterCache.getOperationList(
+                    new Identifier("cats"), 0, 72);
+            InputStream is = null;
+            for (int i = 0; i < 50 && is == null; i++) {
+                is = new CacheFacade().newDerivativeImageInputStream(rasterOpList);
+                if (is == null) {
+                    Thread.sleep(100);
+                }
+            }
+            assertNotNull(is);
+            is.close();
+
+            // ...and the second cuts the region from the cached raster.
+            outputStream = new ByteArrayOutputStream();
+            instance.process(ops, imageInfo, outputStream);
+            assertArrayEquals(rendered, outputStream.toByteArray());
+        } finally {
+            FileUtils.deleteDirectory(cacheDir.toFile());
+        }
+    }
+
     @Test
     void testReadInfoNativeMetadataAwareness() throws Exception {
         instance.setSourceFile(TestUtil.getImage("pdf-xmp.pdf"));
@@ -0,0 +1,156 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PdfDocumentPoolTest extends BaseTest {
+
+    private static final Instant LAST_MODIFIED = Instant.now();
+
+    private PdfDocumentPool instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new PdfDocumentPool();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        instance.clear();
+    }
+
+    private static PdfDocumentPool.DocumentKey newKey(String source) {
+        return new PdfDocumentPool.DocumentKey(source, LAST_MODIFIED);
+    }
+
+    /* borrow() */
+
+    @Test
+    void testBorrowWithMiss() {
+        assertNull(instance.borrow(newKey("a")));
+    }
+
+    @Test
+    void testBorrowWithHit() {
+        PDDocument doc = new PDDocument();
+        instance.giveBack(newKey("a"), doc, 100);
+        assertSame(doc, instance.borrow(newKey("a")));
+        assertEquals(0, instance.size());
+        assertEquals(0, instance.getIdleSize());
+    }
+
+    @Test
+    void testBorrowWithDifferentLastModified() {
+        instance.giveBack(newKey("a"), new PDDocument(), 100);
+        assertNull(instance.borrow(new PdfDocumentPool.DocumentKey(
+                "a", LAST_MODIFIED.plusSeconds(1))));
+    }
+
+    @Test
+    void testBorrowEvictsExpiredDocuments() {
+        Configuration.getInstance().setProperty(Key.PROCESSOR_PDF_POOL_TTL, 0);
+        instance.giveBack(newKey("a"), new PDDocument(), 100);
+        assertNull(instance.borrow(newKey("a")));
+        assertEquals(0, instance.size());
+    }
+
+    /* evictExpired() */
+
+    @Test
+    void testEvictExpiredIsCalledPeriodically() throws Exception {
+        instance.clear();
+        instance = new PdfDocumentPool(Duration.ofMillis(50));
+        Configuration.getInstance().setProperty(Key.PROCESSOR_PDF_POOL_TTL, 1);
+        instance.giveBack(newKey("a"), new PDDocument(), 100);
+        assertEquals(1, instance.size());
+
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (instance.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, instance.size());
+        assertEquals(0, instance.getIdleSize());
+    }
+
+    /* clear() */
+
+    @Test
+    void testClear() {
+        instance.giveBack(newKey("a"), new PDDocument(), 100);
+        instance.clear();
+        assertEquals(0, instance.size());
+        assertEquals(0, instance.getIdleSize());
+    }
+
+    /* giveBack() */
+
+    @Test
+    void testGiveBack() {
+        instance.giveBack(newKey("a"), new PDDocument(), 100);
+        instance.giveBack(newKey("a"), new PDDocument(), 100);
+        assertEquals(2, instance.size());
+        assertEquals(200, instance.getIdleSize());
+    }
+
+    @Test
+    void testGiveBackWithPoolDisabled() {
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_PDF_POOL_MAX_DOCUMENTS, 0);
+        instance.giveBack(newKey("a"), new PDDocument(), 100);
+        assertEquals(0, instance.size());
+    }
+
+    @Test
+    void testGiveBackEvictsLeastRecentlyReturnedDocumentsOverCount() {
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_PDF_POOL_MAX_DOCUMENTS, 2);
+        instance.giveBack(newKey("a"), new PDDocument(), 100);
+        instance.giveBack(newKey("b"), new PDDocument(), 100);
+        instance.giveBack(newKey("c"), new PDDocument(), 100);
+        assertEquals(2, instance.size());
+        assertNull(instance.borrow(newKey("a")));
+        assertNotNull(instance.borrow(newKey("c")));
+    }
+
+    @Test
+    void testGiveBackEvictsLeastRecentlyReturnedDocumentsOverSize() {
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_PDF_POOL_MAX_SIZE, 250);
+        instance.giveBack(newKey("a"), new PDDocument(), 100);
+        instance.giveBack(newKey("b"), new PDDocument(), 100);
+        instance.giveBack(newKey("c"), new PDDocument(), 100);
+        assertEquals(2, instance.size());
+        assertEquals(200, instance.getIdleSize());
+        assertNull(instance.borrow(newKey("a")));
+    }
+
+    @Test
+    void testGiveBackWithDocumentLargerThanPool() {
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_PDF_POOL_MAX_SIZE, 50);
+        instance.giveBack(newKey("a"), new PDDocument(), 100);
+        assertEquals(0, instance.size());
+    }
+
+    @Test
+    void testGiveBackEvictsStaleVersionsOfSameSource() {
+        instance.giveBack(newKey("a"), new PDDocument(), 100);
+        instance.giveBack(new PdfDocumentPool.DocumentKey(
+                "a", LAST_MODIFIED.plusSeconds(1)), new PDDocument(), 100);
+        assertEquals(1, instance.size());
+        assertNull(instance.borrow(newKey("a")));
+    }
+
+}
@@ -6,10 +6,15 @@ import edu.illinois.library.cantaloupe.cache.MockBrokenSourceImageFileCache;
 import edu.illinois.library.cantaloupe.cache.MockBrokenSourceInputStreamCache;
 import edu.illinois.library.cantaloupe.cache.MockUnreliableSourceImageFileCache;
 import edu.illinois.library.cantaloupe.cache.MockUnreliableSourceOutputStreamCache;
+import edu.illinois.library.cantaloupe.cache.SourceCache;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.operation.Encode;
+import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.resource.ImageRepresentation;
 import edu.illinois.library.cantaloupe.source.MockStreamSource;
 import edu.illinois.library.cantaloupe.source.Source;
 import edu.illinois.library.cantaloupe.source.SourceFactory;
@@ -23,6 +28,7 @@ import org.junit.jupiter.api.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -609,6 +615,101 @@ public class ProcessorConnectorTest extends BaseTest {
         }
     }
 
+    @Test
+    void testConnectWithStreamSourceAndImageIOProcessorWithCacheStrategyAndPyramidalSourceImageAvailable()
+            throws Exception {
+        final Identifier identifier = new Identifier("png");
+        final Path cacheFolder = Files.createTempDirectory("test");
+        try {
+            Configuration config = Configuration.getInstance();
+            config.setProperty(Key.SOURCE_STATIC,
+                    MockStreamSource.class.getName());
+            config.setProperty(Key.SOURCE_CACHE, "FilesystemCache");
+            config.setProperty(Key.PROCESSOR_STREAM_RETRIEVAL_STRATEGY,
+                    RetrievalStrategy.CACHE.getConfigValue());
+            config.setProperty(Key.FILESYSTEMCACHE_PATHNAME,
+                    cacheFolder.toString());
+            config.setProperty(Key.SOURCE_CACHE_NORMALIZATION_ENABLED, true);
+            config.setProperty(Key.SOURCE_CACHE_NORMALIZATION_TILE_SIZE, 16);
+
+            final SourceCache sourceCache =
+                    CacheFactory.getSourceCache().orElseThrow();
+            try (OutputStream os =
+                         sourceCache.newSourceImageOutputStream(identifier)) {
+                Files.copy(TestUtil.getImage("png"), os);
+            }
+            new SourceCacheNormalizer(sourceCache, identifier,
+                    Format.get("png")).normalizeSync();
+
+            final Source source = new SourceFactory().newSource(identifier, null);
+            try (Java2dProcessor processor = new Java2dProcessor()) {
+                processor.setSourceFormat(Format.get("png"));
+
+                assertNull(instance.connect(source, processor, identifier,
+                        Format.get("png")));
+
+                assertEquals(
+                        sourceCache.getSourceImageFile(identifier).orElseThrow(),
+                        processor.getSourceFile());
+                assertEquals(Format.get("png"), processor.getSourceFormat());
+                assertEquals(3, processor.getReader().getNumResolutions());
+            }
+        } finally {
+            recursiveDeleteOnExit(cacheFolder);
+        }
+    }
+
+    /**
+     * Tests that a request that has no effect on a source image that has a
+     * pyramidal rendition is served the original source image.
+     */
+    @Test
+    void testConnectWithPyramidalSourceImageAvailableCopiesOriginalSourceImage()
+            throws Exception {
+        final Identifier identifier = new Identifier("png");
+        final Path cacheFolder = Files.createTempDirectory("test");
+        try {
+            Configuration config = Configuration.getInstance();
+            config.setProperty(Key.SOURCE_STATIC,
+                    MockStreamSource.class.getName());
+            config.setProperty(Key.SOURCE_CACHE, "FilesystemCache");
+            config.setProperty(Key.PROCESSOR_STREAM_RETRIEVAL_STRATEGY,
+                    RetrievalStrategy.CACHE.getConfigValue());
+            config.setProperty(Key.FILESYSTEMCACHE_PATHNAME,
+                    cacheFolder.toString());
+            config.setProperty(Key.SOURCE_CACHE_NORMALIZATION_ENABLED, true);
+            config.setProperty(Key.SOURCE_CACHE_NORMALIZATION_TILE_SIZE, 16);
+
+            final SourceCache sourceCache =
+                    CacheFactory.getSourceCache().orElseThrow();
+            try (OutputStream os =
+                         sourceCache.newSourceImageOutputStream(identifier)) {
+                Files.copy(TestUtil.getImage("png"), os);
+            }
+            new SourceCacheNormalizer(sourceCache, identifier,
+                    Format.get("png")).normalizeSync();
+
+            final Source source = new SourceFactory().newSource(identifier, null);
+            try (Java2dProcessor processor = new Java2dProcessor()) {
+                processor.setSourceFormat(Format.get("png"));
+                instance.connect(source, processor, identifier,
+                        Format.get("png"));
+
+                final Info info = processor.readInfo();
+                final OperationList opList = new OperationList(identifier);
+                opList.add(new Encode(Format.get("png")));
+                final ByteArrayOutputStream os = new ByteArrayOutputStream();
+                new ImageRepresentation(info, processor, opList, true, true)
+                        .write(os);
+
+                assertArrayEquals(Files.readAllBytes(TestUtil.getImage("png")),
+                        os.toByteArray());
+            }
+        } finally {
+            recursiveDeleteOnExit(cacheFolder);
+        }
+    }
+
     private void assertEqualSources(Path path, StreamFactory ss)
             throws IOException {
         assertEqualSources(Files.newInputStream(path), ss.newInputStream());
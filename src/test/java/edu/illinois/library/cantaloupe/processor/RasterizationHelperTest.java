@@ -97,4 +97,14 @@ public class RasterizationHelperTest extends BaseTest {
                 instance.getDPI(scale, fullSize, scaleConstraint), DELTA);
     }
 
-}
\ No newline at end of file
+    @Test
+    void testIsDPILevel() {
+        assertTrue(instance.isDPILevel(150));
+        assertTrue(instance.isDPILevel(75));
+        assertTrue(instance.isDPILevel(37.5));
+        assertTrue(instance.isDPILevel(600));
+        assertFalse(instance.isDPILevel(100));
+        assertFalse(instance.isDPILevel(0));
+    }
+
+}
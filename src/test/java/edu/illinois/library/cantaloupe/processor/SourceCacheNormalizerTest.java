@@ -0,0 +1,197 @@
+package edu.illinois.library.cantaloupe.processor;
+
+import edu.illinois.library.cantaloupe.cache.CacheFactory;
+import edu.illinois.library.cantaloupe.cache.SourceCache;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Dimension;
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.processor.codec.tiff.TIFFImageReader;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import edu.illinois.library.cantaloupe.util.DeletingFileVisitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SourceCacheNormalizerTest extends BaseTest {
+
+    private static final Identifier IDENTIFIER = new Identifier("png");
+
+    private Path cacheFolder;
+    private SourceCache sourceCache;
+    private SourceCacheNormalizer instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        cacheFolder = Files.createTempDirectory("test");
+
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.SOURCE_CACHE, "FilesystemCache");
+        config.setProperty(Key.FILESYSTEMCACHE_PATHNAME,
+                cacheFolder.toString());
+        config.setProperty(Key.SOURCE_CACHE_NORMALIZATION_ENABLED, true);
+        config.setProperty(Key.SOURCE_CACHE_NORMALIZATION_TILE_SIZE, 16);
+
+        sourceCache = CacheFactory.getSourceCache().orElseThrow();
+        instance    = new SourceCacheNormalizer(
+                sourceCache, IDENTIFIER, Format.get("png"));
+        SourceCacheNormalizer.clearSkippedImages();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        Files.walkFileTree(cacheFolder, new DeletingFileVisitor());
+    }
+
+    private void cacheSourceImage() throws Exception {
+        cacheSourceImage(IDENTIFIER, "png");
+    }
+
+    private void cacheSourceImage(Identifier identifier,
+                                  String fixture) throws Exception {
+        try (OutputStream os =
+                     sourceCache.newSourceImageOutputStream(identifier)) {
+            Files.copy(TestUtil.getImage(fixture), os);
+        }
+    }
+
+    /* getTileSize() */
+
+    @Test
+    void testGetTileSize() {
+        assertEquals(16, SourceCacheNormalizer.getTileSize());
+    }
+
+    @Test
+    void testGetTileSizeWithInvalidValue() {
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_CACHE_NORMALIZATION_TILE_SIZE, 100);
+        assertEquals(SourceCacheNormalizer.DEFAULT_TILE_SIZE,
+                SourceCacheNormalizer.getTileSize());
+    }
+
+    /* isEnabled() */
+
+    @Test
+    void testIsEnabled() {
+        assertTrue(SourceCacheNormalizer.isEnabled(Format.get("png")));
+        assertTrue(SourceCacheNormalizer.isEnabled(Format.get("tif")));
+        assertFalse(SourceCacheNormalizer.isEnabled(Format.get("jpg")));
+
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_CACHE_NORMALIZATION_ENABLED, false);
+        assertFalse(SourceCacheNormalizer.isEnabled(Format.get("png")));
+    }
+
+    /* normalizeAsync() */
+
+    @Test
+    void testNormalizeAsync() throws Exception {
+        cacheSourceImage();
+        instance.normalizeAsync();
+
+        for (int i = 0; i < 50; i++) {
+            if (sourceCache.getPyramidalSourceImageFile(IDENTIFIER).isPresent()) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("Pyramidal rendition was not written");
+    }
+
+    /* normalizeSync() */
+
+    @Test
+    void testNormalizeSync() throws Exception {
+        cacheSourceImage();
+        assertTrue(instance.normalizeSync());
+
+        final Path file =
+                sourceCache.getPyramidalSourceImageFile(IDENTIFIER).orElseThrow();
+        final TIFFImageReader reader = new TIFFImageReader();
+        try {
+            reader.setSource(file);
+            assertEquals(3, reader.getNumResolutions());
+            assertEquals(new Dimension(64, 56), reader.getSize(0));
+            assertEquals(new Dimension(32, 28), reader.getSize(1));
+            assertEquals(new Dimension(16, 14), reader.getSize(2));
+            assertEquals(new Dimension(16, 16), reader.getTileSize(0));
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    @Test
+    void testNormalizeSyncWithImageNotInCache() throws Exception {
+        assertFalse(instance.normalizeSync());
+    }
+
+    @Test
+    void testNormalizeSyncWithAlreadyNormalizedImage() throws Exception {
+        cacheSourceImage();
+        assertTrue(instance.normalizeSync());
+        assertFalse(instance.normalizeSync());
+    }
+
+    @Test
+    void testNormalizeSyncWithImageLargerThanMaxPixels() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_CACHE_NORMALIZATION_MAX_PIXELS, 64 * 56 - 1);
+        cacheSourceImage();
+        assertFalse(instance.normalizeSync());
+        assertFalse(sourceCache.getPyramidalSourceImageFile(IDENTIFIER).isPresent());
+    }
+
+    @Test
+    void testNormalizeSyncWithMultiPageImage() throws Exception {
+        final Identifier identifier = new Identifier("multipage");
+        cacheSourceImage(identifier, "tif-bw-9image.tif");
+        instance = new SourceCacheNormalizer(
+                sourceCache, identifier, Format.get("tif"));
+        assertFalse(instance.normalizeSync());
+        assertFalse(sourceCache.getPyramidalSourceImageFile(identifier).isPresent());
+    }
+
+    @Test
+    void testNormalizeSyncPreservesMetadataOfReadInfo() throws Exception {
+        final Identifier identifier = new Identifier("xmp");
+        cacheSourceImage(identifier, "png-xmp.png");
+        instance = new SourceCacheNormalizer(
+                sourceCache, identifier, Format.get("png"));
+        assertTrue(instance.normalizeSync());
+
+        final Java2dProcessor processor = new Java2dProcessor();
+        try {
+            processor.setSourceFormat(Format.get("png"));
+            processor.setPyramidalSourceFile(
+                    sourceCache.getPyramidalSourceImageFile(identifier).orElseThrow(),
+                    sourceCache.getSourceImageFile(identifier).orElseThrow());
+            final Info info = processor.readInfo();
+            assertEquals(3, info.getNumResolutions());
+            assertTrue(info.getMetadata().getXMP().isPresent());
+        } finally {
+            processor.close();
+        }
+    }
+
+    @Test
+    void testNormalizeSyncWithImageSmallerThanTileSize() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_CACHE_NORMALIZATION_TILE_SIZE, 64);
+        cacheSourceImage();
+        assertFalse(instance.normalizeSync());
+        assertFalse(sourceCache.getPyramidalSourceImageFile(IDENTIFIER).isPresent());
+    }
+
+}
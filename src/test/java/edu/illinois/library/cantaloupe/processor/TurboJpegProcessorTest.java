@@ -2,11 +2,23 @@ package edu.illinois.library.cantaloupe.processor;
 
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.operation.CropByPixels;
+import edu.illinois.library.cantaloupe.operation.Encode;
+import edu.illinois.library.cantaloupe.operation.OperationList;
+import edu.illinois.library.cantaloupe.operation.ScaleByPercent;
+import edu.illinois.library.cantaloupe.operation.Transpose;
+import edu.illinois.library.cantaloupe.processor.codec.jpeg.TurboJPEGImageReader;
 import edu.illinois.library.cantaloupe.source.PathStreamFactory;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TurboJpegProcessorTest extends AbstractProcessorTest {
@@ -38,6 +50,29 @@ public class TurboJpegProcessorTest extends AbstractProcessorTest {
         assertNull(instance.getInitializationError());
     }
 
+    @Test
+    void testGetLosslessTransform() {
+        assertNull(TurboJpegProcessor.getLosslessTransform(null, 0));
+        assertEquals(TurboJPEGImageReader.Transform.ROTATE_90,
+                TurboJpegProcessor.getLosslessTransform(null, 90));
+        assertEquals(TurboJPEGImageReader.Transform.ROTATE_180,
+                TurboJpegProcessor.getLosslessTransform(null, 180));
+        assertEquals(TurboJPEGImageReader.Transform.ROTATE_270,
+                TurboJpegProcessor.getLosslessTransform(null, 270));
+        assertEquals(TurboJPEGImageReader.Transform.FLIP_HORIZONTAL,
+                TurboJpegProcessor.getLosslessTransform(Transpose.HORIZONTAL, 0));
+        assertEquals(TurboJPEGImageReader.Transform.TRANSVERSE,
+                TurboJpegProcessor.getLosslessTransform(Transpose.HORIZONTAL, 90));
+        assertEquals(TurboJPEGImageReader.Transform.FLIP_VERTICAL,
+                TurboJpegProcessor.getLosslessTransform(Transpose.HORIZONTAL, 180));
+        assertEquals(TurboJPEGImageReader.Transform.TRANSPOSE,
+                TurboJpegProcessor.getLosslessTransform(Transpose.HORIZONTAL, 270));
+        assertEquals(TurboJPEGImageReader.Transform.FLIP_VERTICAL,
+                TurboJpegProcessor.getLosslessTransform(Transpose.VERTICAL, 0));
+        assertEquals(TurboJPEGImageReader.Transform.TRANSPOSE,
+                TurboJpegProcessor.getLosslessTransform(Transpose.VERTICAL, 90));
+    }
+
     @Test
     void testIsSeeking() {
         assertFalse(instance.isSeeking());
@@ -67,6 +102,55 @@ public class TurboJpegProcessorTest extends AbstractProcessorTest {
         // This processor doesn't support this output format.
     }
 
+    @Test
+    void testProcessWithAlignedCropTranscodesLosslessly() throws Exception {
+        final Path fixture = TestUtil.getImage("jpg-rgb-128x96x8.jpg");
+        instance.setStreamFactory(new PathStreamFactory(fixture));
+        final Info info = instance.readInfo();
+        final OperationList opList = OperationList.builder()
+                .withOperations(
+                        new CropByPixels(64, 32, 64, 48),
+                        new Encode(Format.get("jpg")))
+                .build();
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        instance.process(opList, info, os);
+
+        // The output pixels should be identical to those of the source
+        // region, except possibly along the edges, where chroma upsampling
+        // is influenced by neighboring blocks.
+        final BufferedImage expected = ImageIO.read(fixture.toFile())
+                .getSubimage(64, 32, 64, 48);
+        final BufferedImage actual = ImageIO.read(
+                new ByteArrayInputStream(os.toByteArray()));
+        assertEquals(64, actual.getWidth());
+        assertEquals(48, actual.getHeight());
+        for (int y = 2; y < actual.getHeight() - 2; y++) {
+            for (int x = 2; x < actual.getWidth() - 2; x++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    void testProcessWithRegionAndReducedScale() throws Exception {
+        final Path fixture = TestUtil.getImage("jpg-rgb-594x522x8-baseline.jpg");
+        instance.setStreamFactory(new PathStreamFactory(fixture));
+        final Info info = instance.readInfo();
+        final OperationList opList = OperationList.builder()
+                .withOperations(
+                        new CropByPixels(101, 67, 400, 300),
+                        new ScaleByPercent(0.2),
+                        new Encode(Format.get("png")))
+                .build();
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        instance.process(opList, info, os);
+
+        final BufferedImage image = ImageIO.read(
+                new ByteArrayInputStream(os.toByteArray()));
+        assertEquals(80, image.getWidth());
+        assertEquals(60, image.getHeight());
+    }
+
     @Test
     void testReadInfoEXIFAwareness() throws Exception {
         instance.setStreamFactory(new PathStreamFactory(TestUtil.getImage("jpg-exif.jpg")));
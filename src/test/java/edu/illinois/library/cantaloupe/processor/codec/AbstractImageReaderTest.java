@@ -1,5 +1,7 @@
 package edu.illinois.library.cantaloupe.processor.codec;
 
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Compression;
 import edu.illinois.library.cantaloupe.image.Dimension;
 import edu.illinois.library.cantaloupe.image.ScaleConstraint;
@@ -48,6 +50,15 @@ public abstract class AbstractImageReaderTest extends BaseTest {
 
     abstract protected Path getSupportedFixture();
 
+    /**
+     * @return Mono-resolution fixture for the subsampling tests. The default
+     *         implementation returns the {@link #getSupportedFixture()
+     *         supported fixture}.
+     */
+    protected Path getMonoResolutionFixture() {
+        return getSupportedFixture();
+    }
+
     abstract protected Path getUnsupportedFixture();
 
     abstract protected ImageReader newInstance() throws IOException;
@@ -160,6 +171,60 @@ public abstract class AbstractImageReaderTest extends BaseTest {
         assertTrue(hints.contains(ReaderHint.ALREADY_CROPPED));
     }
 
+    @Test
+    void testRead2WithSubsampling() throws Exception {
+        instance.setSource(getMonoResolutionFixture());
+        Crop crop             = new CropByPixels(10, 10, 40, 40);
+        Scale scale           = new ScaleByPixels(10, 10, ScaleByPixels.Mode.ASPECT_FIT_INSIDE);
+        ScaleConstraint sc    = new ScaleConstraint(1, 1);
+        ReductionFactor rf    = new ReductionFactor();
+        Set<ReaderHint> hints = new HashSet<>();
+
+        BufferedImage image = instance.read(0, crop, scale, sc, rf, hints);
+
+        // The default headroom holds back one of the two usable halvings.
+        assertEquals(20, image.getWidth());
+        assertEquals(20, image.getHeight());
+        assertEquals(1, rf.factor);
+        assertTrue(hints.contains(ReaderHint.ALREADY_CROPPED));
+    }
+
+    @Test
+    void testRead2WithSubsamplingAndZeroHeadroom() throws Exception {
+        instance.setSource(getMonoResolutionFixture());
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_SUBSAMPLING_HEADROOM, 0);
+        Crop crop             = new CropByPixels(10, 10, 40, 40);
+        Scale scale           = new ScaleByPixels(10, 10, ScaleByPixels.Mode.ASPECT_FIT_INSIDE);
+        ScaleConstraint sc    = new ScaleConstraint(1, 1);
+        ReductionFactor rf    = new ReductionFactor();
+        Set<ReaderHint> hints = new HashSet<>();
+
+        BufferedImage image = instance.read(0, crop, scale, sc, rf, hints);
+
+        assertEquals(10, image.getWidth());
+        assertEquals(10, image.getHeight());
+        assertEquals(2, rf.factor);
+    }
+
+    @Test
+    void testRead2WithSubsamplingDisabled() throws Exception {
+        instance.setSource(getMonoResolutionFixture());
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_SUBSAMPLING_ENABLED, false);
+        Crop crop             = new CropByPixels(10, 10, 40, 40);
+        Scale scale           = new ScaleByPixels(10, 10, ScaleByPixels.Mode.ASPECT_FIT_INSIDE);
+        ScaleConstraint sc    = new ScaleConstraint(1, 1);
+        ReductionFactor rf    = new ReductionFactor();
+        Set<ReaderHint> hints = new HashSet<>();
+
+        BufferedImage image = instance.read(0, crop, scale, sc, rf, hints);
+
+        assertEquals(40, image.getWidth());
+        assertEquals(40, image.getHeight());
+        assertEquals(0, rf.factor);
+    }
+
     @Test
     void testRead2WithIncompatibleImage() throws Exception {
         Crop crop             = new CropByPercent();
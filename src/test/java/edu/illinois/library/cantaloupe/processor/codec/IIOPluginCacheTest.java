@@ -0,0 +1,125 @@
+package edu.illinois.library.cantaloupe.processor.codec;
+
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IIOPluginCacheTest extends BaseTest {
+
+    private static final Format FORMAT = Format.get("png");
+    private static final String[] PREFERRED_IMPLS = new String[0];
+
+    private final AtomicInteger numNegotiations = new AtomicInteger();
+    private IIOPluginCache instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new IIOPluginCache();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        instance.clear();
+    }
+
+    private ImageReader negotiateReader() {
+        numNegotiations.incrementAndGet();
+        return ImageIO.getImageReadersByFormatName("png").next();
+    }
+
+    private ImageWriter negotiateWriter() {
+        numNegotiations.incrementAndGet();
+        return ImageIO.getImageWritersByFormatName("jpeg").next();
+    }
+
+    @Test
+    void testAcquireReaderNegotiatesOnlyOnce() {
+        ImageReader reader1 = instance.acquireReader(
+                FORMAT, PREFERRED_IMPLS, this::negotiateReader);
+        ImageReader reader2 = instance.acquireReader(
+                FORMAT, PREFERRED_IMPLS, this::negotiateReader);
+        assertEquals(1, numNegotiations.get());
+        assertNotSame(reader1, reader2);
+        assertSame(reader1.getOriginatingProvider(),
+                reader2.getOriginatingProvider());
+    }
+
+    @Test
+    void testAcquireReaderRenegotiatesWithDifferentPreferences() {
+        instance.acquireReader(FORMAT, PREFERRED_IMPLS, this::negotiateReader);
+        instance.acquireReader(FORMAT, new String[] { "com.example.Reader" },
+                this::negotiateReader);
+        assertEquals(2, numNegotiations.get());
+    }
+
+    @Test
+    void testAcquireReaderRecyclesReleasedReader() {
+        ImageReader reader1 = instance.acquireReader(
+                FORMAT, PREFERRED_IMPLS, this::negotiateReader);
+        instance.releaseReader(reader1);
+        ImageReader reader2 = instance.acquireReader(
+                FORMAT, PREFERRED_IMPLS, this::negotiateReader);
+        assertSame(reader1, reader2);
+        assertNull(reader2.getInput());
+    }
+
+    @Test
+    void testAcquireWriterRecyclesReleasedWriter() {
+        final Format format = Format.get("jpg");
+        ImageWriter writer1 = instance.acquireWriter(
+                format, PREFERRED_IMPLS, this::negotiateWriter);
+        instance.releaseWriter(writer1);
+        ImageWriter writer2 = instance.acquireWriter(
+                format, PREFERRED_IMPLS, this::negotiateWriter);
+        assertSame(writer1, writer2);
+        assertEquals(1, numNegotiations.get());
+    }
+
+    @Test
+    void testIsRecyclable() {
+        ImageReader reader = negotiateReader();
+        assertTrue(instance.isRecyclable(reader.getClass()));
+        reader.dispose();
+        assertFalse(instance.isRecyclable(
+                ImageIO.getImageReadersByFormatName("xpm").next().getClass()));
+    }
+
+    @Test
+    void testReleaseReaderRespectsMaxIdleInstances() {
+        final List<ImageReader> readers = new ArrayList<>();
+        for (int i = 0; i < IIOPluginCache.MAX_IDLE_INSTANCES_PER_PLUGIN + 2; i++) {
+            readers.add(instance.acquireReader(
+                    FORMAT, PREFERRED_IMPLS, this::negotiateReader));
+        }
+        readers.forEach(instance::releaseReader);
+        assertEquals(IIOPluginCache.MAX_IDLE_INSTANCES_PER_PLUGIN,
+                instance.getNumIdleInstances(
+                        readers.get(0).getOriginatingProvider()));
+    }
+
+    @Test
+    void testClear() {
+        ImageReader reader = instance.acquireReader(
+                FORMAT, PREFERRED_IMPLS, this::negotiateReader);
+        instance.releaseReader(reader);
+        instance.clear();
+        assertEquals(0, instance.getNumIdleInstances(
+                reader.getOriginatingProvider()));
+        instance.acquireReader(FORMAT, PREFERRED_IMPLS, this::negotiateReader);
+        assertEquals(2, numNegotiations.get());
+    }
+
+}
@@ -7,6 +7,7 @@ import edu.illinois.library.cantaloupe.operation.Encode;
 import edu.illinois.library.cantaloupe.processor.codec.AbstractImageWriterTest;
 import edu.illinois.library.cantaloupe.processor.codec.BufferedImageSequence;
 import edu.illinois.library.cantaloupe.processor.codec.ImageReaderFactory;
+import edu.illinois.library.cantaloupe.processor.codec.ImageSequenceWriter;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -151,6 +152,41 @@ public class GIFImageWriterTest extends AbstractImageWriterTest {
         checkForMetadata();
     }
 
+    @Test
+    public void testNewSequenceWriter() throws Exception {
+        Path image = TestUtil.getImage("gif-animated-looping.gif");
+        edu.illinois.library.cantaloupe.processor.codec.ImageReader reader = null;
+        try {
+            reader = new ImageReaderFactory().newImageReader(Format.get("gif"), image);
+
+            try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+                try (ImageSequenceWriter sequenceWriter =
+                             instance.newSequenceWriter(os)) {
+                    for (int i = 0; i < reader.getNumImages(); i++) {
+                        sequenceWriter.write(reader.read(i));
+                    }
+                }
+
+                try (ByteArrayInputStream is = new ByteArrayInputStream(os.toByteArray())) {
+                    reader.dispose();
+                    reader = null;
+                    try {
+                        reader = new ImageReaderFactory().newImageReader(Format.get("gif"), is);
+                        assertEquals(2, reader.getNumImages());
+                    } finally {
+                        if (reader != null) {
+                            reader.dispose();
+                        }
+                    }
+                }
+            }
+        } finally {
+            if (reader != null) {
+                reader.dispose();
+            }
+        }
+    }
+
     @Test
     public void testWriteWithSequence() throws Exception {
         Path image = TestUtil.getImage("gif-animated-looping.gif");
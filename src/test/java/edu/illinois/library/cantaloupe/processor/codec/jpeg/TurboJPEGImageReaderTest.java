@@ -10,7 +10,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -68,6 +71,35 @@ public class TurboJPEGImageReaderTest extends BaseTest {
         assertEquals(new Rectangle(2, 2, 571, 403), roiWithinRegion);
     }
 
+    @Test
+    public void testGetTransformedRegion() {
+        final Rectangle region = new Rectangle(16, 32, 48, 16);
+        final int width = 128, height = 96;
+        assertEquals(new Rectangle(16, 32, 48, 16),
+                TurboJPEGImageReader.getTransformedRegion(region, width, height, null));
+        assertEquals(new Rectangle(64, 32, 48, 16),
+                TurboJPEGImageReader.getTransformedRegion(region, width, height,
+                        TurboJPEGImageReader.Transform.FLIP_HORIZONTAL));
+        assertEquals(new Rectangle(16, 48, 48, 16),
+                TurboJPEGImageReader.getTransformedRegion(region, width, height,
+                        TurboJPEGImageReader.Transform.FLIP_VERTICAL));
+        assertEquals(new Rectangle(32, 16, 16, 48),
+                TurboJPEGImageReader.getTransformedRegion(region, width, height,
+                        TurboJPEGImageReader.Transform.TRANSPOSE));
+        assertEquals(new Rectangle(48, 64, 16, 48),
+                TurboJPEGImageReader.getTransformedRegion(region, width, height,
+                        TurboJPEGImageReader.Transform.TRANSVERSE));
+        assertEquals(new Rectangle(48, 16, 16, 48),
+                TurboJPEGImageReader.getTransformedRegion(region, width, height,
+                        TurboJPEGImageReader.Transform.ROTATE_90));
+        assertEquals(new Rectangle(64, 48, 48, 16),
+                TurboJPEGImageReader.getTransformedRegion(region, width, height,
+                        TurboJPEGImageReader.Transform.ROTATE_180));
+        assertEquals(new Rectangle(32, 64, 16, 48),
+                TurboJPEGImageReader.getTransformedRegion(region, width, height,
+                        TurboJPEGImageReader.Transform.ROTATE_270));
+    }
+
     @Test
     public void testGetBlockWidth() throws Exception {
         assertEquals(16, instance.getBlockWidth());
@@ -169,6 +201,74 @@ public class TurboJPEGImageReaderTest extends BaseTest {
         assertTrue(instance.isTransformable());
     }
 
+    @Test
+    public void testCanTranscodeWithAlignedRegion() throws Exception {
+        assertTrue(instance.canTranscode(new Rectangle(0, 0, 48, 48), null));
+    }
+
+    @Test
+    public void testCanTranscodeWithRegionExtendingToEdges() throws Exception {
+        // 64x56 with 16x16 blocks
+        assertTrue(instance.canTranscode(new Rectangle(16, 0, 48, 56), null));
+    }
+
+    @Test
+    public void testCanTranscodeWithUnalignedRegion() throws Exception {
+        assertFalse(instance.canTranscode(new Rectangle(8, 0, 48, 48), null));
+        assertFalse(instance.canTranscode(new Rectangle(0, 0, 50, 48), null));
+    }
+
+    @Test
+    public void testCanTranscodeWithTransformAndNonTransformableImage()
+            throws Exception {
+        assertFalse(instance.canTranscode(null,
+                TurboJPEGImageReader.Transform.ROTATE_90));
+    }
+
+    @Test
+    public void testTranscodeWithRegion() throws Exception {
+        instance.close();
+        instance = new TurboJPEGImageReader();
+        Path file = TestUtil.getImage("jpg-rgb-128x96x8.jpg");
+        instance.setSource(Files.newInputStream(file));
+        instance.setRegion(64, 32, 64, 48);
+
+        TurboJPEGImage image = instance.transcode(false);
+        assertFalse(image.isDecompressed());
+        BufferedImage actual = ImageIO.read(new ByteArrayInputStream(
+                image.getData(), 0, image.getDataLength()));
+        assertEquals(64, actual.getWidth());
+        assertEquals(48, actual.getHeight());
+    }
+
+    @Test
+    public void testTranscodeWithRegionAndTransform() throws Exception {
+        instance.close();
+        instance = new TurboJPEGImageReader();
+        Path file = TestUtil.getImage("jpg-rgb-128x96x8.jpg");
+        instance.setSource(Files.newInputStream(file));
+        instance.setRegion(64, 32, 64, 48);
+        instance.setTransform(TurboJPEGImageReader.Transform.ROTATE_90);
+
+        TurboJPEGImage image = instance.transcode(false);
+        assertEquals(48, image.getScaledWidth());
+        assertEquals(64, image.getScaledHeight());
+        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+            os.write(image.getData(), 0, image.getDataLength());
+            BufferedImage actual = ImageIO.read(
+                    new ByteArrayInputStream(os.toByteArray()));
+            assertEquals(48, actual.getWidth());
+            assertEquals(64, actual.getHeight());
+        }
+    }
+
+    @Test
+    public void testTranscodeWithUnalignedRegion() {
+        instance.setRegion(5, 5, 50, 50);
+        assertThrows(TransformationNotSupportedException.class,
+                () -> instance.transcode(false));
+    }
+
     @Test
     public void testRead() throws Exception {
         TurboJPEGImage image = instance.read();
@@ -347,6 +447,15 @@ public class TurboJPEGImageReaderTest extends BaseTest {
         assertEquals(64, image.getHeight());
     }
 
+    @Test
+    void testSetSourceWithByteArray() throws Exception {
+        instance.close();
+        instance = new TurboJPEGImageReader();
+        instance.setSource(Files.readAllBytes(TestUtil.getImage("jpg")));
+        assertEquals(64, instance.getWidth());
+        assertEquals(56, instance.getHeight());
+    }
+
     @Test
     public void testSetScaleWithSupportedScale() throws Exception {
         instance.setScale(new Rational(1, 2));
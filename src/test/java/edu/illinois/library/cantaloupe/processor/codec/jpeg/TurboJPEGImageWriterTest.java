@@ -52,6 +52,25 @@ public class TurboJPEGImageWriterTest extends BaseTest {
         instance = new TurboJPEGImageWriter();
     }
 
+    @Test
+    public void testGetAPP1OffsetWithAPP0Segment() {
+        final byte[] data = new byte[] {
+                (byte) 0xff, (byte) 0xd8,                // SOI
+                (byte) 0xff, (byte) 0xe0, 0x00, 0x04,    // APP0
+                0x00, 0x00,
+                (byte) 0xff, (byte) 0xdb };              // DQT
+        assertEquals(8, TurboJPEGImageWriter.getAPP1Offset(data));
+    }
+
+    @Test
+    public void testGetAPP1OffsetWithoutAPP0Segment() {
+        final byte[] data = new byte[] {
+                (byte) 0xff, (byte) 0xd8,                // SOI
+                (byte) 0xff, (byte) 0xdb, 0x00, 0x04,    // DQT
+                0x00, 0x00 };
+        assertEquals(2, TurboJPEGImageWriter.getAPP1Offset(data));
+    }
+
     @Test
     public void testSetProgressive() throws Exception {
         try (TurboJPEGImageReader reader = new TurboJPEGImageReader()) {
@@ -138,6 +157,22 @@ public class TurboJPEGImageWriterTest extends BaseTest {
         }
     }
 
+    @Test
+    public void testWriteWithTranscodedTurboJPEGImageAndXMP() throws Exception {
+        try (TurboJPEGImageReader reader = new TurboJPEGImageReader()) {
+            reader.setSource(inputStream);
+            reader.setRegion(0, 0, 48, 48);
+            TurboJPEGImage image = reader.transcode(false);
+
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            instance.setXMP("<xmp>this is some fake data</xmp>");
+            instance.write(image, os);
+            assertDimensions(os, 48, 48);
+            assertTrue(new String(os.toByteArray(), StandardCharsets.ISO_8859_1)
+                    .contains("this is some fake data"));
+        }
+    }
+
     @Test
     public void testWriteWithDecompressedTurboJPEGImage() throws Exception {
         try (TurboJPEGImageReader reader = new TurboJPEGImageReader()) {
@@ -153,6 +188,25 @@ public class TurboJPEGImageWriterTest extends BaseTest {
         }
     }
 
+    @Test
+    public void testWriteWithDecompressedTurboJPEGImageAndXMP()
+            throws Exception {
+        try (TurboJPEGImageReader reader = new TurboJPEGImageReader()) {
+            reader.setSource(inputStream);
+            reader.setScale(new Rational(1, 2));
+            TurboJPEGImage image = reader.read();
+
+            try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+                instance.setXMP("<xmp>this is some fake data</xmp>");
+                instance.write(image, os);
+                assertDimensions(
+                        os, image.getScaledWidth(), image.getScaledHeight());
+                assertTrue(new String(os.toByteArray(), StandardCharsets.ISO_8859_1)
+                        .contains("this is some fake data"));
+            }
+        }
+    }
+
     @Test
     public void testWriteWithBufferedImage() throws Exception {
         Path path = TestUtil.getImage("jpg");
@@ -29,6 +29,15 @@ public class TIFFImageReaderTest extends AbstractImageReaderTest {
         return TestUtil.getImage("tif-rgb-3res-64x56x16-tiled-uncompressed.tif");
     }
 
+    /**
+     * The supported fixture is pyramidal, so subsampling doesn't come into
+     * play.
+     */
+    @Override
+    protected Path getMonoResolutionFixture() {
+        return TestUtil.getImage("tif-rgb-1res-64x56x8-tiled-uncompressed.tif");
+    }
+
     @Override
     protected Path getUnsupportedFixture() {
         return TestUtil.getImage("jpg");
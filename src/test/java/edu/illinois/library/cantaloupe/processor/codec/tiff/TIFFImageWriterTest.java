@@ -1,10 +1,12 @@
 package edu.illinois.library.cantaloupe.processor.codec.tiff;
 
 import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.image.Dimension;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Metadata;
 import edu.illinois.library.cantaloupe.operation.Encode;
 import edu.illinois.library.cantaloupe.processor.codec.AbstractImageWriterTest;
+import edu.illinois.library.cantaloupe.processor.codec.ImageSequenceWriter;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import it.geosolutions.imageio.plugins.tiff.BaselineTIFFTagSet;
 import it.geosolutions.imageio.plugins.tiff.EXIFParentTIFFTagSet;
@@ -71,6 +73,59 @@ public class TIFFImageWriterTest extends AbstractImageWriterTest {
                 ((TIFFImageWriter) instance).getUserPreferredIIOImplementation());
     }
 
+    /* newSequenceWriter() */
+
+    @Test
+    void testNewSequenceWriter() throws Exception {
+        final BufferedImage image1 =
+                new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB);
+        final BufferedImage image2 =
+                new BufferedImage(32, 24, BufferedImage.TYPE_INT_RGB);
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (ImageSequenceWriter sequenceWriter =
+                     instance.newSequenceWriter(os)) {
+            sequenceWriter.write(image1);
+            sequenceWriter.write(image2);
+        }
+
+        final TIFFImageReader reader = new TIFFImageReader();
+        try (ImageInputStream is = ImageIO.createImageInputStream(
+                new ByteArrayInputStream(os.toByteArray()))) {
+            reader.setSource(is);
+            assertEquals(2, reader.getNumImages());
+            assertEquals(2, reader.getNumResolutions());
+            assertEquals(new Dimension(32, 24), reader.getSize(1));
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /* setTileSize() */
+
+    @Test
+    void testSetTileSize() throws Exception {
+        ((TIFFImageWriter) instance).setTileSize(16);
+        final BufferedImage image =
+                new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB);
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        instance.write(image, os);
+
+        final TIFFImageReader reader = new TIFFImageReader();
+        try (ImageInputStream is = ImageIO.createImageInputStream(
+                new ByteArrayInputStream(os.toByteArray()))) {
+            reader.setSource(is);
+            assertEquals(new Dimension(16, 16), reader.getTileSize(0));
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    @Test
+    void testSetTileSizeWithIllegalArgument() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ((TIFFImageWriter) instance).setTileSize(20));
+    }
+
     /* write() */
 
     @Test
@@ -0,0 +1,130 @@
+package edu.illinois.library.cantaloupe.resource;
+
+import edu.illinois.library.cantaloupe.http.Client;
+import edu.illinois.library.cantaloupe.http.Response;
+import edu.illinois.library.cantaloupe.http.Server;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.DefaultHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileRepresentationTest extends BaseTest {
+
+    private Path largeFile;
+    private byte[] largeFileBytes;
+    private Server server;
+    private Client client;
+
+    /**
+     * Starts a server that sends the file whose name is given in the request
+     * path (either a 16 MB file large enough to be memory-mapped, or an
+     * image fixture) via a {@link FileRepresentation} or, if the {@literal
+     * stream} query argument is present, an {@link
+     * InputStreamRepresentation}.
+     */
+    @BeforeEach
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        largeFile = Files.createTempFile(getClass().getSimpleName(), "tmp");
+        largeFileBytes = new byte[(int) FileRepresentation.MIN_MAPPED_SIZE * 16];
+        new Random().nextBytes(largeFileBytes);
+        Files.write(largeFile, largeFileBytes);
+
+        server = new Server();
+        server.setHandler(new DefaultHandler() {
+            @Override
+            public void handle(String target,
+                               Request baseRequest,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+                final String name = target.substring(1);
+                final Path file = name.equals(largeFile.getFileName().toString()) ?
+                        largeFile : TestUtil.getImage(name);
+                response.setStatus(200);
+                if (request.getParameter("stream") != null) {
+                    new InputStreamRepresentation(Files.newInputStream(file))
+                            .write(response.getOutputStream());
+                } else {
+                    new FileRepresentation(file)
+                            .write(response.getOutputStream());
+                }
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+        client = new Client();
+    }
+
+    @AfterEach
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+        try {
+            client.stop();
+            server.stop();
+        } finally {
+            Files.deleteIfExists(largeFile);
+        }
+    }
+
+    private byte[] fetch(String name, boolean stream) throws Exception {
+        client.setURI(server.getHTTPURI().resolve("/" + name +
+                (stream ? "?stream=true" : "")));
+        Response response = client.send();
+        assertEquals(200, response.getStatus());
+        return response.getBody();
+    }
+
+    @Test
+    public void testConstructorWithMissingFile() {
+        assertThrows(NoSuchFileException.class,
+                () -> new FileRepresentation(Path.of("/bogus/bogus")));
+    }
+
+    @Test
+    public void testWriteToNonJettyOutputStream() throws Exception {
+        final Path fixture = TestUtil.getImage("jpg");
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        new FileRepresentation(fixture).write(os);
+        assertArrayEquals(Files.readAllBytes(fixture), os.toByteArray());
+    }
+
+    @Test
+    public void testWriteToJettyOutputStream() throws Exception {
+        final Path fixture = TestUtil.getImage("jpg");
+        assertArrayEquals(Files.readAllBytes(fixture), fetch("jpg", false));
+    }
+
+    @Test
+    public void testWriteToJettyOutputStreamWithLargeFile() throws Exception {
+        assertArrayEquals(largeFileBytes,
+                fetch(largeFile.getFileName().toString(), false));
+    }
+
+    /**
+     * Baseline for comparison with {@link
+     * #testWriteToJettyOutputStreamWithLargeFile()}.
+     */
+    @Test
+    public void testWriteToJettyOutputStreamWithLargeFileViaInputStream()
+            throws Exception {
+        assertArrayEquals(largeFileBytes,
+                fetch(largeFile.getFileName().toString(), true));
+    }
+
+}
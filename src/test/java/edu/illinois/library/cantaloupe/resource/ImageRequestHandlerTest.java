@@ -7,6 +7,8 @@ import edu.illinois.library.cantaloupe.cache.DerivativeCache;
 import edu.illinois.library.cantaloupe.config.Configuration;
 import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.*;
+import edu.illinois.library.cantaloupe.metrics.Counter;
+import edu.illinois.library.cantaloupe.metrics.MetricRegistry;
 import edu.illinois.library.cantaloupe.operation.Encode;
 import edu.illinois.library.cantaloupe.operation.OperationList;
 import edu.illinois.library.cantaloupe.operation.ValidationException;
@@ -271,6 +273,55 @@ class ImageRequestHandlerTest extends BaseTest {
         }
     }
 
+    @Test
+    void handleWithCachedInfoAndUncachedImageCountsOneDerivativeCacheMiss()
+            throws Exception {
+        {   // Configure the application.
+            final Configuration config = Configuration.getInstance();
+            config.setProperty(Key.CACHE_SERVER_RESOLVE_FIRST, false);
+            config.setProperty(Key.SOURCE_STATIC, "FilesystemSource");
+            config.setProperty(Key.FILESYSTEMSOURCE_PATH_PREFIX,
+                    TestUtil.getImagesPath() + "/");
+            config.setProperty(Key.DERIVATIVE_CACHE_ENABLED, true);
+            config.setProperty(Key.DERIVATIVE_CACHE, "HeapCache");
+        }
+
+        // Configure the request.
+        final OperationList opList  = new OperationList();
+        final Identifier identifier = new Identifier("jpg-rgb-64x48x8.jpg");
+        opList.setIdentifier(identifier);
+        opList.add(new Encode(Format.get("jpg")));
+
+        // Add an info, but no image, to the derivative cache.
+        CacheFacade facade = new CacheFacade();
+        DerivativeCache cache = facade.getDerivativeCache().orElseThrow();
+        cache.purge();
+        Info info = Info.builder()
+                .withSize(64, 48)
+                .withFormat(Format.get("jpg"))
+                .withIdentifier(identifier)
+                .build();
+        cache.put(identifier, info);
+
+        final Counter misses = MetricRegistry.getInstance().counter(
+                "cantaloupe_cache_misses_total",
+                "Cache lookups that didn't find what they were looking for.",
+                "cache", "derivative");
+        final long initialMisses = misses.getCount();
+
+        try (ImageRequestHandler handler = ImageRequestHandler.builder()
+                .withCallback(new IntrospectiveCallback())
+                .withOperationList(opList)
+                .build();
+             OutputStream outputStream = OutputStream.nullOutputStream()) {
+            handler.handle(outputStream);
+        } finally {
+            // The handler will have cached the image it processed.
+            cache.purge();
+        }
+        assertEquals(initialMisses + 1, misses.getCount());
+    }
+
     @Test
     void handleCallsInfoAvailableCallback() throws Exception {
         { // Configure the application.
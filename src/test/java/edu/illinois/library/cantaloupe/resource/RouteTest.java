@@ -9,10 +9,10 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-class RouteTest extends BaseTest {
+public class RouteTest extends BaseTest {
 
     @Test
-    void testForPathWithRootRoutes() {
+    public void testForPathWithRootRoutes() {
         Route route = Route.forPath("");
         assertEquals(LandingResource.class, route.getResource());
 
@@ -21,7 +21,7 @@ class RouteTest extends BaseTest {
     }
 
     @Test
-    void testForPathWithAdminRoutes() {
+    public void testForPathWithAdminRoutes() {
         Route route = Route.forPath(Route.ADMIN_CONFIG_PATH);
         assertEquals(edu.illinois.library.cantaloupe.resource.admin.ConfigurationResource.class,
                 route.getResource());
@@ -35,27 +35,27 @@ class RouteTest extends BaseTest {
     }
 
     @Test
-    void testForPathWithConfigurationRoute() {
+    public void testForPathWithConfigurationRoute() {
         Route route = Route.forPath(Route.CONFIGURATION_PATH);
         assertEquals(edu.illinois.library.cantaloupe.resource.api.ConfigurationResource.class,
                 route.getResource());
     }
 
     @Test
-    void testForPathWithHealthRoute() {
+    public void testForPathWithHealthRoute() {
         Route route = Route.forPath(Route.HEALTH_PATH);
         assertEquals(HealthResource.class, route.getResource());
     }
 
     @Test
-    void testForPathWithStatusRoute() {
+    public void testForPathWithStatusRoute() {
         Route route = Route.forPath(Route.STATUS_PATH);
         assertEquals(edu.illinois.library.cantaloupe.resource.api.StatusResource.class,
                 route.getResource());
     }
 
     @Test
-    void testForPathWithTasksRoutes() {
+    public void testForPathWithTasksRoutes() {
         Route route = Route.forPath(Route.TASKS_PATH);
         assertEquals(TasksResource.class, route.getResource());
 
@@ -65,13 +65,13 @@ class RouteTest extends BaseTest {
     }
 
     @Test
-    void testForPathWithRootIIIFRoute() {
+    public void testForPathWithRootIIIFRoute() {
         Route route = Route.forPath("/iiif/");
         assertEquals(TrailingSlashRemovingResource.class, route.getResource());
     }
 
     @Test
-    void testForPathWithIIIFv3Routes() {
+    public void testForPathWithIIIFv3Routes() {
         Route route = Route.forPath(Route.IIIF_3_PATH + "/0bef-234a/info.json");
         assertEquals(edu.illinois.library.cantaloupe.resource.iiif.v3.InformationResource.class,
                 route.getResource());
@@ -94,7 +94,7 @@ class RouteTest extends BaseTest {
     }
 
     @Test
-    void testForPathWithIIIFv2Routes() {
+    public void testForPathWithIIIFv2Routes() {
         Route route = Route.forPath(Route.IIIF_2_PATH + "/0bef-234a/info.json");
         assertEquals(edu.illinois.library.cantaloupe.resource.iiif.v2.InformationResource.class,
                 route.getResource());
@@ -117,7 +117,7 @@ class RouteTest extends BaseTest {
     }
 
     @Test
-    void testForPathWithIIIFv1Routes() {
+    public void testForPathWithIIIFv1Routes() {
         Route route = Route.forPath(Route.IIIF_1_PATH + "/0bef-234a/info.json");
         assertEquals(edu.illinois.library.cantaloupe.resource.iiif.v1.InformationResource.class,
                 route.getResource());
@@ -149,9 +149,71 @@ class RouteTest extends BaseTest {
     }
 
     @Test
-    void testForPathWithInvalidRoute() {
+    public void testForPathWithInvalidRoute() {
         Route route = Route.forPath("/notfound");
         assertNull(route);
     }
 
+    @Test
+    public void testForPathWithTrailingSlashes() {
+        for (String path : new String[] {
+                Route.IIIF_3_PATH + "/", Route.IIIF_2_PATH + "/0bef-234a/",
+                Route.TASKS_PATH + "/", "/notfound/" }) {
+            Route route = Route.forPath(path);
+            assertEquals(TrailingSlashRemovingResource.class,
+                    route.getResource());
+        }
+    }
+
+    @Test
+    public void testForPathWithEmptySegments() {
+        assertNull(Route.forPath(Route.IIIF_3_PATH + "//info.json"));
+        assertNull(Route.forPath(Route.IIIF_3_PATH + "/0bef-234a//max/0/default.jpg"));
+    }
+
+    @Test
+    public void testForPathWithIIIFv3ImageRouteWithMultipleDots() {
+        Route route = Route.forPath(Route.IIIF_3_PATH + "/0bef-234a/full/max/0/default.x.jpg");
+        assertEquals("default.x", route.getPathArguments().get(4));
+        assertEquals("jpg", route.getPathArguments().get(5));
+
+        route = Route.forPath(Route.IIIF_3_PATH + "/0bef-234a/full/max/0/default.jpg.");
+        assertEquals("default", route.getPathArguments().get(4));
+        assertEquals("jpg.", route.getPathArguments().get(5));
+    }
+
+    @Test
+    public void testForPathWithIIIFv3ImageRouteWithoutExtension() {
+        assertNull(Route.forPath(Route.IIIF_3_PATH + "/0bef-234a/full/max/0/default"));
+        assertNull(Route.forPath(Route.IIIF_3_PATH + "/0bef-234a/full/max/0/default."));
+        assertNull(Route.forPath(Route.IIIF_3_PATH + "/0bef-234a/full/max/0/.jpg"));
+    }
+
+    @Test
+    public void testForPathWithIIIFv1ImageRouteWithMultipleDots() {
+        Route route = Route.forPath(Route.IIIF_1_PATH + "/0bef-234a/full/full/0/native.x.jpg");
+        assertEquals("native", route.getPathArguments().get(4));
+        assertEquals("x.jpg", route.getPathArguments().get(5));
+    }
+
+    @Test
+    public void testForPathWithIdentifiersResemblingLiterals() {
+        Route route = Route.forPath(Route.IIIF_3_PATH + "/info.json");
+        assertEquals(edu.illinois.library.cantaloupe.resource.iiif.v3.IdentifierResource.class,
+                route.getResource());
+        assertEquals("info.json", route.getPathArguments().get(0));
+
+        route = Route.forPath(Route.TASKS_PATH + "/tasks");
+        assertEquals(TaskResource.class, route.getResource());
+    }
+
+    @Test
+    public void testNewResource() throws Exception {
+        Route route = Route.forPath(Route.IIIF_3_PATH + "/0bef-234a/info.json");
+        AbstractResource resource = route.newResource();
+        assertEquals(edu.illinois.library.cantaloupe.resource.iiif.v3.InformationResource.class,
+                resource.getClass());
+        assertNotSame(resource, route.newResource());
+    }
+
 }
\ No newline at end of file
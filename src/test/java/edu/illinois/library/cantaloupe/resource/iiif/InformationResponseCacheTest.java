@@ -0,0 +1,145 @@
+package edu.illinois.library.cantaloupe.resource.iiif;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.image.Info;
+import edu.illinois.library.cantaloupe.image.ScaleConstraint;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InformationResponseCacheTest extends BaseTest {
+
+    private static final byte[] BODY = "{}".getBytes();
+
+    private InformationResponseCache instance;
+    private Info info;
+
+    private static InformationResponseCache.ResponseKey newKey(
+            String identifier, Map<String,Object> extraKeys) {
+        return new InformationResponseCache.ResponseKey(
+                "3", new Identifier(identifier), 0, new ScaleConstraint(1, 1),
+                "http://example.org/iiif/3/" + identifier,
+                Set.of(Format.get("jpg")), extraKeys);
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new InformationResponseCache(Duration.ofMinutes(1));
+        info     = Info.builder().withSize(100, 80).build();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        InformationResponseCache.clearInstance();
+    }
+
+    /* get() */
+
+    @Test
+    void testGetWithHit() {
+        instance.put(newKey("cats", Map.of()), info, BODY);
+        assertSame(BODY, instance.get(newKey("cats", Map.of()), info));
+    }
+
+    @Test
+    void testGetWithHitOnEqualInfo() {
+        instance.put(newKey("cats", Map.of()), info, BODY);
+        Info equalInfo = Info.builder().withSize(100, 80).build();
+        assertSame(BODY, instance.get(newKey("cats", Map.of()), equalInfo));
+    }
+
+    @Test
+    void testGetWithMiss() {
+        assertNull(instance.get(newKey("cats", Map.of()), info));
+    }
+
+    @Test
+    void testGetWithDifferentExtraKeys() {
+        instance.put(newKey("cats", Map.of("key", "value1")), info, BODY);
+        assertNull(instance.get(newKey("cats", Map.of("key", "value2")), info));
+    }
+
+    @Test
+    void testGetWithDifferentInfo() {
+        instance.put(newKey("cats", Map.of()), info, BODY);
+        Info otherInfo = Info.builder().withSize(200, 80).build();
+        assertNull(instance.get(newKey("cats", Map.of()), otherInfo));
+        assertEquals(0, instance.size());
+    }
+
+    @Test
+    void testGetWithExpiredEntry() throws Exception {
+        instance = new InformationResponseCache(Duration.ofMillis(50));
+        instance.put(newKey("cats", Map.of()), info, BODY);
+        Thread.sleep(100);
+        assertNull(instance.get(newKey("cats", Map.of()), info));
+    }
+
+    @Test
+    void testGetWithCacheDisabled() {
+        instance.put(newKey("cats", Map.of()), info, BODY);
+        Configuration.getInstance().setProperty(
+                Key.INFO_RESPONSE_CACHE_ENABLED, false);
+        assertNull(instance.get(newKey("cats", Map.of()), info));
+    }
+
+    /* getInstance() */
+
+    @Test
+    void testGetInstance() {
+        assertSame(InformationResponseCache.getInstance(),
+                InformationResponseCache.getInstance());
+    }
+
+    /* purge() */
+
+    @Test
+    void testPurge() {
+        instance.put(newKey("cats", Map.of()), info, BODY);
+        instance.put(newKey("dogs", Map.of()), info, BODY);
+        instance.purge();
+        assertEquals(0, instance.size());
+    }
+
+    /* purge(Identifier) */
+
+    @Test
+    void testPurgeWithIdentifier() {
+        instance.put(newKey("cats", Map.of()), info, BODY);
+        instance.put(newKey("cats", Map.of("key", "value")), info, BODY);
+        instance.put(newKey("dogs", Map.of()), info, BODY);
+        instance.purge(new Identifier("cats"));
+        assertNull(instance.get(newKey("cats", Map.of()), info));
+        assertNotNull(instance.get(newKey("dogs", Map.of()), info));
+    }
+
+    /* put() */
+
+    @Test
+    void testPutWithCacheDisabled() {
+        Configuration.getInstance().setProperty(
+                Key.INFO_RESPONSE_CACHE_ENABLED, false);
+        instance.put(newKey("cats", Map.of()), info, BODY);
+        assertEquals(0, instance.size());
+    }
+
+    @Test
+    void testPutWithNonPersistableInfo() {
+        info.setPersistable(false);
+        instance.put(newKey("cats", Map.of()), info, BODY);
+        assertEquals(0, instance.size());
+    }
+
+}
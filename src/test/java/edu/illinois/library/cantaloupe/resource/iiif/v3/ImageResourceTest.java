@@ -626,6 +626,32 @@ public class ImageResourceTest extends ResourceTest {
                 headers.getFirstValue("X-Powered-By"));
     }
 
+    @Test
+    void testGETServerTimingHeaderWhenEnabled() throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.SERVER_TIMING_ENABLED, true);
+
+        // The image must be modified in order to be decoded.
+        client = newClient("/" + IMAGE + "/full/max/90/color.jpg");
+        Response response = client.send();
+
+        String value = response.getHeaders().getFirstValue("Server-Timing");
+        assertTrue(value.matches("(\\w+;dur=[\\d.]+, )+total;dur=[\\d.]+"));
+        assertTrue(value.contains("info;dur="));
+        assertTrue(value.contains("decode;dur="));
+    }
+
+    @Test
+    void testGETServerTimingHeaderWhenDisabled() throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.SERVER_TIMING_ENABLED, false);
+
+        client = newClient("/" + IMAGE + "/full/max/0/color.jpg");
+        Response response = client.send();
+
+        assertNull(response.getHeaders().getFirstValue("Server-Timing"));
+    }
+
     @Test
     void testOPTIONSWhenEnabled() throws Exception {
         Configuration config = Configuration.getInstance();
@@ -0,0 +1,86 @@
+package edu.illinois.library.cantaloupe.resource.metrics;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.http.Client;
+import edu.illinois.library.cantaloupe.http.ResourceException;
+import edu.illinois.library.cantaloupe.http.Response;
+import edu.illinois.library.cantaloupe.metrics.PrometheusTextWriter;
+import edu.illinois.library.cantaloupe.resource.ResourceTest;
+import edu.illinois.library.cantaloupe.resource.Route;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsResourceTest extends ResourceTest {
+
+    @BeforeEach
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.METRICS_ENDPOINT_ENABLED, true);
+        client = newClient("");
+    }
+
+    @Override
+    protected String getEndpointPath() {
+        return Route.METRICS_PATH;
+    }
+
+    @Test
+    void testGETWithEndpointDisabled() throws Exception {
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.METRICS_ENDPOINT_ENABLED, false);
+        try {
+            client.send();
+            fail("Expected exception");
+        } catch (ResourceException e) {
+            assertEquals(403, e.getStatusCode());
+        }
+    }
+
+    @Test
+    void testGETResponseBody() throws Exception {
+        // Request an image
+        Client imageClient = null;
+        try {
+            URI uri = new URI("http://localhost:" + appServer.getHTTPPort() +
+                    Route.IIIF_2_PATH +
+                    "/jpg-rgb-64x56x8-baseline.jpg/full/max/5/default.jpg");
+            imageClient = new Client().builder().uri(uri).build();
+            imageClient.send();
+        } finally {
+            if (imageClient != null) {
+                imageClient.stop();
+            }
+        }
+
+        Response response = client.send();
+        String body = response.getBodyAsString();
+        assertTrue(body.contains(
+                "# TYPE cantaloupe_image_request_duration_seconds histogram"));
+        assertTrue(body.matches(
+                "(?s).*\ncantaloupe_image_request_duration_seconds_count [1-9].*"));
+        assertTrue(body.matches(
+                "(?s).*\ncantaloupe_http_request_duration_seconds_count\\{resource=\"iiif\\.v2\\.ImageResource\"} [1-9].*"));
+        assertTrue(body.matches(
+                "(?s).*\ncantaloupe_processor_process_duration_seconds_count\\{processor=\"\\w+\"} [1-9].*"));
+        assertTrue(body.matches(
+                "(?s).*\ncantaloupe_response_bytes_total [1-9].*"));
+    }
+
+    @Test
+    void testGETResponseHeaders() throws Exception {
+        Response response = client.send();
+        assertEquals(200, response.getStatus());
+        assertEquals(PrometheusTextWriter.CONTENT_TYPE,
+                response.getHeaders().getFirstValue("Content-Type"));
+        assertEquals("no-cache",
+                response.getHeaders().getFirstValue("Cache-Control"));
+    }
+
+}
@@ -0,0 +1,33 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.image.Format;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfirmedFormatCheckerTest extends BaseTest {
+
+    @Test
+    void testCheckWithConfirmedFormat() {
+        var metadata = new SourceMetadata(new Identifier("cats"));
+        metadata.setConfirmedFormat(Format.get("jpg"));
+        var instance = new ConfirmedFormatChecker(metadata);
+        assertEquals(Format.get("jpg"), instance.check());
+    }
+
+    @Test
+    void testCheckWithoutConfirmedFormat() {
+        var metadata = new SourceMetadata(new Identifier("cats"));
+        var instance = new ConfirmedFormatChecker(metadata);
+        assertEquals(Format.UNKNOWN, instance.check());
+    }
+
+    @Test
+    void testCheckWithNullMetadata() {
+        var instance = new ConfirmedFormatChecker(null);
+        assertEquals(Format.UNKNOWN, instance.check());
+    }
+
+}
@@ -29,6 +29,7 @@ import java.nio.file.NoSuchFileException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -415,6 +416,57 @@ abstract class HttpSourceTest extends AbstractSourceTest {
         assertThrows(NoSuchElementException.class, it::next);
     }
 
+    @Test
+    void testGetFormatIteratorNextWithConfirmedFormat() throws Exception {
+        server.start();
+        instance.stat();
+        instance.confirmFormat(Format.get("png"));
+
+        HttpSource instance2 = newInstance();
+        instance2.stat();
+        HttpSource.FormatIterator<Format> it = instance2.getFormatIterator();
+        assertEquals(Format.get("png"), it.next()); // confirmed format
+        assertEquals(Format.get("jpg"), it.next()); // URI path extension
+    }
+
+    @Test
+    void testGetFormatIteratorNextWithExtensionlessResource() throws Exception {
+        final AtomicInteger numHEADRequests = new AtomicInteger();
+        final AtomicInteger numGETRequests  = new AtomicInteger();
+        server.setHandler(new DefaultHandler() {
+            @Override
+            public void handle(String target,
+                               Request baseRequest,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+                if ("HEAD".equalsIgnoreCase(request.getMethod())) {
+                    numHEADRequests.incrementAndGet();
+                } else {
+                    numGETRequests.incrementAndGet();
+                }
+                // Ignore the Range header, which the server is entitled to do.
+                try (OutputStream os = response.getOutputStream()) {
+                    Files.copy(TestUtil.getImage("jpg"), os);
+                }
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+        instance.setIdentifier(new Identifier("image"));
+
+        // The ranged GET is sent along with the HEAD...
+        instance.stat();
+        // ...and its result used to infer the format.
+        HttpSource.FormatIterator<Format> it = instance.getFormatIterator();
+        Format format = Format.UNKNOWN;
+        while (it.hasNext() && Format.UNKNOWN.equals(format)) {
+            format = it.next();
+        }
+        assertEquals(Format.get("jpg"), format);
+        assertEquals(1, numHEADRequests.get());
+        assertEquals(1, numGETRequests.get());
+    }
+
     /* getRequestInfo() */
 
     @Test
@@ -647,4 +699,37 @@ abstract class HttpSourceTest extends AbstractSourceTest {
         assertEquals(2, handler.numGETRequests);
     }
 
+    @Test
+    void testNoUnnecessaryRequestsAcrossInstances() throws Exception {
+        final RequestCountingHandler handler = new RequestCountingHandler();
+        server.setHandler(handler);
+        server.start();
+
+        instance.stat();
+        instance.newStreamFactory();
+
+        HttpSource instance2 = newInstance();
+        instance2.stat();
+        instance2.newStreamFactory();
+
+        assertEquals(1, handler.numHEADRequests);
+        assertEquals(0, handler.numGETRequests);
+    }
+
+    @Test
+    void testNoUnnecessaryRequestsAcrossInstancesWithSourceMetadataCacheDisabled()
+            throws Exception {
+        var config = Configuration.getInstance();
+        config.setProperty(Key.SOURCE_METADATA_CACHE_ENABLED, false);
+
+        final RequestCountingHandler handler = new RequestCountingHandler();
+        server.setHandler(handler);
+        server.start();
+
+        instance.stat();
+        newInstance().stat();
+
+        assertEquals(2, handler.numHEADRequests);
+    }
+
 }
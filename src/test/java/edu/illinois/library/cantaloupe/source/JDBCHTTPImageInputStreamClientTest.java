@@ -0,0 +1,114 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.http.Range;
+import edu.illinois.library.cantaloupe.http.Response;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JDBCHTTPImageInputStreamClientTest extends BaseTest {
+
+    private static final String SQL =
+            "SELECT image FROM client_items WHERE filename = ?";
+
+    private JDBCHTTPImageInputStreamClient instance;
+
+    @BeforeEach
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        Configuration config = Configuration.getInstance();
+        config.setProperty(Key.JDBCSOURCE_JDBC_URL, "jdbc:h2:mem:test");
+        config.setProperty(Key.JDBCSOURCE_USER, "sa");
+        config.setProperty(Key.JDBCSOURCE_PASSWORD, "");
+
+        try (Connection conn = JdbcSource.getConnection()) {
+            String sql = "CREATE TABLE IF NOT EXISTS client_items (" +
+                    "filename VARCHAR(255), image BLOB);";
+            try (PreparedStatement statement = conn.prepareStatement(sql)) {
+                statement.execute();
+            }
+            sql = "INSERT INTO client_items (filename, image) VALUES (?, ?);";
+            try (PreparedStatement statement = conn.prepareStatement(sql);
+                 InputStream is = Files.newInputStream(TestUtil.getImage("jpg"))) {
+                statement.setString(1, "jpg");
+                statement.setBinaryStream(2, is);
+                statement.executeUpdate();
+            }
+        }
+        instance = new JDBCHTTPImageInputStreamClient(SQL, "jpg");
+    }
+
+    @AfterEach
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+        instance.close();
+        try (Connection conn = JdbcSource.getConnection();
+             PreparedStatement statement =
+                     conn.prepareStatement("DROP TABLE client_items;")) {
+            statement.execute();
+        }
+    }
+
+    @Test
+    void testSendHEADRequest() throws Exception {
+        Response actual = instance.sendHEADRequest();
+        assertEquals(200, actual.getStatus());
+        assertEquals("bytes", actual.getHeaders().getFirstValue("Accept-Ranges"));
+        assertEquals("1584", actual.getHeaders().getFirstValue("Content-Length"));
+    }
+
+    @Test
+    void testSendHEADRequestWithMissingValue() {
+        instance = new JDBCHTTPImageInputStreamClient(SQL, "bogus");
+        assertThrows(NoSuchFileException.class, () -> instance.sendHEADRequest());
+    }
+
+    @Test
+    void testSendGETRequest() throws Exception {
+        Response actual = instance.sendGETRequest(new Range(10, 50, 1584));
+        assertEquals(206, actual.getStatus());
+
+        byte[] expected = Files.readAllBytes(TestUtil.getImage("jpg"));
+        assertArrayEquals(Arrays.copyOfRange(expected, 10, 51),
+                actual.getBody());
+    }
+
+    @Test
+    void testSendGETRequestWithMultipleRequests() throws Exception {
+        byte[] expected = Files.readAllBytes(TestUtil.getImage("jpg"));
+        instance.sendHEADRequest();
+        for (int start = 0; start < 1500; start += 500) {
+            Response actual = instance.sendGETRequest(
+                    new Range(start, start + 99, 1584));
+            assertArrayEquals(Arrays.copyOfRange(expected, start, start + 100),
+                    actual.getBody());
+        }
+    }
+
+    @Test
+    void testSendGETRequestAfterClose() throws Exception {
+        instance.sendGETRequest(new Range(0, 9, 1584));
+        instance.close();
+
+        Response actual = instance.sendGETRequest(new Range(10, 50, 1584));
+        byte[] expected = Files.readAllBytes(TestUtil.getImage("jpg"));
+        assertArrayEquals(Arrays.copyOfRange(expected, 10, 51),
+                actual.getBody());
+    }
+
+}
@@ -5,11 +5,13 @@ import edu.illinois.library.cantaloupe.config.Key;
 import edu.illinois.library.cantaloupe.image.Format;
 import edu.illinois.library.cantaloupe.image.Identifier;
 import edu.illinois.library.cantaloupe.delegate.DelegateProxy;
+import edu.illinois.library.cantaloupe.source.stream.HTTPImageInputStream;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.imageio.stream.ImageInputStream;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
@@ -19,6 +21,7 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -218,6 +221,40 @@ public class JdbcSourceTest extends AbstractSourceTest {
         assertNotNull(instance.newStreamFactory());
     }
 
+    @Test
+    void testNewStreamFactoryNewSeekableStreamWithChunkingEnabled()
+            throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.JDBCSOURCE_CHUNKING_ENABLED, true);
+        Configuration.getInstance().setProperty(
+                Key.JDBCSOURCE_CHUNK_SIZE, 100);
+        StreamFactory factory = instance.newStreamFactory();
+        assertTrue(factory.isSeekingDirect());
+
+        final byte[] expected = Files.readAllBytes(TestUtil.getImage("jpg"));
+        try (ImageInputStream is = factory.newSeekableStream()) {
+            assertTrue(is instanceof HTTPImageInputStream);
+            assertEquals(expected.length, is.length());
+
+            byte[] actual = new byte[10];
+            is.seek(1000);
+            is.readFully(actual);
+            assertArrayEquals(Arrays.copyOfRange(expected, 1000, 1010), actual);
+        }
+    }
+
+    @Test
+    void testNewStreamFactoryNewSeekableStreamWithChunkingDisabled()
+            throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.JDBCSOURCE_CHUNKING_ENABLED, false);
+        StreamFactory factory = instance.newStreamFactory();
+        assertFalse(factory.isSeekingDirect());
+        try (ImageInputStream is = factory.newSeekableStream()) {
+            assertFalse(is instanceof HTTPImageInputStream);
+        }
+    }
+
     /* stat() */
 
     @Override
@@ -1,10 +1,14 @@
 package edu.illinois.library.cantaloupe.source;
 
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.source.stream.MappedFileImageInputStream;
 import edu.illinois.library.cantaloupe.test.BaseTest;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.imageio.stream.FileImageInputStream;
 import javax.imageio.stream.ImageInputStream;
 import java.io.InputStream;
 
@@ -40,4 +44,30 @@ public class PathStreamFactoryTest extends BaseTest {
         }
     }
 
+    @Test
+    void testNewSeekableStreamDoesNotMemoryMapByDefault() throws Exception {
+        try (ImageInputStream is = instance.newSeekableStream()) {
+            assertTrue(is instanceof FileImageInputStream);
+        }
+    }
+
+    @Test
+    void testNewSeekableStreamWithMemoryMappingEnabled() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_MEMORY_MAPPING_ENABLED, true);
+        try (ImageInputStream is = instance.newSeekableStream()) {
+            assertTrue(is instanceof MappedFileImageInputStream);
+        }
+    }
+
+    @Test
+    void testNewSeekableStreamWithMemoryMappingDisabled() throws Exception {
+        Configuration.getInstance().setProperty(
+                Key.PROCESSOR_MEMORY_MAPPING_ENABLED, false);
+        try (ImageInputStream is = instance.newSeekableStream()) {
+            assertTrue(is instanceof FileImageInputStream);
+            assertEquals(1584, is.length());
+        }
+    }
+
 }
@@ -0,0 +1,129 @@
+package edu.illinois.library.cantaloupe.source;
+
+import edu.illinois.library.cantaloupe.cache.CacheFacade;
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.image.Identifier;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SourceMetadataCacheTest extends BaseTest {
+
+    private SourceMetadataCache instance;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        instance = new SourceMetadataCache(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        SourceMetadataCache.clearInstance();
+    }
+
+    /* newKey() */
+
+    @Test
+    void testNewKeyDistinguishesCredentials() {
+        String locator = "http://example.org/cats";
+        assertEquals(SourceMetadataCache.newKey(locator, "user", "secret"),
+                SourceMetadataCache.newKey(locator, "user", "secret"));
+        assertNotEquals(SourceMetadataCache.newKey(locator, "user", "secret"),
+                SourceMetadataCache.newKey(locator, "user", "other"));
+        assertNotEquals(SourceMetadataCache.newKey(locator, "ab", "c"),
+                SourceMetadataCache.newKey(locator, "a", "bc"));
+        assertNotEquals(SourceMetadataCache.newKey(locator, null, null),
+                SourceMetadataCache.newKey(locator, "user", "secret"));
+    }
+
+    @Test
+    void testNewKeyDoesNotContainCredentials() {
+        String key = SourceMetadataCache.newKey(
+                "http://example.org/cats", "user", "secret");
+        assertTrue(key.startsWith("http://example.org/cats"));
+        assertFalse(key.contains("secret"));
+    }
+
+    /* get() */
+
+    @Test
+    void testGetWithHit() {
+        SourceMetadata metadata = new SourceMetadata(new Identifier("cats"));
+        instance.put("http://example.org/cats", metadata);
+        assertSame(metadata, instance.get("http://example.org/cats"));
+    }
+
+    @Test
+    void testGetWithMiss() {
+        assertNull(instance.get("http://example.org/cats"));
+    }
+
+    @Test
+    void testGetWithExpiredEntry() throws Exception {
+        instance = new SourceMetadataCache(Duration.ofMillis(50));
+        instance.put("http://example.org/cats",
+                new SourceMetadata(new Identifier("cats")));
+        Thread.sleep(100);
+        assertNull(instance.get("http://example.org/cats"));
+    }
+
+    @Test
+    void testGetWithCacheDisabled() {
+        instance.put("http://example.org/cats",
+                new SourceMetadata(new Identifier("cats")));
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_METADATA_CACHE_ENABLED, false);
+        assertNull(instance.get("http://example.org/cats"));
+    }
+
+    @Test
+    void testPutWithCacheDisabled() {
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_METADATA_CACHE_ENABLED, false);
+        instance.put("http://example.org/cats",
+                new SourceMetadata(new Identifier("cats")));
+        assertEquals(0, instance.size());
+    }
+
+    @Test
+    void testPurge() {
+        instance.put("http://example.org/cats",
+                new SourceMetadata(new Identifier("cats")));
+        instance.put("http://example.org/dogs",
+                new SourceMetadata(new Identifier("dogs")));
+        instance.purge();
+        assertEquals(0, instance.size());
+    }
+
+    @Test
+    void testPurgeWithIdentifier() {
+        instance.put("http://example.org/cats",
+                new SourceMetadata(new Identifier("cats")));
+        instance.put("s3://bucket/cats",
+                new SourceMetadata(new Identifier("cats")));
+        instance.put("http://example.org/dogs",
+                new SourceMetadata(new Identifier("dogs")));
+        instance.purge(new Identifier("cats"));
+        assertNull(instance.get("http://example.org/cats"));
+        assertNull(instance.get("s3://bucket/cats"));
+        assertNotNull(instance.get("http://example.org/dogs"));
+    }
+
+    @Test
+    void testPurgeViaCacheFacade() throws Exception {
+        SourceMetadataCache shared = SourceMetadataCache.getInstance();
+        shared.put("http://example.org/cats",
+                new SourceMetadata(new Identifier("cats")));
+        new CacheFacade().purge(new Identifier("cats"));
+        assertNull(shared.get("http://example.org/cats"));
+    }
+
+}
@@ -0,0 +1,84 @@
+package edu.illinois.library.cantaloupe.source.stream;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ByteArrayImageInputStreamTest extends BaseTest {
+
+    private static final byte[] DATA = new byte[] { 1, 2, 3, 4, 5 };
+
+    @Test
+    void testLength() throws Exception {
+        try (ImageInputStream is = new ByteArrayImageInputStream(DATA)) {
+            assertEquals(5, is.length());
+        }
+    }
+
+    @Test
+    void testRead1() throws Exception {
+        try (ImageInputStream is = new ByteArrayImageInputStream(DATA)) {
+            for (byte b : DATA) {
+                assertEquals(b, is.read());
+            }
+            assertEquals(-1, is.read());
+        }
+    }
+
+    @Test
+    void testRead2() throws Exception {
+        try (ImageInputStream is = new ByteArrayImageInputStream(DATA)) {
+            byte[] buffer = new byte[10];
+            assertEquals(3, is.read(buffer, 0, 3));
+            assertEquals(2, is.read(buffer, 3, 7));
+            assertEquals(-1, is.read(buffer, 0, 1));
+            assertArrayEquals(DATA, Arrays.copyOf(buffer, 5));
+        }
+    }
+
+    @Test
+    void testSeek() throws Exception {
+        try (ImageInputStream is = new ByteArrayImageInputStream(DATA)) {
+            is.seek(3);
+            assertEquals(4, is.read());
+            is.seek(0);
+            assertEquals(1, is.read());
+        }
+    }
+
+    @Test
+    void testReadAfterClose() throws Exception {
+        ImageInputStream is = new ByteArrayImageInputStream(DATA);
+        is.close();
+        assertThrows(IOException.class, is::read);
+    }
+
+    @Test
+    void functionalTestWithPNG() throws Exception {
+        final Path fixture = TestUtil.getImage("png");
+        try (ImageInputStream is =
+                     new ByteArrayImageInputStream(Files.readAllBytes(fixture))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(is);
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(is);
+                assertEquals(64, reader.getWidth(0));
+                assertEquals(56, reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+}
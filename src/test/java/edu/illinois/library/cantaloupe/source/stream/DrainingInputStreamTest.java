@@ -0,0 +1,108 @@
+package edu.illinois.library.cantaloupe.source.stream;
+
+import edu.illinois.library.cantaloupe.config.Configuration;
+import edu.illinois.library.cantaloupe.config.Key;
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DrainingInputStreamTest extends BaseTest {
+
+    private static final int LENGTH = 1000;
+
+    private final AtomicBoolean isAborted = new AtomicBoolean();
+    private ByteArrayInputStream wrappedStream;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        Configuration.getInstance().setProperty(
+                Key.SOURCE_STREAM_MAX_DRAIN_SIZE, 100);
+        wrappedStream = new ByteArrayInputStream(new byte[LENGTH]);
+    }
+
+    private DrainingInputStream newInstance(long length) {
+        return new DrainingInputStream(
+                wrappedStream, length, () -> isAborted.set(true));
+    }
+
+    /* close() */
+
+    @Test
+    void testCloseWhenFullyConsumed() throws Exception {
+        final long numAborted = DrainingInputStream.getNumStreamsAborted();
+        try (DrainingInputStream instance = newInstance(LENGTH)) {
+            assertEquals(LENGTH, instance.readAllBytes().length);
+        }
+        assertFalse(isAborted.get());
+        assertEquals(numAborted, DrainingInputStream.getNumStreamsAborted());
+    }
+
+    @Test
+    void testCloseWithRemainderLargerThanMaxDrainSize() throws Exception {
+        final long numBytesAborted = DrainingInputStream.getNumBytesAborted();
+        final long numAborted      = DrainingInputStream.getNumStreamsAborted();
+        try (DrainingInputStream instance = newInstance(LENGTH)) {
+            assertEquals(10, instance.read(new byte[10]));
+        }
+        assertTrue(isAborted.get());
+        assertEquals(numBytesAborted + LENGTH - 10,
+                DrainingInputStream.getNumBytesAborted());
+        assertEquals(numAborted + 1, DrainingInputStream.getNumStreamsAborted());
+        // Nothing was drained.
+        assertEquals(LENGTH - 10, wrappedStream.available());
+    }
+
+    @Test
+    void testCloseWithRemainderSmallerThanMaxDrainSize() throws Exception {
+        final long numDrained = DrainingInputStream.getNumStreamsDrained();
+        try (DrainingInputStream instance = newInstance(LENGTH)) {
+            assertEquals(LENGTH - 50, instance.skip(LENGTH - 50));
+        }
+        for (int i = 0; i < 50 && wrappedStream.available() > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, wrappedStream.available());
+        assertFalse(isAborted.get());
+        assertTrue(DrainingInputStream.getNumStreamsDrained() > numDrained);
+    }
+
+    /* drain() */
+
+    @Test
+    void testDrainWithRemainderSmallerThanMaxBytes() throws Exception {
+        final long numBytesDrained = DrainingInputStream.getNumBytesDrained();
+        final long numDrained      = DrainingInputStream.getNumStreamsDrained();
+        DrainingInputStream instance = newInstance(-1);
+        instance.drain(LENGTH);
+
+        assertFalse(isAborted.get());
+        assertEquals(0, wrappedStream.available());
+        assertTrue(DrainingInputStream.getNumBytesDrained() >=
+                numBytesDrained + LENGTH);
+        assertTrue(DrainingInputStream.getNumStreamsDrained() > numDrained);
+    }
+
+    @Test
+    void testDrainWithRemainderLargerThanMaxBytes() throws Exception {
+        final long numAborted = DrainingInputStream.getNumStreamsAborted();
+        DrainingInputStream instance = newInstance(-1);
+        instance.drain(LENGTH - 1);
+
+        assertTrue(isAborted.get());
+        assertTrue(DrainingInputStream.getNumStreamsAborted() > numAborted);
+    }
+
+    /* markSupported() */
+
+    @Test
+    void testMarkSupported() {
+        assertFalse(newInstance(LENGTH).markSupported());
+    }
+
+}
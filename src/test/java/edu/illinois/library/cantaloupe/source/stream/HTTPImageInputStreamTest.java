@@ -4,6 +4,7 @@ import edu.illinois.library.cantaloupe.http.Client;
 import edu.illinois.library.cantaloupe.http.Method;
 import edu.illinois.library.cantaloupe.http.Range;
 import edu.illinois.library.cantaloupe.http.Response;
+import edu.illinois.library.cantaloupe.metrics.RequestTrace;
 import edu.illinois.library.cantaloupe.test.BaseTest;
 import edu.illinois.library.cantaloupe.test.TestUtil;
 import edu.illinois.library.cantaloupe.test.WebServer;
@@ -18,7 +19,9 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,7 +37,7 @@ public class HTTPImageInputStreamTest extends BaseTest {
         }
 
         @Override
-        public Response sendHEADRequest() throws IOException {
+        public synchronized Response sendHEADRequest() throws IOException {
             try {
                 backingClient.setMethod(Method.HEAD);
                 return backingClient.send();
@@ -46,7 +49,8 @@ public class HTTPImageInputStreamTest extends BaseTest {
         }
 
         @Override
-        public Response sendGETRequest(Range range) throws IOException {
+        public synchronized Response sendGETRequest(Range range)
+                throws IOException {
             try {
                 backingClient.setMethod(Method.GET);
                 backingClient.getHeaders().set("Range",
@@ -60,6 +64,60 @@ public class HTTPImageInputStreamTest extends BaseTest {
         }
     }
 
+    /**
+     * Serves an in-memory byte array, delaying and keeping track of the
+     * read-ahead requests (those not sent by the reading thread).
+     */
+    private static class SlowHTTPImageInputStreamClient
+            implements HTTPImageInputStreamClient {
+
+        private final byte[] data;
+        private final long delayMillis;
+        private final Thread readingThread = Thread.currentThread();
+        private final AtomicInteger numReadAheadRequestsInFlight =
+                new AtomicInteger();
+        private final AtomicInteger maxReadAheadRequestsInFlight =
+                new AtomicInteger();
+        private final AtomicInteger numInterruptedRequests =
+                new AtomicInteger();
+
+        SlowHTTPImageInputStreamClient(byte[] data, long delayMillis) {
+            this.data        = data;
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public Response sendHEADRequest() {
+            Response response = new Response();
+            response.setStatus(200);
+            response.getHeaders().set("Accept-Ranges", "bytes");
+            response.getHeaders().set("Content-Length", "" + data.length);
+            return response;
+        }
+
+        @Override
+        public Response sendGETRequest(Range range) throws IOException {
+            if (Thread.currentThread() != readingThread) {
+                maxReadAheadRequestsInFlight.accumulateAndGet(
+                        numReadAheadRequestsInFlight.incrementAndGet(),
+                        Math::max);
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    numInterruptedRequests.incrementAndGet();
+                    throw new IOException(e);
+                } finally {
+                    numReadAheadRequestsInFlight.decrementAndGet();
+                }
+            }
+            Response response = new Response();
+            response.setStatus(206);
+            response.setBody(Arrays.copyOfRange(data,
+                    (int) range.start, (int) range.end + 1));
+            return response;
+        }
+    }
+
     private WebServer webServer;
 
     @BeforeEach
@@ -126,6 +184,26 @@ public class HTTPImageInputStreamTest extends BaseTest {
         }
     }
 
+    @Test
+    void testGetNumBytesDownloaded() throws Exception {
+        final Path fixture = TestUtil.getImage("tif");
+        try (HTTPImageInputStream instance = newInstanceFromConstructor2(fixture)) {
+            instance.setWindowSize(1024);
+            instance.read(new byte[10], 0, 10);
+            assertEquals(1024, instance.getNumBytesDownloaded());
+            assertEquals(10, instance.getNumBytesRead());
+        }
+    }
+
+    @Test
+    void testSetMaxReadAheadWindowsWithIllegalArgument() throws Exception {
+        final Path fixture = TestUtil.getImage("tif");
+        try (HTTPImageInputStream instance = newInstanceFromConstructor2(fixture)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> instance.setMaxReadAheadWindows(-1));
+        }
+    }
+
     @Test
     void testRead1() throws Exception {
         final Path fixture         = TestUtil.getImage("tif");
@@ -156,6 +234,123 @@ public class HTTPImageInputStreamTest extends BaseTest {
         assertArrayEquals(expectedBytes, actualBytes);
     }
 
+    @Test
+    void testReadWithReadAhead() throws Exception {
+        final Path fixture         = TestUtil.getImage("tif");
+        final int fixtureLength    = (int) Files.size(fixture);
+        final byte[] expectedBytes = Files.readAllBytes(fixture);
+        final byte[] actualBytes   = new byte[fixtureLength];
+
+        try (HTTPImageInputStream instance = newInstanceFromConstructor2(fixture)) {
+            instance.setWindowSize(1024);
+            instance.setMaxReadAheadWindows(4);
+            instance.read(actualBytes, 0, fixtureLength);
+            assertTrue(instance.getNumReadAheadHits() > 0);
+            assertEquals(fixtureLength, instance.getNumBytesRead());
+            assertEquals(fixtureLength, instance.getNumBytesDownloaded());
+        }
+        assertArrayEquals(expectedBytes, actualBytes);
+    }
+
+    @Test
+    void testReadWithReadAheadAndRandomAccess() throws Exception {
+        final Path fixture         = TestUtil.getImage("tif");
+        final int fixtureLength    = (int) Files.size(fixture);
+        final byte[] expectedBytes = Files.readAllBytes(fixture);
+
+        try (HTTPImageInputStream instance = newInstanceFromConstructor2(fixture)) {
+            instance.setWindowSize(1024);
+            instance.setMaxReadAheadWindows(4);
+            instance.setMaxChunkCacheSize(1024 * 1024);
+            for (long pos : new long[] { 0, 5000, 1030, 2050, 3100, 200, fixtureLength - 10 }) {
+                instance.seek(pos);
+                for (int i = 0; i < 10; i++) {
+                    assertEquals(expectedBytes[(int) pos + i],
+                            (byte) instance.read());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testReadWithReadAheadLimitsRequestsInFlight() throws Exception {
+        final byte[] data = new byte[1024 * 256];
+        final SlowHTTPImageInputStreamClient client =
+                new SlowHTTPImageInputStreamClient(data, 20);
+        try (HTTPImageInputStream instance =
+                     new HTTPImageInputStream(client, data.length)) {
+            instance.setWindowSize(1024);
+            instance.setMaxReadAheadWindows(64);
+            // Read a byte from each window, so that read-ahead requests pile
+            // up across many calls to readAhead().
+            for (int pos = 0; pos < data.length; pos += 1024) {
+                instance.seek(pos);
+                instance.read();
+            }
+        }
+        assertTrue(client.maxReadAheadRequestsInFlight.get() > 0);
+        assertTrue(client.maxReadAheadRequestsInFlight.get() <=
+                HTTPImageInputStream.MAX_PARALLEL_FETCHES);
+    }
+
+    @Test
+    void testReadWithReadAheadRecordsDownloadsInRequestTrace()
+            throws Exception {
+        final byte[] data = new byte[1024 * 16];
+        // Only read-ahead requests are slow.
+        final SlowHTTPImageInputStreamClient client =
+                new SlowHTTPImageInputStreamClient(data, 200);
+        final RequestTrace trace = new RequestTrace();
+        RequestTrace.setCurrent(trace);
+        try (HTTPImageInputStream instance =
+                     new HTTPImageInputStream(client, data.length)) {
+            instance.setWindowSize(1024);
+            instance.setMaxReadAheadWindows(1);
+            // Moving from window 0 into window 1 reads ahead window 2...
+            instance.read();
+            instance.seek(1024);
+            instance.read();
+            // ...which this waits for.
+            instance.seek(2048);
+            instance.read();
+            assertTrue(instance.getNumReadAheadHits() > 0);
+        } finally {
+            RequestTrace.setCurrent(null);
+        }
+        assertTrue(trace.getStageMillis().get("download") >= 200);
+    }
+
+    @Test
+    void testReadWithReadAheadCancelsDiscardedRequests() throws Exception {
+        final byte[] data = new byte[1024 * 256];
+        final SlowHTTPImageInputStreamClient client =
+                new SlowHTTPImageInputStreamClient(data, 2000);
+        try (HTTPImageInputStream instance =
+                     new HTTPImageInputStream(client, data.length)) {
+            instance.setWindowSize(1024);
+            instance.setMaxReadAheadWindows(4);
+            // Moving from window 0 into window 1 starts reading ahead window
+            // 2...
+            instance.read();
+            instance.seek(1024);
+            instance.read();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (client.numReadAheadRequestsInFlight.get() == 0 &&
+                    System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            // ...which becomes irrelevant when the reader jumps away.
+            instance.seek(1024 * 200);
+            instance.read();
+            deadline = System.currentTimeMillis() + 5000;
+            while (client.numInterruptedRequests.get() == 0 &&
+                    System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, client.numInterruptedRequests.get());
+        }
+    }
+
     @Test
     void testSeek() throws Exception {
         final Path fixture         = TestUtil.getImage("tif");
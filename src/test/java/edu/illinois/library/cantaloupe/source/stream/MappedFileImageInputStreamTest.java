@@ -0,0 +1,169 @@
+package edu.illinois.library.cantaloupe.source.stream;
+
+import edu.illinois.library.cantaloupe.test.BaseTest;
+import edu.illinois.library.cantaloupe.test.TestUtil;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedFileImageInputStreamTest extends BaseTest {
+
+    /**
+     * 1584 bytes.
+     */
+    private static final String FIXTURE = "jpg";
+
+    /**
+     * Reads the dimensions of a tiled TIFF, which entails parsing its IFD.
+     */
+    protected static void readTIFFSize(ImageInputStream is) throws Exception {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(is);
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(is);
+            assertEquals(64, reader.getWidth(0));
+            assertEquals(56, reader.getHeight(0));
+            assertEquals(16, reader.getTileWidth(0));
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    protected static Path getTIFFFixture() {
+        return TestUtil.getImage("tif-rgb-1res-64x56x8-tiled-uncompressed.tif");
+    }
+
+    @Test
+    public void testIsCached() throws Exception {
+        try (ImageInputStream is =
+                     new MappedFileImageInputStream(TestUtil.getImage(FIXTURE))) {
+            assertFalse(is.isCached());
+            assertFalse(is.isCachedFile());
+            assertFalse(is.isCachedMemory());
+        }
+    }
+
+    @Test
+    public void testLength() throws Exception {
+        try (ImageInputStream is =
+                     new MappedFileImageInputStream(TestUtil.getImage(FIXTURE))) {
+            assertEquals(1584, is.length());
+        }
+    }
+
+    @Test
+    public void testLengthWithEmptyFile() throws Exception {
+        Path file = Files.createTempFile(getClass().getSimpleName(), "tmp");
+        try (ImageInputStream is = new MappedFileImageInputStream(file)) {
+            assertEquals(0, is.length());
+            assertEquals(-1, is.read());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testRead1() throws Exception {
+        final Path fixture = TestUtil.getImage(FIXTURE);
+        final byte[] expected = Files.readAllBytes(fixture);
+        try (ImageInputStream is = new MappedFileImageInputStream(fixture)) {
+            for (byte b : expected) {
+                assertEquals(b & 0xff, is.read());
+            }
+            assertEquals(-1, is.read());
+        }
+    }
+
+    @Test
+    public void testRead1AcrossSegments() throws Exception {
+        final Path fixture = TestUtil.getImage(FIXTURE);
+        final byte[] expected = Files.readAllBytes(fixture);
+        try (ImageInputStream is = new MappedFileImageInputStream(fixture, 100)) {
+            for (byte b : expected) {
+                assertEquals(b & 0xff, is.read());
+            }
+            assertEquals(-1, is.read());
+        }
+    }
+
+    @Test
+    public void testRead2() throws Exception {
+        final Path fixture = TestUtil.getImage(FIXTURE);
+        final byte[] expected = Files.readAllBytes(fixture);
+        try (ImageInputStream is = new MappedFileImageInputStream(fixture)) {
+            byte[] buffer = new byte[2000];
+            assertEquals(1000, is.read(buffer, 0, 1000));
+            assertEquals(584, is.read(buffer, 1000, 1000));
+            assertEquals(-1, is.read(buffer, 0, 1));
+            assertArrayEquals(expected, Arrays.copyOf(buffer, 1584));
+        }
+    }
+
+    @Test
+    public void testRead2AcrossSegments() throws Exception {
+        final Path fixture = TestUtil.getImage(FIXTURE);
+        final byte[] expected = Files.readAllBytes(fixture);
+        try (ImageInputStream is = new MappedFileImageInputStream(fixture, 100)) {
+            byte[] buffer = new byte[2000];
+            assertEquals(50, is.read(buffer, 0, 50));
+            assertEquals(1534, is.read(buffer, 50, 1950));
+            assertEquals(-1, is.read(buffer, 0, 1));
+            assertArrayEquals(expected, Arrays.copyOf(buffer, 1584));
+        }
+    }
+
+    @Test
+    public void testSeek() throws Exception {
+        final Path fixture = TestUtil.getImage(FIXTURE);
+        final byte[] expected = Files.readAllBytes(fixture);
+        try (ImageInputStream is = new MappedFileImageInputStream(fixture, 100)) {
+            is.seek(1234);
+            assertEquals(expected[1234] & 0xff, is.read());
+            is.seek(5);
+            assertEquals(expected[5] & 0xff, is.read());
+            assertEquals(6, is.getStreamPosition());
+        }
+    }
+
+    @Test
+    public void testReadAfterClose() throws Exception {
+        ImageInputStream is =
+                new MappedFileImageInputStream(TestUtil.getImage(FIXTURE));
+        is.close();
+        assertThrows(IOException.class, is::read);
+    }
+
+    @Test
+    public void functionalTestWithPNG() throws Exception {
+        try (ImageInputStream is =
+                     new MappedFileImageInputStream(TestUtil.getImage("png"))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(is);
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(is);
+                assertEquals(64, reader.getWidth(0));
+                assertEquals(56, reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    @Test
+    public void functionalTestWithTIFF() throws Exception {
+        try (ImageInputStream is =
+                     new MappedFileImageInputStream(getTIFFFixture())) {
+            readTIFFSize(is);
+        }
+    }
+
+}
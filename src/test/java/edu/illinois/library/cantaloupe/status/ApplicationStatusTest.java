@@ -81,7 +81,7 @@ public class ApplicationStatusTest extends BaseTest {
     @Test
     void toMap() {
         Map<String,Object> map = instance.toMap();
-        assertEquals(3, map.size());
+        assertEquals(4, map.size());
     }
 
 }
\ No newline at end of file
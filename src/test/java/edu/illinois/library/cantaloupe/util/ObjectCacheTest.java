@@ -4,6 +4,8 @@ import edu.illinois.library.cantaloupe.test.BaseTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ObjectCacheTest extends BaseTest {
@@ -35,6 +37,15 @@ public class ObjectCacheTest extends BaseTest {
         assertSame(value, instance.get(key));
     }
 
+    @Test
+    void testGetWithExpiredEntry() throws Exception {
+        instance = new ObjectCache<>(MAX_SIZE, Duration.ofMillis(50));
+        instance.put("cats", "yes");
+        assertEquals("yes", instance.get("cats"));
+        Thread.sleep(100);
+        assertNull(instance.get("cats"));
+    }
+
     @Test
     void testMaxSize() {
         assertEquals(MAX_SIZE, instance.maxSize());